@@ -22,6 +22,7 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -426,6 +427,23 @@ public class AccountServlet extends HttpServlet {
             html.append("</tr>");
         }
         html.append("</table>");
+
+        // response times of the requests since the connection was created
+        html.append(
+                "<br><table><tr><th align='left'>Request</th><th align='right'>Count</th><th align='right'>Average ms</th><th align='right'>Max ms</th></tr>");
+        for (Map.Entry<String, LongSummaryStatistics> entry : connection.getLatencyStatistics().entrySet()) {
+            LongSummaryStatistics statistics = entry.getValue();
+            html.append("<tr><td>");
+            html.append(StringEscapeUtils.escapeHtml(entry.getKey()));
+            html.append("</td><td align='right'>");
+            html.append(statistics.getCount());
+            html.append("</td><td align='right'>");
+            html.append(Math.round(statistics.getAverage()));
+            html.append("</td><td align='right'>");
+            html.append(statistics.getMax());
+            html.append("</td></tr>");
+        }
+        html.append("</table>");
         createPageEndAndSent(resp, html);
     }
 
@@ -33,9 +33,12 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.LongSummaryStatistics;
 import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
@@ -125,6 +128,7 @@ public class Connection {
     private final Logger logger = LoggerFactory.getLogger(Connection.class);
 
     private final CookieManager cookieManager = new CookieManager();
+    private final Map<String, LongSummaryStatistics> latencyByEndpoint = new ConcurrentHashMap<>();
     private String amazonSite = "amazon.com";
     private String alexaServer = "https://alexa.amazon.com";
     private final String userAgent;
@@ -503,6 +507,68 @@ public class Connection {
         return result;
     }
 
+    /**
+     * Reads and closes the response body of a request whose result is not needed. Only a connection whose response
+     * was read completely is kept alive by the JDK and reused for the next request to the same server.
+     */
+    private void discardResponse(HttpsURLConnection connection) {
+        try (InputStream input = connection.getResponseCode() < 400 ? connection.getInputStream()
+                : connection.getErrorStream()) {
+            if (input != null) {
+                byte[] buffer = new byte[1024];
+                while (input.read(buffer) != -1) {
+                    // discard
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Discarding response of {} failed: {}", connection.getURL(), e.getMessage());
+            connection.disconnect();
+        }
+    }
+
+    private void recordLatency(String verb, URI uri, long requestStart) {
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStart);
+        LongSummaryStatistics statistics = latencyByEndpoint.computeIfAbsent(verb + " " + getEndpoint(uri),
+                endpoint -> new LongSummaryStatistics());
+        synchronized (statistics) {
+            statistics.accept(latency);
+        }
+    }
+
+    /**
+     * Returns the path of the URI without the ids of devices or notifications, so the requests of all devices are
+     * counted for the same endpoint
+     */
+    private static String getEndpoint(URI uri) {
+        String path = uri.getPath();
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        String[] segments = path.split("/");
+        StringBuilder endpoint = new StringBuilder();
+        for (int i = 1; i < segments.length; i++) {
+            endpoint.append('/');
+            // the first two segments name the api, the following ones may be ids
+            endpoint.append(i > 2 && segments[i].matches(".*\\d.*") ? "{id}" : segments[i]);
+        }
+        return endpoint.length() == 0 ? "/" : endpoint.toString();
+    }
+
+    /**
+     * Returns the statistics of the response times in milliseconds by endpoint
+     */
+    public Map<String, LongSummaryStatistics> getLatencyStatistics() {
+        Map<String, LongSummaryStatistics> result = new TreeMap<>();
+        latencyByEndpoint.forEach((endpoint, statistics) -> {
+            LongSummaryStatistics copy = new LongSummaryStatistics();
+            synchronized (statistics) {
+                copy.combine(statistics);
+            }
+            result.put(endpoint, copy);
+        });
+        return result;
+    }
+
     public HttpsURLConnection makeRequest(String verb, String url, @Nullable String postData, boolean json,
             boolean autoredirect, @Nullable Map<String, String> customHeaders, int badRequestRepeats)
             throws IOException, URISyntaxException {
@@ -514,6 +580,7 @@ public class Connection {
         {
             int code;
             HttpsURLConnection connection = null;
+            long requestStart = System.nanoTime();
             try {
                 logger.debug("Make request to {}", url);
                 connection = (HttpsURLConnection) new URL(currentUrl).openConnection();
@@ -584,6 +651,7 @@ public class Connection {
                 }
                 // handle result
                 code = connection.getResponseCode();
+                recordLatency(verb, uri, requestStart);
                 String location = null;
 
                 // handle response headers
@@ -622,7 +690,8 @@ public class Connection {
                     scheduler.schedule(() -> {
                         logger.debug("Retry call to {}", url);
                         try {
-                            makeRequest(verb, url, postData, json, autoredirect, customHeaders, badRequestRepeats - 1);
+                            discardResponse(makeRequest(verb, url, postData, json, autoredirect, customHeaders,
+                                    badRequestRepeats - 1));
                         } catch (IOException | URISyntaxException e) {
                             logger.debug("Repeat fails", e);
                         }
@@ -641,6 +710,7 @@ public class Connection {
                     }
                     currentUrl = location;
                     if (autoredirect) {
+                        discardResponse(connection);
                         continue; // repeat with new location
                     }
                     return connection;
@@ -979,7 +1049,7 @@ public class Connection {
     public void command(Device device, String command) throws IOException, URISyntaxException {
         String url = alexaServer + "/api/np/command?deviceSerialNumber=" + device.serialNumber + "&deviceType="
                 + device.deviceType;
-        makeRequest("POST", url, command, true, true, null, 0);
+        discardResponse(makeRequest("POST", url, command, true, true, null, 0));
     }
 
     public void notificationVolume(Device device, int volume) throws IOException, URISyntaxException {
@@ -987,7 +1057,7 @@ public class Connection {
                 + "/" + device.serialNumber;
         String command = "{\"deviceSerialNumber\":\"" + device.serialNumber + "\",\"deviceType\":\"" + device.deviceType
                 + "\",\"softwareVersion\":\"" + device.softwareVersion + "\",\"volumeLevel\":" + volume + "}";
-        makeRequest("PUT", url, command, true, true, null, 0);
+        discardResponse(makeRequest("PUT", url, command, true, true, null, 0));
     }
 
     public void ascendingAlarm(Device device, boolean ascendingAlarm) throws IOException, URISyntaxException {
@@ -995,7 +1065,7 @@ public class Connection {
         String command = "{\"ascendingAlarmEnabled\":" + (ascendingAlarm ? "true" : "false")
                 + ",\"deviceSerialNumber\":\"" + device.serialNumber + "\",\"deviceType\":\"" + device.deviceType
                 + "\",\"deviceAccountId\":null}";
-        makeRequest("PUT", url, command, true, true, null, 0);
+        discardResponse(makeRequest("PUT", url, command, true, true, null, 0));
     }
 
     public DeviceNotificationState[] getDeviceNotificationStates() {
@@ -1031,13 +1101,13 @@ public class Connection {
     public void bluetooth(Device device, @Nullable String address) throws IOException, URISyntaxException {
         if (StringUtils.isEmpty(address)) {
             // disconnect
-            makeRequest("POST",
+            discardResponse(makeRequest("POST",
                     alexaServer + "/api/bluetooth/disconnect-sink/" + device.deviceType + "/" + device.serialNumber, "",
-                    true, true, null, 0);
+                    true, true, null, 0));
         } else {
-            makeRequest("POST",
+            discardResponse(makeRequest("POST",
                     alexaServer + "/api/bluetooth/pair-sink/" + device.deviceType + "/" + device.serialNumber,
-                    "{\"bluetoothDeviceAddress\":\"" + address + "\"}", true, true, null, 0);
+                    "{\"bluetoothDeviceAddress\":\"" + address + "\"}", true, true, null, 0));
         }
     }
 
@@ -1045,13 +1115,13 @@ public class Connection {
         if (StringUtils.isEmpty(stationId)) {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
-            makeRequest("POST",
+            discardResponse(makeRequest("POST",
                     alexaServer + "/api/tunein/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&guideId=" + stationId
                             + "&contentType=station&callSign=&mediaOwnerCustomerId="
                             + (StringUtils.isEmpty(this.accountCustomerId) ? device.deviceOwnerCustomerId
                                     : this.accountCustomerId),
-                    "", true, true, null, 0);
+                    "", true, true, null, 0));
         }
     }
 
@@ -1060,13 +1130,13 @@ public class Connection {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
             String command = "{\"trackId\":\"" + trackId + "\",\"playQueuePrime\":true}";
-            makeRequest("POST",
+            discardResponse(makeRequest("POST",
                     alexaServer + "/api/cloudplayer/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
                             + (StringUtils.isEmpty(this.accountCustomerId) ? device.deviceOwnerCustomerId
                                     : this.accountCustomerId)
                             + "&shuffle=false",
-                    command, true, true, null, 0);
+                    command, true, true, null, 0));
         }
     }
 
@@ -1076,13 +1146,13 @@ public class Connection {
             command(device, "{\"type\":\"PauseCommand\"}");
         } else {
             String command = "{\"playlistId\":\"" + playListId + "\",\"playQueuePrime\":true}";
-            makeRequest("POST",
+            discardResponse(makeRequest("POST",
                     alexaServer + "/api/cloudplayer/queue-and-play?deviceSerialNumber=" + device.serialNumber
                             + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
                             + (StringUtils.isEmpty(this.accountCustomerId) ? device.deviceOwnerCustomerId
                                     : this.accountCustomerId)
                             + "&shuffle=false",
-                    command, true, true, null, 0);
+                    command, true, true, null, 0));
         }
     }
 
@@ -1190,7 +1260,7 @@ public class Connection {
         Map<String, String> headers = new HashMap<>();
         headers.put("Routines-Version", "1.1.218665");
 
-        makeRequest("POST", alexaServer + "/api/behaviors/preview", json, true, true, null, 3);
+        discardResponse(makeRequest("POST", alexaServer + "/api/behaviors/preview", json, true, true, null, 3));
     }
 
     private void executeSequenceNodes(JsonArray nodesToExecute) throws IOException, URISyntaxException {
@@ -1298,7 +1368,8 @@ public class Connection {
             request.sequenceJson = sequenceJson;
 
             String requestJson = gson.toJson(request);
-            makeRequest("POST", alexaServer + "/api/behaviors/preview", requestJson, true, true, null, 3);
+            discardResponse(
+                    makeRequest("POST", alexaServer + "/api/behaviors/preview", requestJson, true, true, null, 3));
         } else {
             logger.warn("Routine {} not found", utterance);
         }
@@ -1324,7 +1395,8 @@ public class Connection {
         JsonEnabledFeeds enabled = new JsonEnabledFeeds();
         enabled.enabledFeeds = enabledFlashBriefing;
         String json = gsonWithNullSerialization.toJson(enabled);
-        makeRequest("POST", alexaServer + "/api/content-skills/enabled-feeds", json, true, true, null, 0);
+        discardResponse(
+                makeRequest("POST", alexaServer + "/api/content-skills/enabled-feeds", json, true, true, null, 0));
     }
 
     public JsonNotificationSound[] getNotificationSounds(Device device) throws IOException, URISyntaxException {
@@ -1454,7 +1526,7 @@ public class Connection {
         startRoutineRequest.status = null;
 
         String postData = gson.toJson(startRoutineRequest);
-        makeRequest("POST", alexaServer + "/api/behaviors/preview", postData, true, true, null, 3);
+        discardResponse(makeRequest("POST", alexaServer + "/api/behaviors/preview", postData, true, true, null, 3));
     }
 
     public JsonEqualizer getEqualizer(Device device) throws IOException, URISyntaxException {
@@ -1465,7 +1537,8 @@ public class Connection {
 
     public void SetEqualizer(Device device, JsonEqualizer settings) throws IOException, URISyntaxException {
         String postData = gson.toJson(settings);
-        makeRequest("POST", alexaServer + "/api/equalizer/" + device.serialNumber + "/" + device.deviceType, postData,
-                true, true, null, 0);
+        discardResponse(makeRequest("POST",
+                alexaServer + "/api/equalizer/" + device.serialNumber + "/" + device.deviceType, postData, true, true,
+                null, 0));
     }
 }
@@ -22,9 +22,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -84,6 +88,9 @@ import com.google.gson.JsonSyntaxException;
 @NonNullByDefault
 public class AccountHandler extends BaseBridgeHandler implements IWebSocketCommandHandler, IAmazonThingHandler {
 
+    private static final int MAX_PARALLEL_REFRESHES = 4;
+    private static final int REFRESH_TIMEOUT_SECONDS = 50;
+
     private final Logger logger = LoggerFactory.getLogger(AccountHandler.class);
     private Storage<String> stateStorage;
     private @Nullable Connection connection;
@@ -484,56 +491,18 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
                         }
                     }
                 }
-                // forward device information to echo handler
-                for (EchoHandler child : echoHandlers) {
-                    Device device = findDeviceJson(child);
-
-                    @Nullable
-                    JsonNotificationSound[] notificationSounds = null;
-                    JsonPlaylists playlists = null;
-                    if (device != null && currentConnection.getIsLoggedIn()) {
-                        // update notification sounds
-                        try {
-                            notificationSounds = currentConnection.getNotificationSounds(device);
-                        } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update notification sounds failed", e);
-                        }
-                        // update playlists
-                        try {
-                            playlists = currentConnection.getPlaylists(device);
-                        } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update playlist failed", e);
-                        }
-                    }
-
-                    BluetoothState state = null;
-                    if (states != null) {
-                        state = states.findStateByDevice(device);
-                    }
-                    DeviceNotificationState deviceNotificationState = null;
-                    AscendingAlarmModel ascendingAlarmModel = null;
-                    if (device != null) {
-                        if (ascendingAlarmModels != null) {
-                            for (AscendingAlarmModel current : ascendingAlarmModels) {
-                                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
-                                    ascendingAlarmModel = current;
-                                    break;
-                                }
-                            }
-                        }
-
-                        if (deviceNotificationStates != null) {
-                            for (DeviceNotificationState current : deviceNotificationStates) {
-                                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
-                                    deviceNotificationState = current;
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                    child.updateState(this, device, state, deviceNotificationState, ascendingAlarmModel, playlists,
-                            notificationSounds, musicProviders);
+                // forward device information to echo handler, the devices are refreshed in parallel
+                List<EchoHandler> children;
+                synchronized (echoHandlers) {
+                    children = new ArrayList<>(echoHandlers);
                 }
+                final JsonBluetoothStates bluetoothStates = states;
+                final DeviceNotificationState[] notificationStates = deviceNotificationStates;
+                final AscendingAlarmModel[] alarmModels = ascendingAlarmModels;
+                final List<JsonMusicProvider> providers = musicProviders;
+                final Connection refreshConnection = currentConnection;
+                refreshInParallel(children, child -> refreshEchoHandler(refreshConnection, child, bluetoothStates,
+                        notificationStates, alarmModels, providers));
 
                 // refresh notifications
                 refreshNotifications(null);
@@ -550,6 +519,90 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
         }
     }
 
+    private void refreshEchoHandler(Connection connection, EchoHandler child,
+            @Nullable JsonBluetoothStates bluetoothStates, DeviceNotificationState @Nullable [] notificationStates,
+            AscendingAlarmModel @Nullable [] alarmModels, @Nullable List<JsonMusicProvider> musicProviders) {
+        Device device = findDeviceJson(child);
+
+        @Nullable
+        JsonNotificationSound[] notificationSounds = null;
+        JsonPlaylists playlists = null;
+        if (device != null && connection.getIsLoggedIn()) {
+            // update notification sounds
+            try {
+                notificationSounds = connection.getNotificationSounds(device);
+            } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
+                logger.debug("Update notification sounds failed", e);
+            }
+            // update playlists
+            try {
+                playlists = connection.getPlaylists(device);
+            } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
+                logger.debug("Update playlist failed", e);
+            }
+        }
+
+        BluetoothState state = null;
+        if (bluetoothStates != null) {
+            state = bluetoothStates.findStateByDevice(device);
+        }
+        DeviceNotificationState deviceNotificationState = null;
+        AscendingAlarmModel ascendingAlarmModel = null;
+        if (device != null) {
+            if (alarmModels != null) {
+                for (AscendingAlarmModel current : alarmModels) {
+                    if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
+                        ascendingAlarmModel = current;
+                        break;
+                    }
+                }
+            }
+
+            if (notificationStates != null) {
+                for (DeviceNotificationState current : notificationStates) {
+                    if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
+                        deviceNotificationState = current;
+                        break;
+                    }
+                }
+            }
+        }
+        child.updateState(this, device, state, deviceNotificationState, ascendingAlarmModel, playlists,
+                notificationSounds, musicProviders);
+    }
+
+    /**
+     * Runs the refresh of the echo handlers with at most {@link #MAX_PARALLEL_REFRESHES} at the same time. The
+     * calling thread takes part in the refresh, so the refresh completes even if no thread of the scheduler is free.
+     */
+    private void refreshInParallel(List<EchoHandler> children, Consumer<EchoHandler> refresh) {
+        Queue<EchoHandler> queue = new ConcurrentLinkedQueue<>(children);
+        CountDownLatch finished = new CountDownLatch(children.size());
+        Runnable worker = () -> {
+            EchoHandler child;
+            while ((child = queue.poll()) != null) {
+                try {
+                    refresh.accept(child);
+                } catch (RuntimeException e) {
+                    logger.debug("refresh of {} fails", child.getThing().getUID(), e);
+                } finally {
+                    finished.countDown();
+                }
+            }
+        };
+        for (int i = 1; i < Math.min(MAX_PARALLEL_REFRESHES, children.size()); i++) {
+            scheduler.execute(worker);
+        }
+        worker.run();
+        try {
+            if (!finished.await(REFRESH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.debug("refresh of echo handlers did not finish within {} s", REFRESH_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     public @Nullable Device findDeviceJson(EchoHandler echoHandler) {
         String serialNumber = echoHandler.findSerialNumber();
         return findDeviceJson(serialNumber);
@@ -66,6 +66,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -173,6 +174,7 @@ public class EchoHandler extends BaseThingHandler implements IEchoThingHandler {
     private @Nullable JsonNotificationSound @Nullable [] alarmSounds;
     private @Nullable List<JsonMusicProvider> musicProviders;
     private List<ChannelHandler> channelHandlers = new ArrayList<>();
+    private final Map<String, State> lastChannelStates = new ConcurrentHashMap<>();
 
     private @Nullable JsonNotificationResponse currentNotification;
     private @Nullable ScheduledFuture<?> currentNotifcationUpdateTimer;
@@ -190,6 +192,7 @@ public class EchoHandler extends BaseThingHandler implements IEchoThingHandler {
     @Override
     public void initialize() {
         logger.debug("Amazon Echo Control Binding initialized");
+        lastChannelStates.clear();
         Bridge bridge = this.getBridge();
         if (bridge != null) {
             AccountHandler account = (AccountHandler) bridge.getHandler();
@@ -200,6 +203,17 @@ public class EchoHandler extends BaseThingHandler implements IEchoThingHandler {
         }
     }
 
+    /**
+     * Posts the state only if it differs from the last state posted for the channel. A refresh of the account
+     * updates all channels of all echo devices, but usually only a few of them have changed.
+     */
+    @Override
+    protected void updateState(String channelID, State state) {
+        if (!state.equals(lastChannelStates.put(channelID, state))) {
+            super.updateState(channelID, state);
+        }
+    }
+
     public boolean setDeviceAndUpdateThingState(AccountHandler accountHandler, @Nullable Device device,
             @Nullable String wakeWord) {
         this.account = accountHandler;
@@ -286,6 +300,12 @@ public class EchoHandler extends BaseThingHandler implements IEchoThingHandler {
 
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
+        // the item state was changed by the command, so the next state of the channel is posted again
+        if (command instanceof RefreshType) {
+            lastChannelStates.clear();
+        } else {
+            lastChannelStates.remove(channelUID.getId());
+        }
         try {
             int waitForUpdate = 1000;
             boolean needBluetoothRefresh = false;
@@ -31,4 +31,16 @@ public class BlueGigaAdapterConstants {
     public static final String PROPERTY_LINKLAYER = "linklayer";
     public static final String PROPERTY_PROTOCOL = "protocol";
     public static final String PROPERTY_DISCOVERY = "discovery";
+
+    public static final String CONFIGURATION_MAX_DEVICES = "maxDevices";
+    public static final String CONFIGURATION_INACTIVE_DEVICE_TIMEOUT = "inactiveDeviceTimeout";
+    public static final String CONFIGURATION_ADVERTISEMENT_FILTER_INTERVAL = "advertisementFilterInterval";
+
+    public static final int DEFAULT_MAX_DEVICES = 500;
+    public static final int DEFAULT_INACTIVE_DEVICE_TIMEOUT = 300;
+    public static final int DEFAULT_ADVERTISEMENT_FILTER_INTERVAL = 1000;
+
+    // List of all Channel ids
+    public static final String CHANNEL_DEVICE_COUNT = "deviceCount";
+    public static final String CHANNEL_DROPPED_ADVERTISEMENTS = "droppedAdvertisements";
 }
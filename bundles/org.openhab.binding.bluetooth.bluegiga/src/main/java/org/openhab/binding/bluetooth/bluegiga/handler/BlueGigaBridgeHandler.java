@@ -21,9 +21,12 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
@@ -45,6 +48,7 @@ import org.openhab.binding.bluetooth.BluetoothDeviceListener;
 import org.openhab.binding.bluetooth.BluetoothDiscoveryListener;
 import org.openhab.binding.bluetooth.bluegiga.BlueGigaAdapterConstants;
 import org.openhab.binding.bluetooth.bluegiga.BlueGigaBluetoothDevice;
+import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaAdvertisementFilter;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaCommand;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaEventListener;
 import org.openhab.binding.bluetooth.bluegiga.internal.BlueGigaHandlerListener;
@@ -96,6 +100,10 @@ import org.slf4j.LoggerFactory;
  * scanning is enabled when we want to include new devices. Passive scanning is enough for us to receive beacons etc
  * that are transmitted periodically, and active scanning will get more information which may be useful when we are
  * including new devices.
+ * <p>
+ * The table of known devices is bounded: devices which are not bound to a thing are removed after they have not been
+ * heard of for a while, or when the table is full. Repeated identical advertisements are dropped before they are
+ * dispatched to the devices.
  *
  * @author Chris Jackson - Initial contribution
  * @author Kai Kreuzer - Made handler implement BlueGigaHandlerListener
@@ -127,6 +135,9 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
     // The maximum number of connections this interface supports
     private int maxConnections = 0;
 
+    // Interval in seconds in which inactive devices are removed
+    private static final int REMOVE_INACTIVE_DEVICES_INTERVAL = 60;
+
     private final int passiveScanInterval = 0x40;
     private final int passiveScanWindow = 0x08;
 
@@ -144,12 +155,31 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
     // This is all devices we have heard on the network - not just things bound to the bridge
     private final Map<BluetoothAddress, BluetoothDevice> devices = new ConcurrentHashMap<>();
 
+    // Map of the time each known device has last been heard of
+    private final Map<BluetoothAddress, Long> lastSeen = new ConcurrentHashMap<>();
+
+    // The maximum number of devices in the table, bound devices are never removed
+    private int maxDevices = BlueGigaAdapterConstants.DEFAULT_MAX_DEVICES;
+
+    // Time in milliseconds after which an inactive unbound device is removed
+    private long inactiveDeviceTimeout = TimeUnit.SECONDS
+            .toMillis(BlueGigaAdapterConstants.DEFAULT_INACTIVE_DEVICE_TIMEOUT);
+
+    private final BlueGigaAdvertisementFilter advertisementFilter = new BlueGigaAdvertisementFilter(
+            BlueGigaAdapterConstants.DEFAULT_ADVERTISEMENT_FILTER_INTERVAL);
+
+    @Nullable
+    private ScheduledFuture<?> removeInactiveDevicesJob;
+
     // Map of open connections
     private final Map<Integer, BluetoothAddress> connections = new ConcurrentHashMap<>();
 
     // Set of discovery listeners
     protected final Set<BluetoothDiscoveryListener> discoveryListeners = new CopyOnWriteArraySet<>();
 
+    // Set of BlueGiga event listeners - scan events are only passed to the device they originate from
+    private final Set<BlueGigaEventListener> eventListeners = new CopyOnWriteArraySet<>();
+
     // List of device listeners
     protected final ConcurrentHashMap<BluetoothAddress, BluetoothDeviceListener> deviceListeners = new ConcurrentHashMap<>();
 
@@ -177,6 +207,15 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
             logger.debug("Deactivated discovery participation.");
         }
 
+        maxDevices = getConfigValue(BlueGigaAdapterConstants.CONFIGURATION_MAX_DEVICES,
+                BlueGigaAdapterConstants.DEFAULT_MAX_DEVICES);
+        inactiveDeviceTimeout = TimeUnit.SECONDS
+                .toMillis(getConfigValue(BlueGigaAdapterConstants.CONFIGURATION_INACTIVE_DEVICE_TIMEOUT,
+                        BlueGigaAdapterConstants.DEFAULT_INACTIVE_DEVICE_TIMEOUT));
+        advertisementFilter.setInterval(getConfigValue(
+                BlueGigaAdapterConstants.CONFIGURATION_ADVERTISEMENT_FILTER_INTERVAL,
+                BlueGigaAdapterConstants.DEFAULT_ADVERTISEMENT_FILTER_INTERVAL));
+
         final String portId = (String) getConfig().get(BlueGigaAdapterConstants.CONFIGURATION_PORT);
 
         if (portId == null) {
@@ -240,6 +279,9 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
                         Integer.toString(infoResponse.getLlVersion()));
                 updateProperties(properties);
             });
+
+            removeInactiveDevicesJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices,
+                    REMOVE_INACTIVE_DEVICES_INTERVAL, REMOVE_INACTIVE_DEVICES_INTERVAL, TimeUnit.SECONDS);
         } else {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR,
                     "Failed opening serial port.");
@@ -248,6 +290,11 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
 
     @Override
     public void dispose() {
+        ScheduledFuture<?> job = removeInactiveDevicesJob;
+        if (job != null) {
+            job.cancel(true);
+            removeInactiveDevicesJob = null;
+        }
         try {
             BlueGigaSerialHandler bgh = getBgHandler();
             bgh.removeEventListener(this);
@@ -259,6 +306,11 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
         closeSerialPort();
     }
 
+    private int getConfigValue(String key, int defaultValue) {
+        Object value = getConfig().get(key);
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
     private boolean openSerialPort(final String serialPortName, int baudRate) {
         logger.debug("Connecting to serial port '{}'", serialPortName);
         try {
@@ -332,17 +384,30 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
         if (event instanceof BlueGigaScanResponseEvent) {
             BlueGigaScanResponseEvent scanEvent = (BlueGigaScanResponseEvent) event;
 
+            long now = System.currentTimeMillis();
+            if (advertisementFilter.isDuplicate(scanEvent.getSender(), scanEvent.getPacketType(),
+                    scanEvent.getData(), now)) {
+                return;
+            }
+
             // We use the scan event to add any devices we hear to the devices list
             // The device gets created, and then manages itself for discovery etc.
             BluetoothAddress sender = new BluetoothAddress(scanEvent.getSender());
-            BlueGigaBluetoothDevice device;
-            if (devices.get(sender) == null) {
+            BluetoothDevice device = devices.get(sender);
+            if (device == null) {
                 logger.debug("BlueGiga adding new device to adaptor {}: {}", address, sender);
+                removeOldestDevices(maxDevices - 1);
                 device = new BlueGigaBluetoothDevice(this, new BluetoothAddress(scanEvent.getSender()),
                         scanEvent.getAddressType());
                 devices.put(sender, device);
                 deviceDiscovered(device);
             }
+            lastSeen.put(sender, now);
+
+            // Scan events are only of interest to the device they originate from
+            if (device instanceof BlueGigaEventListener && eventListeners.contains(device)) {
+                ((BlueGigaEventListener) device).bluegigaEventReceived(event);
+            }
 
             return;
         }
@@ -356,6 +421,75 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
             BlueGigaDisconnectedEvent disconnectedEvent = (BlueGigaDisconnectedEvent) event;
             connections.remove(disconnectedEvent.getConnection());
         }
+
+        for (BlueGigaEventListener listener : eventListeners) {
+            try {
+                listener.bluegigaEventReceived(event);
+            } catch (Exception e) {
+                logger.warn("Execution error of a BlueGigaEventListener listener.", e);
+            }
+        }
+    }
+
+    /**
+     * Removes all devices which are not bound to a thing and have not been heard of within the configured timeout.
+     * Also updates the statistics channels.
+     */
+    private void removeInactiveDevices() {
+        long now = System.currentTimeMillis();
+        for (BluetoothAddress deviceAddress : devices.keySet()) {
+            if (now - lastSeen.getOrDefault(deviceAddress, 0L) > inactiveDeviceTimeout) {
+                removeDevice(deviceAddress);
+            }
+        }
+        advertisementFilter.purge(now);
+
+        updateState(BlueGigaAdapterConstants.CHANNEL_DEVICE_COUNT, new DecimalType(devices.size()));
+        updateState(BlueGigaAdapterConstants.CHANNEL_DROPPED_ADVERTISEMENTS,
+                new DecimalType(advertisementFilter.getDroppedCount()));
+    }
+
+    /**
+     * Removes the least recently seen unbound devices until the table holds no more than the given number of devices
+     *
+     * @param size the maximum number of devices to keep
+     */
+    private void removeOldestDevices(int size) {
+        while (devices.size() > size) {
+            BluetoothAddress oldest = null;
+            long oldestTime = Long.MAX_VALUE;
+            for (Map.Entry<BluetoothAddress, BluetoothDevice> entry : devices.entrySet()) {
+                long time = lastSeen.getOrDefault(entry.getKey(), 0L);
+                if (time < oldestTime && isRemovable(entry.getKey(), entry.getValue())) {
+                    oldest = entry.getKey();
+                    oldestTime = time;
+                }
+            }
+            if (oldest == null || !removeDevice(oldest)) {
+                // All remaining devices are in use
+                return;
+            }
+        }
+    }
+
+    private boolean isRemovable(BluetoothAddress deviceAddress, BluetoothDevice device) {
+        return !device.hasListeners() && !connections.containsValue(deviceAddress);
+    }
+
+    private boolean removeDevice(BluetoothAddress deviceAddress) {
+        BluetoothDevice device = devices.get(deviceAddress);
+        if (device == null || !isRemovable(deviceAddress, device)) {
+            return false;
+        }
+
+        logger.debug("BlueGiga removing inactive device from adaptor {}: {}", address, deviceAddress);
+        devices.remove(deviceAddress);
+        lastSeen.remove(deviceAddress);
+        if (device instanceof BlueGigaEventListener) {
+            eventListeners.remove(device);
+        }
+        advertisementFilter.remove(deviceAddress.toString());
+        return true;
     }
 
     @Override
@@ -396,9 +530,11 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
         BluetoothDevice device = devices.get(address);
         if (device == null) {
             // This method always needs to return a device, even if we don't currently know about it.
+            removeOldestDevices(maxDevices - 1);
             device = new BlueGigaBluetoothDevice(this, address, BluetoothAddressType.UNKNOWN);
             devices.put(address, device);
         }
+        lastSeen.put(address, System.currentTimeMillis());
         return device;
     }
 
@@ -609,7 +745,7 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
      * @param listener the {@link BlueGigaEventListener} to add
      */
     public void addEventListener(BlueGigaEventListener listener) {
-        getBgHandler().addEventListener(listener);
+        eventListeners.add(listener);
     }
 
     /**
@@ -618,7 +754,7 @@ public class BlueGigaBridgeHandler extends BaseBridgeHandler
      * @param listener the {@link BlueGigaEventListener} to remove
      */
     public void removeEventListener(BlueGigaEventListener listener) {
-        getBgHandler().removeEventListener(listener);
+        eventListeners.remove(listener);
     }
 
     @Override
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.ScanResponseType;
+
+/**
+ * Suppresses repeated advertisements. Devices usually advertise the same payload many times per second; only the first
+ * occurrence of a payload within the configured interval is passed on, all identical ones are counted and dropped.
+ * <p>
+ * Advertisements and scan responses are tracked separately per sender, as devices alternate between them.
+ *
+ * @author Chris Jackson - Initial contribution
+ */
+public class BlueGigaAdvertisementFilter {
+
+    private final Map<String, Advertisement> lastAdvertisements = new ConcurrentHashMap<>();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private volatile long interval;
+
+    /**
+     * Creates a new filter
+     *
+     * @param interval the interval in milliseconds in which identical payloads are dropped. 0 disables the filter.
+     */
+    public BlueGigaAdvertisementFilter(long interval) {
+        this.interval = interval;
+    }
+
+    public void setInterval(long interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Checks if an advertisement is a repetition of the last one received from the same sender
+     *
+     * @param sender the address of the sender
+     * @param type the {@link ScanResponseType} of the advertisement
+     * @param data the advertisement payload
+     * @param now the current time in milliseconds
+     * @return true if the advertisement should be dropped
+     */
+    public boolean isDuplicate(String sender, ScanResponseType type, int[] data, long now) {
+        if (interval <= 0) {
+            return false;
+        }
+
+        String key = sender + type;
+        Advertisement last = lastAdvertisements.get(key);
+        if (last != null && now - last.timestamp < interval && Arrays.equals(last.data, data)) {
+            droppedCount.incrementAndGet();
+            return true;
+        }
+
+        lastAdvertisements.put(key, new Advertisement(data, now));
+        return false;
+    }
+
+    /**
+     * Forgets everything received from a sender, e.g. when the device has been removed
+     *
+     * @param sender the address of the sender
+     */
+    public void remove(String sender) {
+        lastAdvertisements.keySet().removeIf(key -> key.startsWith(sender));
+    }
+
+    /**
+     * Removes all entries which are too old to suppress anything anymore
+     *
+     * @param now the current time in milliseconds
+     */
+    public void purge(long now) {
+        lastAdvertisements.values().removeIf(advertisement -> now - advertisement.timestamp >= interval);
+    }
+
+    /**
+     * Returns the number of advertisements which have been dropped since the filter was created
+     *
+     * @return the number of dropped advertisements
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private static class Advertisement {
+        private final int[] data;
+        private final long timestamp;
+
+        Advertisement(int[] data, long timestamp) {
+            this.data = data;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -15,6 +15,7 @@ package org.openhab.binding.bluetooth.bluegiga.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
@@ -44,6 +45,7 @@ import org.slf4j.LoggerFactory;
 public class BlueGigaSerialHandler {
 
     private static final int BLE_MAX_LENGTH = 64;
+    private static final int READ_BUFFER_LENGTH = 256;
     private static final int TRANSACTION_TIMEOUT_PERIOD = 50;
 
     private final Logger logger = LoggerFactory.getLogger(BlueGigaSerialHandler.class);
@@ -89,54 +91,64 @@ public class BlueGigaSerialHandler {
             public void run() {
                 int exceptionCnt = 0;
                 logger.trace("BlueGiga BLE thread started");
+                byte[] readBuffer = new byte[READ_BUFFER_LENGTH];
                 int[] inputBuffer = new int[BLE_MAX_LENGTH];
                 int inputCount = 0;
                 int inputLength = 0;
 
                 while (!close) {
                     try {
-                        int val = inputStream.read();
-                        if (val == -1) {
+                        int readCount = inputStream.read(readBuffer);
+                        if (readCount <= 0) {
                             continue;
                         }
 
-                        inputBuffer[inputCount++] = val;
-
-                        if (inputCount < 4) {
-                            // The BGAPI protocol has no packet framing, and no error detection, so we do a few
-                            // sanity checks on the header to try and allow resyncronisation should there be an
-                            // error.
-                            // Byte 0: Check technology type is bluetooth and high length is 0
-                            // Byte 1: Check length is less than 64 bytes
-                            // Byte 2: Check class ID is less than 8
-                            // Byte 3: Check command ID is less than 16
-                            if ((val & framecheckParams[inputCount]) != 0) {
-                                logger.debug("BlueGiga framing error byte {} = {}", inputCount, val);
-                                inputCount = 0;
-                                continue;
-                            }
-                        } else if (inputCount == 4) {
-                            // Process the header to get the length
-                            inputLength = inputBuffer[1] + (inputBuffer[0] & 0x02 << 8) + 4;
-                            if (inputLength > 64) {
-                                logger.error("BLE length larger than 64 bytes ({})", inputLength);
-                            }
-                        }
-                        if (inputCount == inputLength) {
-                            // End of packet reached - process
-                            BlueGigaResponse responsePacket = BlueGigaResponsePackets.getPacket(inputBuffer);
-
-                            logger.trace("BLE RX: {}", printHex(inputBuffer, inputLength));
-                            logger.trace("BLE RX: {}", responsePacket);
-                            if (responsePacket != null) {
-                                if (responsePacket.isEvent()) {
-                                    notifyEventListeners(responsePacket);
-                                } else {
-                                    notifyTransactionComplete(responsePacket);
+                        for (int readIndex = 0; readIndex < readCount; readIndex++) {
+                            int val = readBuffer[readIndex] & 0xFF;
+
+                            inputBuffer[inputCount++] = val;
+
+                            if (inputCount < 4) {
+                                // The BGAPI protocol has no packet framing, and no error detection, so we do a few
+                                // sanity checks on the header to try and allow resyncronisation should there be an
+                                // error.
+                                // Byte 0: Check technology type is bluetooth and high length is 0
+                                // Byte 1: Check length is less than 64 bytes
+                                // Byte 2: Check class ID is less than 8
+                                // Byte 3: Check command ID is less than 16
+                                if ((val & framecheckParams[inputCount]) != 0) {
+                                    logger.debug("BlueGiga framing error byte {} = {}", inputCount, val);
+                                    inputCount = 0;
+                                    continue;
+                                }
+                            } else if (inputCount == 4) {
+                                // Process the header to get the length
+                                inputLength = inputBuffer[1] + (inputBuffer[0] & 0x02 << 8) + 4;
+                                if (inputLength > BLE_MAX_LENGTH) {
+                                    logger.error("BLE length larger than {} bytes ({})", BLE_MAX_LENGTH, inputLength);
+                                    inputCount = 0;
+                                    continue;
                                 }
                             }
+                            if (inputCount == inputLength) {
+                                // End of packet reached - process a copy, the input buffer is reused for the next one
+                                int[] packet = Arrays.copyOf(inputBuffer, inputLength);
+                                BlueGigaResponse responsePacket = BlueGigaResponsePackets.getPacket(packet);
+
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("BLE RX: {}", printHex(packet, inputLength));
+                                    logger.trace("BLE RX: {}", responsePacket);
+                                }
+                                if (responsePacket != null) {
+                                    if (responsePacket.isEvent()) {
+                                        notifyEventListeners(responsePacket);
+                                    } else {
+                                        notifyTransactionComplete(responsePacket);
+                                    }
+                                }
 
-                            inputCount = 0;
+                                inputCount = 0;
+                            }
                         }
 
                     } catch (final IOException e) {
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.binding.bluetooth.bluegiga.internal.enumeration.ScanResponseType;
+
+/**
+ * Tests {@link BlueGigaAdvertisementFilter}.
+ *
+ * @author Chris Jackson - Initial contribution
+ */
+public class BlueGigaAdvertisementFilterTest {
+
+    private static final String SENDER = "00:11:22:33:44:55";
+
+    @Test
+    public void testIdenticalPayloadIsDropped() {
+        BlueGigaAdvertisementFilter filter = new BlueGigaAdvertisementFilter(1000);
+
+        assertFalse(filter.isDuplicate(SENDER, ScanResponseType.CONNECTABLE_ADVERTISEMENT, new int[] { 1, 2 }, 0));
+        assertTrue(filter.isDuplicate(SENDER, ScanResponseType.CONNECTABLE_ADVERTISEMENT, new int[] { 1, 2 }, 500));
+        assertEquals(1, filter.getDroppedCount());
+    }
+
+    @Test
+    public void testChangedPayloadIsPassed() {
+        BlueGigaAdvertisementFilter filter = new BlueGigaAdvertisementFilter(1000);
+
+        assertFalse(filter.isDuplicate(SENDER, ScanResponseType.CONNECTABLE_ADVERTISEMENT, new int[] { 1, 2 }, 0));
+        assertFalse(filter.isDuplicate(SENDER, ScanResponseType.CONNECTABLE_ADVERTISEMENT, new int[] { 1, 3 }, 100));
+        assertFalse(filter.isDuplicate(SENDER, ScanResponseType.SCAN_RESPONSE, new int[] { 1, 3 }, 200));
+        assertEquals(0, filter.getDroppedCount());
+    }
+
+    @Test
+    public void testPayloadIsPassedAfterInterval() {
+        BlueGigaAdvertisementFilter filter = new BlueGigaAdvertisementFilter(1000);
+
+        assertFalse(filter.isDuplicate(SENDER, ScanResponseType.CONNECTABLE_ADVERTISEMENT, new int[] { 1, 2 }, 0));
+        assertFalse(filter.isDuplicate(SENDER, ScanResponseType.CONNECTABLE_ADVERTISEMENT, new int[] { 1, 2 }, 1000));
+    }
+
+    @Test
+    public void testDisabledFilter() {
+        BlueGigaAdvertisementFilter filter = new BlueGigaAdvertisementFilter(0);
+
+        assertFalse(filter.isDuplicate(SENDER, ScanResponseType.CONNECTABLE_ADVERTISEMENT, new int[] { 1, 2 }, 0));
+        assertFalse(filter.isDuplicate(SENDER, ScanResponseType.CONNECTABLE_ADVERTISEMENT, new int[] { 1, 2 }, 1));
+    }
+
+    @Test
+    public void testRemovedSenderIsForgotten() {
+        BlueGigaAdvertisementFilter filter = new BlueGigaAdvertisementFilter(1000);
+
+        assertFalse(filter.isDuplicate(SENDER, ScanResponseType.CONNECTABLE_ADVERTISEMENT, new int[] { 1, 2 }, 0));
+        filter.remove(SENDER);
+        assertFalse(filter.isDuplicate(SENDER, ScanResponseType.CONNECTABLE_ADVERTISEMENT, new int[] { 1, 2 }, 1));
+    }
+}
@@ -489,6 +489,15 @@ public abstract class BluetoothDevice {
         eventListeners.remove(listener);
     }
 
+    /**
+     * Checks if any listener is registered for this device, i.e. whether it is bound to a thing handler
+     *
+     * @return true if at least one {@link BluetoothDeviceListener} is registered
+     */
+    public boolean hasListeners() {
+        return !eventListeners.isEmpty();
+    }
+
     /**
      * Notify the listeners of an event
      *
@@ -20,13 +20,13 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
 import javax.xml.bind.UnmarshalException;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
@@ -43,6 +43,7 @@ import org.eclipse.smarthome.io.net.http.HttpUtil;
 import org.openhab.binding.denonmarantz.internal.DenonMarantzState;
 import org.openhab.binding.denonmarantz.internal.config.DenonMarantzConfiguration;
 import org.openhab.binding.denonmarantz.internal.connector.DenonMarantzConnector;
+import org.openhab.binding.denonmarantz.internal.xml.JaxbPool;
 import org.openhab.binding.denonmarantz.internal.xml.entities.Deviceinfo;
 import org.openhab.binding.denonmarantz.internal.xml.entities.Main;
 import org.openhab.binding.denonmarantz.internal.xml.entities.ZoneStatus;
@@ -85,6 +86,8 @@ public class DenonMarantzHttpConnector extends DenonMarantzConnector {
 
     private static final String CONTENT_TYPE_XML = "application/xml";
 
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
     private final String cmdUrl;
 
     private final String statusUrl;
@@ -93,6 +96,9 @@ public class DenonMarantzHttpConnector extends DenonMarantzConnector {
 
     private ScheduledFuture<?> pollingJob;
 
+    // last polled document per URL, an unchanged document is not unmarshalled again
+    private final Map<String, String> lastDocuments = new ConcurrentHashMap<>();
+
     public DenonMarantzHttpConnector(DenonMarantzConfiguration config, DenonMarantzState state,
             ScheduledExecutorService scheduler, HttpClient httpClient) {
         this.config = config;
@@ -115,6 +121,7 @@ public class DenonMarantzHttpConnector extends DenonMarantzConnector {
     public void connect() {
         if (!isPolling()) {
             logger.debug("HTTP polling started.");
+            lastDocuments.clear();
             try {
                 setConfigProperties();
             } catch (IOException e) {
@@ -196,7 +203,7 @@ public class DenonMarantzHttpConnector extends DenonMarantzConnector {
         String url = statusUrl + URL_MAIN;
         logger.trace("Refreshing URL: {}", url);
 
-        Main statusMain = getDocument(url, Main.class);
+        Main statusMain = getDocument(url, Main.class, true);
         if (statusMain != null) {
             state.setPower(statusMain.getPower().getValue());
         }
@@ -206,7 +213,7 @@ public class DenonMarantzHttpConnector extends DenonMarantzConnector {
         String url = statusUrl + URL_ZONE_MAIN;
         logger.trace("Refreshing URL: {}", url);
 
-        ZoneStatus mainZone = getDocument(url, ZoneStatus.class);
+        ZoneStatus mainZone = getDocument(url, ZoneStatus.class, true);
         if (mainZone != null) {
             state.setInput(mainZone.getInputFuncSelect().getValue());
             state.setMainVolume(mainZone.getMasterVolume().getValue());
@@ -229,7 +236,7 @@ public class DenonMarantzHttpConnector extends DenonMarantzConnector {
         for (int i = 2; i <= config.getZoneCount(); i++) {
             String url = String.format("%s" + URL_ZONE_SECONDARY_LITE, statusUrl, i, i);
             logger.trace("Refreshing URL: {}", url);
-            ZoneStatusLite zoneSecondary = getDocument(url, ZoneStatusLite.class);
+            ZoneStatusLite zoneSecondary = getDocument(url, ZoneStatusLite.class, true);
             if (zoneSecondary != null) {
                 switch (i) {
                     // maximum 2 secondary zones are supported
@@ -255,7 +262,7 @@ public class DenonMarantzHttpConnector extends DenonMarantzConnector {
         logger.trace("Refreshing URL: {}", url);
 
         AppCommandRequest request = AppCommandRequest.of(CommandTx.CMD_NET_STATUS);
-        AppCommandResponse response = postDocument(url, AppCommandResponse.class, request);
+        AppCommandResponse response = postDocument(url, AppCommandResponse.class, request, true);
 
         if (response != null) {
             CommandRx titleInfo = response.getCommands().get(0);
@@ -269,7 +276,7 @@ public class DenonMarantzHttpConnector extends DenonMarantzConnector {
         String url = statusUrl + URL_DEVICE_INFO;
         logger.debug("Refreshing URL: {}", url);
 
-        Deviceinfo deviceinfo = getDocument(url, Deviceinfo.class);
+        Deviceinfo deviceinfo = getDocument(url, Deviceinfo.class, false);
         if (deviceinfo != null) {
             config.setZoneCount(deviceinfo.getDeviceZones());
         }
@@ -294,22 +301,29 @@ public class DenonMarantzHttpConnector extends DenonMarantzConnector {
         updateDisplayInfo();
     }
 
+    /**
+     * Retrieves and unmarshals a document.
+     *
+     * @param onlyIfChanged if true, null is returned if the document is the same as the last time, so unchanged
+     *            zones cause no state updates
+     * @return the document or null, if it could not be retrieved (or has not changed)
+     */
     @Nullable
-    private <T> T getDocument(String uri, Class<T> response) throws IOException {
+    private <T> T getDocument(String uri, Class<T> response, boolean onlyIfChanged) throws IOException {
         try {
             String result = HttpUtil.executeUrl("GET", uri, REQUEST_TIMEOUT_MS);
             logger.trace("result of getDocument for uri '{}':\r\n{}", uri, result);
 
             if (StringUtils.isNotBlank(result)) {
-                JAXBContext jc = JAXBContext.newInstance(response);
-                XMLInputFactory xif = XMLInputFactory.newInstance();
-                XMLStreamReader xsr = xif.createXMLStreamReader(IOUtils.toInputStream(result));
-                xsr = new PropertyRenamerDelegate(xsr);
-
-                @SuppressWarnings("unchecked")
-                T obj = (T) jc.createUnmarshaller().unmarshal(xsr);
-
-                return obj;
+                if (onlyIfChanged && isUnchanged(uri, result)) {
+                    logger.trace("document for uri '{}' has not changed", uri);
+                    return null;
+                }
+                T document = unmarshalDocument(result, response);
+                if (onlyIfChanged) {
+                    lastDocuments.put(uri, result);
+                }
+                return document;
             }
         } catch (UnmarshalException e) {
             logger.debug("Failed to unmarshal xml document: {}", e.getMessage());
@@ -322,24 +336,32 @@ public class DenonMarantzHttpConnector extends DenonMarantzConnector {
         return null;
     }
 
+    /**
+     * Posts a request and unmarshals the response.
+     *
+     * @param onlyIfChanged if true, null is returned if the response is the same as the last time
+     * @return the response or null, if it could not be retrieved (or has not changed)
+     */
     @Nullable
-    private <T, S> T postDocument(String uri, Class<T> response, S request) throws IOException {
+    private <T, S> T postDocument(String uri, Class<T> response, S request, boolean onlyIfChanged)
+            throws IOException {
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(request.getClass());
-            Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
             StringWriter sw = new StringWriter();
-            jaxbMarshaller.marshal(request, sw);
+            JaxbPool.marshal(request, sw);
 
             ByteArrayInputStream inputStream = new ByteArrayInputStream(sw.toString().getBytes(StandardCharsets.UTF_8));
             String result = HttpUtil.executeUrl("POST", uri, inputStream, CONTENT_TYPE_XML, REQUEST_TIMEOUT_MS);
 
             if (StringUtils.isNotBlank(result)) {
-                JAXBContext jcResponse = JAXBContext.newInstance(response);
-
-                @SuppressWarnings("unchecked")
-                T obj = (T) jcResponse.createUnmarshaller().unmarshal(IOUtils.toInputStream(result));
-
-                return obj;
+                if (onlyIfChanged && isUnchanged(uri + sw, result)) {
+                    logger.trace("response for uri '{}' has not changed", uri);
+                    return null;
+                }
+                T document = JaxbPool.unmarshal(response, IOUtils.toInputStream(result));
+                if (onlyIfChanged) {
+                    lastDocuments.put(uri + sw, result);
+                }
+                return document;
             }
         } catch (JAXBException e) {
             logger.debug("Encoding error in post", e);
@@ -348,7 +370,28 @@ public class DenonMarantzHttpConnector extends DenonMarantzConnector {
         return null;
     }
 
-    private static class PropertyRenamerDelegate extends StreamReaderDelegate {
+    /**
+     * Checks whether the document equals the last one, which was unmarshalled successfully for the key. A document
+     * is only recorded after it was unmarshalled, so a document that failed to parse is parsed again on the next poll.
+     */
+    private boolean isUnchanged(String key, String document) {
+        return document.equals(lastDocuments.get(key));
+    }
+
+    /**
+     * Unmarshals a status document of the receiver, whose element names are capitalized.
+     */
+    static <T> T unmarshalDocument(String document, Class<T> type) throws JAXBException, XMLStreamException {
+        XMLStreamReader xsr = new PropertyRenamerDelegate(
+                XML_INPUT_FACTORY.createXMLStreamReader(IOUtils.toInputStream(document)));
+        try {
+            return JaxbPool.unmarshal(type, xsr);
+        } finally {
+            xsr.close();
+        }
+    }
+
+    static class PropertyRenamerDelegate extends StreamReaderDelegate {
 
         public PropertyRenamerDelegate(XMLStreamReader xsr) {
             super(xsr);
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.denonmarantz.internal.xml;
+
+import java.io.InputStream;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Caches one {@link JAXBContext} per XML entity class and pools its marshallers and unmarshallers.
+ *
+ * Creating a context is expensive, while the context itself is thread-safe. Marshallers and unmarshallers are not
+ * thread-safe, so each one is used by one thread at a time: it is taken from the pool for a single operation and
+ * returned afterwards. At most {@link #MAX_POOLED} idle instances are kept per class.
+ *
+ * @author Jan-Willem Veldhuis - Initial contribution
+ */
+public final class JaxbPool {
+
+    private static final int MAX_POOLED = 4;
+
+    private static final Map<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, BlockingQueue<Unmarshaller>> UNMARSHALLERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, BlockingQueue<Marshaller>> MARSHALLERS = new ConcurrentHashMap<>();
+
+    private JaxbPool() {
+        // no instances
+    }
+
+    /**
+     * Returns the cached context for the class, creating it on first use.
+     */
+    public static JAXBContext getContext(Class<?> type) throws JAXBException {
+        JAXBContext context = CONTEXTS.get(type);
+        if (context == null) {
+            context = JAXBContext.newInstance(type);
+            JAXBContext previous = CONTEXTS.putIfAbsent(type, context);
+            if (previous != null) {
+                context = previous;
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Unmarshals a document from a stream reader.
+     */
+    public static <T> T unmarshal(Class<T> type, XMLStreamReader reader) throws JAXBException {
+        Unmarshaller unmarshaller = borrowUnmarshaller(type);
+        try {
+            return type.cast(unmarshaller.unmarshal(reader));
+        } finally {
+            UNMARSHALLERS.get(type).offer(unmarshaller);
+        }
+    }
+
+    /**
+     * Unmarshals a document from an input stream.
+     */
+    public static <T> T unmarshal(Class<T> type, InputStream inputStream) throws JAXBException {
+        Unmarshaller unmarshaller = borrowUnmarshaller(type);
+        try {
+            return type.cast(unmarshaller.unmarshal(inputStream));
+        } finally {
+            UNMARSHALLERS.get(type).offer(unmarshaller);
+        }
+    }
+
+    /**
+     * Marshals an object with the context of its class.
+     */
+    public static void marshal(Object object, Writer writer) throws JAXBException {
+        Class<?> type = object.getClass();
+        BlockingQueue<Marshaller> pool = MARSHALLERS.computeIfAbsent(type, t -> new ArrayBlockingQueue<>(MAX_POOLED));
+        Marshaller marshaller = pool.poll();
+        if (marshaller == null) {
+            marshaller = getContext(type).createMarshaller();
+        }
+        try {
+            marshaller.marshal(object, writer);
+        } finally {
+            pool.offer(marshaller);
+        }
+    }
+
+    private static Unmarshaller borrowUnmarshaller(Class<?> type) throws JAXBException {
+        BlockingQueue<Unmarshaller> pool = UNMARSHALLERS.computeIfAbsent(type,
+                t -> new ArrayBlockingQueue<>(MAX_POOLED));
+        Unmarshaller unmarshaller = pool.poll();
+        return unmarshaller != null ? unmarshaller : getContext(type).createUnmarshaller();
+    }
+}
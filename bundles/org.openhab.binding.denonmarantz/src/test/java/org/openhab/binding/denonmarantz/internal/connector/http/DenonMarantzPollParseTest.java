@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.denonmarantz.internal.connector.http;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.denonmarantz.internal.xml.entities.ZoneStatus;
+import org.openhab.binding.denonmarantz.internal.xml.entities.ZoneStatusLite;
+
+/**
+ * Parses recorded status documents of a receiver the way the HTTP connector does on every poll and checks that the
+ * cached JAXB contexts and pooled unmarshallers return the same values as a new context for every document.
+ *
+ * @author Jan-Willem Veldhuis - Initial contribution
+ */
+public class DenonMarantzPollParseTest {
+    private static final String MAIN_ZONE_RESOURCE = "MainZoneXmlStatus.xml";
+    private static final String ZONE2_RESOURCE = "Zone2XmlStatusLite.xml";
+
+    private String mainZoneDocument;
+    private String zone2Document;
+
+    @Before
+    public void setup() throws IOException {
+        mainZoneDocument = readResource(MAIN_ZONE_RESOURCE);
+        zone2Document = readResource(ZONE2_RESOURCE);
+    }
+
+    @Test
+    public void testPooledParsingReturnsSameValues() throws Exception {
+        // parse twice, so the second run uses a pooled unmarshaller
+        for (int i = 0; i < 2; i++) {
+            ZoneStatus mainZone = DenonMarantzHttpConnector.unmarshalDocument(mainZoneDocument, ZoneStatus.class);
+            ZoneStatus expected = unmarshalUncached(mainZoneDocument, ZoneStatus.class);
+
+            assertTrue(mainZone.getPower().getValue());
+            assertFalse(mainZone.getMute().getValue());
+            assertEquals("TV AUDIO", mainZone.getInputFuncSelect().getValue());
+            assertEquals("STEREO", mainZone.getSurrMode().getValue());
+            assertEquals(0, new BigDecimal("44.5").compareTo(mainZone.getMasterVolume().getValue()));
+            assertEquals(11, mainZone.getInputFuncList().size());
+            assertEquals(expected.getMasterVolume().getValue(), mainZone.getMasterVolume().getValue());
+            assertEquals(expected.getInputFuncList(), mainZone.getInputFuncList());
+
+            ZoneStatusLite zone2 = DenonMarantzHttpConnector.unmarshalDocument(zone2Document, ZoneStatusLite.class);
+            assertFalse(zone2.getPower().getValue());
+            assertEquals("TUNER", zone2.getInputFuncSelect().getValue());
+            assertEquals(0, new BigDecimal("40.0").compareTo(zone2.getMasterVolume().getValue()));
+        }
+    }
+
+    private static String readResource(String name) throws IOException {
+        try (InputStream in = DenonMarantzPollParseTest.class.getResourceAsStream(name)) {
+            return IOUtils.toString(in, "UTF-8");
+        }
+    }
+
+    private static <T> T unmarshalUncached(String document, Class<T> type) throws JAXBException, XMLStreamException {
+        JAXBContext jc = JAXBContext.newInstance(type);
+        XMLInputFactory xif = XMLInputFactory.newInstance();
+        XMLStreamReader xsr = new DenonMarantzHttpConnector.PropertyRenamerDelegate(
+                xif.createXMLStreamReader(IOUtils.toInputStream(document)));
+        return type.cast(jc.createUnmarshaller().unmarshal(xsr));
+    }
+}
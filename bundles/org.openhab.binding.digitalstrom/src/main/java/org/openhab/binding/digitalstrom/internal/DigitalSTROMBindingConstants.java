@@ -68,6 +68,7 @@ public class DigitalSTROMBindingConstants {
     public static final String DS_NAME = "dS-Installation-Name";
     public static final String SENSOR_DATA_UPDATE_INTERVAL = "sensorDataUpdateInterval";
     public static final String TOTAL_POWER_UPDATE_INTERVAL = "totalPowerUpdateInterval";
+    public static final String STRUCTURE_REFRESH_INTERVAL = "structureRefreshInterval";
     public static final String DEFAULT_TRASH_DEVICE_DELETE_TIME_KEY = "defaultTrashBinDeleteTime";
     public static final String SENSOR_WAIT_TIME = "sensorWaitTime";
 
@@ -269,6 +269,15 @@ public class BridgeHandler extends BaseBridgeHandler
             numberExc.add("\"Total power update interval\" ("
                     + thingConfig.get(DigitalSTROMBindingConstants.TOTAL_POWER_UPDATE_INTERVAL) + ")");
         }
+        // bridges configured before this parameter existed don't have it, they keep the default
+        if (thingConfig.get(DigitalSTROMBindingConstants.STRUCTURE_REFRESH_INTERVAL) instanceof BigDecimal) {
+            config.setStructureRefreshInterval(
+                    ((BigDecimal) thingConfig.get(DigitalSTROMBindingConstants.STRUCTURE_REFRESH_INTERVAL)).intValue()
+                            * 1000);
+        } else if (thingConfig.get(DigitalSTROMBindingConstants.STRUCTURE_REFRESH_INTERVAL) != null) {
+            numberExc.add("\"Structure refresh interval\" ("
+                    + thingConfig.get(DigitalSTROMBindingConstants.STRUCTURE_REFRESH_INTERVAL) + ")");
+        }
         if (thingConfig.get(DigitalSTROMBindingConstants.SENSOR_WAIT_TIME) instanceof BigDecimal) {
             config.setSensorReadingWaitTime(
                     ((BigDecimal) thingConfig.get(DigitalSTROMBindingConstants.SENSOR_WAIT_TIME)).intValue() * 1000);
@@ -94,6 +94,13 @@ public class Config {
     public static final int DEFAULT_POLLING_FREQUENCY = 1000; // in milliseconds
     private int pollingFrequency = DEFAULT_POLLING_FREQUENCY; // in milliseconds
 
+    /**
+     * Default interval in milliseconds to read out the whole device structure, while the {@link EventListener} is
+     * running. Without a running {@link EventListener} the structure will be read out with the polling frequency.
+     */
+    public static final int DEFAULT_STRUCTURE_REFRESH_INTERVAL = 60000; // in milliseconds
+    private int structureRefreshInterval = DEFAULT_STRUCTURE_REFRESH_INTERVAL; // in milliseconds
+
     /* Sensordata */
     // Sensodata read config
 
@@ -424,6 +431,26 @@ public class Config {
         this.pollingFrequency = pollingFrequency;
     }
 
+    /**
+     * Returns the interval in milliseconds to read out the whole device structure, while the {@link EventListener} is
+     * running.
+     *
+     * @return the structure refresh interval in milliseconds
+     */
+    public int getStructureRefreshInterval() {
+        return structureRefreshInterval;
+    }
+
+    /**
+     * Sets the interval in milliseconds to read out the whole device structure, while the {@link EventListener} is
+     * running.
+     *
+     * @param structureRefreshInterval in milliseconds
+     */
+    public void setStructureRefreshInterval(int structureRefreshInterval) {
+        this.structureRefreshInterval = structureRefreshInterval;
+    }
+
     /**
      * Returns the interval in milliseconds to refresh the sensor data.
      *
@@ -596,6 +623,7 @@ public class Config {
         setTrashDeviceDeleteTime(config.getTrashDeviceDeleteTime());
         setBinCheckTime(config.getBinCheckTime());
         setPollingFrequency(config.getPollingFrequency());
+        setStructureRefreshInterval(config.getStructureRefreshInterval());
         setSensordataRefreshInterval(config.getSensordataRefreshInterval());
         setTotalPowerUpdateInterval(config.getTotalPowerUpdateInterval());
         setSensorReadingWaitTime(config.getSensorReadingWaitTime());
@@ -613,7 +641,8 @@ public class Config {
                 + ", readTimeout=" + readTimeout + ", sensordataConnectionTimeout=" + sensordataConnectionTimeout
                 + ", sensordataReadTimeout=" + sensordataReadTimeout + ", trustCertPath=" + trustCertPath
                 + ", trashDeviceDeleteTime=" + trashDeviceDeleteTime + ", binCheckTime=" + binCheckTime
-                + ", pollingFrequency=" + pollingFrequency + ", sensordataRefreshInterval=" + sensordataRefreshInterval
+                + ", pollingFrequency=" + pollingFrequency + ", structureRefreshInterval=" + structureRefreshInterval
+                + ", sensordataRefreshInterval=" + sensordataRefreshInterval
                 + ", totalPowerUpdateInterval=" + totalPowerUpdateInterval + ", sensorReadingWaitTime="
                 + sensorReadingWaitTime + ", mediumPriorityFactor=" + mediumPriorityFactor + ", lowPriorityFactor="
                 + lowPriorityFactor + ", eventListenerRefreshinterval=" + eventListenerRefreshinterval
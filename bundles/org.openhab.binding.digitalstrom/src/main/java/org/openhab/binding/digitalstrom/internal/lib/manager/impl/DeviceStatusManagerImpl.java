@@ -15,9 +15,12 @@ package org.openhab.binding.digitalstrom.internal.lib.manager.impl;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -115,6 +118,7 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     private final List<TrashDevice> trashDevices = new LinkedList<TrashDevice>();
 
     private long lastBinCheck = 0;
+    private volatile boolean structureRefreshRequested = false;
     private ManagerStates state = ManagerStates.STOPPED;
 
     private int tempConsumption = 0;
@@ -224,6 +228,21 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
         this.eventListener = eventListener;
     }
 
+    /**
+     * A device of a structure query with its JSON entry
+     */
+    private static class DetailedDevice {
+        private final JsonObject json;
+        private final int hash;
+        private final Device device;
+
+        private DetailedDevice(JsonObject json, int hash, Device device) {
+            this.json = json;
+            this.hash = hash;
+            this.device = device;
+        }
+    }
+
     /**
      * Check and updates the {@link Device} structure, configurations and status.
      *
@@ -233,6 +252,11 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     private class PollingRunnable implements Runnable {
         private boolean devicesLoaded = false;
         private long nextSensorUpdate = 0;
+        private long nextStructureUpdate = 0;
+
+        // JSON entries and parsed devices of the last structure query, to skip unchanged devices
+        private final Map<String, DetailedDevice> detailedDevices = new HashMap<String, DetailedDevice>();
+        private final Set<DSID> changedDevices = new HashSet<DSID>();
 
         @Override
         public void run() {
@@ -251,7 +275,15 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
                 tempDeviceMap = new HashMap<DSID, Device>();
             }
 
-            List<Device> currentDeviceList = getDetailedDevices();
+            List<Device> currentDeviceList;
+            if (isStructureUpdateDue()) {
+                currentDeviceList = getDetailedDevices();
+            } else {
+                // the EventListener delivers the state changes, so only the pending device state updates of the known
+                // devices have to be checked
+                changedDevices.clear();
+                currentDeviceList = new LinkedList<Device>(tempDeviceMap.values());
+            }
 
             // update the current total power consumption
             if (nextSensorUpdate <= System.currentTimeMillis()) {
@@ -279,7 +311,9 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
                 Device eshDevice = tempDeviceMap.remove(currentDeviceDSID);
 
                 if (eshDevice != null) {
-                    checkDeviceConfig(currentDevice, eshDevice);
+                    if (changedDevices.contains(currentDeviceDSID)) {
+                        checkDeviceConfig(currentDevice, eshDevice);
+                    }
 
                     if (eshDevice.isPresent()) {
                         // check device state updates
@@ -402,25 +436,60 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
             }
         }
 
+        /**
+         * Returns true, if the whole device structure has to be read out. This is the case at the start, if the
+         * {@link EventListener} is not running, if an event of an unknown device was received or if the structure
+         * refresh interval is elapsed.
+         *
+         * @return true, if the structure has to be read out
+         */
+        private boolean isStructureUpdateDue() {
+            long now = System.currentTimeMillis();
+            if (!devicesLoaded || structureRefreshRequested || eventListener == null || !eventListener.isStarted()
+                    || nextStructureUpdate <= now) {
+                structureRefreshRequested = false;
+                nextStructureUpdate = now + config.getStructureRefreshInterval();
+                return true;
+            }
+            return false;
+        }
+
         private List<Device> getDetailedDevices() {
             List<Device> deviceList = new LinkedList<Device>();
+            changedDevices.clear();
             JsonObject result = connMan.getDigitalSTROMAPI().query2(connMan.getSessionToken(), GET_DETAILD_DEVICES);
             if (result != null && result.isJsonObject()) {
                 if (result.getAsJsonObject().get(GeneralLibConstance.QUERY_BROADCAST_ZONE_STRING).isJsonObject()) {
                     result = result.getAsJsonObject().get(GeneralLibConstance.QUERY_BROADCAST_ZONE_STRING)
                             .getAsJsonObject();
+                    Set<String> currentKeys = new HashSet<String>();
                     for (Entry<String, JsonElement> entry : result.entrySet()) {
                         if (!(entry.getKey().equals(JSONApiResponseKeysEnum.ZONE_ID.getKey())
                                 && entry.getKey().equals(JSONApiResponseKeysEnum.NAME.getKey()))
                                 && entry.getValue().isJsonObject()) {
-                            deviceList.add(new DeviceImpl(entry.getValue().getAsJsonObject()));
+                            deviceList.add(getDetailedDevice(entry.getKey(), entry.getValue().getAsJsonObject()));
+                            currentKeys.add(entry.getKey());
                         }
                     }
+                    detailedDevices.keySet().retainAll(currentKeys);
                 }
             }
             return deviceList;
         }
 
+        private Device getDetailedDevice(String key, JsonObject deviceJson) {
+            int hash = deviceJson.hashCode();
+            DetailedDevice last = detailedDevices.get(key);
+            // different hash codes prove a change, equal ones have to be confirmed by comparing the JSON entries
+            if (last != null && last.hash == hash && last.json.equals(deviceJson)) {
+                return last.device;
+            }
+            Device device = new DeviceImpl(deviceJson);
+            detailedDevices.put(key, new DetailedDevice(deviceJson, hash, device));
+            changedDevices.add(device.getDSID());
+            return device;
+        }
+
         private void filterCommand(DeviceStateUpdate deviceStateUpdate, Device device) {
             DeviceStateUpdate intDeviceStateUpdate = deviceStateUpdate;
             String stateUpdateType = intDeviceStateUpdate.getType();
@@ -665,8 +734,8 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     @Override
     public synchronized void sendSceneComandsToDSS(InternalScene scene, boolean call_undo) {
         if (scene != null) {
-            if (lastSceneCall + 1000 > System.currentTimeMillis()) {
-                sleepTime = System.currentTimeMillis() - lastSceneCall;
+            sleepTime = lastSceneCall + 1000 - System.currentTimeMillis();
+            if (sleepTime > 0) {
                 try {
                     Thread.sleep(sleepTime);
                 } catch (InterruptedException e) {
@@ -1285,7 +1354,10 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
                 || EventNames.DEVICE_BINARY_INPUT_EVENT.equals(eventItem.getName())) {
             logger.debug("Detect {} eventItem = {}", eventItem.getName(), eventItem.toString());
             Device dev = getDeviceOfEvent(eventItem);
-            if (dev != null) {
+            if (dev == null) {
+                // event of a device, which is not known yet, so read out the structure at the next polling
+                structureRefreshRequested = true;
+            } else {
                 if (EventNames.DEVICE_SENSOR_VALUE.equals(eventItem.getName())) {
                     dev.setDeviceSensorByEvent(eventItem);
                 } else {
@@ -248,6 +248,8 @@ public class HttpTransportImpl implements HttpTransport {
         // max 1 second.
         String response = null;
         HttpsURLConnection connection = null;
+        // the connection is only returned to the keep-alive cache, if the response body was read completely
+        boolean responseRead = false;
         try {
             String correctedRequest = checkSessionToken(request);
             connection = getConnection(correctedRequest, connectTimeout, readTimeout);
@@ -256,9 +258,9 @@ public class HttpTransportImpl implements HttpTransport {
                 final int responseCode = connection.getResponseCode();
                 if (responseCode != HttpURLConnection.HTTP_FORBIDDEN) {
                     if (responseCode == HttpURLConnection.HTTP_INTERNAL_ERROR) {
-                        response = IOUtils.toString(connection.getErrorStream());
+                        response = readResponse(connection.getErrorStream());
                     } else {
-                        response = IOUtils.toString(connection.getInputStream());
+                        response = readResponse(connection.getInputStream());
                     }
                     if (response != null) {
                         if (!response.contains("Authentication failed")) {
@@ -271,9 +273,10 @@ public class HttpTransportImpl implements HttpTransport {
                             loginCounter++;
                         }
                     }
-
+                } else {
+                    readResponse(connection.getErrorStream());
                 }
-                connection.disconnect();
+                responseRead = true;
                 if (response == null && connectionManager != null
                         && loginCounter <= MAY_A_NEW_SESSION_TOKEN_IS_NEEDED) {
                     if (responseCode == HttpURLConnection.HTTP_FORBIDDEN) {
@@ -302,13 +305,22 @@ public class HttpTransportImpl implements HttpTransport {
                 informConnectionManager(ConnectionManager.GENERAL_EXCEPTION);
             }
         } finally {
-            if (connection != null) {
+            if (connection != null && !responseRead) {
                 connection.disconnect();
             }
         }
         return null;
     }
 
+    private String readResponse(InputStream responseStream) throws IOException {
+        if (responseStream == null) {
+            return null;
+        }
+        try (InputStream stream = responseStream) {
+            return IOUtils.toString(stream);
+        }
+    }
+
     private boolean informConnectionManager(int code) {
         if (connectionManager != null && loginCounter < MAY_A_NEW_SESSION_TOKEN_IS_NEEDED) {
             connectionManager.checkConnection(code);
@@ -0,0 +1,297 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.eep;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_01;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_02;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_03;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_04;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_05;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_06;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_07;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_08;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_09;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_0A;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_0B;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_10;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_11;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_12;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_13;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_14;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_15;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_16;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_17;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_18;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_19;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_1A;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_1B;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_20;
+import org.openhab.binding.enocean.internal.eep.A5_02.A5_02_30;
+import org.openhab.binding.enocean.internal.eep.A5_04.A5_04_01;
+import org.openhab.binding.enocean.internal.eep.A5_04.A5_04_02;
+import org.openhab.binding.enocean.internal.eep.A5_04.A5_04_02_Eltako;
+import org.openhab.binding.enocean.internal.eep.A5_04.A5_04_03;
+import org.openhab.binding.enocean.internal.eep.A5_06.A5_06_01;
+import org.openhab.binding.enocean.internal.eep.A5_06.A5_06_01_ELTAKO;
+import org.openhab.binding.enocean.internal.eep.A5_07.A5_07_01;
+import org.openhab.binding.enocean.internal.eep.A5_07.A5_07_02;
+import org.openhab.binding.enocean.internal.eep.A5_07.A5_07_03;
+import org.openhab.binding.enocean.internal.eep.A5_08.A5_08_01;
+import org.openhab.binding.enocean.internal.eep.A5_08.A5_08_01_FXBH;
+import org.openhab.binding.enocean.internal.eep.A5_08.A5_08_02;
+import org.openhab.binding.enocean.internal.eep.A5_08.A5_08_03;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_01;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_02;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_03;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_04;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_05;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_06;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_07;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_08;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_09;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_0A;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_0B;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_0C;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_0D;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_10;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_11;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_12;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_13;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_14;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_15;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_16;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_17;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_18;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_19;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_1A;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_1B;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_1C;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_1D;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_1E;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_1F;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_20;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_21;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_22;
+import org.openhab.binding.enocean.internal.eep.A5_10.A5_10_23;
+import org.openhab.binding.enocean.internal.eep.A5_11.A5_11_03;
+import org.openhab.binding.enocean.internal.eep.A5_11.A5_11_04;
+import org.openhab.binding.enocean.internal.eep.A5_12.A5_12_00;
+import org.openhab.binding.enocean.internal.eep.A5_12.A5_12_01;
+import org.openhab.binding.enocean.internal.eep.A5_12.A5_12_02;
+import org.openhab.binding.enocean.internal.eep.A5_12.A5_12_03;
+import org.openhab.binding.enocean.internal.eep.A5_13.A5_13_01;
+import org.openhab.binding.enocean.internal.eep.A5_14.A5_14_01;
+import org.openhab.binding.enocean.internal.eep.A5_14.A5_14_01_ELTAKO;
+import org.openhab.binding.enocean.internal.eep.A5_14.A5_14_09;
+import org.openhab.binding.enocean.internal.eep.A5_14.A5_14_0A;
+import org.openhab.binding.enocean.internal.eep.A5_20.A5_20_04;
+import org.openhab.binding.enocean.internal.eep.A5_38.A5_38_08_Blinds;
+import org.openhab.binding.enocean.internal.eep.A5_38.A5_38_08_Dimming;
+import org.openhab.binding.enocean.internal.eep.A5_38.A5_38_08_Switching;
+import org.openhab.binding.enocean.internal.eep.A5_3F.A5_3F_7F_EltakoFSB;
+import org.openhab.binding.enocean.internal.eep.Base.PTM200Message;
+import org.openhab.binding.enocean.internal.eep.Base.UTEResponse;
+import org.openhab.binding.enocean.internal.eep.Base._4BSTeachInVariation3Response;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_00;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_01;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_02;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_03;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_04;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_05;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_06;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_07;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_08;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_09;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_09_Permundo;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_0A;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_0B;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_0C;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_0D;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_0E;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_0F;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_0F_NodON;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_11;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_12;
+import org.openhab.binding.enocean.internal.eep.D2_01.D2_01_12_NodON;
+import org.openhab.binding.enocean.internal.eep.D2_03.D2_03_0A;
+import org.openhab.binding.enocean.internal.eep.D2_05.D2_05_00;
+import org.openhab.binding.enocean.internal.eep.D5_00.D5_00_01;
+import org.openhab.binding.enocean.internal.eep.EEPFactory.EEPDecoder;
+import org.openhab.binding.enocean.internal.eep.F6_01.F6_01_01;
+import org.openhab.binding.enocean.internal.eep.F6_02.F6_02_01;
+import org.openhab.binding.enocean.internal.eep.F6_02.F6_02_02;
+import org.openhab.binding.enocean.internal.eep.F6_10.F6_10_00;
+import org.openhab.binding.enocean.internal.eep.F6_10.F6_10_00_EltakoFPE;
+import org.openhab.binding.enocean.internal.eep.F6_10.F6_10_01;
+import org.openhab.binding.enocean.internal.eep.Generic.Generic4BS;
+import org.openhab.binding.enocean.internal.eep.Generic.GenericRPS;
+import org.openhab.binding.enocean.internal.eep.Generic.GenericVLD;
+
+/**
+ * Holds the constructor references, which decode received telegrams, of the EEP classes of all {@link EEPType}s.
+ * An EEP class added to {@link EEPType} has to be registered here, too.
+ *
+ * @author Daniel Weber - Initial contribution
+ */
+@NonNullByDefault
+final class EEPDecoders {
+
+    private static final Map<Class<? extends EEP>, EEPDecoder> DECODERS = new HashMap<>();
+
+    static {
+        register(UTEResponse.class, UTEResponse::new);
+        register(_4BSTeachInVariation3Response.class, _4BSTeachInVariation3Response::new);
+        register(GenericRPS.class, GenericRPS::new);
+        register(Generic4BS.class, Generic4BS::new);
+        register(GenericVLD.class, GenericVLD::new);
+        register(PTM200Message.class, PTM200Message::new);
+        register(F6_01_01.class, F6_01_01::new);
+        register(D2_03_0A.class, D2_03_0A::new);
+        register(F6_02_01.class, F6_02_01::new);
+        register(F6_02_02.class, F6_02_02::new);
+        register(F6_10_00.class, F6_10_00::new);
+        register(F6_10_01.class, F6_10_01::new);
+        register(A5_14_09.class, A5_14_09::new);
+        register(A5_14_0A.class, A5_14_0A::new);
+        register(D5_00_01.class, D5_00_01::new);
+        register(A5_14_01.class, A5_14_01::new);
+        register(F6_10_00_EltakoFPE.class, F6_10_00_EltakoFPE::new);
+        register(A5_14_01_ELTAKO.class, A5_14_01_ELTAKO::new);
+        register(A5_02_01.class, A5_02_01::new);
+        register(A5_02_02.class, A5_02_02::new);
+        register(A5_02_03.class, A5_02_03::new);
+        register(A5_02_04.class, A5_02_04::new);
+        register(A5_02_05.class, A5_02_05::new);
+        register(A5_02_06.class, A5_02_06::new);
+        register(A5_02_07.class, A5_02_07::new);
+        register(A5_02_08.class, A5_02_08::new);
+        register(A5_02_09.class, A5_02_09::new);
+        register(A5_02_0A.class, A5_02_0A::new);
+        register(A5_02_0B.class, A5_02_0B::new);
+        register(A5_02_10.class, A5_02_10::new);
+        register(A5_02_11.class, A5_02_11::new);
+        register(A5_02_12.class, A5_02_12::new);
+        register(A5_02_13.class, A5_02_13::new);
+        register(A5_02_14.class, A5_02_14::new);
+        register(A5_02_15.class, A5_02_15::new);
+        register(A5_02_16.class, A5_02_16::new);
+        register(A5_02_17.class, A5_02_17::new);
+        register(A5_02_18.class, A5_02_18::new);
+        register(A5_02_19.class, A5_02_19::new);
+        register(A5_02_1A.class, A5_02_1A::new);
+        register(A5_02_1B.class, A5_02_1B::new);
+        register(A5_02_20.class, A5_02_20::new);
+        register(A5_02_30.class, A5_02_30::new);
+        register(A5_04_01.class, A5_04_01::new);
+        register(A5_04_02.class, A5_04_02::new);
+        register(A5_04_02_Eltako.class, A5_04_02_Eltako::new);
+        register(A5_04_03.class, A5_04_03::new);
+        register(A5_07_01.class, A5_07_01::new);
+        register(A5_07_02.class, A5_07_02::new);
+        register(A5_07_03.class, A5_07_03::new);
+        register(A5_08_01.class, A5_08_01::new);
+        register(A5_08_02.class, A5_08_02::new);
+        register(A5_08_03.class, A5_08_03::new);
+        register(A5_08_01_FXBH.class, A5_08_01_FXBH::new);
+        register(A5_06_01.class, A5_06_01::new);
+        register(A5_06_01_ELTAKO.class, A5_06_01_ELTAKO::new);
+        register(A5_10_01.class, A5_10_01::new);
+        register(A5_10_02.class, A5_10_02::new);
+        register(A5_10_03.class, A5_10_03::new);
+        register(A5_10_04.class, A5_10_04::new);
+        register(A5_10_05.class, A5_10_05::new);
+        register(A5_10_06.class, A5_10_06::new);
+        register(A5_10_07.class, A5_10_07::new);
+        register(A5_10_08.class, A5_10_08::new);
+        register(A5_10_09.class, A5_10_09::new);
+        register(A5_10_0A.class, A5_10_0A::new);
+        register(A5_10_0B.class, A5_10_0B::new);
+        register(A5_10_0C.class, A5_10_0C::new);
+        register(A5_10_0D.class, A5_10_0D::new);
+        register(A5_10_10.class, A5_10_10::new);
+        register(A5_10_11.class, A5_10_11::new);
+        register(A5_10_12.class, A5_10_12::new);
+        register(A5_10_13.class, A5_10_13::new);
+        register(A5_10_14.class, A5_10_14::new);
+        register(A5_10_15.class, A5_10_15::new);
+        register(A5_10_16.class, A5_10_16::new);
+        register(A5_10_17.class, A5_10_17::new);
+        register(A5_10_18.class, A5_10_18::new);
+        register(A5_10_19.class, A5_10_19::new);
+        register(A5_10_1A.class, A5_10_1A::new);
+        register(A5_10_1B.class, A5_10_1B::new);
+        register(A5_10_1C.class, A5_10_1C::new);
+        register(A5_10_1D.class, A5_10_1D::new);
+        register(A5_10_1E.class, A5_10_1E::new);
+        register(A5_10_1F.class, A5_10_1F::new);
+        register(A5_10_20.class, A5_10_20::new);
+        register(A5_10_21.class, A5_10_21::new);
+        register(A5_10_22.class, A5_10_22::new);
+        register(A5_10_23.class, A5_10_23::new);
+        register(A5_12_00.class, A5_12_00::new);
+        register(A5_12_01.class, A5_12_01::new);
+        register(A5_12_02.class, A5_12_02::new);
+        register(A5_12_03.class, A5_12_03::new);
+        register(A5_13_01.class, A5_13_01::new);
+        register(A5_11_03.class, A5_11_03::new);
+        register(A5_11_04.class, A5_11_04::new);
+        register(A5_38_08_Switching.class, A5_38_08_Switching::new);
+        register(A5_38_08_Dimming.class, A5_38_08_Dimming::new);
+        register(A5_38_08_Blinds.class, A5_38_08_Blinds::new);
+        register(A5_3F_7F_EltakoFSB.class, A5_3F_7F_EltakoFSB::new);
+        register(A5_20_04.class, A5_20_04::new);
+        register(D2_01_00.class, D2_01_00::new);
+        register(D2_01_01.class, D2_01_01::new);
+        register(D2_01_02.class, D2_01_02::new);
+        register(D2_01_03.class, D2_01_03::new);
+        register(D2_01_04.class, D2_01_04::new);
+        register(D2_01_05.class, D2_01_05::new);
+        register(D2_01_06.class, D2_01_06::new);
+        register(D2_01_07.class, D2_01_07::new);
+        register(D2_01_08.class, D2_01_08::new);
+        register(D2_01_09.class, D2_01_09::new);
+        register(D2_01_09_Permundo.class, D2_01_09_Permundo::new);
+        register(D2_01_0A.class, D2_01_0A::new);
+        register(D2_01_0B.class, D2_01_0B::new);
+        register(D2_01_0C.class, D2_01_0C::new);
+        register(D2_01_0D.class, D2_01_0D::new);
+        register(D2_01_0E.class, D2_01_0E::new);
+        register(D2_01_0F_NodON.class, D2_01_0F_NodON::new);
+        register(D2_01_0F.class, D2_01_0F::new);
+        register(D2_01_11.class, D2_01_11::new);
+        register(D2_01_12_NodON.class, D2_01_12_NodON::new);
+        register(D2_01_12.class, D2_01_12::new);
+        register(D2_05_00.class, D2_05_00::new);
+    }
+
+    private EEPDecoders() {
+    }
+
+    private static void register(Class<? extends EEP> eepClass, EEPDecoder decoder) {
+        DECODERS.put(eepClass, decoder);
+    }
+
+    /**
+     * Returns the decoder of an EEP class
+     *
+     * @return the decoder or null if the EEP class is not registered
+     */
+    static @Nullable EEPDecoder get(Class<? extends EEP> eepClass) {
+        return DECODERS.get(eepClass);
+    }
+}
@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.enocean.internal.eep;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.enocean.internal.eep.Base.UTEResponse;
@@ -37,35 +40,78 @@ public class EEPFactory {
 
     private static final Logger logger = LoggerFactory.getLogger(EEPFactory.class);
 
+    /**
+     * Decodes received telegrams of one EEP type into EEP instances. It calls the constructor of the EEP class
+     * directly, see {@link EEPDecoders}, so decoding a telegram needs neither a lookup nor reflection.
+     */
+    @FunctionalInterface
+    public interface EEPDecoder {
+        EEP decode(ERP1Message packet);
+    }
+
+    private static final Map<EEPType, EEPDecoder> decoders = new ConcurrentHashMap<>();
+    private static final Map<EEPType, Constructor<? extends EEP>> creators = new ConcurrentHashMap<>();
+
     public static EEP createEEP(EEPType eepType) {
+        Constructor<? extends EEP> constructor = creators.computeIfAbsent(eepType, type -> {
+            try {
+                return getEEPClass(type).getConstructor();
+            } catch (NoSuchMethodException | SecurityException e) {
+                throw new IllegalArgumentException(e);
+            }
+        });
 
         try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
-                throw new IllegalArgumentException("Message " + eepType + " not implemented");
-            }
-            return cl.newInstance();
-        } catch (IllegalAccessException | InstantiationException e) {
+            return constructor.newInstance();
+        } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
             throw new IllegalArgumentException(e);
         }
     }
 
     public static EEP buildEEP(EEPType eepType, ERP1Message packet) {
-        try {
-            Class<? extends EEP> cl = eepType.getEEPClass();
-            if (cl == null) {
-                throw new IllegalArgumentException("Message " + eepType + " not implemented");
+        return getDecoder(eepType).decode(packet);
+    }
+
+    /**
+     * Returns the decoder of an EEP type, it is resolved on first use and shared afterwards
+     *
+     * @throws IllegalArgumentException if the EEP type cannot be decoded
+     */
+    public static EEPDecoder getDecoder(EEPType eepType) {
+        return decoders.computeIfAbsent(eepType, EEPFactory::resolveDecoder);
+    }
+
+    private static EEPDecoder resolveDecoder(EEPType eepType) {
+        EEPDecoder decoder = EEPDecoders.get(getEEPClass(eepType));
+        if (decoder == null) {
+            IllegalArgumentException e = new IllegalArgumentException("No decoder registered for " + eepType);
+            logCannotInstantiate(eepType, e);
+            throw e;
+        }
+
+        return packet -> {
+            try {
+                return decoder.decode(packet);
+            } catch (RuntimeException e) {
+                logCannotInstantiate(eepType, e);
+                throw new IllegalArgumentException(e);
             }
-            return cl.getConstructor(ERP1Message.class).newInstance(packet);
-        } catch (IllegalAccessException | InstantiationException | IllegalArgumentException | InvocationTargetException
-                | NoSuchMethodException | SecurityException e) {
-            logger.error("Cannot instantiate EEP {}-{}-{}: {}",
-                    HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
-                    HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
-                    HexUtils.bytesToHex(new byte[] { (byte) eepType.getType() }), e.getMessage());
+        };
+    }
 
-            throw new IllegalArgumentException(e);
+    private static Class<? extends EEP> getEEPClass(EEPType eepType) {
+        Class<? extends EEP> cl = eepType.getEEPClass();
+        if (cl == null) {
+            throw new IllegalArgumentException("Message " + eepType + " not implemented");
         }
+        return cl;
+    }
+
+    private static void logCannotInstantiate(EEPType eepType, Exception e) {
+        logger.error("Cannot instantiate EEP {}-{}-{}: {}",
+                HexUtils.bytesToHex(new byte[] { eepType.getRORG().getValue() }),
+                HexUtils.bytesToHex(new byte[] { (byte) eepType.getFunc() }),
+                HexUtils.bytesToHex(new byte[] { (byte) eepType.getType() }), e.getMessage());
     }
 
     public static EEP buildEEPFromTeachInERP1(ERP1Message msg) {
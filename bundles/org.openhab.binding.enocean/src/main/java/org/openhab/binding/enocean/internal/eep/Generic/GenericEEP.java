@@ -14,10 +14,13 @@ package org.openhab.binding.enocean.internal.eep.Generic;
 
 import static org.openhab.binding.enocean.internal.EnOceanBindingConstants.PARAMETER_EEPID;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.eclipse.smarthome.config.core.Configuration;
@@ -49,6 +52,9 @@ import org.openhab.binding.enocean.internal.messages.ERP1Message;
  */
 public class GenericEEP extends EEP {
 
+    // String constructors of the supported states, resolved once instead of for every transformed value
+    private static final Map<Class<?>, Constructor<? extends State>> stateConstructors = new ConcurrentHashMap<>();
+
     final List<Class<? extends State>> supportedStates = Collections
             .unmodifiableList(new LinkedList<Class<? extends State>>() {
 
@@ -128,7 +134,12 @@ public class GenericEEP extends EEP {
                             logger.debug("Could not find value '{}' for state '{}'", parts[1], parts[0]);
                         } else {
                             try {
-                                return state.getConstructor(String.class).newInstance(parts[1]);
+                                Constructor<? extends State> constructor = stateConstructors.get(state);
+                                if (constructor == null) {
+                                    constructor = state.getConstructor(String.class);
+                                    stateConstructors.put(state, constructor);
+                                }
+                                return constructor.newInstance(parts[1]);
                             } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
                                     | InvocationTargetException | NoSuchMethodException | SecurityException e) {
                                 logger.debug("Could not create state '{}' with value '{}'", parts[0], parts[1]);
@@ -38,6 +38,7 @@ import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.enocean.internal.config.EnOceanBaseConfig;
 import org.openhab.binding.enocean.internal.eep.EEP;
 import org.openhab.binding.enocean.internal.eep.EEPFactory;
+import org.openhab.binding.enocean.internal.eep.EEPFactory.EEPDecoder;
 import org.openhab.binding.enocean.internal.eep.EEPType;
 import org.openhab.binding.enocean.internal.messages.ERP1Message;
 import org.openhab.binding.enocean.internal.messages.ERP1Message.RORG;
@@ -60,6 +61,9 @@ public class EnOceanBaseSensorHandler extends EnOceanBaseThingHandler implements
 
     protected Hashtable<RORG, EEPType> receivingEEPTypes = null;
 
+    // decoders of the receiving EEPs, resolved once for the sender of this thing
+    private Hashtable<RORG, EEPDecoder> receivingDecoders = null;
+
     public EnOceanBaseSensorHandler(Thing thing, ItemChannelLinkRegistry itemChannelLinkRegistry) {
         super(thing, itemChannelLinkRegistry);
     }
@@ -81,10 +85,12 @@ public class EnOceanBaseSensorHandler extends EnOceanBaseThingHandler implements
     @Override
     boolean validateConfig() {
         receivingEEPTypes = null;
+        receivingDecoders = null;
 
         try {
             if (config.receivingEEPId != null && !config.receivingEEPId.isEmpty()) {
                 receivingEEPTypes = new Hashtable<>();
+                receivingDecoders = new Hashtable<>();
 
                 for (String receivingEEP : config.receivingEEPId) {
                     if (receivingEEP == null) {
@@ -98,11 +104,14 @@ public class EnOceanBaseSensorHandler extends EnOceanBaseThingHandler implements
                     }
 
                     receivingEEPTypes.put(receivingEEPType.getRORG(), receivingEEPType);
+                    receivingDecoders.put(receivingEEPType.getRORG(), EEPFactory.getDecoder(receivingEEPType));
                 }
             } else {
                 receivingEEPTypes = null;
             }
         } catch (Exception e) {
+            receivingEEPTypes = null;
+            receivingDecoders = null;
             configurationErrorDescription = "Receiving EEP is not supported";
             return false;
         }
@@ -153,17 +162,20 @@ public class EnOceanBaseSensorHandler extends EnOceanBaseThingHandler implements
     @Override
     public void espPacketReceived(ESP3Packet packet) {
 
-        if (receivingEEPTypes == null) {
+        Hashtable<RORG, EEPType> eepTypes = receivingEEPTypes;
+        Hashtable<RORG, EEPDecoder> decoders = receivingDecoders;
+        if (eepTypes == null || decoders == null) {
             return;
         }
 
         ERP1Message msg = (ERP1Message) packet;
-        EEPType receivingEEPType = receivingEEPTypes.get(msg.getRORG());
-        if (receivingEEPType == null) {
+        EEPType receivingEEPType = eepTypes.get(msg.getRORG());
+        EEPDecoder decoder = decoders.get(msg.getRORG());
+        if (receivingEEPType == null || decoder == null) {
             return;
         }
 
-        EEP eep = EEPFactory.buildEEP(receivingEEPType, (ERP1Message) packet);
+        EEP eep = decoder.decode(msg);
         logger.debug("ESP Packet payload {} for {} received", HexUtils.bytesToHex(packet.getPayload()),
                 HexUtils.bytesToHex(msg.getSenderId()));
 
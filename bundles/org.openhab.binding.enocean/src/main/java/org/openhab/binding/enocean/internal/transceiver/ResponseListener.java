@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.enocean.internal.transceiver;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.ParameterizedType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.enocean.internal.EnOceanException;
 import org.openhab.binding.enocean.internal.messages.Response;
@@ -23,6 +26,9 @@ import org.openhab.binding.enocean.internal.messages.Response;
  */
 public abstract class ResponseListener<T extends Response> {
 
+    // response constructors by response class, shared by all listeners as a listener is created per request
+    private static final Map<Class<?>, Constructor<?>> responseConstructors = new ConcurrentHashMap<>();
+
     protected Class<T> persistentClass;
 
     @SuppressWarnings("unchecked")
@@ -37,7 +43,12 @@ public abstract class ResponseListener<T extends Response> {
 
     public void handleResponse(Response response) throws EnOceanException {
         try {
-            responseReceived(persistentClass.getConstructor(Response.class).newInstance(response));
+            Constructor<?> constructor = responseConstructors.get(persistentClass);
+            if (constructor == null) {
+                constructor = persistentClass.getConstructor(Response.class);
+                responseConstructors.put(persistentClass, constructor);
+            }
+            responseReceived(persistentClass.cast(constructor.newInstance(response)));
         } catch (Exception e) {
             throw new EnOceanException(e.getMessage());
         }
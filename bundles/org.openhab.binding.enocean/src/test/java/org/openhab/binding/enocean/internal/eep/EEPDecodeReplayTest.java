@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.eep;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.enocean.internal.eep.EEPFactory.EEPDecoder;
+import org.openhab.binding.enocean.internal.messages.ERP1Message;
+
+/**
+ * Replays a trace of received ERP1 telegrams of a few senders (temperature sensors, rocker switches and contacts)
+ * and checks that the decoders resolved per sender decode the same EEPs as the EEP constructor called by reflection.
+ *
+ * @author Daniel Weber - Initial contribution
+ */
+public class EEPDecodeReplayTest {
+    private static final int OPTIONAL_DATA_LENGTH = 7;
+
+    private final List<EEPType> eepTypes = new ArrayList<>();
+    private final List<ERP1Message> telegrams = new ArrayList<>();
+    private final List<EEPDecoder> decoders = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        for (int i = 0; i < 20; i++) {
+            byte id = (byte) i;
+            add(EEPType.TemperatureSensor_A5_02_05, new byte[] { (byte) 0xA5, 0x00, 0x00, (byte) (100 + i), 0x08,
+                    0x01, (byte) 0x81, 0x10, id, 0x00 });
+            add(EEPType.RockerSwitch2RockerStyle1,
+                    new byte[] { (byte) 0xF6, (i % 2 == 0) ? 0x30 : 0x10, 0x01, (byte) 0x82, 0x20, id, 0x30 });
+            add(EEPType.ContactAndSwitch01,
+                    new byte[] { (byte) 0xD5, (byte) (0x08 | (i % 2)), 0x01, (byte) 0x83, 0x30, id, 0x00 });
+        }
+    }
+
+    private void add(EEPType eepType, byte[] data) {
+        byte[] payload = Arrays.copyOf(data, data.length + OPTIONAL_DATA_LENGTH);
+        System.arraycopy(new byte[] { 0x01, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x40, 0x00 }, 0,
+                payload, data.length, OPTIONAL_DATA_LENGTH);
+
+        eepTypes.add(eepType);
+        telegrams.add(new ERP1Message(data.length, OPTIONAL_DATA_LENGTH, payload));
+        // a sensor handler resolves the decoder of its sender once, when it is initialized
+        decoders.add(EEPFactory.getDecoder(eepType));
+    }
+
+    private int replayDecoders() {
+        int valid = 0;
+        for (int i = 0; i < telegrams.size(); i++) {
+            if (decoders.get(i).decode(telegrams.get(i)).isValid()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    private int replayReflective() throws ReflectiveOperationException {
+        int valid = 0;
+        for (int i = 0; i < telegrams.size(); i++) {
+            if (decodeReflective(eepTypes.get(i), telegrams.get(i)).isValid()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    private static EEP decodeReflective(EEPType eepType, ERP1Message packet) throws ReflectiveOperationException {
+        return eepType.getEEPClass().getConstructor(ERP1Message.class).newInstance(packet);
+    }
+
+    @Test
+    public void testDecodersReturnSameEEPs() throws Exception {
+        for (int i = 0; i < telegrams.size(); i++) {
+            ERP1Message telegram = telegrams.get(i);
+            EEP decoded = decoders.get(i).decode(telegram);
+            EEP expected = decodeReflective(eepTypes.get(i), telegram);
+
+            assertSame(expected.getClass(), decoded.getClass());
+            assertSame(telegram, decoded.getERP1Message());
+            assertArrayEquals(telegram.getSenderId(), decoded.getSenderId());
+            assertEquals(expected.isValid(), decoded.isValid());
+        }
+
+        // the decoder of an EEP type is resolved only once
+        assertSame(EEPFactory.getDecoder(EEPType.ContactAndSwitch01),
+                EEPFactory.getDecoder(EEPType.ContactAndSwitch01));
+        assertEquals(replayReflective(), replayDecoders());
+    }
+
+    @Test
+    public void testDecoderIsRegisteredForEveryEEPClass() {
+        for (EEPType eepType : EEPType.values()) {
+            if (eepType.getEEPClass() != null) {
+                assertNotNull(eepType.toString(), EEPDecoders.get(eepType.getEEPClass()));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecoderOfTypeWithoutClassIsRejected() {
+        EEPFactory.getDecoder(EEPType.Undef);
+    }
+}
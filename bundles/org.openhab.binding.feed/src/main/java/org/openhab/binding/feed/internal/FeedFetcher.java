@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.feed.internal;
+
+import static org.openhab.binding.feed.internal.FeedBindingConstants.MINIMUM_REFRESH_TIME;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.SyndFeedInput;
+
+/**
+ * The {@link FeedFetcher} downloads and parses the feeds for all feed things. It is shared by all handlers, so a feed
+ * used by several things is downloaded only once if the things refresh at about the same time.
+ * <p>
+ * The last parsed feed is cached per URL together with its ETag and Last-Modified headers, which are sent with the
+ * next request. If the server answers 304 (Not Modified) or returns the same content again, the cached feed is
+ * returned without parsing.
+ *
+ * @author Svilen Valkanov - Initial contribution
+ */
+public class FeedFetcher {
+
+    private final Logger logger = LoggerFactory.getLogger(FeedFetcher.class);
+
+    private final Map<String, CachedFeed> cache = new ConcurrentHashMap<>();
+
+    /**
+     * The cached state of a feed URL, the fetch of a URL is synchronized on it
+     */
+    private static class CachedFeed {
+        private int users;
+        private SyndFeed feed;
+        private String etag;
+        private String lastModified;
+        private byte[] digest;
+        private long fetchTime;
+    }
+
+    /**
+     * Registers a thing using the feed, the cached feed is kept until all things have released it.
+     *
+     * @param urlString URL of the feed
+     */
+    public void acquire(String urlString) {
+        if (urlString != null) {
+            cache.compute(urlString, (url, cachedFeed) -> {
+                CachedFeed result = cachedFeed == null ? new CachedFeed() : cachedFeed;
+                result.users++;
+                return result;
+            });
+        }
+    }
+
+    /**
+     * Unregisters a thing using the feed.
+     *
+     * @param urlString URL of the feed
+     */
+    public void release(String urlString) {
+        if (urlString != null) {
+            cache.computeIfPresent(urlString, (url, cachedFeed) -> --cachedFeed.users > 0 ? cachedFeed : null);
+        }
+    }
+
+    /**
+     * Returns the feed, which is downloaded and parsed only if it has changed on the server. If the feed was fetched
+     * less than {@link FeedBindingConstants#MINIMUM_REFRESH_TIME} ago, the cached feed is returned without a
+     * request.
+     *
+     * @param urlString URL of the feed
+     * @return the feed, the same instance as before if the feed has not changed
+     * @throws IOException if the feed could not be downloaded
+     * @throws FeedException if the content is not a valid feed
+     */
+    public SyndFeed fetch(String urlString) throws IOException, FeedException {
+        if (urlString == null) {
+            throw new IllegalArgumentException("Feed URL is null");
+        }
+        URL url = new URL(urlString);
+        CachedFeed cachedFeed = cache.computeIfAbsent(urlString, u -> new CachedFeed());
+
+        synchronized (cachedFeed) {
+            long now = System.currentTimeMillis();
+            if (cachedFeed.feed != null && now - cachedFeed.fetchTime < MINIMUM_REFRESH_TIME) {
+                logger.trace("Feed {} was fetched {} ms ago, using cached feed", urlString, now - cachedFeed.fetchTime);
+                return cachedFeed.feed;
+            }
+
+            URLConnection connection = url.openConnection();
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+            if (cachedFeed.feed != null) {
+                if (cachedFeed.etag != null) {
+                    connection.setRequestProperty("If-None-Match", cachedFeed.etag);
+                }
+                if (cachedFeed.lastModified != null) {
+                    connection.setRequestProperty("If-Modified-Since", cachedFeed.lastModified);
+                }
+            }
+
+            if (cachedFeed.feed != null && connection instanceof HttpURLConnection
+                    && ((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                logger.debug("Feed {} not modified", urlString);
+                cachedFeed.fetchTime = now;
+                return cachedFeed.feed;
+            }
+
+            byte[] content = readContent(connection);
+            byte[] digest = digest(content);
+            String etag = connection.getHeaderField("ETag");
+            String lastModified = connection.getHeaderField("Last-Modified");
+
+            if (cachedFeed.feed == null || digest == null || !Arrays.equals(digest, cachedFeed.digest)) {
+                try (Reader in = new InputStreamReader(new ByteArrayInputStream(content))) {
+                    cachedFeed.feed = new SyndFeedInput().build(in);
+                }
+                logger.debug("Feed {} downloaded and parsed ({} bytes)", urlString, content.length);
+            } else {
+                logger.debug("Feed {} content unchanged", urlString);
+            }
+            cachedFeed.digest = digest;
+            cachedFeed.etag = etag;
+            cachedFeed.lastModified = lastModified;
+            cachedFeed.fetchTime = now;
+            return cachedFeed.feed;
+        }
+    }
+
+    private byte[] readContent(URLConnection connection) throws IOException {
+        try (InputStream in = "gzip".equals(connection.getContentEncoding())
+                ? new GZIPInputStream(connection.getInputStream())
+                : connection.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256, the content is parsed each time without a digest
+            return null;
+        }
+    }
+}
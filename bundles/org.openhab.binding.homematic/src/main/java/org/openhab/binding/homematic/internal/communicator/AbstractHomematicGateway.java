@@ -14,23 +14,32 @@ package org.openhab.binding.homematic.internal.communicator;
 
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.client.BinRpcClient;
@@ -40,8 +49,10 @@ import org.openhab.binding.homematic.internal.communicator.client.UnknownParamet
 import org.openhab.binding.homematic.internal.communicator.client.XmlRpcClient;
 import org.openhab.binding.homematic.internal.communicator.parser.ListBidcosInterfacesParser;
 import org.openhab.binding.homematic.internal.communicator.server.BinRpcServer;
+import org.openhab.binding.homematic.internal.communicator.server.RpcEvent;
 import org.openhab.binding.homematic.internal.communicator.server.RpcEventListener;
 import org.openhab.binding.homematic.internal.communicator.server.RpcServer;
+import org.openhab.binding.homematic.internal.communicator.server.RpcServerMetrics;
 import org.openhab.binding.homematic.internal.communicator.server.XmlRpcServer;
 import org.openhab.binding.homematic.internal.communicator.virtual.BatteryTypeVirtualDatapointHandler;
 import org.openhab.binding.homematic.internal.communicator.virtual.ButtonVirtualDatapointHandler;
@@ -90,6 +101,9 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     public static final double DEFAULT_DISABLE_DELAY = 2.0;
     private static final long CONNECTION_TRACKER_INTERVAL_SECONDS = 15;
     private static final String GATEWAY_POOL_NAME = "homematicGateway";
+    private static final String METADATA_POOL_NAME = "homematicMetadata";
+    private static final String CACHE_FOLDER_NAME = "cache";
+    private static final String CACHE_SUBFOLDER_NAME = "org.openhab.binding.homematic";
 
     private final Map<TransferMode, RpcClient<?>> rpcClients = new HashMap<TransferMode, RpcClient<?>>();
     private final Map<TransferMode, RpcServer> rpcServers = new HashMap<TransferMode, RpcServer>();
@@ -106,11 +120,13 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private final Map<String, HmDevice> devices = Collections.synchronizedMap(new HashMap<String, HmDevice>());
     private final Map<HmInterface, TransferMode> availableInterfaces = new TreeMap<HmInterface, TransferMode>();
     private static List<VirtualDatapointHandler> virtualDatapointHandlers = new ArrayList<VirtualDatapointHandler>();
-    private boolean cancelLoadAllMetadata;
+    private volatile boolean cancelLoadAllMetadata;
     private boolean initialized;
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
+    private final ParamsetDescriptionCache paramsetDescriptionCache;
+    private final RpcServerMetrics rpcServerMetrics = new RpcServerMetrics();
 
     static {
         // loads all virtual datapoints
@@ -139,6 +155,10 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.config = config;
         this.gatewayAdapter = gatewayAdapter;
         this.httpClient = httpClient;
+        File cacheFolder = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME),
+                CACHE_SUBFOLDER_NAME);
+        this.paramsetDescriptionCache = new ParamsetDescriptionCache(
+                new File(cacheFolder, "paramsets-" + id + ".json"));
     }
 
     @Override
@@ -248,8 +268,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private synchronized void startServers() throws IOException {
         for (TransferMode mode : availableInterfaces.values()) {
             if (!rpcServers.containsKey(mode)) {
-                RpcServer rpcServer = mode == TransferMode.XML_RPC ? new XmlRpcServer(this, config)
-                        : new BinRpcServer(this, config);
+                RpcServer rpcServer = mode == TransferMode.XML_RPC ? new XmlRpcServer(this, config, rpcServerMetrics)
+                        : new BinRpcServer(this, config, rpcServerMetrics);
                 rpcServers.put(mode, rpcServer);
                 rpcServer.start();
             }
@@ -368,62 +388,98 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     @Override
     public void loadAllDeviceMetadata() throws IOException {
         cancelLoadAllMetadata = false;
+        long startTime = System.currentTimeMillis();
         // load all device descriptions
         List<HmDevice> deviceDescriptions = getDeviceDescriptions();
 
-        // loading datapoints for all channels
-        Set<String> loadedDevices = new HashSet<String>();
-        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<String, Collection<HmDatapoint>>();
+        // loading datapoints for all channels, one worker per interface, as the gateway processes the requests to an
+        // interface one after the other anyway
+        paramsetDescriptionCache.load();
+        Map<HmDevice, CompletableFuture<Void>> loadingDevices = new LinkedHashMap<>();
+        Map<HmInterface, List<HmDevice>> devicesByInterface = new LinkedHashMap<>();
         for (HmDevice device : deviceDescriptions) {
-            if (!cancelLoadAllMetadata) {
-                try {
-                    logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(),
-                            device.getType());
-                    if (device.isGatewayExtras()) {
-                        loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_VARIABLE));
-                        loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_SCRIPT));
-                    } else {
-                        for (HmChannel channel : device.getChannels()) {
-                            logger.trace("  Loading channel {}", channel);
-                            // speed up metadata generation a little bit for equal channels in the gateway devices
-                            if ((DEVICE_TYPE_VIRTUAL.equals(device.getType())
-                                    || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
-                                HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
-                                cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
-                            } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
-                                Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
-                                if (cachedDatapoints != null) {
-                                    // clone all datapoints
-                                    cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
-                                } else {
-                                    logger.trace("    Loading datapoints into channel {}", channel);
-                                    addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                    addChannelDatapoints(channel, HmParamsetType.VALUES);
-
-                                    // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
-                                    // the data point set might change depending on the selected mode.
-                                    if (!channel.isReconfigurable()) {
-                                        datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
-                                    }
-                                }
-                            }
-                        }
+            loadingDevices.put(device, new CompletableFuture<>());
+            if (!device.isGatewayExtras()) {
+                devicesByInterface.computeIfAbsent(device.getHmInterface(), i -> new ArrayList<>()).add(device);
+            }
+        }
+        ExecutorService metadataPool = ThreadPoolManager.getPool(METADATA_POOL_NAME);
+        for (List<HmDevice> interfaceDevices : devicesByInterface.values()) {
+            metadataPool.execute(() -> {
+                for (HmDevice device : interfaceDevices) {
+                    CompletableFuture<Void> loaded = loadingDevices.get(device);
+                    if (cancelLoadAllMetadata) {
+                        loaded.cancel(false);
+                        continue;
+                    }
+                    try {
+                        loadDeviceDatapoints(device);
+                        loaded.complete(null);
+                    } catch (IOException | RuntimeException ex) {
+                        loaded.completeExceptionally(ex);
                     }
-                    prepareDevice(device);
-                    loadedDevices.add(device.getAddress());
-                    gatewayAdapter.onDeviceLoaded(device);
-                } catch (IOException ex) {
-                    logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
-                            ex.getMessage());
                 }
+            });
+        }
+
+        // prepare the devices in the order of the device descriptions, as soon as their datapoints are loaded
+        Set<String> loadedDevices = new HashSet<String>();
+        for (Entry<HmDevice, CompletableFuture<Void>> entry : loadingDevices.entrySet()) {
+            HmDevice device = entry.getKey();
+            if (cancelLoadAllMetadata) {
+                break;
+            }
+            try {
+                if (device.isGatewayExtras()) {
+                    loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_VARIABLE));
+                    loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_SCRIPT));
+                } else {
+                    entry.getValue().get();
+                }
+                prepareDevice(device);
+                loadedDevices.add(device.getAddress());
+                gatewayAdapter.onDeviceLoaded(device);
+            } catch (IOException | ExecutionException ex) {
+                Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+                logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
+                        cause.getMessage());
+            } catch (CancellationException ex) {
+                // loading was canceled
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                cancelLoadAllMetadata = true;
             }
         }
         if (!cancelLoadAllMetadata) {
             devices.keySet().retainAll(loadedDevices);
+            paramsetDescriptionCache.save();
         }
         initialized = true;
+        logger.info(
+                "Loaded metadata of {} devices from gateway '{}' in {} ms ({} channel descriptions cached, {} loaded)",
+                loadedDevices.size(), id, System.currentTimeMillis() - startTime, paramsetDescriptionCache.getHits(),
+                paramsetDescriptionCache.getMisses());
+    }
+
+    /**
+     * Loads the datapoints of all channels of the device, from the paramset description cache if possible.
+     */
+    private void loadDeviceDatapoints(HmDevice device) throws IOException {
+        logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(), device.getType());
+        for (HmChannel channel : device.getChannels()) {
+            logger.trace("  Loading channel {}", channel);
+            // speed up metadata generation a little bit for equal channels in the gateway devices
+            if ((DEVICE_TYPE_VIRTUAL.equals(device.getType()) || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType()))
+                    && channel.getNumber() > 1) {
+                HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
+                cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
+            } else if (!paramsetDescriptionCache.restore(channel)) {
+                logger.trace("    Loading datapoints into channel {}", channel);
+                addChannelDatapoints(channel, HmParamsetType.MASTER);
+                addChannelDatapoints(channel, HmParamsetType.VALUES);
+                paramsetDescriptionCache.put(channel);
+            }
+        }
     }
 
     /**
@@ -722,13 +778,24 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
 
     @Override
     public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
-        String className = newValue == null ? "Unknown" : newValue.getClass().getSimpleName();
-        logger.debug("Received new ({}) value '{}' for '{}' from gateway with id '{}'", className, newValue, dpInfo,
-                id);
+        eventsReceived(Collections.singletonList(new RpcEvent(dpInfo, newValue)));
+    }
 
-        if (echoEvents.remove(dpInfo)) {
-            logger.debug("Echo event detected, ignoring '{}'", dpInfo);
-        } else {
+    @Override
+    public void eventsReceived(List<RpcEvent> events) {
+        // datapoints updated more than once are only published once with the latest value
+        Set<HmDatapoint> updatedDatapoints = new LinkedHashSet<>();
+        for (RpcEvent event : events) {
+            HmDatapointInfo dpInfo = event.getDatapointInfo();
+            Object newValue = event.getValue();
+            String className = newValue == null ? "Unknown" : newValue.getClass().getSimpleName();
+            logger.debug("Received new ({}) value '{}' for '{}' from gateway with id '{}'", className, newValue,
+                    dpInfo, id);
+
+            if (echoEvents.remove(dpInfo)) {
+                logger.debug("Echo event detected, ignoring '{}'", dpInfo);
+                continue;
+            }
             try {
                 if (connectionTrackerThread != null && dpInfo.isPong() && id.equals(newValue)) {
                     connectionTrackerThread.pongReceived();
@@ -736,20 +803,47 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                 if (initialized) {
                     final HmDatapoint dp = getDatapoint(dpInfo);
                     HmDatapointConfig config = gatewayAdapter.getDatapointConfig(dp);
-                    receiveDelayedExecutor.start(dpInfo, config.getReceiveDelay(), () -> {
+                    if (config.getReceiveDelay() > 0.0 || dp.isTrigger() || dp.isPressDatapoint()) {
+                        // every single trigger must be published, therefore publish all values received before
+                        publishDatapoints(updatedDatapoints);
+                        updatedDatapoints.clear();
+                        receiveDelayedExecutor.start(dpInfo, config.getReceiveDelay(), () -> {
+                            dp.setValue(newValue);
+
+                            publishDatapoints(Collections.singleton(dp));
+                            if (dp.isPressDatapoint() && MiscUtils.isTrueValue(dp.getValue())) {
+                                disableDatapoint(dp, DEFAULT_DISABLE_DELAY);
+                            }
+                        });
+                    } else {
                         dp.setValue(newValue);
-
-                        gatewayAdapter.onStateUpdated(dp);
-                        handleVirtualDatapointEvent(dp, true);
-                        if (dp.isPressDatapoint() && MiscUtils.isTrueValue(dp.getValue())) {
-                            disableDatapoint(dp, DEFAULT_DISABLE_DELAY);
-                        }
-                    });
+                        updatedDatapoints.add(dp);
+                    }
                 }
             } catch (HomematicClientException | IOException ex) {
                 // ignore
             }
         }
+        publishDatapoints(updatedDatapoints);
+    }
+
+    /**
+     * Publishes the updated datapoints and the virtual datapoints depending on them at once to the gateway adapter.
+     */
+    private void publishDatapoints(Collection<HmDatapoint> updatedDatapoints) {
+        if (updatedDatapoints.isEmpty()) {
+            return;
+        }
+        Set<HmDatapoint> datapoints = new LinkedHashSet<>(updatedDatapoints);
+        for (HmDatapoint dp : updatedDatapoints) {
+            for (VirtualDatapointHandler vdph : virtualDatapointHandlers) {
+                if (vdph.canHandleEvent(dp)) {
+                    vdph.handleEvent(this, dp);
+                    datapoints.add(vdph.getVirtualDatapoint(dp.getChannel()));
+                }
+            }
+        }
+        gatewayAdapter.onStatesUpdated(datapoints);
     }
 
     @Override
@@ -926,6 +1020,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                 } catch (IOException e) {
                     logger.debug("Could not read the duty cycle ratio: {}", e.getMessage());
                 }
+
+                logRpcServerMetrics();
             } catch (IOException ex) {
                 try {
                     handleInvalidConnection("IOException " + ex.getMessage());
@@ -935,6 +1031,18 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
             }
         }
 
+        private void logRpcServerMetrics() {
+            rpcServerMetrics.sample(System.currentTimeMillis());
+            if (logger.isDebugEnabled()) {
+                logger.debug(
+                        "Gateway '{}' callbacks: {} events/s, latency avg {} ms, max {} ms ({} events, {} multicalls)",
+                        id, String.format(Locale.ROOT, "%.1f", rpcServerMetrics.getEventsPerSecond()),
+                        String.format(Locale.ROOT, "%.1f", rpcServerMetrics.getAverageLatencyMillis()),
+                        String.format(Locale.ROOT, "%.1f", rpcServerMetrics.getMaxLatencyMillis()),
+                        rpcServerMetrics.getEvents(), rpcServerMetrics.getMulticalls());
+            }
+        }
+
         public void pongReceived() {
             pong = true;
             connectionConfirmed();
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.homematic.internal.communicator;
 
+import java.util.Collection;
+
 import org.openhab.binding.homematic.internal.model.HmDatapoint;
 import org.openhab.binding.homematic.internal.model.HmDatapointConfig;
 import org.openhab.binding.homematic.internal.model.HmDevice;
@@ -28,6 +30,11 @@ public interface HomematicGatewayAdapter {
      */
     public void onStateUpdated(HmDatapoint dp);
 
+    /**
+     * Called when multiple datapoints have been updated at once, e.g. by a multicall of the gateway.
+     */
+    public void onStatesUpdated(Collection<HmDatapoint> dps);
+
     /**
      * Called when a new device has been detected on the gateway.
      */
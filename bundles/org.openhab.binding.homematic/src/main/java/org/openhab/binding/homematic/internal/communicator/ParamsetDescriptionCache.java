@@ -0,0 +1,262 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Persistent cache of the paramset descriptions (the datapoint metadata) of the channels, so only the values have to
+ * be loaded from the gateway at startup.
+ * <p>
+ * The descriptions are cached by device type, firmware and channel number, a firmware update therefore loads the
+ * descriptions again. Reconfigurable channels are never cached, as their datapoints depend on the selected function.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+public class ParamsetDescriptionCache {
+    private final Logger logger = LoggerFactory.getLogger(ParamsetDescriptionCache.class);
+    private static final Type CACHE_TYPE = new TypeToken<Map<String, List<CachedDatapoint>>>() {
+    }.getType();
+
+    private final Gson gson = new Gson();
+    private final File file;
+    private final Map<String, List<CachedDatapoint>> descriptions = new ConcurrentHashMap<>();
+    private final Set<String> usedKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private volatile boolean changed;
+
+    public ParamsetDescriptionCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the cache key of the channel.
+     */
+    public static String getKey(HmChannel channel) {
+        return String.format("%s:%s:%s", channel.getDevice().getType(), channel.getDevice().getFirmware(),
+                channel.getNumber());
+    }
+
+    /**
+     * Loads the cached descriptions from the file, an unreadable file is ignored.
+     */
+    public void load() {
+        descriptions.clear();
+        usedKeys.clear();
+        hits.set(0);
+        misses.set(0);
+        changed = false;
+        if (!file.exists()) {
+            return;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            Map<String, List<CachedDatapoint>> loaded = gson.fromJson(reader, CACHE_TYPE);
+            if (loaded != null) {
+                descriptions.putAll(loaded);
+            }
+            logger.debug("Loaded {} cached paramset descriptions from '{}'", descriptions.size(), file);
+        } catch (IOException | JsonParseException ex) {
+            logger.info("Ignoring unreadable paramset description cache '{}': {}", file, ex.getMessage());
+            descriptions.clear();
+            changed = true;
+        }
+    }
+
+    /**
+     * Adds the cached datapoints to the channel.
+     *
+     * @return true, if the descriptions of the channel were cached
+     */
+    public boolean restore(HmChannel channel) {
+        String key = getKey(channel);
+        List<CachedDatapoint> cachedDatapoints = descriptions.get(key);
+        if (cachedDatapoints == null) {
+            misses.incrementAndGet();
+            return false;
+        }
+        usedKeys.add(key);
+        hits.incrementAndGet();
+        for (CachedDatapoint cachedDatapoint : cachedDatapoints) {
+            channel.addDatapoint(cachedDatapoint.toDatapoint());
+        }
+        return true;
+    }
+
+    /**
+     * Caches the descriptions of the loaded datapoints of the channel.
+     */
+    public void put(HmChannel channel) {
+        if (channel.isReconfigurable()) {
+            return;
+        }
+        List<CachedDatapoint> cachedDatapoints = new ArrayList<>();
+        for (HmDatapoint dp : channel.getDatapoints()) {
+            if (!dp.isVirtual()) {
+                cachedDatapoints.add(new CachedDatapoint(dp));
+            }
+        }
+        String key = getKey(channel);
+        usedKeys.add(key);
+        descriptions.put(key, cachedDatapoints);
+        changed = true;
+    }
+
+    /**
+     * Removes the descriptions, which were not used since the cache was loaded, and writes the cache to the file, if
+     * it has changed.
+     */
+    public void save() {
+        if (descriptions.keySet().retainAll(usedKeys)) {
+            changed = true;
+        }
+        if (!changed) {
+            return;
+        }
+        File folder = file.getParentFile();
+        if (folder != null && !folder.exists() && !folder.mkdirs()) {
+            logger.warn("Can't create folder for the paramset description cache '{}'", folder);
+            return;
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            gson.toJson(new HashMap<>(descriptions), CACHE_TYPE, writer);
+            changed = false;
+            logger.debug("Saved {} paramset descriptions to '{}'", descriptions.size(), file);
+        } catch (IOException ex) {
+            logger.warn("Can't save the paramset description cache '{}': {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of channels, whose descriptions were taken from the cache since it was loaded.
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of channels, whose descriptions were not cached since it was loaded.
+     */
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of cached channel descriptions.
+     */
+    public int size() {
+        return descriptions.size();
+    }
+
+    /**
+     * The persisted description of a datapoint.
+     */
+    private static class CachedDatapoint {
+        private String name;
+        private String description;
+        private HmValueType type;
+        private HmParamsetType paramsetType;
+        private Number minValue;
+        private Number maxValue;
+        private Number step;
+        private String[] options;
+        private boolean readOnly;
+        private boolean readable;
+        private String info;
+        private String unit;
+        private boolean trigger;
+        private Object defaultValue;
+
+        private CachedDatapoint(HmDatapoint dp) {
+            name = dp.getName();
+            description = dp.getDescription();
+            type = dp.getType();
+            paramsetType = dp.getParamsetType();
+            minValue = dp.getMinValue();
+            maxValue = dp.getMaxValue();
+            step = dp.getStep();
+            options = dp.getOptions();
+            readOnly = dp.isReadOnly();
+            readable = dp.isReadable();
+            info = dp.getInfo();
+            unit = dp.getUnit();
+            trigger = dp.isTrigger();
+            defaultValue = dp.getDefaultValue();
+        }
+
+        private HmDatapoint toDatapoint() {
+            HmDatapoint dp = new HmDatapoint(name, description, type, null, readOnly, paramsetType);
+            dp.setMinValue(toType(minValue));
+            dp.setMaxValue(toType(maxValue));
+            dp.setStep(toType(step));
+            dp.setOptions(options);
+            dp.setReadable(readable);
+            dp.setInfo(info);
+            dp.setUnit(unit);
+            dp.setTrigger(trigger);
+            dp.setDefaultValue(toDefaultValueType(defaultValue));
+            return dp;
+        }
+
+        /**
+         * Gson restores all numbers as double (or LazilyParsedNumber), the converters expect the types of the parser.
+         */
+        private Number toType(Number number) {
+            if (number == null) {
+                return null;
+            } else if (type == HmValueType.INTEGER || type == HmValueType.ENUM) {
+                return number.intValue();
+            } else {
+                return number.doubleValue();
+            }
+        }
+
+        private Object toDefaultValueType(Object value) {
+            if (value instanceof Number) {
+                if (type == HmValueType.INTEGER || type == HmValueType.ENUM) {
+                    return ((Number) value).intValue();
+                } else if (type == HmValueType.FLOAT) {
+                    return ((Number) value).doubleValue();
+                }
+            }
+            return value;
+        }
+    }
+}
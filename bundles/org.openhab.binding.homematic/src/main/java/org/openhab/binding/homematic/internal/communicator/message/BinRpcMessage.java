@@ -49,6 +49,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private Object[] messageData;
     private byte binRpcData[];
     private int offset;
+    private int length;
 
     private String methodName;
     private TYPE type;
@@ -110,16 +111,29 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      * Decodes a BIN-RPC message from the given byte array.
      */
     public BinRpcMessage(byte[] message, boolean methodHeader, String encoding) throws IOException, ParseException {
+        this(message, message.length, methodHeader, encoding);
+    }
+
+    /**
+     * Decodes a BIN-RPC message from the first bytes of the given buffer. The buffer is only read while decoding, so
+     * it can be reused for the next message afterwards.
+     */
+    public BinRpcMessage(byte[] buffer, int length, boolean methodHeader, String encoding) throws IOException {
         this.encoding = encoding;
-        if (message.length < 8) {
-            throw new EOFException("Only " + message.length + " bytes received");
+        if (length < 8) {
+            throw new EOFException("Only " + length + " bytes received");
         }
-        validateBinXSignature(message);
-        decodeMessage(message, methodHeader);
+        validateBinXSignature(buffer);
+        decodeMessage(buffer, length, methodHeader);
     }
 
     private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
+        decodeMessage(message, message.length, methodHeader);
+    }
+
+    private void decodeMessage(byte[] message, int length, boolean methodHeader) throws IOException {
         binRpcData = message;
+        this.length = length;
 
         offset = 8;
 
@@ -137,7 +151,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private void generateResponseData() throws IOException {
         offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
         List<Object> values = new ArrayList<>();
-        while (offset < binRpcData.length) {
+        while (offset < length) {
             values.add(readRpcValue());
         }
         messageData = values.toArray();
@@ -189,6 +203,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         byte[] trimmed = new byte[offset];
         System.arraycopy(binRpcData, 0, trimmed, 0, offset);
         binRpcData = trimmed;
+        length = offset;
     }
 
     @Override
@@ -198,10 +213,10 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
 
     // read rpc values
     private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
+        int value = (binRpcData[offset] & 0xff) << 24 | (binRpcData[offset + 1] & 0xff) << 16
+                | (binRpcData[offset + 2] & 0xff) << 8 | (binRpcData[offset + 3] & 0xff);
         offset += 4;
-        return (new BigInteger(bi)).intValue();
+        return value;
     }
 
     private String readString() throws UnsupportedEncodingException {
@@ -245,7 +260,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
                 return struct;
 
             default:
-                for (int i = 0; i < binRpcData.length; i++) {
+                for (int i = 0; i < length; i++) {
                     logger.info("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
                 }
                 throw new IOException("Unknown data type " + type);
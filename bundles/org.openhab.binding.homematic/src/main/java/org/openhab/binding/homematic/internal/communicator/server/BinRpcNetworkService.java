@@ -14,42 +14,64 @@ package org.openhab.binding.homematic.internal.communicator.server;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Waits for messages from the Homematic gateway on all connections with a single selector and starts the
+ * {@link BinRpcResponseHandler} of the connection to handle a completely received message.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcNetworkService implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
     private static final byte BIN_EMPTY_STRING[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 0, 3, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_ARRAY[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 1, 0, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_EVENT_LIST[] = { 'B', 'i', 'n', 1, 0, 0, 0, 21, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0,
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
 
     private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<BinRpcResponseHandler> pendingResponses = new ConcurrentLinkedQueue<>();
+    private volatile boolean accept = true;
     private HomematicConfig config;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
 
     /**
      * Creates the socket for listening to events from the Homematic gateway.
      */
-    public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
+    public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config, RpcServerMetrics metrics)
+            throws IOException {
         this.config = config;
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.configureBlocking(false);
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException ex) {
+            closeSilent();
+            throw ex;
+        }
 
-        this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener) {
+        this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener, metrics) {
 
             @Override
             protected byte[] getEmptyStringResult() {
@@ -80,13 +102,63 @@ public class BinRpcNetworkService implements Runnable {
     public void run() {
         while (accept) {
             try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
+                selector.select();
+                BinRpcResponseHandler responseHandler;
+                while ((responseHandler = pendingResponses.poll()) != null) {
+                    responseHandler.writeResponse();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnection();
+                    } else if (key.isReadable()) {
+                        ((BinRpcResponseHandler) key.attachment()).read();
+                    } else if (key.isWritable()) {
+                        ((BinRpcResponseHandler) key.attachment()).writeResponse();
+                    }
+                }
+            } catch (ClosedSelectorException ex) {
+                break;
             } catch (IOException ex) {
-                // ignore
+                logger.debug("BIN-RPC server failure: {}", ex.getMessage(), ex);
             }
         }
+        closeSilent();
+    }
+
+    private void acceptConnection() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel != null) {
+            channel.configureBlocking(false);
+            BinRpcResponseHandler responseHandler = new BinRpcResponseHandler(channel, rpcResponseHandler, config,
+                    this);
+            channel.register(selector, SelectionKey.OP_READ, responseHandler);
+        }
+    }
+
+    /**
+     * Handles a completely received message of the connection in the thread pool.
+     */
+    void handleMessage(BinRpcResponseHandler responseHandler) {
+        ThreadPoolManager.getPool(RPC_POOL_NAME).execute(responseHandler);
+    }
+
+    /**
+     * Writes the response of the connection in the selector thread.
+     */
+    void responseReady(BinRpcResponseHandler responseHandler) {
+        pendingResponses.add(responseHandler);
+        selector.wakeup();
+    }
+
+    Selector getSelector() {
+        return selector;
     }
 
     /**
@@ -94,11 +166,24 @@ public class BinRpcNetworkService implements Runnable {
      */
     public void shutdown() {
         accept = false;
+        selector.wakeup();
+    }
+
+    private void closeSilent() {
+        try {
+            if (selector.isOpen()) {
+                for (SelectionKey key : selector.keys()) {
+                    key.channel().close();
+                }
+                selector.close();
+            }
+        } catch (IOException | ClosedSelectorException ex) {
+            // ignore
+        }
         try {
-            serverSocket.close();
+            serverChannel.close();
         } catch (IOException ioe) {
             // ignore
         }
     }
-
 }
@@ -12,9 +12,11 @@
  */
 package org.openhab.binding.homematic.internal.communicator.server;
 
-import java.io.EOFException;
 import java.io.IOException;
-import java.net.Socket;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
@@ -22,53 +24,154 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Reads a BIN-RPC message from the socket and handles the method call.
+ * Reads BIN-RPC messages from a connection of the Homematic gateway and handles the method calls.
+ * <p>
+ * A message is read in the selector thread of the {@link BinRpcNetworkService} into a buffer, which is reused for the
+ * following messages of the connection. The completely received message is decoded and handled in the thread pool,
+ * reading from the connection is suspended until the response is written.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcResponseHandler implements Runnable {
     private final Logger logger = LoggerFactory.getLogger(BinRpcResponseHandler.class);
 
-    private Socket socket;
-    private RpcResponseHandler<byte[]> rpcResponseHandler;
-    private HomematicConfig config;
-    private long created;
+    private static final int HEADER_LENGTH = 8;
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+    private static final int MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
 
-    public BinRpcResponseHandler(Socket socket, RpcResponseHandler<byte[]> rpcResponseHandler, HomematicConfig config) {
-        this.socket = socket;
+    private final SocketChannel channel;
+    private final RpcResponseHandler<byte[]> rpcResponseHandler;
+    private final HomematicConfig config;
+    private final BinRpcNetworkService networkService;
+    private final long created;
+
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+    private ByteBuffer message = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer response;
+
+    public BinRpcResponseHandler(SocketChannel channel, RpcResponseHandler<byte[]> rpcResponseHandler,
+            HomematicConfig config, BinRpcNetworkService networkService) {
+        this.channel = channel;
         this.rpcResponseHandler = rpcResponseHandler;
         this.config = config;
+        this.networkService = networkService;
         this.created = System.currentTimeMillis();
     }
 
     /**
-     * Reads the event from the Homematic gateway and handles the method call.
+     * Reads the available bytes of the message, called by the selector thread.
      */
-    @Override
-    public void run() {
+    void read() {
         try {
-            boolean isMaxAliveReached;
-            do {
-                BinRpcMessage message = new BinRpcMessage(socket.getInputStream(), true, config.getEncoding());
-                logger.trace("Event BinRpcMessage: {}", message);
-                byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
-                        message.getResponseData());
-                if (returnValue != null) {
-                    socket.getOutputStream().write(returnValue);
+            if (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    close();
+                    return;
+                }
+                if (header.hasRemaining()) {
+                    return;
                 }
-                isMaxAliveReached = System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000);
-            } while (!isMaxAliveReached);
+                startMessage();
+            }
+            if (channel.read(message) < 0) {
+                close();
+                return;
+            }
+            if (!message.hasRemaining()) {
+                // suspend reading until the response is written
+                interestOps(0);
+                networkService.handleMessage(this);
+            }
+        } catch (IOException ex) {
+            logger.debug("Failed reading BIN-RPC message: {}", ex.getMessage());
+            close();
+        }
+    }
 
-        } catch (EOFException eof) {
-            // ignore
+    /**
+     * Prepares the message buffer for the message announced in the header.
+     */
+    private void startMessage() throws IOException {
+        byte[] sig = header.array();
+        if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
+            throw new UnsupportedEncodingException("No BinX signature");
+        }
+        int datasize = header.getInt(4);
+        if (datasize < 0 || datasize > MAX_MESSAGE_SIZE) {
+            throw new IOException("Invalid BIN-RPC message length " + datasize);
+        }
+        int length = HEADER_LENGTH + datasize;
+        if (message.capacity() < length) {
+            message = ByteBuffer.allocate(Math.max(length, message.capacity() * 2));
+        }
+        message.clear();
+        message.put(sig);
+        message.limit(length);
+    }
+
+    /**
+     * Decodes the message and handles the method call, called by the thread pool.
+     */
+    @Override
+    public void run() {
+        try {
+            BinRpcMessage binRpcMessage = new BinRpcMessage(message.array(), message.limit(), true,
+                    config.getEncoding());
+            if (logger.isTraceEnabled()) {
+                logger.trace("Event BinRpcMessage: {}", binRpcMessage);
+            }
+            byte[] returnValue = rpcResponseHandler.handleMethodCall(binRpcMessage.getMethodName(),
+                    binRpcMessage.getResponseData());
+            response = ByteBuffer.wrap(returnValue != null ? returnValue : new byte[0]);
+            networkService.responseReady(this);
         } catch (Exception e) {
             logger.warn("{}", e.getMessage(), e);
-        } finally {
-            try {
-                socket.close();
-            } catch (IOException ioe) {
-                // ignore
+            close();
+        }
+    }
+
+    /**
+     * Writes the response and continues reading the next message, called by the selector thread.
+     */
+    void writeResponse() {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            channel.write(response);
+            if (response.hasRemaining()) {
+                interestOps(SelectionKey.OP_WRITE);
+                return;
             }
+            response = null;
+            if (System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000)) {
+                close();
+                return;
+            }
+            header.clear();
+            if (message.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+                message = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+            }
+            interestOps(SelectionKey.OP_READ);
+        } catch (IOException ex) {
+            logger.debug("Failed writing BIN-RPC response: {}", ex.getMessage());
+            close();
+        }
+    }
+
+    private void interestOps(int ops) {
+        SelectionKey key = channel.keyFor(networkService.getSelector());
+        if (key != null && key.isValid()) {
+            key.interestOps(ops);
+        }
+    }
+
+    private void close() {
+        try {
+            channel.close();
+        } catch (IOException ioe) {
+            // ignore
         }
     }
 }
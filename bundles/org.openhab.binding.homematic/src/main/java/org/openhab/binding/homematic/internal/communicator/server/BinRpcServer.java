@@ -30,17 +30,19 @@ public class BinRpcServer implements RpcServer {
     private BinRpcNetworkService networkService;
     private HomematicConfig config;
     private RpcEventListener listener;
+    private RpcServerMetrics metrics;
 
-    public BinRpcServer(RpcEventListener listener, HomematicConfig config) {
+    public BinRpcServer(RpcEventListener listener, HomematicConfig config, RpcServerMetrics metrics) {
         this.listener = listener;
         this.config = config;
+        this.metrics = metrics;
     }
 
     @Override
     public void start() throws IOException {
         logger.debug("Initializing BIN-RPC server at port {}", config.getBinCallbackPort());
 
-        networkService = new BinRpcNetworkService(listener, config);
+        networkService = new BinRpcNetworkService(listener, config, metrics);
         networkServiceThread = new Thread(networkService);
         networkServiceThread.setName("HomematicRpcServer");
         networkServiceThread.start();
@@ -28,6 +28,11 @@ public interface RpcEventListener {
      */
     public void eventReceived(HmDatapointInfo dpInfo, Object newValue);
 
+    /**
+     * Called when multiple events are received at once from a Homematic gateway, e.g. within a multicall.
+     */
+    public void eventsReceived(List<RpcEvent> events);
+
     /**
      * Called when new devices has been detected on the Homeamtic gateway.
      */
@@ -38,15 +38,26 @@ public abstract class RpcResponseHandler<T> {
     private final Logger logger = LoggerFactory.getLogger(RpcResponseHandler.class);
 
     private RpcEventListener listener;
+    private RpcServerMetrics metrics;
 
-    public RpcResponseHandler(RpcEventListener listener) {
+    public RpcResponseHandler(RpcEventListener listener, RpcServerMetrics metrics) {
         this.listener = listener;
+        this.metrics = metrics;
     }
 
     /**
      * Returns a valid result of the method called by the Homematic gateway.
      */
     public T handleMethodCall(String methodName, Object[] responseData) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return dispatchMethodCall(methodName, responseData);
+        } finally {
+            metrics.callbackHandled(System.nanoTime() - start);
+        }
+    }
+
+    private T dispatchMethodCall(String methodName, Object[] responseData) throws IOException {
         if (RPC_METHODNAME_EVENT.equals(methodName)) {
             return handleEvent(responseData);
         } else if (RPC_METHODNAME_LIST_DEVICES.equals(methodName) || RPC_METHODNAME_UPDATE_DEVICE.equals(methodName)) {
@@ -60,15 +71,7 @@ public abstract class RpcResponseHandler<T> {
             msg.addArg(getListMethods());
             return msg.createMessage();
         } else if (RPC_METHODNAME_SYSTEM_MULTICALL.equals(methodName)) {
-            for (Object o : (Object[]) responseData[0]) {
-                Map<?, ?> call = (Map<?, ?>) o;
-                if (call != null) {
-                    String method = ObjectUtils.toString(call.get("methodName"));
-                    Object[] data = (Object[]) call.get("params");
-                    handleMethodCall(method, data);
-                }
-            }
-            return getEmptyEventListResult();
+            return handleMulticall(responseData);
         } else if (RPC_METHODNAME_SET_CONFIG_READY.equals(methodName)) {
             return getEmptyEventListResult();
         } else {
@@ -95,10 +98,38 @@ public abstract class RpcResponseHandler<T> {
     private T handleEvent(Object[] message) throws IOException {
         EventParser eventParser = new EventParser();
         HmDatapointInfo dpInfo = eventParser.parse(message);
+        metrics.eventsReceived(1);
         listener.eventReceived(dpInfo, eventParser.getValue());
         return getEmptyStringResult();
     }
 
+    /**
+     * Populates all events of the multicall at once to the listener, all other calls are handled one after the other.
+     */
+    private T handleMulticall(Object[] message) throws IOException {
+        metrics.multicallReceived();
+        List<RpcEvent> events = new ArrayList<>();
+        for (Object o : (Object[]) message[0]) {
+            Map<?, ?> call = (Map<?, ?>) o;
+            if (call != null) {
+                String method = ObjectUtils.toString(call.get("methodName"));
+                Object[] data = (Object[]) call.get("params");
+                if (RPC_METHODNAME_EVENT.equals(method)) {
+                    EventParser eventParser = new EventParser();
+                    HmDatapointInfo dpInfo = eventParser.parse(data);
+                    events.add(new RpcEvent(dpInfo, eventParser.getValue()));
+                } else {
+                    dispatchMethodCall(method, data);
+                }
+            }
+        }
+        if (!events.isEmpty()) {
+            metrics.eventsReceived(events.size());
+            listener.eventsReceived(events);
+        }
+        return getEmptyEventListResult();
+    }
+
     /**
      * Calls the listener when a devices has been detected.
      */
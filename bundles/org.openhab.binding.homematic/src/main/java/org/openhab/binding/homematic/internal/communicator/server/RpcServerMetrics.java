@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the callbacks and events received from the Homematic gateway.
+ * <p>
+ * The callback latency is the time from receiving a method call until the response is ready, the gateway waits for
+ * the response before it sends the next callback on the same connection. Rates and the maximum latency are computed
+ * by {@link #sample(long)} and refer to the time since the previous sample.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+public class RpcServerMetrics {
+    private final AtomicLong callbacks = new AtomicLong();
+    private final AtomicLong multicalls = new AtomicLong();
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    // guarded by this
+    private long lastSampleTime = System.currentTimeMillis();
+    private long lastEvents;
+    private long lastCallbacks;
+    private long lastTotalLatencyNanos;
+    private double eventsPerSecond;
+    private double averageLatencyMillis;
+    private double maxLatencyMillis;
+
+    /**
+     * Counts a handled callback.
+     *
+     * @param latencyNanos the time needed to handle the callback
+     */
+    public void callbackHandled(long latencyNanos) {
+        callbacks.incrementAndGet();
+        totalLatencyNanos.addAndGet(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    /**
+     * Counts a received multicall.
+     */
+    public void multicallReceived() {
+        multicalls.incrementAndGet();
+    }
+
+    /**
+     * Counts received events.
+     */
+    public void eventsReceived(int count) {
+        events.addAndGet(count);
+    }
+
+    /**
+     * Computes the rates since the last sample.
+     *
+     * @param now the current time in milliseconds
+     */
+    public synchronized void sample(long now) {
+        long elapsed = now - lastSampleTime;
+        if (elapsed <= 0) {
+            return;
+        }
+        long currentEvents = events.get();
+        long currentCallbacks = callbacks.get();
+        long currentTotalLatencyNanos = totalLatencyNanos.get();
+
+        eventsPerSecond = (currentEvents - lastEvents) * 1000.0 / elapsed;
+        long sampledCallbacks = currentCallbacks - lastCallbacks;
+        averageLatencyMillis = sampledCallbacks == 0 ? 0
+                : (currentTotalLatencyNanos - lastTotalLatencyNanos) / 1000000.0 / sampledCallbacks;
+        maxLatencyMillis = maxLatencyNanos.getAndSet(0) / 1000000.0;
+
+        lastSampleTime = now;
+        lastEvents = currentEvents;
+        lastCallbacks = currentCallbacks;
+        lastTotalLatencyNanos = currentTotalLatencyNanos;
+    }
+
+    public long getCallbacks() {
+        return callbacks.get();
+    }
+
+    public long getMulticalls() {
+        return multicalls.get();
+    }
+
+    public long getEvents() {
+        return events.get();
+    }
+
+    public synchronized double getEventsPerSecond() {
+        return eventsPerSecond;
+    }
+
+    public synchronized double getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    public synchronized double getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+}
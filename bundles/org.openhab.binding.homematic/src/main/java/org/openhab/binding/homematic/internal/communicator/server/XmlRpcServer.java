@@ -49,9 +49,9 @@ public class XmlRpcServer implements RpcServer {
     private RpcResponseHandler<String> rpcResponseHander;
     private final ResponseHandler jettyResponseHandler = new ResponseHandler();
 
-    public XmlRpcServer(RpcEventListener listener, HomematicConfig config) {
+    public XmlRpcServer(RpcEventListener listener, HomematicConfig config, RpcServerMetrics metrics) {
         this.config = config;
-        this.rpcResponseHander = new RpcResponseHandler<String>(listener) {
+        this.rpcResponseHander = new RpcResponseHandler<String>(listener, metrics) {
 
             @Override
             protected String getEmptyStringResult() {
@@ -16,8 +16,11 @@ import static org.eclipse.smarthome.core.thing.Thing.*;
 import static org.openhab.binding.homematic.internal.HomematicBindingConstants.CHANNEL_TYPE_DUTY_CYCLE_RATIO;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -287,6 +290,26 @@ public class HomematicBridgeHandler extends BaseBridgeHandler implements Homemat
         }
     }
 
+    @Override
+    public void onStatesUpdated(Collection<HmDatapoint> dps) {
+        Map<HmDevice, List<HmDatapoint>> dpsByDevice = new LinkedHashMap<>();
+        for (HmDatapoint dp : dps) {
+            dpsByDevice.computeIfAbsent(dp.getChannel().getDevice(), d -> new ArrayList<>()).add(dp);
+        }
+        for (Map.Entry<HmDevice, List<HmDatapoint>> entry : dpsByDevice.entrySet()) {
+            Thing hmThing = getThingByUID(UidUtils.generateThingUID(entry.getKey(), getThing()));
+            if (hmThing != null) {
+                final ThingStatus status = hmThing.getStatus();
+                if (status == ThingStatus.ONLINE || status == ThingStatus.OFFLINE) {
+                    HomematicThingHandler thingHandler = (HomematicThingHandler) hmThing.getHandler();
+                    if (thingHandler != null) {
+                        thingHandler.updateDatapointStates(entry.getValue());
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public HmDatapointConfig getDatapointConfig(HmDatapoint dp) {
         Thing hmThing = getThingByUID(UidUtils.generateThingUID(dp.getChannel().getDevice(), getThing()));
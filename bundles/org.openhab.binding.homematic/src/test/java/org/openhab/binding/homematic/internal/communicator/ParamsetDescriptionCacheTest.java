@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.openhab.binding.homematic.test.util.DimmerHelper.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.binding.homematic.internal.misc.HomematicConstants;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+
+/**
+ * Tests for {@link ParamsetDescriptionCache}.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+public class ParamsetDescriptionCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setup() {
+        file = new File(new File(folder.getRoot(), "cache"), "paramsets-test.json");
+    }
+
+    @Test
+    public void descriptionsAreRestoredAfterSave() {
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.load();
+        HmChannel channel = createDimmerHmChannel();
+        assertThat(cache.restore(channel), is(false));
+        channel.addDatapoint(createLevelDatapoint());
+        cache.put(channel);
+        cache.save();
+
+        ParamsetDescriptionCache restoredCache = new ParamsetDescriptionCache(file);
+        restoredCache.load();
+        HmChannel restoredChannel = createDimmerHmChannel();
+        assertThat(restoredCache.restore(restoredChannel), is(true));
+        assertThat(restoredCache.getHits(), is(1));
+
+        HmDatapoint dp = restoredChannel.getDatapoint(HmParamsetType.VALUES, "LEVEL");
+        assertThat(dp.getType(), is(HmValueType.FLOAT));
+        assertThat(dp.getMinValue(), is((Number) 0.0));
+        assertThat(dp.getMaxValue(), is((Number) 1.0));
+        assertThat(dp.getDefaultValue(), is((Object) 0.0));
+        assertThat(dp.getUnit(), is("100%"));
+        assertThat(dp.getValue(), is(nullValue()));
+        assertThat(dp.getChannel(), is(restoredChannel));
+    }
+
+    @Test
+    public void integerTypesAreRestored() {
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.load();
+        HmChannel channel = createDimmerHmChannel();
+        HmDatapoint dp = new HmDatapoint("RAMP_TIME", "RAMP_TIME", HmValueType.INTEGER, null, false,
+                HmParamsetType.MASTER);
+        dp.setMinValue(0);
+        dp.setMaxValue(100);
+        dp.setDefaultValue(5);
+        channel.addDatapoint(dp);
+        cache.put(channel);
+        cache.save();
+
+        cache.load();
+        HmChannel restoredChannel = createDimmerHmChannel();
+        cache.restore(restoredChannel);
+
+        HmDatapoint restoredDp = restoredChannel.getDatapoint(HmParamsetType.MASTER, "RAMP_TIME");
+        assertThat(restoredDp.getMinValue(), is((Number) 0));
+        assertThat(restoredDp.getMaxValue(), is((Number) 100));
+        assertThat(restoredDp.getDefaultValue(), is((Object) 5));
+    }
+
+    @Test
+    public void virtualDatapointsAreNotCached() {
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.load();
+        HmChannel channel = createDimmerHmChannel();
+        HmDatapoint virtualDp = new HmDatapoint("RSSI", "RSSI", HmValueType.INTEGER, null, true,
+                HmParamsetType.VALUES);
+        virtualDp.setVirtual(true);
+        channel.addDatapoint(virtualDp);
+        channel.addDatapoint(createLevelDatapoint());
+        cache.put(channel);
+
+        HmChannel restoredChannel = createDimmerHmChannel();
+        cache.restore(restoredChannel);
+        assertThat(restoredChannel.getDatapoints().size(), is(1));
+    }
+
+    @Test
+    public void reconfigurableChannelsAreNotCached() {
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.load();
+        HmChannel channel = createDimmerHmChannel();
+        channel.addDatapoint(new HmDatapoint(HomematicConstants.DATAPOINT_NAME_CHANNEL_FUNCTION,
+                HomematicConstants.DATAPOINT_NAME_CHANNEL_FUNCTION, HmValueType.ENUM, null, false,
+                HmParamsetType.MASTER));
+        cache.put(channel);
+
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void unusedDescriptionsAreRemovedOnSave() {
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.load();
+        HmChannel channel = createDimmerHmChannel();
+        channel.addDatapoint(createLevelDatapoint());
+        cache.put(channel);
+        cache.save();
+
+        cache.load();
+        cache.save();
+        cache.load();
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void unreadableCacheIsIgnored() throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), "{ broken".getBytes(StandardCharsets.UTF_8));
+
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.load();
+        assertThat(cache.size(), is(0));
+        assertThat(cache.restore(createDimmerHmChannel()), is(false));
+    }
+
+    private HmDatapoint createLevelDatapoint() {
+        HmDatapoint dp = new HmDatapoint("LEVEL", "LEVEL", HmValueType.FLOAT, 0.5, false, HmParamsetType.VALUES);
+        dp.setMinValue(0.0);
+        dp.setMaxValue(1.0);
+        dp.setDefaultValue(0.0);
+        dp.setUnit("100%");
+        dp.setReadable(true);
+        return dp;
+    }
+}
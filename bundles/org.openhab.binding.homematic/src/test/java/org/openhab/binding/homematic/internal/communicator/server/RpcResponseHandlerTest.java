@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+
+/**
+ * Tests for {@link RpcResponseHandler}.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+public class RpcResponseHandlerTest {
+    private static final String ENCODING = "ISO-8859-1";
+
+    private final List<List<RpcEvent>> receivedBatches = new ArrayList<>();
+    private final List<HmDatapointInfo> receivedEvents = new ArrayList<>();
+    private RpcServerMetrics metrics;
+    private RpcResponseHandler<byte[]> handler;
+
+    @Before
+    public void setup() {
+        metrics = new RpcServerMetrics();
+        RpcEventListener listener = new RpcEventListener() {
+            @Override
+            public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+                receivedEvents.add(dpInfo);
+            }
+
+            @Override
+            public void eventsReceived(List<RpcEvent> events) {
+                receivedBatches.add(events);
+            }
+
+            @Override
+            public void newDevices(List<String> adresses) {
+            }
+
+            @Override
+            public void deleteDevices(List<String> addresses) {
+            }
+        };
+        handler = new RpcResponseHandler<byte[]>(listener, metrics) {
+            @Override
+            protected byte[] getEmptyStringResult() {
+                return new byte[0];
+            }
+
+            @Override
+            protected byte[] getEmptyArrayResult() {
+                return new byte[0];
+            }
+
+            @Override
+            protected byte[] getEmptyEventListResult() {
+                return new byte[0];
+            }
+
+            @Override
+            protected RpcRequest<byte[]> createRpcRequest() {
+                return new BinRpcMessage(null, BinRpcMessage.TYPE.RESPONSE, ENCODING);
+            }
+        };
+    }
+
+    @Test
+    public void multicallEventsAreDispatchedAsOneBatch() throws IOException {
+        Object[] calls = new Object[] { createEventCall("ABC12345678:1", "LEVEL", 0.5),
+                createEventCall("ABC12345678:1", "WORKING", false), createEventCall("ABC12345678:0", "UNREACH", false) };
+
+        handler.handleMethodCall("system.multicall", new Object[] { calls });
+
+        assertThat(receivedBatches.size(), is(1));
+        assertThat(receivedEvents.size(), is(0));
+        List<RpcEvent> batch = receivedBatches.get(0);
+        assertThat(batch.size(), is(3));
+        assertThat(batch.get(0).getDatapointInfo().getName(), is("LEVEL"));
+        assertThat(batch.get(0).getDatapointInfo().getChannel(), is(1));
+        assertThat(batch.get(0).getValue(), is((Object) 0.5));
+        assertThat(batch.get(2).getDatapointInfo().getName(), is("UNREACH"));
+
+        assertThat(metrics.getMulticalls(), is(1L));
+        assertThat(metrics.getEvents(), is(3L));
+        assertThat(metrics.getCallbacks(), is(1L));
+    }
+
+    @Test
+    public void singleEventIsDispatchedDirectly() throws IOException {
+        handler.handleMethodCall("event", new Object[] { "iface", "ABC12345678:1", "LEVEL", 1.0 });
+
+        assertThat(receivedEvents.size(), is(1));
+        assertThat(receivedBatches.size(), is(0));
+        assertThat(metrics.getEvents(), is(1L));
+    }
+
+    @Test
+    public void binRpcMessageIsDecodedFromReusedBuffer() throws Exception {
+        BinRpcMessage request = new BinRpcMessage("event", ENCODING);
+        request.addArg("iface");
+        request.addArg("ABC12345678:1");
+        request.addArg("LEVEL");
+        request.addArg(0.25);
+        byte[] message = request.createMessage();
+
+        byte[] buffer = new byte[message.length + 100];
+        System.arraycopy(message, 0, buffer, 0, message.length);
+        BinRpcMessage decoded = new BinRpcMessage(buffer, message.length, true, ENCODING);
+
+        assertThat(decoded.getMethodName(), is("event"));
+        Object[] data = decoded.getResponseData();
+        assertThat(data.length, is(4));
+        assertThat(data[2], is((Object) "LEVEL"));
+        assertThat(data[3], is((Object) 0.25));
+    }
+
+    private Map<String, Object> createEventCall(String address, String name, Object value) {
+        Map<String, Object> call = new HashMap<>();
+        call.put("methodName", "event");
+        call.put("params", new Object[] { "iface", address, name, value });
+        return call;
+    }
+}
@@ -14,9 +14,20 @@ package org.openhab.binding.kodi.internal.protocol;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
@@ -30,6 +41,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -37,6 +49,10 @@ import com.google.gson.JsonParser;
 /**
  * KodiClientSocket implements the low level communication to Kodi through
  * websocket. Usually this communication is done through port 9090
+ * <p>
+ * Method calls are asynchronous: each call is registered by its request id until the response arrives or the request
+ * timeout elapses, so multiple calls can be outstanding at the same time. Several calls can be sent as one JSON-RPC
+ * batch, which Kodi answers with a single message. The response time of every call is recorded per method.
  *
  * @author Paul Frank - Initial contribution
  */
@@ -47,9 +63,11 @@ public class KodiClientSocket {
     private final ScheduledExecutorService scheduler;
     private static final int REQUEST_TIMEOUT_MS = 60000;
 
-    private CountDownLatch commandLatch = null;
-    private JsonObject commandResponse = null;
-    private int nextMessageId = 1;
+    private final Map<Integer, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+    private final Map<String, LongSummaryStatistics> latencyByMethod = new ConcurrentHashMap<>();
+    private final AtomicInteger nextMessageId = new AtomicInteger(1);
+    // the blocking send of the websocket remote endpoint doesn't allow concurrent calls
+    private final Object sendLock = new Object();
 
     private boolean connected = false;
 
@@ -93,6 +111,7 @@ public class KodiClientSocket {
             session.close();
             session = null;
         }
+        failPendingRequests();
     }
 
     public boolean isConnected() {
@@ -124,13 +143,19 @@ public class KodiClientSocket {
         @OnWebSocketMessage
         public void onMessage(String message) {
             logger.trace("Message received from server: {}", message);
-            final JsonObject json = parser.parse(message).getAsJsonObject();
-            if (json.has("id")) {
-                int messageId = json.get("id").getAsInt();
-                if (messageId == nextMessageId - 1) {
-                    commandResponse = json;
-                    commandLatch.countDown();
+            final JsonElement element = parser.parse(message);
+            if (element.isJsonArray()) {
+                // response to a batch of calls
+                for (JsonElement response : element.getAsJsonArray()) {
+                    if (response.isJsonObject()) {
+                        handleResponse(response.getAsJsonObject());
+                    }
                 }
+                return;
+            }
+            final JsonObject json = element.getAsJsonObject();
+            if (json.has("id")) {
+                handleResponse(json);
             } else {
                 logger.trace("Event received from server: {}", json);
                 if (eventHandler != null) {
@@ -151,6 +176,7 @@ public class KodiClientSocket {
             logger.trace("Closing a WebSocket due to {}", reason);
             session = null;
             connected = false;
+            failPendingRequests();
             if (eventHandler != null) {
                 scheduler.submit(() -> {
                     try {
@@ -171,9 +197,12 @@ public class KodiClientSocket {
     }
 
     private void sendMessage(String str) throws IOException {
-        if (isConnected()) {
+        Session currentSession = session;
+        if (currentSession != null && isConnected()) {
             logger.trace("send message: {}", str);
-            session.getRemote().sendString(str);
+            synchronized (sendLock) {
+                currentSession.getRemote().sendString(str);
+            }
         } else {
             throw new IOException("Socket not initialized");
         }
@@ -183,40 +212,177 @@ public class KodiClientSocket {
         return callMethod(methodName, null);
     }
 
-    public synchronized JsonElement callMethod(String methodName, JsonObject params) {
-        try {
+    public JsonElement callMethod(String methodName, JsonObject params) {
+        return callMethods(Collections.singletonList(new KodiRequest(methodName, params))).get(0);
+    }
+
+    /**
+     * Sends the calls as one batch and waits for all responses.
+     *
+     * @param requests the calls to send
+     * @return the results in the order of the calls, null for a call which failed or timed out
+     */
+    public List<JsonElement> callMethods(List<KodiRequest> requests) {
+        List<CompletableFuture<JsonElement>> futures = callMethodsAsync(requests);
+        List<JsonElement> results = new ArrayList<>(futures.size());
+        long deadline = System.currentTimeMillis() + REQUEST_TIMEOUT_MS;
+        for (int i = 0; i < futures.size(); i++) {
+            CompletableFuture<JsonElement> future = futures.get(i);
+            KodiRequest request = requests.get(i);
+            JsonElement result = null;
+            try {
+                result = future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                logger.debug("callMethod returns: {}", result);
+            } catch (TimeoutException e) {
+                logger.debug("Timeout during callMethod({}, {})", request.getMethod(), request.getParams());
+                pendingRequests.values().removeIf(pending -> pending.future == future);
+            } catch (ExecutionException e) {
+                logger.debug("Error during callMethod({}, {}): {}", request.getMethod(), request.getParams(),
+                        e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                logger.debug("Interrupted during callMethod({}, {})", request.getMethod(), request.getParams());
+                Thread.currentThread().interrupt();
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Sends the call without waiting for the response.
+     *
+     * @return the future completed with the result of the call, or with null if Kodi returns an error
+     */
+    public CompletableFuture<JsonElement> callMethodAsync(String methodName, JsonObject params) {
+        return callMethodsAsync(Collections.singletonList(new KodiRequest(methodName, params))).get(0);
+    }
+
+    /**
+     * Sends the calls as one JSON-RPC batch (a single call is sent as a plain request) without waiting for the
+     * responses.
+     *
+     * @return the futures completed with the results of the calls, in the order of the calls
+     */
+    public List<CompletableFuture<JsonElement>> callMethodsAsync(List<KodiRequest> requests) {
+        List<CompletableFuture<JsonElement>> futures = new ArrayList<>(requests.size());
+        List<Integer> messageIds = new ArrayList<>(requests.size());
+        JsonArray batch = new JsonArray();
+        for (KodiRequest request : requests) {
+            int messageId = nextMessageId.getAndIncrement();
             JsonObject payloadObject = new JsonObject();
             payloadObject.addProperty("jsonrpc", "2.0");
-            payloadObject.addProperty("id", nextMessageId);
-            payloadObject.addProperty("method", methodName);
+            payloadObject.addProperty("id", messageId);
+            payloadObject.addProperty("method", request.getMethod());
 
-            if (params != null) {
-                payloadObject.add("params", params);
+            if (request.getParams() != null) {
+                payloadObject.add("params", request.getParams());
             }
+            batch.add(payloadObject);
+
+            PendingRequest pending = new PendingRequest(request.getMethod());
+            pendingRequests.put(messageId, pending);
+            messageIds.add(messageId);
+            futures.add(pending.future);
+        }
 
-            String message = mapper.toJson(payloadObject);
-
-            commandLatch = new CountDownLatch(1);
-            commandResponse = null;
-            nextMessageId++;
-
-            sendMessage(message);
-            if (commandLatch.await(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
-                logger.debug("callMethod returns: {}", commandResponse);
-                if (commandResponse.has("result")) {
-                    return commandResponse.get("result");
-                } else {
-                    JsonElement error = commandResponse.get("error");
-                    logger.debug("Error received from server: {}", error);
-                    return null;
+        try {
+            sendMessage(mapper.toJson(batch.size() == 1 ? batch.get(0) : batch));
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Error sending {} call(s): {}", messageIds.size(), e.getMessage());
+            for (Integer messageId : messageIds) {
+                PendingRequest pending = pendingRequests.remove(messageId);
+                if (pending != null) {
+                    pending.future.completeExceptionally(e);
                 }
-            } else {
-                logger.debug("Timeout during callMethod({}, {})", methodName, params);
-                return null;
             }
-        } catch (IOException | InterruptedException e) {
-            logger.debug("Error during callMethod({}, {}): {}", methodName, params, e.getMessage(), e);
-            return null;
+            return futures;
+        }
+
+        // calls which are never answered must not stay registered, whether the caller waits for them or not
+        ScheduledFuture<?> expiry = scheduler.schedule(() -> expirePendingRequests(messageIds), REQUEST_TIMEOUT_MS,
+                TimeUnit.MILLISECONDS);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+                .whenComplete((result, failure) -> expiry.cancel(false));
+        return futures;
+    }
+
+    private void expirePendingRequests(List<Integer> messageIds) {
+        for (Integer messageId : messageIds) {
+            PendingRequest pending = pendingRequests.remove(messageId);
+            if (pending != null) {
+                logger.debug("No response received for {} within {} ms", pending.method, REQUEST_TIMEOUT_MS);
+                pending.future.completeExceptionally(new TimeoutException("No response received"));
+            }
+        }
+    }
+
+    private void handleResponse(JsonObject response) {
+        JsonElement id = response.get("id");
+        if (id == null || !id.isJsonPrimitive()) {
+            logger.debug("Response without request id received from server: {}", response);
+            return;
+        }
+        PendingRequest pending = pendingRequests.remove(id.getAsInt());
+        if (pending == null) {
+            logger.debug("Response received for an unknown or timed out request: {}", response);
+            return;
+        }
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pending.sent);
+        LongSummaryStatistics statistics = latencyByMethod.computeIfAbsent(pending.method,
+                m -> new LongSummaryStatistics());
+        synchronized (statistics) {
+            statistics.accept(latency);
+        }
+        logger.trace("{} answered in {} ms", pending.method, latency);
+
+        if (response.has("result")) {
+            pending.future.complete(response.get("result"));
+        } else {
+            JsonElement error = response.get("error");
+            logger.debug("Error received from server: {}", error);
+            pending.future.complete(null);
+        }
+    }
+
+    private void failPendingRequests() {
+        IOException closed = new IOException("Connection closed");
+        for (Integer messageId : new ArrayList<>(pendingRequests.keySet())) {
+            PendingRequest pending = pendingRequests.remove(messageId);
+            if (pending != null) {
+                pending.future.completeExceptionally(closed);
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics of the response times in milliseconds by method
+     */
+    public Map<String, LongSummaryStatistics> getLatencyStatistics() {
+        Map<String, LongSummaryStatistics> result = new TreeMap<>();
+        latencyByMethod.forEach((method, statistics) -> {
+            LongSummaryStatistics copy = new LongSummaryStatistics();
+            synchronized (statistics) {
+                copy.combine(statistics);
+            }
+            result.put(method, copy);
+        });
+        return result;
+    }
+
+    /**
+     * Returns the number of calls waiting for a response
+     */
+    public int getPendingRequestCount() {
+        return pendingRequests.size();
+    }
+
+    private static class PendingRequest {
+        private final String method;
+        private final long sent = System.nanoTime();
+        private final CompletableFuture<JsonElement> future = new CompletableFuture<>();
+
+        private PendingRequest(String method) {
+            this.method = method;
         }
     }
 }
@@ -21,7 +21,10 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -474,13 +477,20 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private int getSpeed(int activePlayer) {
+        KodiRequest request = createSpeedRequest(activePlayer);
+        return getSpeed(socket.callMethod(request.getMethod(), request.getParams()));
+    }
+
+    private KodiRequest createSpeedRequest(int activePlayer) {
         final String[] properties = { "speed" };
 
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetProperties", params);
+        return new KodiRequest("Player.GetProperties", params);
+    }
 
+    private int getSpeed(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
             if (result.has("speed")) {
@@ -494,7 +504,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
         if (socket.isConnected()) {
             int activePlayer = getActivePlayer();
             if (activePlayer >= 0) {
-                int speed = getSpeed(activePlayer);
+                // speed, properties and item are requested in a single round-trip
+                List<JsonElement> responses = socket.callMethods(Arrays.asList(createSpeedRequest(activePlayer),
+                        createPlayerPropertiesRequest(activePlayer), createPlayerItemRequest(activePlayer)));
+                int speed = getSpeed(responses.get(0));
                 if (speed == 0) {
                     updateState(KodiState.STOP);
                 } else if (speed == 1) {
@@ -504,7 +517,8 @@ public class KodiConnection implements KodiClientSocketEventListener {
                 } else {
                     updateState(KodiState.FASTFORWARD);
                 }
-                requestPlayerUpdate(activePlayer);
+                updatePlayerProperties(responses.get(1));
+                updatePlayerItem(responses.get(2));
             } else {
                 updateState(KodiState.STOP);
             }
@@ -512,11 +526,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private void requestPlayerUpdate(int activePlayer) {
-        requestPlayerPropertiesUpdate(activePlayer);
-        requestPlayerItemUpdate(activePlayer);
+        List<JsonElement> responses = socket.callMethods(
+                Arrays.asList(createPlayerPropertiesRequest(activePlayer), createPlayerItemRequest(activePlayer)));
+        updatePlayerProperties(responses.get(0));
+        updatePlayerItem(responses.get(1));
     }
 
-    private void requestPlayerItemUpdate(int activePlayer) {
+    private KodiRequest createPlayerItemRequest(int activePlayer) {
         final String[] properties = { PROPERTY_UNIQUEID, "title", "originaltitle", "album", "artist", "track",
                 "director", PROPERTY_THUMBNAIL, PROPERTY_FANART, "file", "showtitle", "season", "episode", "channel",
                 "channeltype", "genre", "mpaa", "rating", "votes", "userrating" };
@@ -524,8 +540,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetItem", params);
+        return new KodiRequest("Player.GetItem", params);
+    }
 
+    private void updatePlayerItem(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
             if (result.has("item")) {
@@ -679,7 +697,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    private void requestPlayerPropertiesUpdate(int activePlayer) {
+    private KodiRequest createPlayerPropertiesRequest(int activePlayer) {
         final String[] properties = { PROPERTY_SUBTITLEENABLED, PROPERTY_CURRENTSUBTITLE, PROPERTY_CURRENTAUDIOSTREAM,
                 PROPERTY_CURRENTVIDEOSTREAM, PROPERTY_PERCENTAGE, PROPERTY_TIME, PROPERTY_TOTALTIME,
                 PROPERTY_AUDIOSTREAMS, PROPERTY_SUBTITLES };
@@ -687,8 +705,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetProperties", params);
+        return new KodiRequest("Player.GetProperties", params);
+    }
 
+    private void updatePlayerProperties(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
 
@@ -1079,10 +1099,22 @@ public class KodiConnection implements KodiClientSocketEventListener {
 
     public synchronized void close() {
         if (socket != null && socket.isConnected()) {
+            if (logger.isDebugEnabled()) {
+                socket.getLatencyStatistics().forEach((method, statistics) -> logger.debug(
+                        "{}: {} calls, response time min/avg/max {}/{}/{} ms", method, statistics.getCount(),
+                        statistics.getMin(), Math.round(statistics.getAverage()), statistics.getMax()));
+            }
             socket.close();
         }
     }
 
+    /**
+     * Returns the statistics of the response times in milliseconds by JSON-RPC method
+     */
+    public Map<String, LongSummaryStatistics> getLatencyStatistics() {
+        return socket == null ? Collections.emptyMap() : socket.getLatencyStatistics();
+    }
+
     public void updateVolume() {
         if (socket.isConnected()) {
             String[] props = { PROPERTY_VOLUME, PROPERTY_MUTED };
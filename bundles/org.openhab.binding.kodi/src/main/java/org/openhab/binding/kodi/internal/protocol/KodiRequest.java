@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.kodi.internal.protocol;
+
+import com.google.gson.JsonObject;
+
+/**
+ * A JSON-RPC method call, which can be sent together with other calls in a single batch.
+ *
+ * @author Paul Frank - Initial contribution
+ */
+public class KodiRequest {
+
+    private final String method;
+    private final JsonObject params;
+
+    public KodiRequest(String method) {
+        this(method, null);
+    }
+
+    public KodiRequest(String method, JsonObject params) {
+        this.method = method;
+        this.params = params;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public JsonObject getParams() {
+        return params;
+    }
+}
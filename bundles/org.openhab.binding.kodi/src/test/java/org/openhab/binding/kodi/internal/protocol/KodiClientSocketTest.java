@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.kodi.internal.protocol;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ * Test class for the request handling of the {@link KodiClientSocket} class.
+ *
+ * @author Paul Frank - Initial contribution
+ */
+public class KodiClientSocketTest {
+
+    private final JsonParser parser = new JsonParser();
+    private final List<String> sentMessages = new ArrayList<>();
+    private final List<Runnable> scheduledTasks = new ArrayList<>();
+
+    private KodiClientSocket socket;
+    private KodiClientSocket.KodiWebSocketListener listener;
+
+    @Before
+    public void setUp() throws IOException {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            scheduledTasks.add(invocation.getArgument(0));
+            return mock(ScheduledFuture.class);
+        }).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        socket = new KodiClientSocket(null, URI.create("ws://localhost:9090/jsonrpc"), scheduler,
+                mock(WebSocketClient.class));
+        listener = socket.new KodiWebSocketListener();
+
+        RemoteEndpoint remote = mock(RemoteEndpoint.class);
+        doAnswer(invocation -> sentMessages.add(invocation.getArgument(0))).when(remote).sendString(anyString());
+        Session session = mock(Session.class);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getRemote()).thenReturn(remote);
+        listener.onConnect(session);
+    }
+
+    @Test
+    public void batchIsSentAsOneMessage() throws Exception {
+        List<CompletableFuture<JsonElement>> futures = socket.callMethodsAsync(
+                Arrays.asList(new KodiRequest("Player.GetProperties"), new KodiRequest("Player.GetItem")));
+
+        assertThat(sentMessages.size(), is(1));
+        JsonArray batch = parser.parse(sentMessages.get(0)).getAsJsonArray();
+        assertThat(batch.size(), is(2));
+        int firstId = batch.get(0).getAsJsonObject().get("id").getAsInt();
+        int secondId = batch.get(1).getAsJsonObject().get("id").getAsInt();
+        assertThat(socket.getPendingRequestCount(), is(2));
+
+        // Kodi may answer the calls of a batch in any order
+        listener.onMessage("[{\"id\":" + secondId + ",\"jsonrpc\":\"2.0\",\"result\":{\"item\":{}}},{\"id\":"
+                + firstId + ",\"jsonrpc\":\"2.0\",\"result\":{\"speed\":1}}]");
+
+        assertThat(futures.get(0).get().getAsJsonObject().get("speed").getAsInt(), is(1));
+        assertThat(futures.get(1).get().getAsJsonObject().has("item"), is(true));
+        assertThat(socket.getPendingRequestCount(), is(0));
+        assertThat(socket.getLatencyStatistics().get("Player.GetProperties").getCount(), is(1L));
+        assertThat(socket.getLatencyStatistics().get("Player.GetItem").getCount(), is(1L));
+    }
+
+    @Test
+    public void concurrentCallsAreMatchedById() throws Exception {
+        CompletableFuture<JsonElement> first = socket.callMethodAsync("Application.GetProperties", null);
+        CompletableFuture<JsonElement> second = socket.callMethodAsync("Player.GetActivePlayers", null);
+        int firstId = parser.parse(sentMessages.get(0)).getAsJsonObject().get("id").getAsInt();
+        int secondId = parser.parse(sentMessages.get(1)).getAsJsonObject().get("id").getAsInt();
+
+        listener.onMessage("{\"id\":" + secondId + ",\"jsonrpc\":\"2.0\",\"result\":[]}");
+        assertThat(first.isDone(), is(false));
+        assertThat(second.get().isJsonArray(), is(true));
+
+        listener.onMessage("{\"id\":" + firstId + ",\"jsonrpc\":\"2.0\",\"result\":{\"volume\":50}}");
+        assertThat(first.get().getAsJsonObject().get("volume").getAsInt(), is(50));
+    }
+
+    @Test
+    public void errorResponseCompletesWithNull() throws Exception {
+        CompletableFuture<JsonElement> future = socket.callMethodAsync("Player.GetItem", null);
+        int id = parser.parse(sentMessages.get(0)).getAsJsonObject().get("id").getAsInt();
+
+        listener.onMessage("{\"id\":" + id
+                + ",\"jsonrpc\":\"2.0\",\"error\":{\"code\":-32602,\"message\":\"Invalid params.\"}}");
+
+        assertThat(future.get(), is(nullValue()));
+    }
+
+    @Test
+    public void pendingCallsFailWhenConnectionIsClosed() {
+        CompletableFuture<JsonElement> future = socket.callMethodAsync("Player.GetItem", null);
+
+        listener.onClose(1006, "Disconnected");
+
+        assertThat(future.isCompletedExceptionally(), is(true));
+        assertThat(socket.getPendingRequestCount(), is(0));
+    }
+
+    @Test
+    public void unansweredCallsExpire() {
+        CompletableFuture<JsonElement> future = socket.callMethodAsync("Player.GetItem", null);
+        assertThat(socket.getPendingRequestCount(), is(1));
+
+        // the request timeout elapses
+        scheduledTasks.forEach(Runnable::run);
+
+        assertThat(future.isCompletedExceptionally(), is(true));
+        assertThat(socket.getPendingRequestCount(), is(0));
+    }
+}
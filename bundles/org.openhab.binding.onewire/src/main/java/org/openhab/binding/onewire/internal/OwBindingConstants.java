@@ -66,6 +66,8 @@ public class OwBindingConstants {
     // List of all config options
     public static final String CONFIG_ADDRESS = "network-address";
     public static final String CONFIG_PORT = "port";
+    public static final String CONFIG_SIMULTANEOUS = "simultaneous";
+    public static final String CONFIG_CONNECTIONS = "connections";
 
     public static final String CONFIG_ID = "id";
     public static final String CONFIG_RESOLUTION = "resolution";
@@ -123,6 +125,8 @@ public class OwBindingConstants {
     public static final String CHANNEL_PWM_DUTY4 = "pwmduty4";
     public static final String CHANNEL_PWM_FREQ1 = "pwmfreq1";
     public static final String CHANNEL_PWM_FREQ2 = "pwmfreq2";
+    public static final String CHANNEL_CYCLETIME = "cycletime";
+    public static final String CHANNEL_STALENESS = "staleness";
 
     public static final ChannelTypeUID CHANNEL_TYPE_UID_ABSHUMIDITY = new ChannelTypeUID(BINDING_ID, "abshumidity");
     public static final ChannelTypeUID CHANNEL_TYPE_UID_COUNTER = new ChannelTypeUID(BINDING_ID, "counter");
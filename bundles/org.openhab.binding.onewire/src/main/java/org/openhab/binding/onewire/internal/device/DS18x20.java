@@ -41,6 +41,8 @@ public class DS18x20 extends AbstractOwDevice {
     private final Logger logger = LoggerFactory.getLogger(DS18x20.class);
 
     private OwserverDeviceParameter temperatureParameter = new OwserverDeviceParameter("/temperature");
+    private OwserverDeviceParameter uncachedTemperatureParameter = new OwserverDeviceParameter("uncached/",
+            "/temperature");
 
     private boolean ignorePOR = false;
 
@@ -55,12 +57,12 @@ public class DS18x20 extends AbstractOwDevice {
 
         if (temperatureChannel != null) {
             Configuration channelConfiguration = temperatureChannel.getConfiguration();
+            String temperaturePath = "/temperature";
             if (channelConfiguration.containsKey(CONFIG_RESOLUTION)) {
-                temperatureParameter = new OwserverDeviceParameter(
-                        "/temperature" + (String) channelConfiguration.get(CONFIG_RESOLUTION));
-            } else {
-                temperatureParameter = new OwserverDeviceParameter("/temperature");
+                temperaturePath += (String) channelConfiguration.get(CONFIG_RESOLUTION);
             }
+            temperatureParameter = new OwserverDeviceParameter(temperaturePath);
+            uncachedTemperatureParameter = new OwserverDeviceParameter("uncached/", temperaturePath);
             if (channelConfiguration.containsKey(CONFIG_IGNORE_POR)) {
                 ignorePOR = (Boolean) channelConfiguration.get(CONFIG_IGNORE_POR);
             } else {
@@ -75,9 +77,12 @@ public class DS18x20 extends AbstractOwDevice {
 
     @Override
     public void refresh(OwserverBridgeHandler bridgeHandler, Boolean forcedRefresh) throws OwException {
-        if (isConfigured && enabledChannels.contains(CHANNEL_TEMPERATURE)) {
+        if (isTemperatureEnabled()) {
+            // after a simultaneous conversion the converted value is read, not the cached one
+            OwserverDeviceParameter parameter = bridgeHandler.isSimultaneousConversion() ? uncachedTemperatureParameter
+                    : temperatureParameter;
             QuantityType<Temperature> temperature = new QuantityType<Temperature>(
-                    (DecimalType) bridgeHandler.readDecimalType(sensorId, temperatureParameter), SIUnits.CELSIUS);
+                    (DecimalType) bridgeHandler.readDecimalType(sensorId, parameter), SIUnits.CELSIUS);
             logger.trace("read temperature {} from {}", temperature, sensorId);
             if (ignorePOR && (Double.compare(temperature.doubleValue(), 85.0) == 0)) {
                 logger.trace("ignored POR value from sensor {}", sensorId);
@@ -86,4 +91,13 @@ public class DS18x20 extends AbstractOwDevice {
             }
         }
     }
+
+    /**
+     * check if the temperature is read from this sensor
+     *
+     * @return true if the temperature channel is enabled
+     */
+    public boolean isTemperatureEnabled() {
+        return isConfigured && enabledChannels.contains(CHANNEL_TEMPERATURE);
+    }
 }
@@ -141,6 +141,7 @@ public class AdvancedMultisensorThingHandler extends OwBaseThingHandler {
                         sensors.get(i).refresh(bridgeHandler, forcedRefresh);
                     }
                 }
+                lastSuccessfulRefresh = now;
             }
         } catch (OwException e) {
             logger.debug("{}: refresh exception '{}'", this.thing.getUID(), e.getMessage());
@@ -47,6 +47,7 @@ import org.openhab.binding.onewire.internal.OwException;
 import org.openhab.binding.onewire.internal.SensorId;
 import org.openhab.binding.onewire.internal.config.BaseHandlerConfiguration;
 import org.openhab.binding.onewire.internal.device.AbstractOwDevice;
+import org.openhab.binding.onewire.internal.device.DS18x20;
 import org.openhab.binding.onewire.internal.device.OwChannelConfig;
 import org.openhab.binding.onewire.internal.device.OwSensorType;
 import org.slf4j.Logger;
@@ -75,6 +76,7 @@ public abstract class OwBaseThingHandler extends BaseThingHandler {
     protected @NonNullByDefault({}) OwSensorType sensorType;
 
     protected long lastRefresh = 0;
+    protected long lastSuccessfulRefresh = 0;
     protected long refreshInterval = 300 * 1000;
 
     protected boolean validConfig = false;
@@ -228,6 +230,7 @@ public abstract class OwBaseThingHandler extends BaseThingHandler {
                     logger.trace("refreshing sensor {} ({})", i, sensors.get(i).getSensorId());
                     sensors.get(i).refresh(bridgeHandler, forcedRefresh);
                 }
+                lastSuccessfulRefresh = now;
             }
         } catch (OwException e) {
             logger.debug("{}: refresh exception {}", this.thing.getUID(), e.getMessage());
@@ -236,6 +239,55 @@ public abstract class OwBaseThingHandler extends BaseThingHandler {
 
     }
 
+    /**
+     * check if this thing is due for refresh
+     *
+     * @param now current time
+     * @return true if the next call of {@link #refresh(OwserverBridgeHandler, long)} reads the sensors
+     */
+    public boolean isRefreshDue(long now) {
+        return now >= (lastRefresh + refreshInterval);
+    }
+
+    /**
+     * get the bus path of this thing's sensor
+     *
+     * @return path without sensor id (including hub parts, separated by "/" characters), "" for the root bus
+     */
+    public String getBusPath() {
+        return sensorId == null ? "" : sensorId.getPath();
+    }
+
+    /**
+     * get the bus paths of the temperature sensors of this thing, which can be converted simultaneously
+     *
+     * @return set of bus paths, empty if the thing has no temperature sensor
+     */
+    public Set<String> getTemperatureBusPaths() {
+        return sensors.stream().filter(sensor -> sensor instanceof DS18x20)
+                .filter(sensor -> ((DS18x20) sensor).isTemperatureEnabled())
+                .map(sensor -> sensor.getSensorId().getPath()).collect(Collectors.toSet());
+    }
+
+    /**
+     * get the time since the sensors of this thing were read successfully
+     *
+     * @param now current time
+     * @return time in ms, -1 if never read
+     */
+    public long getStaleness(long now) {
+        return lastSuccessfulRefresh == 0 ? -1 : now - lastSuccessfulRefresh;
+    }
+
+    /**
+     * get the refresh interval of this thing
+     *
+     * @return refresh interval in ms
+     */
+    public long getRefreshInterval() {
+        return refreshInterval;
+    }
+
     /**
      * update presence status to present state of slave
      *
@@ -18,11 +18,17 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -30,7 +36,10 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.QuantityType;
 import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.library.unit.MetricPrefix;
+import org.eclipse.smarthome.core.library.unit.SmartHomeUnits;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.Channel;
 import org.eclipse.smarthome.core.thing.ChannelUID;
@@ -71,8 +80,14 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
     private final Queue<@Nullable Thing> thingPropertiesUpdateQueue = new ConcurrentLinkedQueue<>();
 
     private static final int RECONNECT_AFTER_FAIL_TIME = 5000; // in ms
+    private static final int MAX_CONNECTIONS = 4;
     private final OwserverConnection owserverConnection;
 
+    // additional connections for parallel refresh of independent buses, the primary connection is not included
+    private final List<OwserverConnection> additionalConnections = new ArrayList<>();
+    private volatile Map<String, OwserverConnection> busConnections = Collections.emptyMap();
+    private boolean simultaneousConversion = false;
+
     private final List<OwfsDirectChannelConfig> channelConfigs = new ArrayList<>();
 
     public OwserverBridgeHandler(Bridge bridge) {
@@ -99,6 +114,26 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
         if (configuration.get(CONFIG_PORT) != null) {
             owserverConnection.setPort(((BigDecimal) configuration.get(CONFIG_PORT)).intValue());
         }
+        simultaneousConversion = Boolean.TRUE.equals(configuration.get(CONFIG_SIMULTANEOUS));
+
+        int connections = 1;
+        if (configuration.get(CONFIG_CONNECTIONS) != null) {
+            connections = Math.min(MAX_CONNECTIONS,
+                    Math.max(1, ((BigDecimal) configuration.get(CONFIG_CONNECTIONS)).intValue()));
+        }
+        additionalConnections.forEach(OwserverConnection::stop);
+        additionalConnections.clear();
+        busConnections = Collections.emptyMap();
+        for (int i = 1; i < connections; i++) {
+            OwserverConnection connection = new OwserverConnection(this, false);
+            if (configuration.get(CONFIG_ADDRESS) != null) {
+                connection.setHost((String) configuration.get(CONFIG_ADDRESS));
+            }
+            if (configuration.get(CONFIG_PORT) != null) {
+                connection.setPort(((BigDecimal) configuration.get(CONFIG_PORT)).intValue());
+            }
+            additionalConnections.add(connection);
+        }
 
         for (Channel channel : thing.getChannels()) {
             if (CHANNEL_TYPE_UID_OWFS_NUMBER.equals(channel.getChannelTypeUID())
@@ -134,12 +169,13 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
             if (refreshable) {
                 long now = System.currentTimeMillis();
 
-                // refresh thing channels
+                // collect things to refresh
                 List<Thing> thingList = getThing().getThings();
                 int thingCount = thingList.size();
                 Iterator<Thing> childListIterator = thingList.iterator();
+                List<OwBaseThingHandler> owHandlers = new ArrayList<>();
                 logger.trace("refreshTask starts at {}, {} childs", now, thingCount);
-                while (childListIterator.hasNext() && refreshable) {
+                while (childListIterator.hasNext()) {
                     Thing owThing = childListIterator.next();
 
                     logger.trace("refresh: getting handler for {} ({} to go)", owThing.getUID(), thingCount);
@@ -147,7 +183,7 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
                     if (owHandler != null) {
                         if (owHandler.isRefreshable()) {
                             logger.trace("{} initialized, refreshing", owThing.getUID());
-                            owHandler.refresh(OwserverBridgeHandler.this, now);
+                            owHandlers.add(owHandler);
                         } else {
                             logger.trace("{} not initialized, skipping refresh", owThing.getUID());
                         }
@@ -157,6 +193,17 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
                     thingCount--;
                 }
 
+                // refresh thing channels
+                assignBusConnections(owHandlers);
+                if (simultaneousConversion) {
+                    startSimultaneousConversions(owHandlers, now);
+                }
+                if (additionalConnections.isEmpty()) {
+                    refreshThings(owHandlers, now);
+                } else {
+                    refreshThingsInParallel(owHandlers, now);
+                }
+
                 refreshBridgeChannels(now);
 
                 // update thing properties (only one per refresh cycle)
@@ -180,6 +227,8 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
                         logger.debug("{} is missing handler, removing from property update list", updateThing.getUID());
                     }
                 }
+
+                updateRefreshStatistics(owHandlers, now);
             }
         } catch (RuntimeException e) {
             // catching RuntimeException because scheduled tasks finish once an exception occurs
@@ -187,6 +236,158 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * refresh a list of things
+     *
+     * @param owHandlers the handlers of the things
+     * @param now current time
+     */
+    private void refreshThings(List<OwBaseThingHandler> owHandlers, long now) {
+        Iterator<OwBaseThingHandler> iterator = owHandlers.iterator();
+        while (iterator.hasNext() && refreshable) {
+            iterator.next().refresh(OwserverBridgeHandler.this, now);
+        }
+    }
+
+    /**
+     * refresh the things on each connection in parallel, the things on the primary connection are refreshed in the
+     * calling thread
+     *
+     * @param owHandlers the handlers of the things
+     * @param now current time
+     */
+    private void refreshThingsInParallel(List<OwBaseThingHandler> owHandlers, long now) {
+        Map<OwserverConnection, List<OwBaseThingHandler>> handlersByConnection = new LinkedHashMap<>();
+        for (OwBaseThingHandler owHandler : owHandlers) {
+            handlersByConnection.computeIfAbsent(getConnection(owHandler.getBusPath()), c -> new ArrayList<>())
+                    .add(owHandler);
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        handlersByConnection.forEach((connection, connectionHandlers) -> {
+            if (connection != owserverConnection) {
+                futures.add(scheduler.submit(() -> refreshThings(connectionHandlers, now)));
+            }
+        });
+        refreshThings(handlersByConnection.getOrDefault(owserverConnection, Collections.emptyList()), now);
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                logger.debug("parallel refresh failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * distribute the buses of the things over the available connections, all accesses to a bus use the same
+     * connection
+     *
+     * @param owHandlers the handlers of the things
+     */
+    private void assignBusConnections(List<OwBaseThingHandler> owHandlers) {
+        if (additionalConnections.isEmpty()) {
+            return;
+        }
+
+        Set<String> busPaths = new TreeSet<>();
+        owHandlers.forEach(owHandler -> busPaths.add(owHandler.getBusPath()));
+        Map<String, OwserverConnection> newBusConnections = new HashMap<>();
+        int connectionIndex = 0;
+        for (String busPath : busPaths) {
+            newBusConnections.put(busPath, connectionIndex == 0 ? owserverConnection
+                    : additionalConnections.get(connectionIndex - 1));
+            connectionIndex = (connectionIndex + 1) % (additionalConnections.size() + 1);
+        }
+        busConnections = newBusConnections;
+
+        for (OwserverConnection connection : additionalConnections) {
+            synchronized (connection) {
+                OwserverConnectionState connectionState = connection.getConnectionState();
+                if (connectionState == OwserverConnectionState.STOPPED
+                        || connectionState == OwserverConnectionState.FAILED) {
+                    connection.start();
+                }
+            }
+        }
+    }
+
+    /**
+     * start a simultaneous temperature conversion on all buses with temperature sensors due for refresh
+     *
+     * @param owHandlers the handlers of the things
+     * @param now current time
+     */
+    private void startSimultaneousConversions(List<OwBaseThingHandler> owHandlers, long now) {
+        Set<String> busPaths = new TreeSet<>();
+        for (OwBaseThingHandler owHandler : owHandlers) {
+            if (owHandler.isRefreshDue(now)) {
+                busPaths.addAll(owHandler.getTemperatureBusPaths());
+            }
+        }
+        for (String busPath : busPaths) {
+            OwserverConnection connection = getConnection(busPath);
+            try {
+                synchronized (connection) {
+                    connection.startSimultaneousConversion(busPath);
+                }
+                logger.trace("started simultaneous conversion on bus '/{}'", busPath);
+            } catch (OwException e) {
+                logger.debug("could not start simultaneous conversion on bus '/{}': {}", busPath, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * update the refresh statistics channels
+     *
+     * @param owHandlers the refreshed handlers
+     * @param start start time of the refresh cycle
+     */
+    private void updateRefreshStatistics(List<OwBaseThingHandler> owHandlers, long start) {
+        long now = System.currentTimeMillis();
+        long cycleTime = now - start;
+        long maxStaleness = 0;
+        for (OwBaseThingHandler owHandler : owHandlers) {
+            long staleness = owHandler.getStaleness(now);
+            if (staleness > owHandler.getRefreshInterval() + cycleTime) {
+                logger.debug("{} not refreshed for {} ms", owHandler.getThing().getUID(), staleness);
+            }
+            maxStaleness = Math.max(maxStaleness, staleness);
+        }
+
+        if (thing.getChannel(CHANNEL_CYCLETIME) != null) {
+            updateState(CHANNEL_CYCLETIME, new QuantityType<>(cycleTime, MetricPrefix.MILLI(SmartHomeUnits.SECOND)));
+        }
+        if (thing.getChannel(CHANNEL_STALENESS) != null) {
+            updateState(CHANNEL_STALENESS,
+                    new QuantityType<>(maxStaleness, MetricPrefix.MILLI(SmartHomeUnits.SECOND)));
+        }
+    }
+
+    /**
+     * get the connection used for a bus
+     *
+     * @param busPath the bus path
+     * @return the connection assigned to this bus, the primary connection if unassigned
+     */
+    private OwserverConnection getConnection(String busPath) {
+        return busConnections.getOrDefault(busPath, owserverConnection);
+    }
+
+    /**
+     * check if a simultaneous temperature conversion is started before the sensors are refreshed
+     *
+     * @return true if simultaneous conversion is enabled
+     */
+    public boolean isSimultaneousConversion() {
+        return simultaneousConversion;
+    }
+
     @Override
     public void dispose() {
         refreshable = false;
@@ -194,6 +395,7 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
             refreshTask.cancel(false);
         }
         owserverConnection.stop();
+        additionalConnections.forEach(OwserverConnection::stop);
     }
 
     /**
@@ -224,8 +426,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public State checkPresence(SensorId sensorId) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.checkPresence(sensorId.getFullPath());
+        OwserverConnection connection = getConnection(sensorId.getPath());
+        synchronized (connection) {
+            return connection.checkPresence(sensorId.getFullPath());
         }
     }
 
@@ -238,9 +441,10 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      */
     public OwSensorType getType(SensorId sensorId) throws OwException {
         OwSensorType sensorType = OwSensorType.UNKNOWN;
-        synchronized (owserverConnection) {
+        OwserverConnection connection = getConnection(sensorId.getPath());
+        synchronized (connection) {
             try {
-                sensorType = OwSensorType.valueOf(owserverConnection.readString(sensorId + "/type"));
+                sensorType = OwSensorType.valueOf(connection.readString(sensorId + "/type"));
             } catch (IllegalArgumentException e) {
             }
         }
@@ -255,8 +459,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public OwPageBuffer readPages(SensorId sensorId) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readPages(sensorId.getFullPath());
+        OwserverConnection connection = getConnection(sensorId.getPath());
+        synchronized (connection) {
+            return connection.readPages(sensorId.getFullPath());
         }
     }
 
@@ -269,8 +474,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public State readDecimalType(SensorId sensorId, OwserverDeviceParameter parameter) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readDecimalType(parameter.getPath(sensorId));
+        OwserverConnection connection = getConnection(sensorId.getPath());
+        synchronized (connection) {
+            return connection.readDecimalType(parameter.getPath(sensorId));
         }
     }
 
@@ -295,8 +501,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public List<State> readDecimalTypeArray(SensorId sensorId, OwserverDeviceParameter parameter) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readDecimalTypeArray(parameter.getPath(sensorId));
+        OwserverConnection connection = getConnection(sensorId.getPath());
+        synchronized (connection) {
+            return connection.readDecimalTypeArray(parameter.getPath(sensorId));
         }
     }
 
@@ -309,8 +516,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public String readString(SensorId sensorId, OwserverDeviceParameter parameter) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readString(parameter.getPath(sensorId));
+        OwserverConnection connection = getConnection(sensorId.getPath());
+        synchronized (connection) {
+            return connection.readString(parameter.getPath(sensorId));
         }
     }
 
@@ -323,8 +531,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      */
     public void writeDecimalType(SensorId sensorId, OwserverDeviceParameter parameter, DecimalType value)
             throws OwException {
-        synchronized (owserverConnection) {
-            owserverConnection.writeDecimalType(parameter.getPath(sensorId), value);
+        OwserverConnection connection = getConnection(sensorId.getPath());
+        synchronized (connection) {
+            connection.writeDecimalType(parameter.getPath(sensorId), value);
         }
     }
 
@@ -51,6 +51,7 @@ public class OwserverConnection {
     private final Logger logger = LoggerFactory.getLogger(OwserverConnection.class);
 
     private final OwserverBridgeHandler thingHandlerCallback;
+    private final boolean reportConnectionState;
     private String owserverAddress = "";
     private int owserverPort = DEFAULT_PORT;
 
@@ -63,7 +64,18 @@ public class OwserverConnection {
     private int connectionErrorCounter = 0;
 
     public OwserverConnection(OwserverBridgeHandler owBaseBridgeHandler) {
+        this(owBaseBridgeHandler, true);
+    }
+
+    /**
+     * create a connection
+     *
+     * @param owBaseBridgeHandler the bridge handler using this connection
+     * @param reportConnectionState false for additional connections, which shall not change the bridge status
+     */
+    public OwserverConnection(OwserverBridgeHandler owBaseBridgeHandler, boolean reportConnectionState) {
         this.thingHandlerCallback = owBaseBridgeHandler;
+        this.reportConnectionState = reportConnectionState;
     }
 
     /**
@@ -108,7 +120,29 @@ public class OwserverConnection {
     public void stop() {
         close();
         owserverConnectionState = OwserverConnectionState.STOPPED;
-        thingHandlerCallback.reportConnectionState(owserverConnectionState);
+        reportConnectionState();
+    }
+
+    /**
+     * get the current state of the connection
+     *
+     * @return the connection state
+     */
+    public OwserverConnectionState getConnectionState() {
+        return owserverConnectionState;
+    }
+
+    /**
+     * start a simultaneous temperature conversion of all temperature sensors on a bus
+     *
+     * the conversion takes up to 750ms, the owserver delays the next temperature read on this bus until it is
+     * finished and returns the converted value instead of starting a conversion for each sensor
+     *
+     * @param busPath path of the bus (including hub parts, separated by "/" characters), "" for the root bus
+     * @throws OwException
+     */
+    public void startSimultaneousConversion(String busPath) throws OwException {
+        writeDecimalType("/" + busPath + "simultaneous/temperature", new DecimalType(1));
     }
 
     /**
@@ -327,7 +361,7 @@ public class OwserverConnection {
                 }
 
                 owserverConnectionState = OwserverConnectionState.OPENED;
-                thingHandlerCallback.reportConnectionState(owserverConnectionState);
+                reportConnectionState();
 
                 logger.debug("opened OwServerConnection to {}:{}", owserverAddress, owserverPort);
                 return true;
@@ -353,6 +387,12 @@ public class OwserverConnection {
         }
     }
 
+    private void reportConnectionState() {
+        if (reportConnectionState) {
+            thingHandlerCallback.reportConnectionState(owserverConnectionState);
+        }
+    }
+
     /**
      * close the connection to the owserver instance
      */
@@ -373,7 +413,7 @@ public class OwserverConnection {
         logger.debug("closed connection");
         owserverConnectionState = OwserverConnectionState.CLOSED;
 
-        thingHandlerCallback.reportConnectionState(owserverConnectionState);
+        reportConnectionState();
     }
 
     /**
@@ -397,7 +437,7 @@ public class OwserverConnection {
         close();
         if (connectionErrorCounter > CONNECTION_MAX_RETRY) {
             owserverConnectionState = OwserverConnectionState.FAILED;
-            thingHandlerCallback.reportConnectionState(owserverConnectionState);
+            reportConnectionState();
         }
     }
 
@@ -178,4 +178,29 @@ public class OwserverConnectionTest extends JavaTest {
             Assert.fail("caught unexpected OwException");
         }
     }
+
+    @Test
+    public void testStartSimultaneousConversion() {
+        owserverConnection.start();
+        try {
+            owserverConnection.startSimultaneousConversion("");
+
+            Mockito.verify(bridgeHandler, never()).reportConnectionState(OwserverConnectionState.FAILED);
+        } catch (OwException e) {
+            Assert.fail("caught unexpected OwException");
+        }
+    }
+
+    @Test
+    public void additionalConnectionNotReportedToBridgeHandler() {
+        OwserverConnection additionalConnection = new OwserverConnection(bridgeHandler, false);
+        additionalConnection.setHost(TEST_HOST);
+        additionalConnection.setPort(testPort);
+
+        additionalConnection.start();
+
+        Assert.assertEquals(OwserverConnectionState.OPENED, additionalConnection.getConnectionState());
+        Mockito.verify(bridgeHandler, never()).reportConnectionState(any());
+        additionalConnection.stop();
+    }
 }
@@ -76,18 +76,20 @@ public class RFXComDeviceDiscoveryService extends AbstractDiscoveryService
     public void onDeviceMessageReceived(ThingUID bridge, RFXComDeviceMessage message) throws RFXComException {
         logger.trace("Received: bridge: {} message: {}", bridge, message);
 
+        if (bridgeHandler.getConfiguration().disableDiscovery) {
+            logger.trace("Ignoring RFXCOM {} with id '{}' - discovery disabled", message.getPacketType(),
+                    message.getDeviceId());
+            return;
+        }
+
         String id = message.getDeviceId();
         ThingTypeUID uid = RFXComBindingConstants.PACKET_TYPE_THING_TYPE_UID_MAP.get(message.getPacketType());
         ThingUID thingUID = new ThingUID(uid, bridge, id.replace(ID_DELIMITER, "_"));
 
-        if (!bridgeHandler.getConfiguration().disableDiscovery) {
-            logger.trace("Adding new RFXCOM {} with id '{}' to smarthome inbox", thingUID, id);
-            DiscoveryResultBuilder discoveryResultBuilder = DiscoveryResultBuilder.create(thingUID).withBridge(bridge);
-            message.addDevicePropertiesTo(discoveryResultBuilder);
+        logger.trace("Adding new RFXCOM {} with id '{}' to smarthome inbox", thingUID, id);
+        DiscoveryResultBuilder discoveryResultBuilder = DiscoveryResultBuilder.create(thingUID).withBridge(bridge);
+        message.addDevicePropertiesTo(discoveryResultBuilder);
 
-            thingDiscovered(discoveryResultBuilder.build());
-        } else {
-            logger.trace("Ignoring RFXCOM {} with id '{}' - discovery disabled", thingUID, id);
-        }
+        thingDiscovered(discoveryResultBuilder.build());
     }
 }
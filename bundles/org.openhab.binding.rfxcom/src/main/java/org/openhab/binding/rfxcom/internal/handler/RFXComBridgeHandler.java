@@ -13,9 +13,7 @@
 package org.openhab.binding.rfxcom.internal.handler;
 
 import java.io.IOException;
-import java.util.List;
 import java.util.Queue;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -40,6 +38,7 @@ import org.openhab.binding.rfxcom.internal.connector.RFXComTcpConnector;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
 import org.openhab.binding.rfxcom.internal.exceptions.RFXComMessageNotImplementedException;
 import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
 import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceControlMessage;
 import org.openhab.binding.rfxcom.internal.messages.RFXComInterfaceMessage;
@@ -55,6 +54,8 @@ import org.slf4j.LoggerFactory;
  * {@link RFXComBridgeHandler} is the handler for a RFXCOM transceivers. All
  * {@link RFXComHandler}s use the {@link RFXComBridgeHandler} to execute the
  * actual commands.
+ * <p>
+ * Received device messages are routed by the {@link RFXComDeviceMessageDispatcher} to the handler of their device.
  *
  * @author Pauli Anttila - Initial contribution
  */
@@ -64,7 +65,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
     private RFXComConnectorInterface connector = null;
     private MessageListener eventListener = new MessageListener();
 
-    private List<DeviceMessageListener> deviceStatusListeners = new CopyOnWriteArrayList<>();
+    private final RFXComDeviceMessageDispatcher dispatcher = new RFXComDeviceMessageDispatcher();
 
     private RFXComBridgeConfiguration configuration = null;
     private ScheduledFuture<?> connectorTask;
@@ -123,9 +124,9 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
     public synchronized void dispose() {
         logger.debug("Handler disposed.");
 
-        for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
-            unregisterDeviceStatusListener(deviceStatusListener);
-        }
+        logger.debug("Dispatched {} device messages, {} messages of unknown devices",
+                dispatcher.getDispatchedMessages(), dispatcher.getUnknownDeviceMessages());
+        dispatcher.clear();
 
         if (connector != null) {
             connector.removeEventListener(eventListener);
@@ -297,15 +298,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
                     transmitQueue.sendNext();
                 } else if (message instanceof RFXComDeviceMessage) {
-                    for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
-                        try {
-                            deviceStatusListener.onDeviceMessageReceived(getThing().getUID(),
-                                    (RFXComDeviceMessage) message);
-                        } catch (Exception e) {
-                            // catch all exceptions give all handlers a fair chance of handling the messages
-                            logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                        }
-                    }
+                    dispatcher.dispatch(getThing().getUID(), (RFXComDeviceMessage) message);
                 } else {
                     logger.warn("The received message cannot be processed, please create an "
                             + "issue at the relevant tracker. Received message: {}", message);
@@ -330,14 +323,39 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
-        return !deviceStatusListeners.contains(deviceStatusListener) && deviceStatusListeners.add(deviceStatusListener);
+        return dispatcher.addListener(deviceStatusListener);
     }
 
     public boolean unregisterDeviceStatusListener(DeviceMessageListener deviceStatusListener) {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
-        return deviceStatusListeners.remove(deviceStatusListener);
+        return dispatcher.removeListener(deviceStatusListener);
+    }
+
+    /**
+     * Registers a listener for the messages of a single device. Messages of the device are not passed to the
+     * listeners of all devices anymore.
+     *
+     * @param packetType the packet type of the device
+     * @param deviceId the device id, as returned by {@link RFXComDeviceMessage#getDeviceId()}
+     * @param deviceStatusListener the listener
+     * @return true, if the listener was not registered for the device before
+     */
+    public boolean registerDeviceStatusListener(PacketType packetType, String deviceId,
+            DeviceMessageListener deviceStatusListener) {
+        if (deviceStatusListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
+        }
+        return dispatcher.addListener(packetType, deviceId, deviceStatusListener);
+    }
+
+    public boolean unregisterDeviceStatusListener(PacketType packetType, String deviceId,
+            DeviceMessageListener deviceStatusListener) {
+        if (deviceStatusListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
+        }
+        return dispatcher.removeListener(packetType, deviceId, deviceStatusListener);
     }
 
     public RFXComBridgeConfiguration getConfiguration() {
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.rfxcom.internal.handler;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.openhab.binding.rfxcom.internal.DeviceMessageListener;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
+import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RFXComDeviceMessageDispatcher} routes the received device messages to the {@link DeviceMessageListener}s.
+ * <p>
+ * Listeners of a single device are looked up by packet type and device id, so a message reaches the handler of its
+ * device with a single lookup, regardless of the number of configured devices. Messages of devices without a
+ * listener (e.g. the sensors of the neighbours) are only passed to the listeners of all devices, i.e. the discovery
+ * service.
+ *
+ * @author Pauli Anttila - Initial contribution
+ */
+public class RFXComDeviceMessageDispatcher {
+    private final Logger logger = LoggerFactory.getLogger(RFXComDeviceMessageDispatcher.class);
+
+    private final List<DeviceMessageListener> allDevicesListeners = new CopyOnWriteArrayList<>();
+    private final Map<PacketType, Map<String, CopyOnWriteArrayList<DeviceMessageListener>>> deviceListeners;
+
+    private final AtomicLong dispatchedMessages = new AtomicLong();
+    private final AtomicLong unknownDeviceMessages = new AtomicLong();
+
+    public RFXComDeviceMessageDispatcher() {
+        deviceListeners = new EnumMap<>(PacketType.class);
+        for (PacketType packetType : PacketType.values()) {
+            deviceListeners.put(packetType, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Registers a listener for the messages of all devices without a listener of their own.
+     *
+     * @return true, if the listener was not registered before
+     */
+    public boolean addListener(DeviceMessageListener listener) {
+        return !allDevicesListeners.contains(listener) && allDevicesListeners.add(listener);
+    }
+
+    public boolean removeListener(DeviceMessageListener listener) {
+        return allDevicesListeners.remove(listener);
+    }
+
+    /**
+     * Registers a listener for the messages of a single device.
+     *
+     * @param packetType the packet type of the device
+     * @param deviceId the device id, as returned by {@link RFXComDeviceMessage#getDeviceId()}
+     * @param listener the listener
+     * @return true, if the listener was not registered for the device before
+     */
+    public boolean addListener(PacketType packetType, String deviceId, DeviceMessageListener listener) {
+        return deviceListeners.get(packetType).computeIfAbsent(deviceId, id -> new CopyOnWriteArrayList<>())
+                .addIfAbsent(listener);
+    }
+
+    public boolean removeListener(PacketType packetType, String deviceId, DeviceMessageListener listener) {
+        Map<String, CopyOnWriteArrayList<DeviceMessageListener>> listenersByDeviceId = deviceListeners.get(packetType);
+        List<DeviceMessageListener> listeners = listenersByDeviceId.get(deviceId);
+        if (listeners == null || !listeners.remove(listener)) {
+            return false;
+        }
+        listenersByDeviceId.computeIfPresent(deviceId, (id, list) -> list.isEmpty() ? null : list);
+        return true;
+    }
+
+    /**
+     * Removes all listeners.
+     */
+    public void clear() {
+        allDevicesListeners.clear();
+        deviceListeners.values().forEach(Map::clear);
+    }
+
+    /**
+     * Passes the message to the listeners of its device, or to the listeners of all devices, if the device has no
+     * listener.
+     *
+     * @param bridge the bridge, which received the message
+     * @param message the received message
+     */
+    public void dispatch(ThingUID bridge, RFXComDeviceMessage message) {
+        List<DeviceMessageListener> listeners = deviceListeners.get(message.getPacketType())
+                .get(message.getDeviceId());
+        if (listeners == null) {
+            unknownDeviceMessages.incrementAndGet();
+            listeners = allDevicesListeners;
+        } else {
+            dispatchedMessages.incrementAndGet();
+        }
+
+        for (DeviceMessageListener listener : listeners) {
+            try {
+                listener.onDeviceMessageReceived(bridge, message);
+            } catch (Exception e) {
+                // catch all exceptions give all handlers a fair chance of handling the messages
+                logger.error("An exception occurred while calling the DeviceStatusListener", e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of messages passed to the listener of their device.
+     */
+    public long getDispatchedMessages() {
+        return dispatchedMessages.get();
+    }
+
+    /**
+     * Returns the number of messages of devices without a listener.
+     */
+    public long getUnknownDeviceMessages() {
+        return unknownDeviceMessages.get();
+    }
+}
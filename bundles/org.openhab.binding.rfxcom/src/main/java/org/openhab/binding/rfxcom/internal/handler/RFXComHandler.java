@@ -26,6 +26,7 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingStatusInfo;
+import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
@@ -59,6 +60,7 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
 
     private RFXComBridgeHandler bridgeHandler;
     private RFXComDeviceConfiguration config;
+    private PacketType packetType;
 
     public RFXComHandler(@NonNull Thing thing) {
         super(thing);
@@ -115,7 +117,8 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
                     "RFXCOM device missing deviceId or subType");
         } else if (thingHandler != null && bridgeStatus != null) {
             bridgeHandler = (RFXComBridgeHandler) thingHandler;
-            bridgeHandler.registerDeviceStatusListener(this);
+            packetType = getPacketType();
+            bridgeHandler.registerDeviceStatusListener(packetType, config.deviceId, this);
 
             if (bridgeStatus == ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
@@ -130,49 +133,43 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
     @Override
     public void dispose() {
         logger.debug("Thing {} disposed.", getThing().getUID());
-        if (bridgeHandler != null) {
-            bridgeHandler.unregisterDeviceStatusListener(this);
+        if (bridgeHandler != null && packetType != null) {
+            bridgeHandler.unregisterDeviceStatusListener(packetType, config.deviceId, this);
         }
         bridgeHandler = null;
+        packetType = null;
         super.dispose();
     }
 
     @Override
     public void onDeviceMessageReceived(ThingUID bridge, RFXComDeviceMessage message) {
         try {
-            String id = message.getDeviceId();
-            if (config.deviceId.equals(id)) {
-                String receivedId = PACKET_TYPE_THING_TYPE_UID_MAP.get(message.getPacketType()).getId();
-                logger.debug("Received message from bridge: {} message: {}", bridge, message);
-
-                if (receivedId.equals(getThing().getThingTypeUID().getId())) {
-                    updateStatus(ThingStatus.ONLINE);
-
-                    for (Channel channel : getThing().getChannels()) {
-                        ChannelUID uid = channel.getUID();
-                        String channelId = uid.getId();
-
-                        try {
-                            switch (channelId) {
-                                case CHANNEL_COMMAND:
-                                case CHANNEL_CHIME_SOUND:
-                                case CHANNEL_MOOD:
-                                    postNullableCommand(uid, message.convertToCommand(channelId, this));
-                                    break;
-
-                                case CHANNEL_LOW_BATTERY:
-                                    updateNullableState(uid,
-                                            isLowBattery(message.convertToState(CHANNEL_BATTERY_LEVEL, this)));
-                                    break;
-
-                                default:
-                                    updateNullableState(uid, message.convertToState(channelId, this));
-                                    break;
-                            }
-                        } catch (RFXComException e) {
-                            logger.trace("{} does not handle {}", channelId, message);
-                        }
+            // the bridge only passes the messages of the packet type and device id of this thing
+            logger.debug("Received message from bridge: {} message: {}", bridge, message);
+            updateStatus(ThingStatus.ONLINE);
+
+            for (Channel channel : getThing().getChannels()) {
+                ChannelUID uid = channel.getUID();
+                String channelId = uid.getId();
+
+                try {
+                    switch (channelId) {
+                        case CHANNEL_COMMAND:
+                        case CHANNEL_CHIME_SOUND:
+                        case CHANNEL_MOOD:
+                            postNullableCommand(uid, message.convertToCommand(channelId, this));
+                            break;
+
+                        case CHANNEL_LOW_BATTERY:
+                            updateNullableState(uid, isLowBattery(message.convertToState(CHANNEL_BATTERY_LEVEL, this)));
+                            break;
+
+                        default:
+                            updateNullableState(uid, message.convertToState(channelId, this));
+                            break;
                     }
+                } catch (RFXComException e) {
+                    logger.trace("{} does not handle {}", channelId, message);
                 }
             }
         } catch (Exception e) {
@@ -180,6 +177,19 @@ public class RFXComHandler extends BaseThingHandler implements DeviceMessageList
         }
     }
 
+    /**
+     * Returns the packet type of the messages of the thing type.
+     */
+    private PacketType getPacketType() {
+        ThingTypeUID thingTypeUID = getThing().getThingTypeUID();
+        for (Map.Entry<PacketType, ThingTypeUID> entry : PACKET_TYPE_THING_TYPE_UID_MAP.entrySet()) {
+            if (entry.getValue().equals(thingTypeUID)) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("No packet type for thing type " + thingTypeUID);
+    }
+
     private void updateNullableState(ChannelUID uid, State state) {
         if (state == null) {
             return;
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.rfxcom.internal.handler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Test;
+import org.openhab.binding.rfxcom.internal.DeviceMessageListener;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
+import org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType;
+import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComMessageFactory;
+
+/**
+ * Test for the routing of the device messages.
+ *
+ * @author Pauli Anttila - Initial contribution
+ */
+@NonNullByDefault
+public class RFXComDeviceMessageDispatcherTest {
+    private static final ThingUID BRIDGE_UID = new ThingUID("rfxcom:bridge:test");
+
+    private static class RecordingListener implements DeviceMessageListener {
+        private final List<RFXComDeviceMessage> messages = new ArrayList<>();
+
+        @Override
+        public void onDeviceMessageReceived(ThingUID bridge, RFXComDeviceMessage message) {
+            messages.add(message);
+        }
+    }
+
+    private final RFXComDeviceMessageDispatcher dispatcher = new RFXComDeviceMessageDispatcher();
+    private final RecordingListener discovery = new RecordingListener();
+    private final RecordingListener device = new RecordingListener();
+
+    private static RFXComDeviceMessage message(String hexMessage) throws RFXComException {
+        return (RFXComDeviceMessage) RFXComMessageFactory.createMessage(HexUtils.hexToBytes(hexMessage));
+    }
+
+    @Test
+    public void messageIsRoutedToItsDevice() throws RFXComException {
+        dispatcher.addListener(discovery);
+        dispatcher.addListener(PacketType.TEMPERATURE, "64257", device);
+
+        dispatcher.dispatch(BRIDGE_UID, message("0850021DFB0100D770"));
+
+        assertEquals(1, device.messages.size());
+        assertTrue(discovery.messages.isEmpty());
+        assertEquals(1, dispatcher.getDispatchedMessages());
+    }
+
+    @Test
+    public void unknownDeviceIsPassedToDiscovery() throws RFXComException {
+        dispatcher.addListener(discovery);
+        dispatcher.addListener(PacketType.TEMPERATURE, "64257", device);
+
+        dispatcher.dispatch(BRIDGE_UID, message("08500110000180BC69"));
+
+        assertTrue(device.messages.isEmpty());
+        assertEquals(1, discovery.messages.size());
+        assertEquals(1, dispatcher.getUnknownDeviceMessages());
+    }
+
+    @Test
+    public void packetTypeIsPartOfTheKey() throws RFXComException {
+        // the temperature/humidity sensor has the same device id as the configured temperature sensor
+        dispatcher.addListener(PacketType.TEMPERATURE_HUMIDITY, "64257", device);
+
+        dispatcher.dispatch(BRIDGE_UID, message("0850021DFB0100D770"));
+
+        assertTrue(device.messages.isEmpty());
+    }
+
+    @Test
+    public void removedListenerIsNotCalled() throws RFXComException {
+        assertTrue(dispatcher.addListener(PacketType.TEMPERATURE, "64257", device));
+        assertFalse(dispatcher.addListener(PacketType.TEMPERATURE, "64257", device));
+        assertTrue(dispatcher.removeListener(PacketType.TEMPERATURE, "64257", device));
+        assertFalse(dispatcher.removeListener(PacketType.TEMPERATURE, "64257", device));
+
+        dispatcher.dispatch(BRIDGE_UID, message("0850021DFB0100D770"));
+
+        assertTrue(device.messages.isEmpty());
+        assertEquals(1, dispatcher.getUnknownDeviceMessages());
+    }
+
+    @Test
+    public void failingListenerDoesNotStopDispatch() throws RFXComException {
+        dispatcher.addListener(PacketType.TEMPERATURE, "64257", (bridge, message) -> {
+            throw new RFXComException("failure");
+        });
+        dispatcher.addListener(PacketType.TEMPERATURE, "64257", device);
+
+        dispatcher.dispatch(BRIDGE_UID, message("0850021DFB0100D770"));
+
+        assertEquals(1, device.messages.size());
+    }
+}
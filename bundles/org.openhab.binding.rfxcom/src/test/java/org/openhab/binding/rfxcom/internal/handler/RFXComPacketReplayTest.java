@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.rfxcom.internal.handler;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.rfxcom.internal.DeviceMessageListener;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
+import org.openhab.binding.rfxcom.internal.messages.RFXComDeviceMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComMessage;
+import org.openhab.binding.rfxcom.internal.messages.RFXComMessageFactory;
+
+/**
+ * Replays a recorded RFXtrx packet capture through the message decoding and the device dispatch, as done by the
+ * bridge for every received packet.
+ * <p>
+ * The capture is a text file with one hex encoded packet per line, lines starting with '#' are ignored.
+ *
+ * @author Pauli Anttila - Initial contribution
+ */
+public class RFXComPacketReplayTest {
+    private static final String CAPTURE_RESOURCE = "rfxtrx-capture.txt";
+    private static final ThingUID BRIDGE_UID = new ThingUID("rfxcom:bridge:replay");
+
+    private static class CountingListener implements DeviceMessageListener {
+        private final AtomicLong messages = new AtomicLong();
+
+        @Override
+        public void onDeviceMessageReceived(ThingUID bridge, RFXComDeviceMessage message) {
+            messages.incrementAndGet();
+        }
+    }
+
+    private final RFXComDeviceMessageDispatcher dispatcher = new RFXComDeviceMessageDispatcher();
+    private final CountingListener devices = new CountingListener();
+    private final CountingListener discovery = new CountingListener();
+    private List<byte[]> packets;
+
+    @Before
+    public void setup() throws IOException {
+        packets = readCapture(RFXComPacketReplayTest.class.getResourceAsStream(CAPTURE_RESOURCE));
+        dispatcher.addListener(discovery);
+    }
+
+    @Test
+    public void testConfiguredDevicesReceiveTheirPackets() throws RFXComException {
+        configureDevices(2);
+
+        assertEquals(0, replay());
+        assertEquals(packets.size(), devices.messages.get() + discovery.messages.get());
+        assertEquals(devices.messages.get(), dispatcher.getDispatchedMessages());
+        assertEquals(4, devices.messages.get());
+    }
+
+    @Test
+    public void testAllPacketsGoToDiscoveryWithoutDevices() {
+        assertEquals(0, replay());
+        assertEquals(0, devices.messages.get());
+        assertEquals(packets.size(), discovery.messages.get());
+    }
+
+    /**
+     * Configures the devices of the first packets, the others are the neighbours' sensors
+     */
+    private void configureDevices(int count) throws RFXComException {
+        for (byte[] packet : packets) {
+            if (count == 0) {
+                break;
+            }
+            RFXComMessage message = RFXComMessageFactory.createMessage(packet);
+            if (message instanceof RFXComDeviceMessage) {
+                RFXComDeviceMessage deviceMessage = (RFXComDeviceMessage) message;
+                if (dispatcher.addListener(deviceMessage.getPacketType(), deviceMessage.getDeviceId(), devices)) {
+                    count--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes and dispatches all packets of the capture.
+     *
+     * @return the number of undecodable packets
+     */
+    private int replay() {
+        int failed = 0;
+        for (byte[] packet : packets) {
+            try {
+                RFXComMessage message = RFXComMessageFactory.createMessage(packet);
+                if (message instanceof RFXComDeviceMessage) {
+                    dispatcher.dispatch(BRIDGE_UID, (RFXComDeviceMessage) message);
+                }
+            } catch (RFXComException e) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    private static List<byte[]> readCapture(InputStream in) throws IOException {
+        List<byte[]> packets = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    packets.add(HexUtils.hexToBytes(line));
+                }
+            }
+        }
+        return packets;
+    }
+}
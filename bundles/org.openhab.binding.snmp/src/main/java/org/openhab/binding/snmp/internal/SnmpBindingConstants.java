@@ -33,4 +33,8 @@ public class SnmpBindingConstants {
     public static final ChannelTypeUID CHANNEL_TYPE_UID_NUMBER = new ChannelTypeUID(BINDING_ID, "number");
     public static final ChannelTypeUID CHANNEL_TYPE_UID_STRING = new ChannelTypeUID(BINDING_ID, "string");
     public static final ChannelTypeUID CHANNEL_TYPE_UID_SWITCH = new ChannelTypeUID(BINDING_ID, "switch");
+
+    // List of all fixed channels
+    public static final String CHANNEL_RTT = "rtt";
+    public static final String CHANNEL_TIMEOUTS = "timeouts";
 }
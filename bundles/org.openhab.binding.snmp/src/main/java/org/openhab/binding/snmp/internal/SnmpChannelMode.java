@@ -22,5 +22,6 @@ public enum SnmpChannelMode {
     READ,
     WRITE,
     READ_WRITE,
-    TRAP
+    TRAP,
+    TABLE
 }
@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.snmp4j.CommunityTarget;
+import org.snmp4j.PDU;
+import org.snmp4j.Snmp;
+import org.snmp4j.Target;
+import org.snmp4j.event.ResponseEvent;
+import org.snmp4j.event.ResponseListener;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.VariableBinding;
+
+/**
+ * The {@link SnmpGetRequestMerger} merges GET requests to the same agent, which are issued within a short time
+ * window, into as few PDUs as possible. The PDUs are split by the maximum number of variable bindings per PDU, which
+ * is reduced automatically if the agent answers with a tooBig error. The responses are dispatched back to the
+ * listeners of the original requests.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+@NonNullByDefault
+class SnmpGetRequestMerger {
+    static final long MERGE_WINDOW_MS = 50;
+    static final int DEFAULT_MAX_VARBINDS_PER_PDU = 50;
+
+    /**
+     * Sends a single PDU to the given target.
+     */
+    @FunctionalInterface
+    interface PduSender {
+        void send(PDU pdu, Target target, ResponseListener listener) throws IOException;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(SnmpGetRequestMerger.class);
+
+    private final PduSender sender;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Agent> agents = new HashMap<>();
+
+    SnmpGetRequestMerger(PduSender sender, ScheduledExecutorService scheduler) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queues a GET request, it is sent together with all other requests to the same agent after the merge window.
+     *
+     * @param pdu the GET request
+     * @param target the target of the request
+     * @param listener the listener that receives the response for the requested variable bindings
+     */
+    void get(PDU pdu, Target target, ResponseListener listener) {
+        Agent agent;
+        boolean schedule;
+        synchronized (agents) {
+            agent = agents.computeIfAbsent(getAgentKey(target), k -> new Agent());
+            agent.target = target;
+            agent.pending.add(new Request(pdu, listener));
+            schedule = agent.pending.size() == 1;
+        }
+        if (schedule) {
+            scheduler.schedule(() -> flush(agent), MERGE_WINDOW_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the round trip time of the last answered GET request to the agent of the target.
+     *
+     * @param target the target
+     * @return the round trip time in ms or -1 if no request was answered yet
+     */
+    long getRoundTripTime(Target target) {
+        synchronized (agents) {
+            Agent agent = agents.get(getAgentKey(target));
+            return agent == null ? -1 : agent.roundTripTime;
+        }
+    }
+
+    void flush(Agent agent) {
+        List<Request> requests;
+        Target target;
+        int maxVarbinds;
+        synchronized (agents) {
+            requests = new ArrayList<>(agent.pending);
+            agent.pending.clear();
+            target = agent.target;
+            maxVarbinds = agent.maxVarbinds;
+        }
+        if (requests.isEmpty() || target == null) {
+            return;
+        }
+        Set<OID> oids = new LinkedHashSet<>();
+        requests.forEach(request -> oids.addAll(request.oids));
+        List<OID> oidList = new ArrayList<>(oids);
+        for (int i = 0; i < oidList.size(); i += maxVarbinds) {
+            sendChunk(agent, target, oidList.subList(i, Math.min(i + maxVarbinds, oidList.size())), requests);
+        }
+    }
+
+    private void sendChunk(Agent agent, Target target, List<OID> oids, List<Request> requests) {
+        List<Request> involved = requests.stream().filter(request -> oids.stream().anyMatch(request.oids::contains))
+                .collect(Collectors.toList());
+        PDU pdu = new PDU(PDU.GET, oids.stream().map(VariableBinding::new).collect(Collectors.toList()));
+        try {
+            sender.send(pdu, target, new ChunkListener(agent, target, new ArrayList<>(oids), involved));
+        } catch (IOException e) {
+            logger.info("Could not send merged PDU to {}: {}", target.getAddress(), e.getMessage());
+            involved.forEach(request -> request.listener
+                    .onResponse(new ResponseEvent(this, target.getAddress(), request.pdu, null, null, e)));
+        }
+    }
+
+    private static String getAgentKey(Target target) {
+        String key = target.getAddress() + "/" + target.getVersion();
+        if (target instanceof CommunityTarget) {
+            key += "/" + ((CommunityTarget) target).getCommunity();
+        }
+        return key;
+    }
+
+    static class Agent {
+        final List<Request> pending = new ArrayList<>();
+        @Nullable
+        Target target;
+        int maxVarbinds = DEFAULT_MAX_VARBINDS_PER_PDU;
+        long roundTripTime = -1;
+    }
+
+    private static class Request {
+        final PDU pdu;
+        final ResponseListener listener;
+        final Set<OID> oids;
+        final AtomicBoolean failed = new AtomicBoolean();
+
+        Request(PDU pdu, ResponseListener listener) {
+            this.pdu = pdu;
+            this.listener = listener;
+            this.oids = pdu.getVariableBindings().stream().map(VariableBinding::getOid).collect(Collectors.toSet());
+        }
+    }
+
+    private class ChunkListener implements ResponseListener {
+        private final Agent agent;
+        private final Target target;
+        private final List<OID> oids;
+        private final List<Request> requests;
+        private final long sentNanos = System.nanoTime();
+
+        ChunkListener(Agent agent, Target target, List<OID> oids, List<Request> requests) {
+            this.agent = agent;
+            this.target = target;
+            this.oids = oids;
+            this.requests = requests;
+        }
+
+        @Override
+        public void onResponse(@Nullable ResponseEvent event) {
+            if (event == null) {
+                return;
+            }
+            if (event.getSource() instanceof Snmp) {
+                ((Snmp) event.getSource()).cancel(event.getRequest(), this);
+            }
+            PDU response = event.getResponse();
+            if (response == null) {
+                // report a failure only once per request, even if it was split into several PDUs
+                requests.stream().filter(request -> request.failed.compareAndSet(false, true))
+                        .forEach(request -> request.listener.onResponse(new ResponseEvent(event.getSource(),
+                                event.getPeerAddress(), request.pdu, null, null, event.getError())));
+                return;
+            }
+            synchronized (agents) {
+                agent.roundTripTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sentNanos);
+            }
+
+            if (response.getErrorStatus() == PDU.tooBig && oids.size() > 1) {
+                // the agent can't answer that many variable bindings in one PDU, split and retry
+                int half = oids.size() / 2;
+                synchronized (agents) {
+                    agent.maxVarbinds = Math.min(agent.maxVarbinds, half);
+                }
+                logger.debug("{} answered tooBig for {} variable bindings, splitting", target.getAddress(),
+                        oids.size());
+                sendChunk(agent, target, oids.subList(0, half), requests);
+                sendChunk(agent, target, oids.subList(half, oids.size()), requests);
+                return;
+            }
+            if (response.getErrorStatus() != PDU.noError && requests.size() > 1) {
+                // one failing OID would fail the requests of all merged listeners, retry them separately
+                requests.forEach(request -> sendChunk(agent, target,
+                        oids.stream().filter(request.oids::contains).collect(Collectors.toList()),
+                        Collections.singletonList(request)));
+                return;
+            }
+
+            requests.forEach(request -> {
+                PDU requestResponse = new PDU(PDU.RESPONSE, response.getVariableBindings().stream()
+                        .filter(variable -> request.oids.contains(variable.getOid())).collect(Collectors.toList()));
+                requestResponse.setErrorStatus(response.getErrorStatus());
+                request.listener.onResponse(new ResponseEvent(event.getSource(), event.getPeerAddress(), request.pdu,
+                        requestResponse, null));
+            });
+        }
+    }
+}
@@ -36,4 +36,6 @@ public interface SnmpService {
     public void removeCommandResponder(CommandResponder listener);
 
     public void send(PDU pdu, Target target, @Nullable Object userHandle, ResponseListener listener) throws IOException;
+
+    public long getRoundTripTime(Target target);
 }
@@ -16,10 +16,12 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.snmp.internal.config.SnmpServiceConfiguration;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -47,7 +49,11 @@ import org.snmp4j.transport.DefaultUdpTransportMapping;
 @NonNullByDefault
 @Component(configurationPid = "binding.snmp", service = SnmpService.class)
 public class SnmpServiceImpl implements SnmpService {
+    private static final String THREADPOOL_NAME = "snmp";
+
     private final Logger logger = LoggerFactory.getLogger(SnmpServiceImpl.class);
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
+    private final SnmpGetRequestMerger getRequestMerger = new SnmpGetRequestMerger(this::sendPdu, scheduler);
 
     private @NonNullByDefault({}) SnmpServiceConfiguration config;
     private @Nullable Snmp snmp;
@@ -129,6 +135,26 @@ public class SnmpServiceImpl implements SnmpService {
     @Override
     public void send(PDU pdu, Target target, @Nullable Object userHandle, ResponseListener listener)
             throws IOException {
+        if (pdu.getType() == PDU.GET && userHandle == null && target.getAddress() != null) {
+            // GET requests of all things pointing at the same agent are merged
+            getRequestMerger.get(pdu, target, listener);
+        } else {
+            sendPdu(pdu, target, userHandle, listener);
+        }
+    }
+
+    @Override
+    public long getRoundTripTime(Target target) {
+        return getRequestMerger.getRoundTripTime(target);
+    }
+
+    private void sendPdu(PDU pdu, Target target, ResponseListener listener) throws IOException {
+        sendPdu(pdu, target, null, listener);
+    }
+
+    private void sendPdu(PDU pdu, Target target, @Nullable Object userHandle, ResponseListener listener)
+            throws IOException {
+        final Snmp snmp = this.snmp;
         if (snmp != null) {
             snmp.send(pdu, target, userHandle, listener);
             logger.trace("send {} to {}", pdu, target);
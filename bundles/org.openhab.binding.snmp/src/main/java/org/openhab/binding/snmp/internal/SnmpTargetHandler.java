@@ -15,9 +15,12 @@ package org.openhab.binding.snmp.internal;
 import static org.openhab.binding.snmp.internal.SnmpBindingConstants.*;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
@@ -52,6 +55,7 @@ import org.snmp4j.CommandResponderEvent;
 import org.snmp4j.CommunityTarget;
 import org.snmp4j.PDU;
 import org.snmp4j.PDUv1;
+import org.snmp4j.Snmp;
 import org.snmp4j.event.ResponseEvent;
 import org.snmp4j.event.ResponseListener;
 import org.snmp4j.mp.SnmpConstants;
@@ -75,6 +79,7 @@ import org.snmp4j.smi.VariableBinding;
 public class SnmpTargetHandler extends BaseThingHandler implements ResponseListener, CommandResponder {
     private static final Pattern HEXSTRING_VALIDITY = Pattern.compile("([a-f0-9]{2}[ :-]?)+");
     private static final Pattern HEXSTRING_EXTRACTOR = Pattern.compile("[^a-f0-9]");
+    private static final int TABLE_MAX_REPETITIONS = 20;
 
     private final Logger logger = LoggerFactory.getLogger(SnmpTargetHandler.class);
 
@@ -82,6 +87,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     private final SnmpService snmpService;
     private @Nullable ScheduledFuture<?> refresh;
     private int timeoutCounter = 0;
+    private long timeouts = 0;
 
     private @NonNullByDefault({}) AbstractTarget target;
     private @NonNullByDefault({}) String targetAddressString;
@@ -89,6 +95,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> readChannelSet;
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> writeChannelSet;
     private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> trapChannelSet;
+    private @NonNullByDefault({}) Set<SnmpInternalChannelConfiguration> tableChannelSet;
 
     public SnmpTargetHandler(Thing thing, SnmpService snmpService) {
         super(thing);
@@ -104,6 +111,12 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
 
         try {
             if (command instanceof RefreshType) {
+                SnmpInternalChannelConfiguration tableChannel = tableChannelSet.stream()
+                        .filter(c -> channelUID.equals(c.channelUID)).findFirst().orElse(null);
+                if (tableChannel != null) {
+                    new TableWalk(tableChannel).request(tableChannel.oid);
+                    return;
+                }
                 SnmpInternalChannelConfiguration channel = readChannelSet.stream()
                         .filter(c -> channelUID.equals(c.channelUID)).findFirst()
                         .orElseThrow(() -> new IllegalArgumentException("no writable channel found"));
@@ -156,9 +169,14 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
 
         timeoutCounter = 0;
+        timeouts = 0;
 
         updateStatus(ThingStatus.UNKNOWN);
-        refresh = scheduler.scheduleWithFixedDelay(this::refresh, 0, config.refresh, TimeUnit.SECONDS);
+        // align the refresh to the interval, so the requests of all things pointing at the same agent can be merged
+        long refreshMillis = TimeUnit.SECONDS.toMillis(config.refresh);
+        long initialDelay = refreshMillis - System.currentTimeMillis() % refreshMillis;
+        scheduler.execute(this::refresh);
+        refresh = scheduler.scheduleAtFixedRate(this::refresh, initialDelay, refreshMillis, TimeUnit.MILLISECONDS);
     }
 
     @Override
@@ -180,6 +198,8 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
             Exception e = event.getError();
             if (e == null) { // no response, no error -> request timed out
                 timeoutCounter++;
+                timeouts++;
+                updateAgentChannel(CHANNEL_TIMEOUTS, timeouts);
                 if (timeoutCounter > config.retries) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, "request timed out");
                     target.setAddress(null);
@@ -191,6 +211,7 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
         timeoutCounter = 0;
         logger.trace("{} received {}", thing.getUID(), response);
+        updateAgentChannel(CHANNEL_RTT, snmpService.getRoundTripTime(target));
 
         response.getVariableBindings().forEach(variable -> {
             OID oid = variable.getOid();
@@ -231,6 +252,10 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     }
 
     private @Nullable SnmpInternalChannelConfiguration getChannelConfigFromChannel(Channel channel) {
+        String channelId = channel.getUID().getId();
+        if (CHANNEL_RTT.equals(channelId) || CHANNEL_TIMEOUTS.equals(channelId)) {
+            return null;
+        }
         SnmpChannelConfiguration config = channel.getConfiguration().as(SnmpChannelConfiguration.class);
 
         SnmpDatatype datatype;
@@ -262,6 +287,10 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 exceptionValue = StringType.valueOf(config.exceptionValue);
             }
         } else if (CHANNEL_TYPE_UID_SWITCH.equals(channel.getChannelTypeUID())) {
+            if (config.mode == SnmpChannelMode.TABLE) {
+                logger.warn("mode TABLE is not supported for switch channel {}", channel.getUID());
+                return null;
+            }
             if (config.datatype == null) {
                 datatype = SnmpDatatype.UINT32;
             } else {
@@ -301,6 +330,8 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 .collect(Collectors.toSet());
         this.trapChannelSet = channelConfigs.stream().filter(c -> c.mode == SnmpChannelMode.TRAP)
                 .collect(Collectors.toSet());
+        this.tableChannelSet = channelConfigs.stream().filter(c -> c.mode == SnmpChannelMode.TABLE)
+                .collect(Collectors.toSet());
     }
 
     private void updateChannels(OID oid, Variable value, Set<SnmpInternalChannelConfiguration> channelConfigs) {
@@ -358,6 +389,46 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
     }
 
+    private void updateTableChannel(SnmpInternalChannelConfiguration channelConfig, List<Variable> values) {
+        ChannelUID channelUID = channelConfig.channelUID;
+        final Channel channel = thing.getChannel(channelUID);
+        if (channel == null) {
+            logger.warn("channel uid {} in channel config set but channel not found", channelUID);
+            return;
+        }
+        State state;
+        if (values.isEmpty()) {
+            logger.debug("walk of table column {} returned no values", channelConfig.oid);
+            state = channelConfig.exceptionValue;
+        } else if (CHANNEL_TYPE_UID_NUMBER.equals(channel.getChannelTypeUID())) {
+            BigDecimal sum = BigDecimal.ZERO;
+            try {
+                for (Variable value : values) {
+                    if (channelConfig.datatype == SnmpDatatype.FLOAT) {
+                        sum = sum.add(new BigDecimal(value.toString()));
+                    } else {
+                        sum = sum.add(BigDecimal.valueOf(value.toLong()));
+                    }
+                }
+            } catch (UnsupportedOperationException | NumberFormatException e) {
+                logger.warn("could not convert {} to number for channel {}", values, channelUID);
+                return;
+            }
+            state = new DecimalType(sum);
+        } else {
+            state = new StringType(values.stream().map(value -> channelConfig.datatype == SnmpDatatype.HEXSTRING
+                    ? ((OctetString) value).toHexString(' ').toLowerCase()
+                    : value.toString()).collect(Collectors.joining(",")));
+        }
+        updateState(channelUID, state);
+    }
+
+    private void updateAgentChannel(String channelId, long value) {
+        if (value >= 0 && thing.getChannel(channelId) != null) {
+            updateState(channelId, new DecimalType(value));
+        }
+    }
+
     private Variable convertDatatype(Command command, SnmpDatatype datatype) {
         switch (datatype) {
             case INT32:
@@ -438,6 +509,70 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 logger.info("Could not send PDU", e);
             }
         }
+        tableChannelSet.forEach(channelConfig -> new TableWalk(channelConfig).request(channelConfig.oid));
+    }
+
+    /**
+     * The {@link TableWalk} reads all values of a table column with GETBULK requests (GETNEXT for SNMP v1).
+     */
+    private class TableWalk implements ResponseListener {
+        private final SnmpInternalChannelConfiguration channelConfig;
+        private final List<Variable> values = new ArrayList<>();
+        private OID lastOid;
+
+        public TableWalk(SnmpInternalChannelConfiguration channelConfig) {
+            this.channelConfig = channelConfig;
+            this.lastOid = channelConfig.oid;
+        }
+
+        private void request(OID oid) {
+            lastOid = oid;
+            PDU pdu;
+            if (target.getVersion() == SnmpConstants.version1) {
+                pdu = new PDU(PDU.GETNEXT, Collections.singletonList(new VariableBinding(oid)));
+            } else {
+                pdu = new PDU(PDU.GETBULK, Collections.singletonList(new VariableBinding(oid)));
+                pdu.setMaxRepetitions(TABLE_MAX_REPETITIONS);
+            }
+            try {
+                snmpService.send(pdu, target, null, this);
+            } catch (IOException e) {
+                logger.info("Could not send PDU for walking {}", channelConfig.oid, e);
+            }
+        }
+
+        @Override
+        public void onResponse(@Nullable ResponseEvent event) {
+            if (event == null) {
+                return;
+            }
+            if (event.getSource() instanceof Snmp) {
+                ((Snmp) event.getSource()).cancel(event.getRequest(), this);
+            }
+            PDU response = event.getResponse();
+            if (response == null) {
+                Exception e = event.getError();
+                logger.debug("{} walk of {} failed: {}", thing.getUID(), channelConfig.oid,
+                        e == null ? "request timed out" : e.getMessage());
+                return;
+            }
+            // v1 agents answer noSuchName at the end of the MIB view
+            if (response.getErrorStatus() != PDU.noError || response.getVariableBindings().isEmpty()) {
+                updateTableChannel(channelConfig, values);
+                return;
+            }
+            OID nextOid = lastOid;
+            for (VariableBinding variable : response.getVariableBindings()) {
+                OID oid = variable.getOid();
+                if (variable.isException() || !oid.startsWith(channelConfig.oid) || oid.compareTo(nextOid) <= 0) {
+                    updateTableChannel(channelConfig, values);
+                    return;
+                }
+                values.add(variable.getVariable());
+                nextOid = oid;
+            }
+            request(nextOid);
+        }
     }
 
 }
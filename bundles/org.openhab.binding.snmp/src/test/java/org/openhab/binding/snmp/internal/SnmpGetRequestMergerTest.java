@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.snmp4j.CommunityTarget;
+import org.snmp4j.PDU;
+import org.snmp4j.event.ResponseEvent;
+import org.snmp4j.event.ResponseListener;
+import org.snmp4j.smi.GenericAddress;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.OctetString;
+import org.snmp4j.smi.VariableBinding;
+
+/**
+ * Tests cases for {@link SnmpGetRequestMerger}.
+ *
+ * @author Jan N. Klug - Initial contribution
+ */
+public class SnmpGetRequestMergerTest {
+    private final List<PDU> sentPdus = new ArrayList<>();
+    private final List<ResponseListener> sentListeners = new ArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+    private SnmpGetRequestMerger merger;
+    private CommunityTarget target;
+
+    @Before
+    public void setup() {
+        scheduler = mock(ScheduledExecutorService.class);
+        merger = new SnmpGetRequestMerger((pdu, target, listener) -> {
+            sentPdus.add(pdu);
+            sentListeners.add(listener);
+        }, scheduler);
+        target = new CommunityTarget(GenericAddress.parse("udp:192.168.0.1/161"), new OctetString("public"));
+    }
+
+    @Test
+    public void testRequestsToSameAgentAreMerged() {
+        ResponseListener listener1 = mock(ResponseListener.class);
+        ResponseListener listener2 = mock(ResponseListener.class);
+
+        merger.get(getRequest(1, 2), target, listener1);
+        merger.get(getRequest(2, 3), target, listener2);
+        runScheduledFlush();
+
+        assertEquals(1, sentPdus.size());
+        assertEquals(3, sentPdus.get(0).size());
+
+        sentListeners.get(0).onResponse(getResponseEvent(sentPdus.get(0)));
+
+        assertEquals(2, getDispatchedResponse(listener1).size());
+        assertEquals(new OID("1.2.3.1"), getDispatchedResponse(listener1).get(0).getOid());
+        assertEquals(2, getDispatchedResponse(listener2).size());
+        assertEquals(new OID("1.2.3.3"), getDispatchedResponse(listener2).get(1).getOid());
+    }
+
+    @Test
+    public void testLargeRequestsAreSplit() {
+        int count = SnmpGetRequestMerger.DEFAULT_MAX_VARBINDS_PER_PDU * 2 + 5;
+        merger.get(getRequest(IntStream.rangeClosed(1, count).toArray()), target, mock(ResponseListener.class));
+        runScheduledFlush();
+
+        assertEquals(3, sentPdus.size());
+        assertEquals(SnmpGetRequestMerger.DEFAULT_MAX_VARBINDS_PER_PDU, sentPdus.get(0).size());
+        assertEquals(5, sentPdus.get(2).size());
+    }
+
+    @Test
+    public void testTooBigResponseSplitsRequest() {
+        ResponseListener listener = mock(ResponseListener.class);
+        merger.get(getRequest(1, 2, 3, 4), target, listener);
+        runScheduledFlush();
+
+        PDU tooBig = new PDU(PDU.RESPONSE, new ArrayList<>());
+        tooBig.setErrorStatus(PDU.tooBig);
+        sentListeners.get(0).onResponse(new ResponseEvent(this, null, sentPdus.get(0), tooBig, null));
+
+        assertEquals(3, sentPdus.size());
+        assertEquals(2, sentPdus.get(1).size());
+        assertEquals(2, sentPdus.get(2).size());
+        verify(listener, never()).onResponse(any());
+
+        // following requests to this agent are split right away
+        merger.get(getRequest(1, 2, 3, 4), target, listener);
+        runScheduledFlush();
+        assertEquals(5, sentPdus.size());
+    }
+
+    @Test
+    public void testTimeoutIsReportedOnce() {
+        int count = SnmpGetRequestMerger.DEFAULT_MAX_VARBINDS_PER_PDU + 1;
+        ResponseListener listener = mock(ResponseListener.class);
+        merger.get(getRequest(IntStream.rangeClosed(1, count).toArray()), target, listener);
+        runScheduledFlush();
+
+        assertEquals(2, sentPdus.size());
+        sentListeners.get(0).onResponse(new ResponseEvent(this, null, sentPdus.get(0), null, null));
+        sentListeners.get(1).onResponse(new ResponseEvent(this, null, sentPdus.get(1), null, null));
+
+        verify(listener, times(1)).onResponse(any());
+    }
+
+    private void runScheduledFlush() {
+        ArgumentCaptor<Runnable> flushCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, atLeastOnce()).schedule(flushCaptor.capture(), anyLong(), any());
+        flushCaptor.getValue().run();
+        reset(scheduler);
+    }
+
+    private PDU getRequest(int... indices) {
+        return new PDU(PDU.GET, IntStream.of(indices).mapToObj(i -> new VariableBinding(new OID("1.2.3." + i)))
+                .collect(Collectors.toList()));
+    }
+
+    private ResponseEvent getResponseEvent(PDU request) {
+        PDU response = new PDU(PDU.RESPONSE, request.getVariableBindings().stream()
+                .map(variable -> new VariableBinding(variable.getOid(), new OctetString(variable.getOid().toString())))
+                .collect(Collectors.toList()));
+        return new ResponseEvent(this, null, request, response, null);
+    }
+
+    private List<? extends VariableBinding> getDispatchedResponse(ResponseListener listener) {
+        ArgumentCaptor<ResponseEvent> eventCaptor = ArgumentCaptor.forClass(ResponseEvent.class);
+        verify(listener).onResponse(eventCaptor.capture());
+        return eventCaptor.getValue().getResponse().getVariableBindings();
+    }
+}
@@ -49,6 +49,10 @@ public final class SqueezeBoxNotificationListener implements SqueezeBoxPlayerEve
         this.playerMAC = playerMAC;
     }
 
+    String getPlayerMAC() {
+        return playerMAC;
+    }
+
     // Stopped
     public void resetStopped() {
         this.started.set(false);
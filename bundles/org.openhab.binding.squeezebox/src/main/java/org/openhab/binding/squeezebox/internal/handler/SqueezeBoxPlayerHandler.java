@@ -646,6 +646,13 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
         return this.mac;
     }
 
+    /*
+     * Used by the server handler to decode only the values of linked channels
+     */
+    boolean isChannelLinked(String channelId) {
+        return isLinked(channelId);
+    }
+
     /*
      * Give the notification player access to the notification timeout
      */
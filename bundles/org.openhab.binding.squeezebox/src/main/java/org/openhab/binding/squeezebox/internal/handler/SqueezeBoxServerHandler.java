@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -86,14 +87,22 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
 
     private static final String CHANNEL_CONFIG_QUOTE_LIST = "quoteList";
 
+    private static final String PLAYERS_COMMAND = "players 0";
+    private static final String FAVORITES_COMMAND = "favorites items 0 100";
+
+    // player messages which are parsed, all others are dropped after reading the message type
+    private static final Set<String> HANDLED_MESSAGE_TYPES = Collections
+            .unmodifiableSet(new HashSet<>(Arrays.asList("status", "playlist", "prefset", "mixer", "ir")));
+
     private List<SqueezeBoxPlayerEventListener> squeezeBoxPlayerListeners = Collections
             .synchronizedList(new ArrayList<SqueezeBoxPlayerEventListener>());
 
     private Map<String, SqueezeBoxPlayer> players = Collections
             .synchronizedMap(new HashMap<String, SqueezeBoxPlayer>());
 
-    // client socket and listener thread
+    // client socket, its writer and listener thread
     private Socket clientSocket;
+    private BufferedWriter writer;
     private SqueezeServerListener listener;
     private Future<?> reconnectFuture;
 
@@ -290,14 +299,14 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
      * Ask for player list
      */
     public void requestPlayers() {
-        sendCommand("players 0");
+        sendCommand(PLAYERS_COMMAND);
     }
 
     /**
      * Ask for favorites list
      */
     public void requestFavorites() {
-        sendCommand("favorites items 0 100");
+        sendCommand(FAVORITES_COMMAND);
     }
 
     /**
@@ -314,20 +323,32 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
     /**
      * Send a command to the Squeeze Server.
      */
-    private synchronized void sendCommand(String command) {
+    private void sendCommand(String command) {
+        sendCommands(Collections.singletonList(command));
+    }
+
+    /**
+     * Send commands to the Squeeze Server. The commands are written in one go, without waiting for the responses,
+     * which are handled by the listener thread as they arrive.
+     */
+    private synchronized void sendCommands(List<String> commands) {
         if (getThing().getStatus() != ThingStatus.ONLINE) {
             return;
         }
 
-        if (!isConnected()) {
+        if (!isConnected() || writer == null) {
             logger.debug("no connection to squeeze server when trying to send command, returning...");
             return;
         }
 
-        logger.debug("Sending command: {}", sanitizeCommand(command));
+        String command = "";
         try {
-            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(clientSocket.getOutputStream()));
-            writer.write(command + NEW_LINE);
+            for (String c : commands) {
+                command = c;
+                logger.debug("Sending command: {}", sanitizeCommand(command));
+                writer.write(command);
+                writer.write(NEW_LINE);
+            }
             writer.flush();
         } catch (IOException e) {
             logger.error("Error while sending command to Squeeze Server ({}) ", sanitizeCommand(command), e);
@@ -363,7 +384,11 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             return;
         }
         try {
-            clientSocket = new Socket(host, cliport);
+            Socket socket = new Socket(host, cliport);
+            synchronized (this) {
+                clientSocket = socket;
+                writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
+            }
         } catch (IOException e) {
             logger.debug("unable to open socket to server: {}", e.getMessage());
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, e.getMessage());
@@ -399,7 +424,10 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             logger.trace("Error attempting to disconnect from Squeeze Server", e);
             return;
         } finally {
-            clientSocket = null;
+            synchronized (this) {
+                clientSocket = null;
+                writer = null;
+            }
             listener = null;
         }
         players.clear();
@@ -427,9 +455,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 reader = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
                 login();
                 updateStatus(ThingStatus.ONLINE);
-                requestPlayers();
-                requestFavorites();
-                sendCommand("listen 1");
+                sendCommands(Arrays.asList(PLAYERS_COMMAND, FAVORITES_COMMAND, "listen 1"));
 
                 String message = null;
                 while (!terminate && (message = reader.readLine()) != null) {
@@ -499,6 +525,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         }
 
         private void handlePlayersList(String message) {
+            List<String> subscribeCommands = new ArrayList<>();
             // Split out players
             String[] playersList = message.split("playerindex\\S*\\s");
             for (String playerParams : playersList) {
@@ -548,22 +575,36 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                         }
                     });
                     // tell the server we want to subscribe to player updates
-                    sendCommand(player.getMacAddress() + " status - 1 subscribe:10 tags:yagJlNKjc");
+                    subscribeCommands.add(player.getMacAddress() + " status - 1 subscribe:10 tags:yagJlNKjc");
                 }
             }
+            if (!subscribeCommands.isEmpty()) {
+                sendCommands(subscribeCommands);
+            }
         }
 
         private void handlePlayerUpdate(String message) {
-            String[] messageParts = message.split("\\s");
-            if (messageParts.length < 2) {
+            // only the player and the message type are parsed before checking if the message is of interest
+            int macEnd = message.indexOf(' ');
+            if (macEnd <= 0) {
                 logger.warn("Invalid message - expecting at least 2 parts. Ignoring.");
                 return;
             }
+            int typeEnd = message.indexOf(' ', macEnd + 1);
+            String messageType = typeEnd < 0 ? message.substring(macEnd + 1) : message.substring(macEnd + 1, typeEnd);
+            if (!HANDLED_MESSAGE_TYPES.contains(messageType)) {
+                logger.trace("Unhandled player update message type '{}'.", messageType);
+                return;
+            }
 
-            final String mac = decode(messageParts[0]);
+            final String mac = decode(message.substring(0, macEnd));
+            if (mac == null || !isPlayerListened(mac)) {
+                logger.trace("Ignoring {} message of player {} without thing", messageType, mac);
+                return;
+            }
 
-            // get the message type
-            String messageType = messageParts[1];
+            // tokens are separated by single spaces, the values are still url encoded
+            String[] messageParts = message.split(" ");
             switch (messageType) {
                 case "status":
                     handleStatusMessage(mac, messageParts);
@@ -578,8 +619,11 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                     handleMixerMessage(mac, messageParts);
                     break;
                 case "ir":
+                    if (messageParts.length < 3) {
+                        return;
+                    }
                     final String ircode = messageParts[2];
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.irCodeChangeEvent(mac, ircode);
@@ -602,7 +646,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 case "volume":
                     String volumeStringValue = decode(messageParts[3]);
 
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             try {
@@ -633,12 +677,14 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             boolean coverart = false;
             String coverid = null;
             String artworkUrl = null;
+            // all updates of the status message are dispatched together
+            final List<PlayerUpdateEvent> events = new ArrayList<>();
 
             for (String messagePart : messageParts) {
                 // Parameter Power
                 if (messagePart.startsWith("power%3A")) {
                     final boolean power = "1".matches(messagePart.substring("power%3A".length()));
-                    updatePlayer(new PlayerUpdateEvent() {
+                    events.add(new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.powerChangeEvent(mac, power);
@@ -649,7 +695,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("mixer%20volume%3A")) {
                     String value = messagePart.substring("mixer%20volume%3A".length());
                     final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    events.add(new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.absoluteVolumeChangeEvent(mac, volume);
@@ -659,7 +705,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 // Parameter Mode
                 else if (messagePart.startsWith("mode%3A")) {
                     final String mode = messagePart.substring("mode%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
+                    events.add(new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.modeChangeEvent(mac, mode);
@@ -670,7 +716,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("time%3A")) {
                     String value = messagePart.substring("time%3A".length());
                     final int time = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    events.add(new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.currentPlayingTimeEvent(mac, time);
@@ -681,7 +727,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("duration%3A")) {
                     String value = messagePart.substring("duration%3A".length());
                     final int duration = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    events.add(new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.durationEvent(mac, duration);
@@ -692,7 +738,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("playlist_cur_index%3A")) {
                     String value = messagePart.substring("playlist_cur_index%3A".length());
                     final int index = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    events.add(new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.currentPlaylistIndexEvent(mac, index);
@@ -703,7 +749,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("playlist_tracks%3A")) {
                     String value = messagePart.substring("playlist_tracks%3A".length());
                     final int track = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    events.add(new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.numberPlaylistTracksEvent(mac, track);
@@ -714,7 +760,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("playlist%20repeat%3A")) {
                     String value = messagePart.substring("playlist%20repeat%3A".length());
                     final int repeat = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    events.add(new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.currentPlaylistRepeatEvent(mac, repeat);
@@ -725,7 +771,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 else if (messagePart.startsWith("playlist%20shuffle%3A")) {
                     String value = messagePart.substring("playlist%20shuffle%3A".length());
                     final int shuffle = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    events.add(new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.currentPlaylistShuffleEvent(mac, shuffle);
@@ -734,13 +780,15 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 }
                 // Parameter Title
                 else if (messagePart.startsWith("title%3A")) {
-                    final String value = messagePart.substring("title%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.titleChangeEvent(mac, decode(value));
-                        }
-                    });
+                    if (isChannelLinked(mac, CHANNEL_TITLE)) {
+                        final String value = decode(messagePart.substring("title%3A".length()));
+                        events.add(new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.titleChangeEvent(mac, value);
+                            }
+                        });
+                    }
                 }
                 // Parameter Remote Title (radio)
                 else if (messagePart.startsWith("remote_title%3A")) {
@@ -779,24 +827,33 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 }
             }
 
-            final String finalUrl = constructCoverArtUrl(mac, coverart, coverid, artworkUrl);
-            final String finalRemoteTitle = remoteTitle;
-            final String finalArtist = artist;
-            final String finalAlbum = album;
-            final String finalGenre = genre;
-            final String finalYear = year;
+            // the tags are only decoded for linked channels
+            if (isChannelLinked(mac, CHANNEL_COVERART_DATA)) {
+                final String finalUrl = constructCoverArtUrl(mac, coverart, coverid, artworkUrl);
+                events.add(listener -> listener.coverArtChangeEvent(mac, finalUrl));
+            }
+            if (isChannelLinked(mac, CHANNEL_REMOTE_TITLE)) {
+                final String finalRemoteTitle = decode(remoteTitle);
+                events.add(listener -> listener.remoteTitleChangeEvent(mac, finalRemoteTitle));
+            }
+            if (isChannelLinked(mac, CHANNEL_ARTIST)) {
+                final String finalArtist = decode(artist);
+                events.add(listener -> listener.artistChangeEvent(mac, finalArtist));
+            }
+            if (isChannelLinked(mac, CHANNEL_ALBUM)) {
+                final String finalAlbum = decode(album);
+                events.add(listener -> listener.albumChangeEvent(mac, finalAlbum));
+            }
+            if (isChannelLinked(mac, CHANNEL_GENRE)) {
+                final String finalGenre = decode(genre);
+                events.add(listener -> listener.genreChangeEvent(mac, finalGenre));
+            }
+            if (isChannelLinked(mac, CHANNEL_YEAR)) {
+                final String finalYear = decode(year);
+                events.add(listener -> listener.yearChangeEvent(mac, finalYear));
+            }
 
-            updatePlayer(new PlayerUpdateEvent() {
-                @Override
-                public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                    listener.coverArtChangeEvent(mac, finalUrl);
-                    listener.remoteTitleChangeEvent(mac, decode(finalRemoteTitle));
-                    listener.artistChangeEvent(mac, decode(finalArtist));
-                    listener.albumChangeEvent(mac, decode(finalAlbum));
-                    listener.genreChangeEvent(mac, decode(finalGenre));
-                    listener.yearChangeEvent(mac, decode(finalYear));
-                }
-            });
+            updatePlayer(mac, listener -> events.forEach(event -> event.updateListener(listener)));
         }
 
         private String constructCoverArtUrl(String mac, boolean coverart, String coverid, String artwork_url) {
@@ -840,7 +897,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             if (action.equals("newsong")) {
                 mode = "play";
                 // Set the track duration to 0
-                updatePlayer(new PlayerUpdateEvent() {
+                updatePlayer(mac, new PlayerUpdateEvent() {
                     @Override
                     public void updateListener(SqueezeBoxPlayerEventListener listener) {
                         listener.durationEvent(mac, 0);
@@ -859,7 +916,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 return;
             }
             final String value = mode;
-            updatePlayer(new PlayerUpdateEvent() {
+            updatePlayer(mac, new PlayerUpdateEvent() {
 
                 @Override
                 public void updateListener(SqueezeBoxPlayerEventListener listener) {
@@ -881,7 +938,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
 
                 if (function.equals("power")) {
                     final boolean power = value.equals("1");
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.powerChangeEvent(mac, power);
@@ -889,7 +946,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                     });
                 } else if (function.equals("volume")) {
                     final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
+                    updatePlayer(mac, new PlayerUpdateEvent() {
 
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
@@ -999,6 +1056,63 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         void updateListener(SqueezeBoxPlayerEventListener listener);
     }
 
+    /**
+     * Checks if a player has a thing or is monitored for a notification, otherwise its messages are not parsed
+     */
+    private boolean isPlayerListened(String mac) {
+        for (Thing thing : getThing().getThings()) {
+            ThingHandler handler = thing.getHandler();
+            if (handler instanceof SqueezeBoxPlayerHandler
+                    && mac.equals(((SqueezeBoxPlayerHandler) handler).getMac())) {
+                return true;
+            }
+        }
+        synchronized (squeezeBoxPlayerListeners) {
+            for (SqueezeBoxPlayerEventListener listener : squeezeBoxPlayerListeners) {
+                if (listener instanceof SqueezeBoxNotificationListener
+                        && mac.equals(((SqueezeBoxNotificationListener) listener).getPlayerMAC())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a channel of the player thing is linked, the values of other channels are not decoded
+     */
+    private boolean isChannelLinked(String mac, String channelId) {
+        for (Thing thing : getThing().getThings()) {
+            ThingHandler handler = thing.getHandler();
+            if (handler instanceof SqueezeBoxPlayerHandler && mac.equals(((SqueezeBoxPlayerHandler) handler).getMac())
+                    && ((SqueezeBoxPlayerHandler) handler).isChannelLinked(channelId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Update Listeners and the child Squeeze Player Thing of one player
+     *
+     * @param mac
+     * @param event
+     */
+    private void updatePlayer(String mac, PlayerUpdateEvent event) {
+        synchronized (squeezeBoxPlayerListeners) {
+            for (SqueezeBoxPlayerEventListener listener : squeezeBoxPlayerListeners) {
+                event.updateListener(listener);
+            }
+        }
+        for (Thing thing : getThing().getThings()) {
+            ThingHandler handler = thing.getHandler();
+            if (handler instanceof SqueezeBoxPlayerHandler && mac.equals(((SqueezeBoxPlayerHandler) handler).getMac())
+                    && !squeezeBoxPlayerListeners.contains(handler)) {
+                event.updateListener((SqueezeBoxPlayerEventListener) handler);
+            }
+        }
+    }
+
     /**
      * Update Listeners and child Squeeze Player Things
      *
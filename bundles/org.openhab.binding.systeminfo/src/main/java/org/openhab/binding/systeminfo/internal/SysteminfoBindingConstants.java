@@ -307,6 +307,56 @@ public class SysteminfoBindingConstants {
      */
     public static final String CHANNEL_PROCESS_PATH = "process#path";
 
+    /**
+     * Used heap memory of the Java runtime in MB
+     */
+    public static final String CHANNEL_RUNTIME_HEAP_USED = "runtime#heapUsed";
+
+    /**
+     * Maximum heap memory of the Java runtime in MB
+     */
+    public static final String CHANNEL_RUNTIME_HEAP_MAX = "runtime#heapMax";
+
+    /**
+     * Used non-heap memory of the Java runtime in MB
+     */
+    public static final String CHANNEL_RUNTIME_NON_HEAP_USED = "runtime#nonHeapUsed";
+
+    /**
+     * Number of live threads of the Java runtime
+     */
+    public static final String CHANNEL_RUNTIME_THREADS = "runtime#threads";
+
+    /**
+     * Number of live daemon threads of the Java runtime
+     */
+    public static final String CHANNEL_RUNTIME_DAEMON_THREADS = "runtime#daemonThreads";
+
+    /**
+     * Peak number of live threads of the Java runtime
+     */
+    public static final String CHANNEL_RUNTIME_PEAK_THREADS = "runtime#peakThreads";
+
+    /**
+     * Dispatch latency of the event bus in ms
+     */
+    public static final String CHANNEL_RUNTIME_EVENT_LATENCY = "runtime#eventLatency";
+
+    /**
+     * Name of the garbage collector
+     */
+    public static final String CHANNEL_GC_NAME = "gc#name";
+
+    /**
+     * Number of collections of the garbage collector
+     */
+    public static final String CHANNEL_GC_COUNT = "gc#count";
+
+    /**
+     * Accumulated collection time of the garbage collector in ms
+     */
+    public static final String CHANNEL_GC_TIME = "gc#time";
+
     // Thing configuraion
     /**
      * Name of the configuration parameter of the thing that defines refresh time for High priority channels
@@ -318,6 +368,11 @@ public class SysteminfoBindingConstants {
      */
     public static final String MEDIUM_PRIORITY_REFRESH_TIME = "interval_medium";
 
+    /**
+     * Name of the configuration parameter of the thing that enables reading counters directly from /proc
+     */
+    public static final String PROCFS_PARAM = "procfs";
+
     // Channel configuration
 
     /**
@@ -25,6 +25,7 @@ import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
 import org.openhab.binding.systeminfo.internal.handler.SysteminfoHandler;
+import org.openhab.binding.systeminfo.internal.model.EventBusLatencyProbe;
 import org.openhab.binding.systeminfo.internal.model.SysteminfoInterface;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -44,6 +45,7 @@ public class SysteminfoHandlerFactory extends BaseThingHandlerFactory {
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Collections.singleton(THING_TYPE_COMPUTER);
 
     private @NonNullByDefault({}) SysteminfoInterface systeminfo;
+    private @NonNullByDefault({}) EventBusLatencyProbe latencyProbe;
 
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
@@ -55,7 +57,7 @@ public class SysteminfoHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(THING_TYPE_COMPUTER)) {
-            return new SysteminfoHandler(thing, systeminfo);
+            return new SysteminfoHandler(thing, systeminfo, latencyProbe);
         }
 
         return null;
@@ -69,4 +71,13 @@ public class SysteminfoHandlerFactory extends BaseThingHandlerFactory {
     public void unbindSystemInfo(SysteminfoInterface systeminfo) {
         this.systeminfo = null;
     }
+
+    @Reference
+    public void bindEventBusLatencyProbe(EventBusLatencyProbe latencyProbe) {
+        this.latencyProbe = latencyProbe;
+    }
+
+    public void unbindEventBusLatencyProbe(EventBusLatencyProbe latencyProbe) {
+        this.latencyProbe = null;
+    }
 }
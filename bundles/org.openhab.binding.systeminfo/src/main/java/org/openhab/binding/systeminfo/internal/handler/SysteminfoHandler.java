@@ -20,6 +20,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -37,6 +38,8 @@ import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.openhab.binding.systeminfo.internal.model.DeviceNotFoundException;
+import org.openhab.binding.systeminfo.internal.model.EventBusLatencyProbe;
+import org.openhab.binding.systeminfo.internal.model.RuntimeInfo;
 import org.openhab.binding.systeminfo.internal.model.SysteminfoInterface;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,18 +93,43 @@ public class SysteminfoHandler extends BaseThingHandler {
 
     private SysteminfoInterface systeminfo;
 
+    private final RuntimeInfo runtimeInfo = new RuntimeInfo();
+
+    private @Nullable EventBusLatencyProbe latencyProbe;
+
+    /**
+     * Provides the state of a single channel.
+     */
+    @FunctionalInterface
+    private interface ChannelStateProvider {
+        @Nullable
+        State getState() throws DeviceNotFoundException;
+    }
+
+    /**
+     * The state providers of the channels. They are created once per channel, so the channel ID has not to be
+     * parsed on every refresh.
+     */
+    private final Map<ChannelUID, ChannelStateProvider> stateProviders = new ConcurrentHashMap<>();
+
     private @Nullable ScheduledFuture<?> highPriorityTasks;
     private @Nullable ScheduledFuture<?> mediumPriorityTasks;
 
     private Logger logger = LoggerFactory.getLogger(SysteminfoHandler.class);
 
     public SysteminfoHandler(Thing thing, @Nullable SysteminfoInterface systeminfo) {
+        this(thing, systeminfo, null);
+    }
+
+    public SysteminfoHandler(Thing thing, @Nullable SysteminfoInterface systeminfo,
+            @Nullable EventBusLatencyProbe latencyProbe) {
         super(thing);
         if (systeminfo != null) {
             this.systeminfo = systeminfo;
         } else {
             throw new IllegalArgumentException("No systeminfo service was provided");
         }
+        this.latencyProbe = latencyProbe;
     }
 
     @Override
@@ -143,6 +171,9 @@ public class SysteminfoHandler extends BaseThingHandler {
             }
             logger.debug("Refresh time for medium priority channels set to {} s", refreshIntervalMediumPriority);
             logger.debug("Refresh time for high priority channels set to {} s", refreshIntervalHighPriority);
+
+            Object procfs = this.thing.getConfiguration().get(PROCFS_PARAM);
+            systeminfo.setProcfsEnabled(Boolean.TRUE.equals(procfs) || "true".equals(procfs));
             return true;
         } catch (IllegalArgumentException e) {
             logger.warn("Refresh time value is invalid! Please change the thing configuration!");
@@ -176,6 +207,8 @@ public class SysteminfoHandler extends BaseThingHandler {
         List<Channel> channels = this.thing.getChannels();
 
         for (Channel channel : channels) {
+            stateProviders.put(channel.getUID(), createStateProvider(channel.getUID()));
+
             Configuration properties = channel.getConfiguration();
             String priority = (String) properties.get(PRIOIRITY_PARAM);
             if (priority == null) {
@@ -240,16 +273,23 @@ public class SysteminfoHandler extends BaseThingHandler {
     }
 
     private void publishData(Set<ChannelUID> channels) {
+        // All channels of one priority are served from the same snapshot
+        systeminfo.refreshSnapshot();
         Iterator<ChannelUID> iter = channels.iterator();
         while (iter.hasNext()) {
             ChannelUID channeUID = iter.next();
             if (isLinked(channeUID.getId())) {
-                publishDataForChannel(channeUID);
+                updateChannelState(channeUID);
             }
         }
     }
 
     private void publishDataForChannel(ChannelUID channelUID) {
+        systeminfo.refreshSnapshot();
+        updateChannelState(channelUID);
+    }
+
+    private void updateChannelState(ChannelUID channelUID) {
         State state = getInfoForChannel(channelUID);
         String channelID = channelUID.getId();
         updateState(channelID, state);
@@ -268,9 +308,8 @@ public class SysteminfoHandler extends BaseThingHandler {
     }
 
     /**
-     * This method gets the information for specific channel through the {@link SysteminfoInterface}. It uses the
-     * channel ID to call the correct method from the {@link SysteminfoInterface} with deviceIndex parameter (in case of
-     * multiple devices, for reference see {@link #getDeviceIndex(String)}})
+     * This method gets the information for specific channel through the {@link SysteminfoInterface}, using the
+     * {@link ChannelStateProvider} of the channel (see {@link #createStateProvider(ChannelUID)}).
      *
      * @param channelUID the UID of the channel
      * @return State object or null, if there is no information for the device with this index
@@ -278,6 +317,28 @@ public class SysteminfoHandler extends BaseThingHandler {
     private State getInfoForChannel(ChannelUID channelUID) {
         State state = null;
 
+        ChannelStateProvider stateProvider = stateProviders.computeIfAbsent(channelUID, this::createStateProvider);
+        try {
+            state = stateProvider.getState();
+        } catch (DeviceNotFoundException e) {
+            logger.warn("No information for channel {} :", channelUID);
+        } catch (Exception e) {
+            logger.debug("Unexpected error occurred while getting system information!", e);
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
+                    "Cannot get system info as result of unexpected error. Please try to restart the binding (remove and re-add the thing)!");
+        }
+        return state != null ? state : UnDefType.UNDEF;
+    }
+
+    /**
+     * This method creates the {@link ChannelStateProvider} for a specific channel. It uses the channel ID to select the
+     * correct method from the {@link SysteminfoInterface} with deviceIndex parameter (in case of multiple devices, for
+     * reference see {@link #getDeviceIndex(String)}})
+     *
+     * @param channelUID the UID of the channel
+     * @return the state provider of the channel
+     */
+    private ChannelStateProvider createStateProvider(ChannelUID channelUID) {
         String channelID = channelUID.getId();
         String channelIDWithoutGroup = channelUID.getIdWithoutGroup();
         String channelGroupID = channelUID.getGroupId();
@@ -291,163 +352,128 @@ public class SysteminfoHandler extends BaseThingHandler {
             channelID = channelGroupID.replaceAll("\\d+", "") + "#" + channelIDWithoutGroup;
         }
 
-        try {
-            switch (channelID) {
-                case CHANNEL_DISPLAY_INFORMATION:
-                    state = systeminfo.getDisplayInformation(deviceIndex);
-                    break;
-                case CHANNEL_BATTERY_NAME:
-                    state = systeminfo.getBatteryName(deviceIndex);
-                    break;
-                case CHANNEL_BATTERY_REMAINING_CAPACITY:
-                    state = systeminfo.getBatteryRemainingCapacity(deviceIndex);
-                    break;
-                case CHANNEL_BATTERY_REMAINING_TIME:
-                    state = systeminfo.getBatteryRemainingTime(deviceIndex);
-                    break;
-                case CHANNEL_SENSORS_CPU_TEMPERATURE:
-                    state = systeminfo.getSensorsCpuTemperature();
-                    break;
-                case CHANNEL_SENOSRS_CPU_VOLTAGE:
-                    state = systeminfo.getSensorsCpuVoltage();
-                    break;
-                case CHANNEL_SENSORS_FAN_SPEED:
-                    state = systeminfo.getSensorsFanSpeed(deviceIndex);
-                    break;
-                case CHANNEL_CPU_LOAD_1:
-                    state = systeminfo.getCpuLoad1();
-                    break;
-                case CHANNEL_CPU_LOAD_5:
-                    state = systeminfo.getCpuLoad5();
-                    break;
-                case CHANNEL_CPU_LOAD_15:
-                    state = systeminfo.getCpuLoad15();
-                    break;
-                case CHANNEL_CPU_UPTIME:
-                    state = systeminfo.getCpuUptime();
-                    break;
-                case CHANNEL_CPU_THREADS:
-                    state = systeminfo.getCpuThreads();
-                    break;
-                case CHANNEL_CPU_DESCRIPTION:
-                    state = systeminfo.getCpuDescription();
-                    break;
-                case CHANNEL_CPU_NAME:
-                    state = systeminfo.getCpuName();
-                    break;
-                case CHANNEL_MEMORY_AVAILABLE:
-                    state = systeminfo.getMemoryAvailable();
-                    break;
-                case CHANNEL_MEMORY_USED:
-                    state = systeminfo.getMemoryUsed();
-                    break;
-                case CHANNEL_MEMORY_TOTAL:
-                    state = systeminfo.getMemoryTotal();
-                    break;
-                case CHANNEL_MEMORY_AVAILABLE_PERCENT:
-                    state = systeminfo.getMemoryAvailablePercent();
-                    break;
-                case CHANNEL_MEMORY_USED_PERCENT:
-                    state = systeminfo.getMemoryUsedPercent();
-                    break;
-                case CHANNEL_SWAP_AVAILABLE:
-                    state = systeminfo.getSwapAvailable();
-                    break;
-                case CHANNEL_SWAP_USED:
-                    state = systeminfo.getSwapUsed();
-                    break;
-                case CHANNEL_SWAP_TOTAL:
-                    state = systeminfo.getSwapTotal();
-                    break;
-                case CHANNEL_SWAP_AVAILABLE_PERCENT:
-                    state = systeminfo.getSwapAvailablePercent();
-                    break;
-                case CHANNEL_SWAP_USED_PERCENT:
-                    state = systeminfo.getSwapUsedPercent();
-                    break;
-                case CHANNEL_DRIVE_MODEL:
-                    state = systeminfo.getDriveModel(deviceIndex);
-                    break;
-                case CHANNEL_DRIVE_SERIAL:
-                    state = systeminfo.getDriveSerialNumber(deviceIndex);
-                    break;
-                case CHANNEL_DRIVE_NAME:
-                    state = systeminfo.getDriveName(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_NAME:
-                    state = systeminfo.getStorageName(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_DESCRIPTION:
-                    state = systeminfo.getStorageDescription(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_AVAILABLE:
-                    state = systeminfo.getStorageAvailable(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_USED:
-                    state = systeminfo.getStorageUsed(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_TOTAL:
-                    state = systeminfo.getStorageTotal(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_TYPE:
-                    state = systeminfo.getStorageType(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_AVAILABLE_PERCENT:
-                    state = systeminfo.getStorageAvailablePercent(deviceIndex);
-                    break;
-                case CHANNEL_STORAGE_USED_PERCENT:
-                    state = systeminfo.getStorageUsedPercent(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_IP:
-                    state = systeminfo.getNetworkIp(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_ADAPTER_NAME:
-                    state = systeminfo.getNetworkDisplayName(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_NAME:
-                    state = systeminfo.getNetworkName(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_MAC:
-                    state = systeminfo.getNetworkMac(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_DATA_SENT:
-                    state = systeminfo.getNetworkDataSent(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_DATA_RECEIVED:
-                    state = systeminfo.getNetworkDataReceived(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_PACKETS_RECEIVED:
-                    state = systeminfo.getNetworkPacketsReceived(deviceIndex);
-                    break;
-                case CHANNEL_NETWORK_PACKETS_SENT:
-                    state = systeminfo.getNetworkPacketsSent(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_LOAD:
-                    state = systeminfo.getProcessCpuUsage(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_MEMORY:
-                    state = systeminfo.getProcessMemoryUsage(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_NAME:
-                    state = systeminfo.getProcessName(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_PATH:
-                    state = systeminfo.getProcessPath(deviceIndex);
-                    break;
-                case CHANNEL_PROCESS_THREADS:
-                    state = systeminfo.getProcessThreads(deviceIndex);
-                    break;
-                default:
-                    logger.debug("Channel with unknown ID: {} !", channelID);
-            }
-        } catch (DeviceNotFoundException e) {
-            logger.warn("No information for channel {} with device index {} :", channelID, deviceIndex);
-        } catch (Exception e) {
-            logger.debug("Unexpected error occurred while getting system information!", e);
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
-                    "Cannot get system info as result of unexpected error. Please try to restart the binding (remove and re-add the thing)!");
+        switch (channelID) {
+            case CHANNEL_DISPLAY_INFORMATION:
+                return () -> systeminfo.getDisplayInformation(deviceIndex);
+            case CHANNEL_BATTERY_NAME:
+                return () -> systeminfo.getBatteryName(deviceIndex);
+            case CHANNEL_BATTERY_REMAINING_CAPACITY:
+                return () -> systeminfo.getBatteryRemainingCapacity(deviceIndex);
+            case CHANNEL_BATTERY_REMAINING_TIME:
+                return () -> systeminfo.getBatteryRemainingTime(deviceIndex);
+            case CHANNEL_SENSORS_CPU_TEMPERATURE:
+                return () -> systeminfo.getSensorsCpuTemperature();
+            case CHANNEL_SENOSRS_CPU_VOLTAGE:
+                return () -> systeminfo.getSensorsCpuVoltage();
+            case CHANNEL_SENSORS_FAN_SPEED:
+                return () -> systeminfo.getSensorsFanSpeed(deviceIndex);
+            case CHANNEL_CPU_LOAD_1:
+                return () -> systeminfo.getCpuLoad1();
+            case CHANNEL_CPU_LOAD_5:
+                return () -> systeminfo.getCpuLoad5();
+            case CHANNEL_CPU_LOAD_15:
+                return () -> systeminfo.getCpuLoad15();
+            case CHANNEL_CPU_UPTIME:
+                return () -> systeminfo.getCpuUptime();
+            case CHANNEL_CPU_THREADS:
+                return () -> systeminfo.getCpuThreads();
+            case CHANNEL_CPU_DESCRIPTION:
+                return () -> systeminfo.getCpuDescription();
+            case CHANNEL_CPU_NAME:
+                return () -> systeminfo.getCpuName();
+            case CHANNEL_MEMORY_AVAILABLE:
+                return () -> systeminfo.getMemoryAvailable();
+            case CHANNEL_MEMORY_USED:
+                return () -> systeminfo.getMemoryUsed();
+            case CHANNEL_MEMORY_TOTAL:
+                return () -> systeminfo.getMemoryTotal();
+            case CHANNEL_MEMORY_AVAILABLE_PERCENT:
+                return () -> systeminfo.getMemoryAvailablePercent();
+            case CHANNEL_MEMORY_USED_PERCENT:
+                return () -> systeminfo.getMemoryUsedPercent();
+            case CHANNEL_SWAP_AVAILABLE:
+                return () -> systeminfo.getSwapAvailable();
+            case CHANNEL_SWAP_USED:
+                return () -> systeminfo.getSwapUsed();
+            case CHANNEL_SWAP_TOTAL:
+                return () -> systeminfo.getSwapTotal();
+            case CHANNEL_SWAP_AVAILABLE_PERCENT:
+                return () -> systeminfo.getSwapAvailablePercent();
+            case CHANNEL_SWAP_USED_PERCENT:
+                return () -> systeminfo.getSwapUsedPercent();
+            case CHANNEL_DRIVE_MODEL:
+                return () -> systeminfo.getDriveModel(deviceIndex);
+            case CHANNEL_DRIVE_SERIAL:
+                return () -> systeminfo.getDriveSerialNumber(deviceIndex);
+            case CHANNEL_DRIVE_NAME:
+                return () -> systeminfo.getDriveName(deviceIndex);
+            case CHANNEL_STORAGE_NAME:
+                return () -> systeminfo.getStorageName(deviceIndex);
+            case CHANNEL_STORAGE_DESCRIPTION:
+                return () -> systeminfo.getStorageDescription(deviceIndex);
+            case CHANNEL_STORAGE_AVAILABLE:
+                return () -> systeminfo.getStorageAvailable(deviceIndex);
+            case CHANNEL_STORAGE_USED:
+                return () -> systeminfo.getStorageUsed(deviceIndex);
+            case CHANNEL_STORAGE_TOTAL:
+                return () -> systeminfo.getStorageTotal(deviceIndex);
+            case CHANNEL_STORAGE_TYPE:
+                return () -> systeminfo.getStorageType(deviceIndex);
+            case CHANNEL_STORAGE_AVAILABLE_PERCENT:
+                return () -> systeminfo.getStorageAvailablePercent(deviceIndex);
+            case CHANNEL_STORAGE_USED_PERCENT:
+                return () -> systeminfo.getStorageUsedPercent(deviceIndex);
+            case CHANNEL_NETWORK_IP:
+                return () -> systeminfo.getNetworkIp(deviceIndex);
+            case CHANNEL_NETWORK_ADAPTER_NAME:
+                return () -> systeminfo.getNetworkDisplayName(deviceIndex);
+            case CHANNEL_NETWORK_NAME:
+                return () -> systeminfo.getNetworkName(deviceIndex);
+            case CHANNEL_NETWORK_MAC:
+                return () -> systeminfo.getNetworkMac(deviceIndex);
+            case CHANNEL_NETWORK_DATA_SENT:
+                return () -> systeminfo.getNetworkDataSent(deviceIndex);
+            case CHANNEL_NETWORK_DATA_RECEIVED:
+                return () -> systeminfo.getNetworkDataReceived(deviceIndex);
+            case CHANNEL_NETWORK_PACKETS_RECEIVED:
+                return () -> systeminfo.getNetworkPacketsReceived(deviceIndex);
+            case CHANNEL_NETWORK_PACKETS_SENT:
+                return () -> systeminfo.getNetworkPacketsSent(deviceIndex);
+            case CHANNEL_PROCESS_LOAD:
+                return () -> systeminfo.getProcessCpuUsage(deviceIndex);
+            case CHANNEL_PROCESS_MEMORY:
+                return () -> systeminfo.getProcessMemoryUsage(deviceIndex);
+            case CHANNEL_PROCESS_NAME:
+                return () -> systeminfo.getProcessName(deviceIndex);
+            case CHANNEL_PROCESS_PATH:
+                return () -> systeminfo.getProcessPath(deviceIndex);
+            case CHANNEL_PROCESS_THREADS:
+                return () -> systeminfo.getProcessThreads(deviceIndex);
+            case CHANNEL_RUNTIME_HEAP_USED:
+                return () -> runtimeInfo.getHeapUsed();
+            case CHANNEL_RUNTIME_HEAP_MAX:
+                return () -> runtimeInfo.getHeapMax();
+            case CHANNEL_RUNTIME_NON_HEAP_USED:
+                return () -> runtimeInfo.getNonHeapUsed();
+            case CHANNEL_RUNTIME_THREADS:
+                return () -> runtimeInfo.getThreadCount();
+            case CHANNEL_RUNTIME_DAEMON_THREADS:
+                return () -> runtimeInfo.getDaemonThreadCount();
+            case CHANNEL_RUNTIME_PEAK_THREADS:
+                return () -> runtimeInfo.getPeakThreadCount();
+            case CHANNEL_RUNTIME_EVENT_LATENCY:
+                EventBusLatencyProbe localLatencyProbe = latencyProbe;
+                return () -> localLatencyProbe != null ? localLatencyProbe.probe() : null;
+            case CHANNEL_GC_NAME:
+                return () -> runtimeInfo.getGcName(deviceIndex);
+            case CHANNEL_GC_COUNT:
+                return () -> runtimeInfo.getGcCount(deviceIndex);
+            case CHANNEL_GC_TIME:
+                return () -> runtimeInfo.getGcTime(deviceIndex);
+            default:
+                logger.debug("Channel with unknown ID: {} !", channelID);
+                return () -> null;
         }
-        return state != null ? state : UnDefType.UNDEF;
     }
 
     /**
@@ -578,6 +604,7 @@ public class SysteminfoHandler extends BaseThingHandler {
         Object oldValue = configuration.get(parameter);
 
         configuration.put(parameter, newConfig.get(parameter));
+        stateProviders.remove(channel.getUID());
 
         Object newValue = newConfig.get(parameter);
         logger.debug("Channel with UID {} has changed its {} from {} to {}", channel.getUID(), parameter, oldValue,
@@ -602,6 +629,7 @@ public class SysteminfoHandler extends BaseThingHandler {
     @Override
     public void dispose() {
         stopScheduledUpdates();
+        stateProviders.clear();
     }
 
 }
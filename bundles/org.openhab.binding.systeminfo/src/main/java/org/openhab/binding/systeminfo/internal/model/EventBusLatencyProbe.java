@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.events.AbstractEventFactory;
+import org.eclipse.smarthome.core.events.Event;
+import org.eclipse.smarthome.core.events.EventFactory;
+import org.eclipse.smarthome.core.events.EventFilter;
+import org.eclipse.smarthome.core.events.EventPublisher;
+import org.eclipse.smarthome.core.events.EventSubscriber;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link EventBusLatencyProbe} measures the dispatch latency of the event bus. Every {@link #probe()} posts a
+ * {@link LatencyProbeEvent} and the time until the event is received back by this subscriber is recorded.
+ * <p>
+ * As the event is dispatched asynchronously, {@link #probe()} returns the latency of the previous probe. The latency
+ * grows when the event bus is congested, which makes it a good indicator for an overloaded system.
+ *
+ * @author Svilen Valkanov - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = { EventFactory.class, EventSubscriber.class, EventBusLatencyProbe.class }, immediate = true)
+public class EventBusLatencyProbe extends AbstractEventFactory implements EventSubscriber {
+
+    private static final String PROBE_TOPIC = "smarthome/systeminfo/probe";
+
+    private final Set<String> subscribedEventTypes = Collections.singleton(LatencyProbeEvent.TYPE);
+
+    private @NonNullByDefault({}) EventPublisher eventPublisher;
+
+    /**
+     * Latency of the last received probe in ns, or -1 if no probe has been received yet
+     */
+    private volatile long latency = -1;
+
+    public EventBusLatencyProbe() {
+        super(Collections.singleton(LatencyProbeEvent.TYPE));
+    }
+
+    @Reference
+    protected void setEventPublisher(EventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    protected void unsetEventPublisher(EventPublisher eventPublisher) {
+        this.eventPublisher = null;
+    }
+
+    /**
+     * Posts a new probe and returns the latency of the last received one
+     *
+     * @return the event bus dispatch latency in ms or null, if no probe has been received yet
+     */
+    public @Nullable DecimalType probe() {
+        long sendTime = System.nanoTime();
+        eventPublisher.post(new LatencyProbeEvent(PROBE_TOPIC, serializePayload(sendTime), sendTime));
+        return getLatency();
+    }
+
+    /**
+     * @return the event bus dispatch latency in ms or null, if no probe has been received yet
+     */
+    public @Nullable DecimalType getLatency() {
+        long localLatency = latency;
+        if (localLatency < 0) {
+            return null;
+        }
+        return new DecimalType(BigDecimal.valueOf(localLatency).divide(BigDecimal.valueOf(1000000), 3,
+                RoundingMode.HALF_UP));
+    }
+
+    @Override
+    protected Event createEventByType(String eventType, String topic, String payload, String source) throws Exception {
+        if (LatencyProbeEvent.TYPE.equals(eventType)) {
+            return new LatencyProbeEvent(topic, payload, deserializePayload(payload, Long.class));
+        }
+        throw new IllegalArgumentException("The event type '" + eventType + "' is not supported by this factory.");
+    }
+
+    @Override
+    public Set<String> getSubscribedEventTypes() {
+        return subscribedEventTypes;
+    }
+
+    @Override
+    public @Nullable EventFilter getEventFilter() {
+        return null;
+    }
+
+    @Override
+    public void receive(Event event) {
+        if (event instanceof LatencyProbeEvent) {
+            latency = System.nanoTime() - ((LatencyProbeEvent) event).getSendTime();
+        }
+    }
+}
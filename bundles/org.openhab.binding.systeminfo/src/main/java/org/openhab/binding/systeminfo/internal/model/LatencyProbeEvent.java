@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.model;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.events.AbstractEvent;
+
+/**
+ * This is an {@link Event} that is posted by the {@link EventBusLatencyProbe} to measure how long the event bus needs
+ * to dispatch an event.
+ *
+ * @author Svilen Valkanov - Initial contribution
+ */
+@NonNullByDefault
+public class LatencyProbeEvent extends AbstractEvent {
+
+    /**
+     * The latency probe event type.
+     */
+    public static final String TYPE = LatencyProbeEvent.class.getSimpleName();
+
+    private final long sendTime;
+
+    /**
+     * Constructs a new latency probe event.
+     *
+     * @param topic the topic
+     * @param payload the payload
+     * @param sendTime the value of {@link System#nanoTime()} when the event was posted
+     */
+    public LatencyProbeEvent(String topic, String payload, long sendTime) {
+        super(topic, payload, null);
+        this.sendTime = sendTime;
+    }
+
+    /**
+     * @return the value of {@link System#nanoTime()} when the event was posted
+     */
+    public long getSendTime() {
+        return sendTime;
+    }
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public String toString() {
+        return "Event bus latency probe sent at " + sendTime + ".";
+    }
+}
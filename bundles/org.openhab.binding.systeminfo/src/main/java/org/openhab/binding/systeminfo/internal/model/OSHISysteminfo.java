@@ -12,7 +12,10 @@
  */
 package org.openhab.binding.systeminfo.internal.model;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -49,6 +52,9 @@ import oshi.util.EdidUtil;
  *         CentralProcessor#getSystemSerialNumber()
  * @author Wouter Born - Update to OSHI 4.0.0 and add null annotations
  *
+ *         Dynamic values are queried at most once per snapshot (see {@link #refreshSnapshot()}). Optionally, the
+ *         frequently updated CPU, memory and network counters are read directly from /proc on Linux.
+ *
  * @see <a href="https://github.com/oshi/oshi">OSHI github repository</a>
  */
 @NonNullByDefault
@@ -64,7 +70,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     private @NonNullByDefault({}) CentralProcessor cpu;
     private @NonNullByDefault({}) Sensors sensors;
 
-    // Static objects, should be recreated on each request
+    // Static objects, the dynamic ones among them are recreated once per snapshot
     private @NonNullByDefault({}) ComputerSystem computerSystem;
     private @NonNullByDefault({}) OperatingSystem operatingSystem;
     private @NonNullByDefault({}) NetworkIF[] networks;
@@ -75,6 +81,18 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
+    // The current snapshot and the snapshots in which the dynamic objects have been queried the last time
+    private long snapshot;
+    private long networksSnapshot = -1;
+    private long fileStoresSnapshot = -1;
+    private long powerSourcesSnapshot = -1;
+    private long processesSnapshot = -1;
+    private long procfsSnapshot = -1;
+
+    private final Map<Integer, OSProcess> processes = new HashMap<>();
+
+    private @Nullable ProcfsReader procfs;
+
     /**
      * Some of the methods used in this constructor execute native code and require execute permissions
      *
@@ -95,9 +113,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
         cpu = hal.getProcessor();
         sensors = hal.getSensors();
 
-        // Static objects, should be recreated on each request. In OSHI 4.0.0. it is planned to change this mechanism -
-        // see https://github.com/oshi/oshi/issues/310
-        // TODO: Once the issue is resolved in OSHI , remove unnecessary object recreations from the public get methods
+        // Static objects. OSHI requires networks, file stores and power sources to be queried again to update their
+        // values, see https://github.com/oshi/oshi/issues/310 - this is done at most once per snapshot
         computerSystem = hal.getComputerSystem();
         operatingSystem = systemInfo.getOperatingSystem();
         networks = hal.getNetworkIFs();
@@ -114,14 +131,126 @@ public class OSHISysteminfo implements SysteminfoInterface {
         return devices[index];
     }
 
-    private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
+    @Override
+    public synchronized void refreshSnapshot() {
+        snapshot++;
+    }
+
+    @Override
+    public synchronized void setProcfsEnabled(boolean enabled) {
+        if (enabled && procfs == null) {
+            if (ProcfsReader.isAvailable()) {
+                procfs = new ProcfsReader();
+                procfsSnapshot = -1;
+                logger.debug("Reading CPU, memory and network counters from /proc");
+            } else {
+                logger.debug("/proc is not available, reading all values through OSHI");
+            }
+        } else if (!enabled) {
+            procfs = null;
+        }
+    }
+
+    private synchronized NetworkIF[] getNetworks() {
+        if (networksSnapshot != snapshot) {
+            // OSHI requires a new query for the network data values to be updated
+            networks = hal.getNetworkIFs();
+            for (NetworkIF network : networks) {
+                network.updateAttributes();
+            }
+            networksSnapshot = snapshot;
+        }
+        return networks;
+    }
+
+    private NetworkIF getNetwork(int index) throws DeviceNotFoundException {
+        return (NetworkIF) getDevice(getNetworks(), index);
+    }
+
+    private synchronized OSFileStore[] getFileStores() {
+        if (fileStoresSnapshot != snapshot) {
+            // OSHI requires a new query for the storage data values to be updated
+            fileStores = operatingSystem.getFileSystem().getFileStores();
+            fileStoresSnapshot = snapshot;
+        }
+        return fileStores;
+    }
+
+    private synchronized PowerSource[] getPowerSources() {
+        if (powerSourcesSnapshot != snapshot) {
+            // OSHI requires a new query for the battery data values to be updated
+            powerSources = hal.getPowerSources();
+            powerSourcesSnapshot = snapshot;
+        }
+        return powerSources;
+    }
+
+    private synchronized OSProcess getProcess(int pid) throws DeviceNotFoundException {
+        if (processesSnapshot != snapshot) {
+            processes.clear();
+            processesSnapshot = snapshot;
+        }
+        OSProcess process = processes.get(pid);
         if (process == null) {
-            throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
+            process = operatingSystem.getProcess(pid);
+            if (process == null) {
+                throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
+            }
+            processes.put(pid, process);
         }
         return process;
     }
 
+    /**
+     * Returns the /proc reader updated for the current snapshot
+     *
+     * @return the reader or null, if reading from /proc is disabled or not possible
+     */
+    private synchronized @Nullable ProcfsReader getProcfs() {
+        ProcfsReader reader = procfs;
+        if (reader != null && procfsSnapshot != snapshot) {
+            try {
+                reader.update();
+                procfsSnapshot = snapshot;
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Cannot read counters from /proc, falling back to OSHI", e);
+                procfs = null;
+                return null;
+            }
+        }
+        return reader;
+    }
+
+    private long @Nullable [] getProcfsNetworkCounters(int networkIndex) throws DeviceNotFoundException {
+        ProcfsReader reader = getProcfs();
+        if (reader == null) {
+            return null;
+        }
+        // The cached interface list is sufficient to look up the name, no new query is needed
+        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
+        return reader.getNetworkCounters(network.getName());
+    }
+
+    private long getMemoryTotalBytes() {
+        ProcfsReader reader = getProcfs();
+        return reader != null ? reader.getMemoryTotal() : memory.getTotal();
+    }
+
+    private long getMemoryAvailableBytes() {
+        ProcfsReader reader = getProcfs();
+        return reader != null ? reader.getMemoryAvailable() : memory.getAvailable();
+    }
+
+    private long getSwapTotalBytes() {
+        ProcfsReader reader = getProcfs();
+        return reader != null ? reader.getSwapTotal() : memory.getVirtualMemory().getSwapTotal();
+    }
+
+    private long getSwapUsedBytes() {
+        ProcfsReader reader = getProcfs();
+        return reader != null ? reader.getSwapUsed() : memory.getVirtualMemory().getSwapUsed();
+    }
+
     @Override
     public StringType getOsFamily() {
         String osFamily = operatingSystem.getFamily();
@@ -175,22 +304,22 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryTotal() {
-        long totalMemory = memory.getTotal();
+        long totalMemory = getMemoryTotalBytes();
         totalMemory = getSizeInMB(totalMemory);
         return new DecimalType(totalMemory);
     }
 
     @Override
     public DecimalType getMemoryAvailable() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = getMemoryAvailableBytes();
         availableMemory = getSizeInMB(availableMemory);
         return new DecimalType(availableMemory);
     }
 
     @Override
     public DecimalType getMemoryUsed() {
-        long totalMemory = memory.getTotal();
-        long availableMemory = memory.getAvailable();
+        long totalMemory = getMemoryTotalBytes();
+        long availableMemory = getMemoryAvailableBytes();
         long usedMemory = totalMemory - availableMemory;
         usedMemory = getSizeInMB(usedMemory);
         return new DecimalType(usedMemory);
@@ -198,10 +327,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageTotal(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(getFileStores(), index);
         long totalSpace = fileStore.getTotalSpace();
         totalSpace = getSizeInMB(totalSpace);
         return new DecimalType(totalSpace);
@@ -209,10 +335,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageAvailable(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(getFileStores(), index);
         long freeSpace = fileStore.getUsableSpace();
         freeSpace = getSizeInMB(freeSpace);
         return new DecimalType(freeSpace);
@@ -220,10 +343,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageUsed(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        OSFileStore fileStore = (OSFileStore) getDevice(getFileStores(), index);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -233,10 +353,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
+        OSFileStore fileStore = (OSFileStore) getDevice(getFileStores(), deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         if (totalSpace > 0) {
@@ -250,10 +367,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the storage data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        fileStores = operatingSystem.getFileSystem().getFileStores();
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
+        OSFileStore fileStore = (OSFileStore) getDevice(getFileStores(), deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -289,10 +403,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
+        NetworkIF netInterface = (NetworkIF) getDevice(getNetworks(), index);
         String[] ipAddresses = netInterface.getIPv4addr();
         String ipv4 = (String) getDevice(ipAddresses, 0);
         return new StringType(ipv4);
@@ -351,10 +462,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getBatteryRemainingTime(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the battery data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        powerSources = hal.getPowerSources();
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(getPowerSources(), index);
         double remainingTimeInSeconds = powerSource.getTimeRemaining();
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
@@ -363,10 +471,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the battery data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        powerSources = hal.getPowerSources();
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        PowerSource powerSource = (PowerSource) getDevice(getPowerSources(), index);
         double remainingCapacity = powerSource.getRemainingCapacity();
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new DecimalType(remainingCapacityPercents);
@@ -381,8 +486,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getMemoryAvailablePercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        long availableMemory = getMemoryAvailableBytes();
+        long totalMemory = getMemoryTotalBytes();
         if (totalMemory > 0) {
             double freePercentDecimal = (double) availableMemory / (double) totalMemory;
             BigDecimal freePercent = getPercentsValue(freePercentDecimal);
@@ -394,8 +499,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getMemoryUsedPercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        long availableMemory = getMemoryAvailableBytes();
+        long totalMemory = getMemoryTotalBytes();
         long usedMemory = totalMemory - availableMemory;
         if (totalMemory > 0) {
             double usedPercentDecimal = (double) usedMemory / (double) totalMemory;
@@ -429,15 +534,15 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapTotal() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
+        long swapTotal = getSwapTotalBytes();
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public @Nullable DecimalType getSwapAvailable() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = getSwapTotalBytes();
+        long swapUsed = getSwapUsedBytes();
         long swapAvaialble = swapTotal - swapUsed;
         swapAvaialble = getSizeInMB(swapAvaialble);
         return swapAvaialble > 0 ? new DecimalType(swapAvaialble) : null;
@@ -445,15 +550,15 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapUsed() {
-        long swapTotal = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = getSwapUsedBytes();
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public @Nullable DecimalType getSwapAvailablePercent() {
-        long usedSwap = memory.getVirtualMemory().getSwapUsed();
-        long totalSwap = memory.getVirtualMemory().getSwapTotal();
+        long usedSwap = getSwapUsedBytes();
+        long totalSwap = getSwapTotalBytes();
         long freeSwap = totalSwap - usedSwap;
         if (totalSwap > 0) {
             double freePercentDecimal = (double) freeSwap / (double) totalSwap;
@@ -466,8 +571,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapUsedPercent() {
-        long usedSwap = memory.getVirtualMemory().getSwapUsed();
-        long totalSwap = memory.getVirtualMemory().getSwapTotal();
+        long usedSwap = getSwapUsedBytes();
+        long totalSwap = getSwapTotalBytes();
         if (totalSwap > 0) {
             double usedPercentDecimal = (double) usedSwap / (double) totalSwap;
             BigDecimal usedPercent = getPercentsValue(usedPercentDecimal);
@@ -542,8 +647,10 @@ public class OSHISysteminfo implements SysteminfoInterface {
             default:
                 index = 2;
         }
-        double processorLoads[] = cpu.getSystemLoadAverage(index + 1);
-        BigDecimal result = new BigDecimal(processorLoads[index]);
+        ProcfsReader reader = getProcfs();
+        double processorLoad = reader != null ? reader.getLoadAverage(index)
+                : cpu.getSystemLoadAverage(index + 1)[index];
+        BigDecimal result = new BigDecimal(processorLoad);
         result = result.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return result;
     }
@@ -569,45 +676,32 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
-        long packRecv = network.getPacketsRecv();
+        long[] counters = getProcfsNetworkCounters(networkIndex);
+        long packRecv = counters != null ? counters[ProcfsReader.RECEIVED_PACKETS]
+                : getNetwork(networkIndex).getPacketsRecv();
         return new DecimalType(packRecv);
     }
 
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
-        long packSent = network.getPacketsSent();
+        long[] counters = getProcfsNetworkCounters(networkIndex);
+        long packSent = counters != null ? counters[ProcfsReader.SENT_PACKETS]
+                : getNetwork(networkIndex).getPacketsSent();
         return new DecimalType(packSent);
     }
 
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
-        long bytesSent = network.getBytesSent();
+        long[] counters = getProcfsNetworkCounters(networkIndex);
+        long bytesSent = counters != null ? counters[ProcfsReader.SENT_BYTES] : getNetwork(networkIndex).getBytesSent();
         return new DecimalType(getSizeInMB(bytesSent));
     }
 
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
-        // In the current OSHI version a new query is required for the network data values to be updated
-        // In OSHI 4.0.0. it is planned to change this mechanism - see https://github.com/oshi/oshi/issues/310
-        networks = hal.getNetworkIFs();
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
-        long bytesRecv = network.getBytesRecv();
+        long[] counters = getProcfsNetworkCounters(networkIndex);
+        long bytesRecv = counters != null ? counters[ProcfsReader.RECEIVED_BYTES]
+                : getNetwork(networkIndex).getBytesRecv();
         return new DecimalType(getSizeInMB(bytesRecv));
     }
 
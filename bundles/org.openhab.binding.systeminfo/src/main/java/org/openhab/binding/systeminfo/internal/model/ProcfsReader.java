@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.model;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Reads the frequently updated CPU, memory and network counters directly from the Linux /proc file system. Reading
+ * these few small files is much cheaper than querying the same values through OSHI, which matters for channels that
+ * are refreshed every second.
+ *
+ * @author Svilen Valkanov - Initial contribution
+ */
+@NonNullByDefault
+class ProcfsReader {
+
+    private static final String MEMINFO = "/proc/meminfo";
+    private static final String LOADAVG = "/proc/loadavg";
+    private static final String NET_DEV = "/proc/net/dev";
+
+    // Indexes of the values returned by getNetworkCounters
+    static final int RECEIVED_BYTES = 0;
+    static final int RECEIVED_PACKETS = 1;
+    static final int SENT_BYTES = 2;
+    static final int SENT_PACKETS = 3;
+
+    // Indexes of the values in /proc/net/dev
+    private static final int NET_DEV_RX_BYTES = 0;
+    private static final int NET_DEV_RX_PACKETS = 1;
+    private static final int NET_DEV_TX_BYTES = 8;
+    private static final int NET_DEV_TX_PACKETS = 9;
+
+    private byte[] buffer = new byte[4096];
+
+    private long memoryTotal;
+    private long memoryAvailable;
+    private long swapTotal;
+    private long swapFree;
+    private final double[] loadAverage = new double[3];
+    private final Map<String, long[]> networkCounters = new HashMap<>();
+
+    /**
+     * Checks if all files read by this class are available, i.e. if the binding is running on Linux
+     *
+     * @return true if the counters can be read from /proc
+     */
+    static boolean isAvailable() {
+        return new File(MEMINFO).canRead() && new File(LOADAVG).canRead() && new File(NET_DEV).canRead();
+    }
+
+    /**
+     * Reads all counters from /proc
+     *
+     * @throws IOException if one of the files cannot be read
+     */
+    synchronized void update() throws IOException {
+        readMeminfo();
+        readLoadavg();
+        readNetDev();
+    }
+
+    /**
+     * @return the total memory in bytes
+     */
+    synchronized long getMemoryTotal() {
+        return memoryTotal;
+    }
+
+    /**
+     * @return the available memory in bytes
+     */
+    synchronized long getMemoryAvailable() {
+        return memoryAvailable;
+    }
+
+    /**
+     * @return the total swap space in bytes
+     */
+    synchronized long getSwapTotal() {
+        return swapTotal;
+    }
+
+    /**
+     * @return the used swap space in bytes
+     */
+    synchronized long getSwapUsed() {
+        return swapTotal - swapFree;
+    }
+
+    /**
+     * @param index 0 for the last minute, 1 for the last 5 minutes and 2 for the last 15 minutes
+     * @return the system load average
+     */
+    synchronized double getLoadAverage(int index) {
+        return loadAverage[index];
+    }
+
+    /**
+     * @param name the name of the network interface
+     * @return the received bytes, received packets, sent bytes and sent packets or null if the interface is unknown
+     */
+    synchronized long @Nullable [] getNetworkCounters(String name) {
+        long[] counters = networkCounters.get(name);
+        return counters == null ? null : counters.clone();
+    }
+
+    private void readMeminfo() throws IOException {
+        for (String line : read(MEMINFO).split("\n")) {
+            int separator = line.indexOf(':');
+            if (separator < 0) {
+                continue;
+            }
+            switch (line.substring(0, separator)) {
+                case "MemTotal":
+                    memoryTotal = parseKilobytes(line, separator);
+                    break;
+                case "MemAvailable":
+                    memoryAvailable = parseKilobytes(line, separator);
+                    break;
+                case "SwapTotal":
+                    swapTotal = parseKilobytes(line, separator);
+                    break;
+                case "SwapFree":
+                    swapFree = parseKilobytes(line, separator);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void readLoadavg() throws IOException {
+        String[] values = read(LOADAVG).trim().split("\\s+");
+        for (int i = 0; i < loadAverage.length && i < values.length; i++) {
+            loadAverage[i] = Double.parseDouble(values[i]);
+        }
+    }
+
+    private void readNetDev() throws IOException {
+        networkCounters.clear();
+        for (String line : read(NET_DEV).split("\n")) {
+            int separator = line.indexOf(':');
+            if (separator < 0) {
+                // header lines
+                continue;
+            }
+            String[] values = line.substring(separator + 1).trim().split("\\s+");
+            if (values.length <= NET_DEV_TX_PACKETS) {
+                continue;
+            }
+            long[] counters = new long[] { Long.parseLong(values[NET_DEV_RX_BYTES]),
+                    Long.parseLong(values[NET_DEV_RX_PACKETS]), Long.parseLong(values[NET_DEV_TX_BYTES]),
+                    Long.parseLong(values[NET_DEV_TX_PACKETS]) };
+            networkCounters.put(line.substring(0, separator).trim(), counters);
+        }
+    }
+
+    private long parseKilobytes(String line, int separator) {
+        String value = line.substring(separator + 1).trim();
+        int unit = value.indexOf(' ');
+        return Long.parseLong(unit < 0 ? value : value.substring(0, unit)) * 1024;
+    }
+
+    private String read(String path) throws IOException {
+        try (InputStream in = new FileInputStream(path)) {
+            int length = 0;
+            int count;
+            while ((count = in.read(buffer, length, buffer.length - length)) > 0) {
+                length += count;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            return new String(buffer, 0, length, StandardCharsets.US_ASCII);
+        }
+    }
+}
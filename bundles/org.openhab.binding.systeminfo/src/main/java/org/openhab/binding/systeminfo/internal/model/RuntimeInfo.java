@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.model;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.StringType;
+
+/**
+ * The {@link RuntimeInfo} provides information about the Java runtime openHAB is running in - memory, garbage
+ * collection and threads. The values are read from the platform MXBeans, which is cheap enough to be done at the high
+ * priority refresh interval.
+ *
+ * @author Svilen Valkanov - Initial contribution
+ */
+@NonNullByDefault
+public class RuntimeInfo {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    /**
+     * Returns the used heap memory
+     *
+     * @return used heap memory in MB
+     */
+    public DecimalType getHeapUsed() {
+        return new DecimalType(getSizeInMB(memory.getHeapMemoryUsage().getUsed()));
+    }
+
+    /**
+     * Returns the maximum heap memory that can be used
+     *
+     * @return maximum heap memory in MB or null, if it is undefined
+     */
+    public @Nullable DecimalType getHeapMax() {
+        long max = memory.getHeapMemoryUsage().getMax();
+        return max >= 0 ? new DecimalType(getSizeInMB(max)) : null;
+    }
+
+    /**
+     * Returns the used non-heap memory, e.g. of the metaspace and the code cache
+     *
+     * @return used non-heap memory in MB
+     */
+    public DecimalType getNonHeapUsed() {
+        return new DecimalType(getSizeInMB(memory.getNonHeapMemoryUsage().getUsed()));
+    }
+
+    /**
+     * Returns the number of live threads
+     */
+    public DecimalType getThreadCount() {
+        return new DecimalType(threads.getThreadCount());
+    }
+
+    /**
+     * Returns the number of live daemon threads
+     */
+    public DecimalType getDaemonThreadCount() {
+        return new DecimalType(threads.getDaemonThreadCount());
+    }
+
+    /**
+     * Returns the peak number of live threads since the start of the runtime
+     */
+    public DecimalType getPeakThreadCount() {
+        return new DecimalType(threads.getPeakThreadCount());
+    }
+
+    /**
+     * Returns the name of a garbage collector
+     *
+     * @param index the index of the garbage collector
+     * @throws DeviceNotFoundException - thrown if there is no garbage collector with this index
+     */
+    public StringType getGcName(int index) throws DeviceNotFoundException {
+        return new StringType(getGarbageCollector(index).getName());
+    }
+
+    /**
+     * Returns the number of collections of a garbage collector
+     *
+     * @param index the index of the garbage collector
+     * @return the number of collections or null, if it is undefined
+     * @throws DeviceNotFoundException - thrown if there is no garbage collector with this index
+     */
+    public @Nullable DecimalType getGcCount(int index) throws DeviceNotFoundException {
+        long count = getGarbageCollector(index).getCollectionCount();
+        return count >= 0 ? new DecimalType(count) : null;
+    }
+
+    /**
+     * Returns the accumulated collection time of a garbage collector
+     *
+     * @param index the index of the garbage collector
+     * @return the collection time in ms or null, if it is undefined
+     * @throws DeviceNotFoundException - thrown if there is no garbage collector with this index
+     */
+    public @Nullable DecimalType getGcTime(int index) throws DeviceNotFoundException {
+        long time = getGarbageCollector(index).getCollectionTime();
+        return time >= 0 ? new DecimalType(time) : null;
+    }
+
+    private GarbageCollectorMXBean getGarbageCollector(int index) throws DeviceNotFoundException {
+        if (index >= garbageCollectors.size()) {
+            throw new DeviceNotFoundException("Garbage collector with index: " + index + " can not be found!");
+        }
+        return garbageCollectors.get(index);
+    }
+
+    private long getSizeInMB(long sizeInBytes) {
+        return Math.round(sizeInBytes / (1024D * 1024));
+    }
+}
@@ -31,6 +31,20 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Starts a new snapshot of the dynamic system information. Values are queried from the operating system at most
+     * once per snapshot, so all channels refreshed together are served from the same query.
+     */
+    public void refreshSnapshot();
+
+    /**
+     * Enables or disables reading the frequently updated CPU, memory and network counters directly from the /proc file
+     * system. This is only effective on Linux, otherwise the values are always queried through the native library.
+     *
+     * @param enabled true to read the counters from /proc if available
+     */
+    public void setProcfsEnabled(boolean enabled);
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
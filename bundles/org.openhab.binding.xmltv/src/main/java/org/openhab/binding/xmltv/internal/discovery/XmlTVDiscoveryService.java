@@ -23,7 +23,7 @@ import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.xmltv.internal.XmlTVBindingConstants;
 import org.openhab.binding.xmltv.internal.configuration.XmlChannelConfiguration;
 import org.openhab.binding.xmltv.internal.handler.XmlTVHandler;
-import org.openhab.binding.xmltv.internal.jaxb.Tv;
+import org.openhab.binding.xmltv.internal.handler.XmlTVIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,9 +53,9 @@ public class XmlTVDiscoveryService extends AbstractDiscoveryService {
     protected void startScan() {
         logger.debug("Starting XmlTV discovery scan");
         if (bridgeHandler.getThing().getStatus() == ThingStatus.ONLINE) {
-            Tv tv = bridgeHandler.getXmlFile();
-            if (tv != null) {
-                tv.getMediaChannels().stream().forEach(channel -> {
+            XmlTVIndex index = bridgeHandler.getIndex();
+            if (index != null) {
+                index.getMediaChannels().stream().forEach(channel -> {
                     String channelId = channel.getId();
                     String uid = channelId.replaceAll("[^A-Za-z0-9_]", "_");
                     ThingUID thingUID = new ThingUID(XMLTV_CHANNEL_THING_TYPE, bridgeHandler.getThing().getUID(), uid);
@@ -18,9 +18,8 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -46,7 +45,6 @@ import org.openhab.binding.xmltv.internal.configuration.XmlChannelConfiguration;
 import org.openhab.binding.xmltv.internal.jaxb.Icon;
 import org.openhab.binding.xmltv.internal.jaxb.MediaChannel;
 import org.openhab.binding.xmltv.internal.jaxb.Programme;
-import org.openhab.binding.xmltv.internal.jaxb.Tv;
 import org.openhab.binding.xmltv.internal.jaxb.WithLangType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,7 +63,7 @@ public class ChannelHandler extends BaseThingHandler {
     private @Nullable MediaChannel mediaChannel;
     private @Nullable RawType mediaIcon = new RawType(new byte[0], RawType.DEFAULT_MIME_TYPE);
 
-    public final List<Programme> programmes = new ArrayList<>();
+    private volatile List<Programme> programmes = Collections.emptyList();
 
     public ChannelHandler(Thing thing) {
         super(thing);
@@ -79,14 +77,11 @@ public class ChannelHandler extends BaseThingHandler {
 
         if (globalJob == null || globalJob.isCancelled()) {
             globalJob = scheduler.scheduleWithFixedDelay(() -> {
-                if (programmes.size() < 2) {
-                    refreshProgramList();
-                }
-                if (programmes.size() == 0) {
+                // looks up the current programme in the index of the bridge, finished programmes are skipped
+                refreshProgramList();
+                if (programmes.isEmpty()) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.NONE,
                             "No programmes to come in the current XML file for this channel");
-                } else if (Instant.now().isAfter(programmes.get(0).getProgrammeStop())) {
-                    programmes.remove(0);
                 }
 
                 getThing().getChannels().forEach(channel -> updateChannel(channel.getUID()));
@@ -100,23 +95,19 @@ public class ChannelHandler extends BaseThingHandler {
         if (bridge != null && bridge.getStatus() == ThingStatus.ONLINE) {
             XmlTVHandler handler = (XmlTVHandler) bridge.getHandler();
             if (handler != null) {
-                Tv tv = handler.getXmlFile();
-                if (tv != null) {
+                XmlTVIndex index = handler.getIndex();
+                if (index != null) {
                     String channelId = (String) getConfig().get(XmlChannelConfiguration.CHANNEL_ID);
 
                     if (mediaChannel == null) {
-                        Optional<MediaChannel> channel = tv.getMediaChannels().stream()
-                                .filter(mediaChannel -> mediaChannel.getId().equals(channelId)).findFirst();
-                        if (channel.isPresent()) {
-                            mediaChannel = channel.get();
-                            mediaIcon = downloadIcon(mediaChannel.getIcons());
+                        MediaChannel channel = index.getMediaChannel(channelId);
+                        if (channel != null) {
+                            mediaChannel = channel;
+                            mediaIcon = downloadIcon(channel.getIcons());
                         }
                     }
 
-                    programmes.clear();
-                    tv.getProgrammes().stream().filter(
-                            p -> p.getChannel().equals(channelId) && p.getProgrammeStop().isAfter(Instant.now()))
-                            .forEach(p -> programmes.add(p));
+                    programmes = index.getProgrammes(channelId, Instant.now());
 
                     updateStatus(ThingStatus.ONLINE);
                 } else {
@@ -156,6 +147,7 @@ public class ChannelHandler extends BaseThingHandler {
         String[] uidElements = channelUID.getId().split("#");
         if (uidElements.length == 2) {
             int target = GROUP_NEXT_PROGRAMME.equals(uidElements[0]) ? 1 : 0;
+            List<Programme> programmes = this.programmes;
             if (programmes.size() > target) {
                 Programme programme = programmes.get(target);
 
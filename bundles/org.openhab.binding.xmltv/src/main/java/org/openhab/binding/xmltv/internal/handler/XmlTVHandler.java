@@ -12,9 +12,13 @@
  */
 package org.openhab.binding.xmltv.internal.handler;
 
+import java.io.File;
 import java.time.Instant;
-import java.util.Collections;
-import java.util.Comparator;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -22,6 +26,7 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.stream.StreamSource;
@@ -30,11 +35,15 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
+import org.openhab.binding.xmltv.internal.configuration.XmlChannelConfiguration;
 import org.openhab.binding.xmltv.internal.configuration.XmlTVConfiguration;
+import org.openhab.binding.xmltv.internal.jaxb.MediaChannel;
 import org.openhab.binding.xmltv.internal.jaxb.Programme;
 import org.openhab.binding.xmltv.internal.jaxb.Tv;
 import org.slf4j.Logger;
@@ -52,8 +61,15 @@ public class XmlTVHandler extends BaseBridgeHandler {
     private final XMLInputFactory xif = XMLInputFactory.newFactory();
     private final JAXBContext jc;
 
-    private @Nullable Tv currentXmlFile;
+    private static final String ELEMENT_CHANNEL = "channel";
+    private static final String ELEMENT_PROGRAMME = "programme";
+    private static final String ATTRIBUTE_CHANNEL = "channel";
+
+    private @Nullable XmlTVIndex currentIndex;
     private @NonNullByDefault({}) ScheduledFuture<?> reloadJob;
+    private @NonNullByDefault({}) XmlTVConfiguration config;
+    private long loadedLastModified;
+    private long loadedLength;
 
     public XmlTVHandler(Bridge thing) throws JAXBException {
         super(thing);
@@ -63,48 +79,143 @@ public class XmlTVHandler extends BaseBridgeHandler {
 
     @Override
     public void initialize() {
-        XmlTVConfiguration config = getConfigAs(XmlTVConfiguration.class);
+        config = getConfigAs(XmlTVConfiguration.class);
         logger.debug("Initializing {} for input file '{}'", getClass(), config.filePath);
 
-        reloadJob = scheduler.scheduleWithFixedDelay(() -> {
-            final StreamSource source = new StreamSource(config.filePath);
-            currentXmlFile = null;
-            XMLStreamReader xsr = null;
-            try {
-                // This can take some seconds depending upon weight of the XmlTV source file
-                xsr = xif.createXMLStreamReader(source);
-
-                try {
-                    Unmarshaller unmarshaller = jc.createUnmarshaller();
-                    Tv xmlFile = (Tv) unmarshaller.unmarshal(xsr);
-                    // Remove all finished programmes
-                    xmlFile.getProgrammes().removeIf(programme -> Instant.now().isAfter(programme.getProgrammeStop()));
-
-                    if (xmlFile.getProgrammes().size() > 0) {
-                        // Sort programmes by starting instant
-                        Collections.sort(xmlFile.getProgrammes(), Comparator.comparing(Programme::getProgrammeStart));
-                        // Ready to deliver data to ChannelHandlers
-                        currentXmlFile = xmlFile;
-                        updateStatus(ThingStatus.ONLINE);
-                    } else {
-                        updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.DISABLED, "XMLTV file seems outdated");
-                    }
-                    xsr.close();
-                } catch (JAXBException e) {
-                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.HANDLER_INITIALIZING_ERROR, e.getMessage());
-                }
-            } catch (XMLStreamException e) {
-                updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
-            } finally {
-                try {
-                    if (xsr != null) {
-                        xsr.close();
+        currentIndex = null;
+        reloadJob = scheduler.scheduleWithFixedDelay(() -> reload(false), 0, config.refresh, TimeUnit.HOURS);
+    }
+
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        // the programmes of a newly linked media channel may have been skipped when loading the file
+        scheduler.execute(() -> reload(true));
+    }
+
+    /**
+     * Reloads the XMLTV file, if it has changed or the programmes of a linked media channel are missing. Otherwise
+     * only the finished programmes are removed from the index.
+     *
+     * @param linked only reload the file if the programmes of a linked media channel are missing
+     */
+    private synchronized void reload(boolean linked) {
+        Set<String> channelIds = getLinkedChannelIds();
+        File file = new File(config.filePath);
+        long lastModified = file.lastModified();
+        long length = file.length();
+        XmlTVIndex index = currentIndex;
+
+        if (linked && (index == null || index.getIndexedChannelIds().containsAll(channelIds))) {
+            // nothing loaded yet or nothing missing
+            return;
+        }
+        if (index != null && lastModified != 0 && lastModified == loadedLastModified && length == loadedLength
+                && index.getIndexedChannelIds().containsAll(channelIds)) {
+            logger.debug("XMLTV file '{}' unchanged, removing finished programmes", config.filePath);
+            updateIndex(index.withoutFinishedProgrammes(Instant.now()));
+            return;
+        }
+
+        try {
+            // This can take some seconds depending upon weight of the XmlTV source file
+            long start = System.currentTimeMillis();
+            XmlTVIndex newIndex = loadIndex(new StreamSource(config.filePath), channelIds);
+            logger.debug("Loaded {} programmes of {} media channels from '{}' in {} ms", newIndex.getProgrammeCount(),
+                    channelIds.size(), config.filePath, System.currentTimeMillis() - start);
+            loadedLastModified = lastModified;
+            loadedLength = length;
+            updateIndex(newIndex);
+        } catch (JAXBException e) {
+            currentIndex = null;
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.HANDLER_INITIALIZING_ERROR, e.getMessage());
+        } catch (XMLStreamException e) {
+            currentIndex = null;
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
+        }
+    }
+
+    private void updateIndex(XmlTVIndex index) {
+        if (index.getIndexedChannelIds().isEmpty() || index.hasProgrammes(Instant.now())) {
+            // Ready to deliver data to ChannelHandlers
+            currentIndex = index;
+            updateStatus(ThingStatus.ONLINE);
+        } else {
+            currentIndex = null;
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.DISABLED, "XMLTV file seems outdated");
+        }
+    }
+
+    /**
+     * Streams the XMLTV file, keeping all media channels and the programmes of the given media channels which are
+     * not finished yet. Other programmes are skipped without being unmarshalled.
+     *
+     * @param source the XMLTV file
+     * @param channelIds the ids of the media channels whose programmes shall be indexed
+     * @return the index
+     */
+    private XmlTVIndex loadIndex(StreamSource source, Set<String> channelIds)
+            throws XMLStreamException, JAXBException {
+        List<MediaChannel> mediaChannels = new ArrayList<>();
+        List<Programme> programmes = new ArrayList<>();
+        Instant now = Instant.now();
+        Unmarshaller unmarshaller = jc.createUnmarshaller();
+
+        XMLStreamReader xsr = xif.createXMLStreamReader(source);
+        try {
+            // unmarshalling an element leaves the reader on the event following the element
+            while (xsr.getEventType() != XMLStreamConstants.END_DOCUMENT) {
+                if (xsr.getEventType() != XMLStreamConstants.START_ELEMENT) {
+                    xsr.next();
+                } else if (ELEMENT_CHANNEL.equals(xsr.getLocalName())) {
+                    mediaChannels.add(unmarshaller.unmarshal(xsr, MediaChannel.class).getValue());
+                } else if (ELEMENT_PROGRAMME.equals(xsr.getLocalName())
+                        && channelIds.contains(xsr.getAttributeValue(null, ATTRIBUTE_CHANNEL))) {
+                    Programme programme = unmarshaller.unmarshal(xsr, Programme.class).getValue();
+                    try {
+                        Instant stop = programme.getProgrammeStop();
+                        if (now.isBefore(stop) && !programme.getProgrammeStart().isAfter(stop)) {
+                            programmes.add(programme);
+                        }
+                    } catch (DateTimeParseException e) {
+                        logger.debug("Ignoring programme with invalid start or stop: {}", e.getMessage());
                     }
-                } catch (XMLStreamException e) {
-                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
+                } else if (ELEMENT_PROGRAMME.equals(xsr.getLocalName())) {
+                    skipElement(xsr);
+                } else {
+                    xsr.next();
                 }
             }
-        }, 0, config.refresh, TimeUnit.HOURS);
+        } finally {
+            xsr.close();
+        }
+        return XmlTVIndex.create(mediaChannels, programmes, channelIds);
+    }
+
+    /**
+     * Moves the reader from the start of an element to the event following the element
+     */
+    private void skipElement(XMLStreamReader xsr) throws XMLStreamException {
+        int depth = 0;
+        do {
+            int event = xsr.getEventType();
+            xsr.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    private Set<String> getLinkedChannelIds() {
+        Set<String> channelIds = new HashSet<>();
+        for (Thing thing : getThing().getThings()) {
+            Object channelId = thing.getConfiguration().get(XmlChannelConfiguration.CHANNEL_ID);
+            if (channelId instanceof String) {
+                channelIds.add((String) channelId);
+            }
+        }
+        return channelIds;
     }
 
     @Override
@@ -122,8 +233,8 @@ public class XmlTVHandler extends BaseBridgeHandler {
     }
 
     @Nullable
-    public Tv getXmlFile() {
-        return currentXmlFile;
+    public XmlTVIndex getIndex() {
+        return currentIndex;
     }
 
 }
@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.xmltv.internal.handler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.xmltv.internal.jaxb.MediaChannel;
+import org.openhab.binding.xmltv.internal.jaxb.Programme;
+
+/**
+ * The {@link XmlTVIndex} holds the media channels of a XMLTV file and the programmes of the indexed media channels,
+ * sorted by starting instant. The index is immutable, a reload of the file replaces it.
+ *
+ * @author Gaël L'hopital - Initial contribution
+ */
+@NonNullByDefault
+public class XmlTVIndex {
+    private final Map<String, MediaChannel> mediaChannels;
+    private final Map<String, ChannelProgrammes> programmes;
+    private final Set<String> indexedChannelIds;
+
+    private XmlTVIndex(Map<String, MediaChannel> mediaChannels, Map<String, ChannelProgrammes> programmes,
+            Set<String> indexedChannelIds) {
+        this.mediaChannels = mediaChannels;
+        this.programmes = programmes;
+        this.indexedChannelIds = indexedChannelIds;
+    }
+
+    /**
+     * Creates the index
+     *
+     * @param mediaChannels all media channels of the file
+     * @param programmes the programmes of the indexed media channels
+     * @param indexedChannelIds the ids of the media channels whose programmes were loaded
+     */
+    public static XmlTVIndex create(Collection<MediaChannel> mediaChannels, Collection<Programme> programmes,
+            Set<String> indexedChannelIds) {
+        Map<String, MediaChannel> channelMap = new LinkedHashMap<>();
+        mediaChannels.forEach(mediaChannel -> channelMap.put(mediaChannel.getId(), mediaChannel));
+
+        Map<String, List<TimedProgramme>> programmesByChannel = new HashMap<>();
+        for (Programme programme : programmes) {
+            programmesByChannel.computeIfAbsent(programme.getChannel(), id -> new ArrayList<>())
+                    .add(new TimedProgramme(programme));
+        }
+        Map<String, ChannelProgrammes> programmeMap = new HashMap<>();
+        programmesByChannel.forEach((channelId, timedProgrammes) -> {
+            timedProgrammes.sort(Comparator.comparingLong(timedProgramme -> timedProgramme.start));
+            programmeMap.put(channelId, new ChannelProgrammes(timedProgrammes));
+        });
+
+        return new XmlTVIndex(Collections.unmodifiableMap(channelMap), programmeMap,
+                Collections.unmodifiableSet(indexedChannelIds));
+    }
+
+    /**
+     * Returns all media channels of the file, in the order of the file
+     */
+    public Collection<MediaChannel> getMediaChannels() {
+        return mediaChannels.values();
+    }
+
+    public @Nullable MediaChannel getMediaChannel(String channelId) {
+        return mediaChannels.get(channelId);
+    }
+
+    /**
+     * Checks if the programmes of a media channel were loaded, otherwise the file has to be reloaded
+     */
+    public boolean isIndexed(String channelId) {
+        return indexedChannelIds.contains(channelId);
+    }
+
+    public Set<String> getIndexedChannelIds() {
+        return indexedChannelIds;
+    }
+
+    /**
+     * Returns the programmes of a media channel which are not finished at the given instant, the first one being the
+     * current programme (if any programme is running)
+     *
+     * @param channelId the id of the media channel
+     * @param now the instant
+     * @return the programmes sorted by starting instant, empty if there is no programme to come
+     */
+    public List<Programme> getProgrammes(String channelId, Instant now) {
+        ChannelProgrammes channelProgrammes = programmes.get(channelId);
+        return channelProgrammes == null ? Collections.emptyList() : channelProgrammes.from(now.toEpochMilli());
+    }
+
+    /**
+     * Checks if any indexed media channel has a programme which is not finished at the given instant
+     */
+    public boolean hasProgrammes(Instant now) {
+        long epoch = now.toEpochMilli();
+        return programmes.values().stream().anyMatch(channelProgrammes -> !channelProgrammes.from(epoch).isEmpty());
+    }
+
+    /**
+     * Returns a copy of this index without the programmes finished at the given instant
+     */
+    public XmlTVIndex withoutFinishedProgrammes(Instant now) {
+        Map<String, ChannelProgrammes> programmeMap = new HashMap<>();
+        programmes.forEach((channelId, channelProgrammes) -> {
+            ChannelProgrammes remaining = channelProgrammes.subIndex(now.toEpochMilli());
+            if (remaining.size() > 0) {
+                programmeMap.put(channelId, remaining);
+            }
+        });
+        return new XmlTVIndex(mediaChannels, programmeMap, indexedChannelIds);
+    }
+
+    /**
+     * Returns the number of indexed programmes
+     */
+    public int getProgrammeCount() {
+        return programmes.values().stream().mapToInt(ChannelProgrammes::size).sum();
+    }
+
+    /**
+     * A programme with its pre-parsed start and stop epochs
+     */
+    private static class TimedProgramme {
+        private final Programme programme;
+        private final long start;
+        private final long stop;
+
+        private TimedProgramme(Programme programme) {
+            this.programme = programme;
+            this.start = programme.getProgrammeStart().toEpochMilli();
+            this.stop = programme.getProgrammeStop().toEpochMilli();
+        }
+    }
+
+    /**
+     * The programmes of a media channel sorted by start, searched by binary search
+     */
+    private static class ChannelProgrammes {
+        private final List<TimedProgramme> timedProgrammes;
+        private final List<Programme> programmes;
+        private final long[] starts;
+        // the latest stop of the programmes up to an index, it never decreases, even if programmes overlap
+        private final long[] latestStops;
+
+        private ChannelProgrammes(List<TimedProgramme> timedProgrammes) {
+            int size = timedProgrammes.size();
+            List<Programme> programmeList = new ArrayList<>(size);
+            starts = new long[size];
+            latestStops = new long[size];
+            long latestStop = Long.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                TimedProgramme timedProgramme = timedProgrammes.get(i);
+                programmeList.add(timedProgramme.programme);
+                starts[i] = timedProgramme.start;
+                latestStop = Math.max(latestStop, timedProgramme.stop);
+                latestStops[i] = latestStop;
+            }
+            this.timedProgrammes = timedProgrammes;
+            programmes = Collections.unmodifiableList(programmeList);
+        }
+
+        private int size() {
+            return programmes.size();
+        }
+
+        /**
+         * Returns the index of the first programme not finished at the given epoch
+         */
+        private int indexOf(long now) {
+            int low = 0;
+            int high = latestStops.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (latestStops[middle] <= now) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Checks if no programme after the given index is finished at the given epoch, which is only the case if
+         * a finished programme overlaps with a longer one started before
+         */
+        private boolean isUnfinishedFrom(int index, long now) {
+            for (int i = index + 1; i < starts.length && starts[i] <= now; i++) {
+                if (timedProgrammes.get(i).stop <= now) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private List<TimedProgramme> unfinished(int index, long now) {
+            List<TimedProgramme> result = new ArrayList<>(timedProgrammes.size() - index);
+            for (int i = index; i < timedProgrammes.size(); i++) {
+                if (timedProgrammes.get(i).stop > now) {
+                    result.add(timedProgrammes.get(i));
+                }
+            }
+            return result;
+        }
+
+        private List<Programme> from(long now) {
+            int index = indexOf(now);
+            if (isUnfinishedFrom(index, now)) {
+                return programmes.subList(index, programmes.size());
+            }
+            List<Programme> result = new ArrayList<>();
+            unfinished(index, now).forEach(timedProgramme -> result.add(timedProgramme.programme));
+            return Collections.unmodifiableList(result);
+        }
+
+        private ChannelProgrammes subIndex(long now) {
+            int index = indexOf(now);
+            if (index == 0 && isUnfinishedFrom(index, now)) {
+                return this;
+            }
+            return new ChannelProgrammes(unfinished(index, now));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.xmltv.internal.handler;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.xmltv.internal.jaxb.Programme;
+import org.openhab.binding.xmltv.internal.jaxb.Tv;
+
+/**
+ * Tests cases for {@link XmlTVIndex}.
+ *
+ * @author Gaël L'hopital - Initial contribution
+ */
+public class XmlTVIndexTest {
+    private static final String XMLTV = "<tv>" //
+            + "<channel id=\"news\"><display-name>News</display-name></channel>"
+            + "<channel id=\"movies\"><display-name>Movies</display-name></channel>"
+            + "<channel id=\"sports\"><display-name>Sports</display-name></channel>"
+            // programmes of a channel are not necessarily sorted in the file
+            + programme("news", "News 12", "120000", "123000") //
+            + programme("news", "News 10", "100000", "103000") //
+            + programme("news", "News 11", "103000", "120000") //
+            + programme("news", "News 13", "123000", "140000") //
+            // a movie night overlapping with the short programmes of the same channel
+            + programme("movies", "Movie night", "200000", "235900") //
+            + programme("movies", "Trailer", "203000", "204500") //
+            + programme("movies", "Interview", "210000", "211500") //
+            + programme("movies", "Late movie", "220000", "235000") //
+            + programme("sports", "Match", "150000", "170000") //
+            + "</tv>";
+
+    private XmlTVIndex index;
+
+    private static String programme(String channel, String title, String start, String stop) {
+        return "<programme start=\"20190601" + start + " +0000\" stop=\"20190601" + stop + " +0000\" channel=\""
+                + channel + "\"><title>" + title + "</title></programme>";
+    }
+
+    private static Instant at(String time) {
+        return Instant.parse("2019-06-01T" + time + "Z");
+    }
+
+    private static List<String> titles(List<Programme> programmes) {
+        return programmes.stream().map(programme -> programme.getTitles().get(0).getValue())
+                .collect(Collectors.toList());
+    }
+
+    @Before
+    public void setup() throws JAXBException {
+        Tv tv = (Tv) JAXBContext.newInstance(Tv.class).createUnmarshaller().unmarshal(new StringReader(XMLTV));
+        index = XmlTVIndex.create(tv.getMediaChannels(), tv.getProgrammes(),
+                new HashSet<>(Arrays.asList("news", "movies", "sports")));
+    }
+
+    @Test
+    public void testCurrentAndNextProgramme() {
+        assertEquals(Arrays.asList("News 10", "News 11", "News 12", "News 13"),
+                titles(index.getProgrammes("news", at("09:00:00"))));
+        assertEquals(Arrays.asList("News 10", "News 11", "News 12", "News 13"),
+                titles(index.getProgrammes("news", at("10:00:00"))));
+        assertEquals(Arrays.asList("News 11", "News 12", "News 13"),
+                titles(index.getProgrammes("news", at("10:30:00"))));
+        assertEquals(Arrays.asList("News 12", "News 13"), titles(index.getProgrammes("news", at("12:15:00"))));
+        assertEquals(Collections.emptyList(), index.getProgrammes("news", at("14:00:00")));
+        assertEquals(Collections.emptyList(), index.getProgrammes("unknown", at("12:00:00")));
+    }
+
+    @Test
+    public void testOverlappingProgrammes() {
+        assertEquals(Arrays.asList("Movie night", "Trailer", "Interview", "Late movie"),
+                titles(index.getProgrammes("movies", at("20:40:00"))));
+        // the trailer is finished, the movie night started before it is still running
+        assertEquals(Arrays.asList("Movie night", "Interview", "Late movie"),
+                titles(index.getProgrammes("movies", at("20:50:00"))));
+        assertEquals(Arrays.asList("Movie night", "Late movie"),
+                titles(index.getProgrammes("movies", at("22:30:00"))));
+        assertEquals(Arrays.asList("Movie night"), titles(index.getProgrammes("movies", at("23:55:00"))));
+    }
+
+    @Test
+    public void testWithoutFinishedProgrammes() {
+        assertEquals(9, index.getProgrammeCount());
+        assertTrue(index.hasProgrammes(at("16:00:00")));
+
+        XmlTVIndex remaining = index.withoutFinishedProgrammes(at("20:50:00"));
+        assertEquals(3, remaining.getProgrammeCount());
+        assertEquals(Arrays.asList("Movie night", "Interview", "Late movie"),
+                titles(remaining.getProgrammes("movies", at("20:50:00"))));
+        assertEquals(Collections.emptyList(), remaining.getProgrammes("news", at("09:00:00")));
+
+        // media channels stay known and indexed
+        assertEquals(3, remaining.getMediaChannels().size());
+        assertTrue(remaining.isIndexed("news"));
+        assertFalse(remaining.hasProgrammes(at("23:59:00")));
+    }
+}
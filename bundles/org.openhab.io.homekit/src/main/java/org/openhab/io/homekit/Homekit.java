@@ -13,6 +13,7 @@
 package org.openhab.io.homekit;
 
 import java.io.IOException;
+import java.util.Map;
 
 /**
  * HomeKit integration API
@@ -37,4 +38,11 @@ public interface Homekit {
      * @param allow boolean indicating whether or not to allow unauthenticated requests
      */
     void allowUnauthenticatedRequests(boolean allow);
+
+    /**
+     * Returns statistics about the accessory rebuilds and the characteristic changes sent to HomeKit clients.
+     *
+     * @return the statistics by name
+     */
+    Map<String, Number> getStatistics();
 }
@@ -12,9 +12,18 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.StateChangeListener;
@@ -30,12 +39,30 @@ import io.github.hapjava.HomekitCharacteristicChangeCallback;
  * Homekit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Item state changes are not passed to Homekit immediately. They are collected for {@link #EVENT_BATCH_WINDOW_MS}
+ * and then sent together, so that repeated changes of the same characteristic within that window are sent only once.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitAccessoryUpdater {
+    /**
+     * Time in milliseconds characteristic changes are collected before they are sent to Homekit clients
+     */
+    static final long EVENT_BATCH_WINDOW_MS = 50;
+
     private Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
     private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
 
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
+    private final Set<HomekitCharacteristicChangeCallback> pendingCallbacks = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private final AtomicLong stateChanges = new AtomicLong();
+    private final AtomicLong sentEvents = new AtomicLong();
+    private final AtomicLong sentBatches = new AtomicLong();
+    private volatile int largestBatch;
+
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
     }
@@ -56,7 +83,7 @@ public class HomekitAccessoryUpdater {
                 unsubscribe(item, key);
             }
             logger.debug("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = new Subscription(callback);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -73,18 +100,110 @@ public class HomekitAccessoryUpdater {
         subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
             logger.debug("Removing existing subscription for {} / {}", item, key);
             item.removeStateChangeListener(v);
+            pendingCallbacks.remove(v.callback);
             return null;
         });
     }
 
-    @FunctionalInterface
-    private static interface Subscription extends StateChangeListener {
+    /**
+     * Moves the subscriptions of an item to the instance which replaced it in the item registry, so accessories which
+     * are kept across the update still receive its state changes.
+     *
+     * @param oldItem The replaced item
+     * @param newItem The item now in the registry
+     */
+    public void itemReplaced(Item oldItem, Item newItem) {
+        if (!(newItem instanceof GenericItem)) {
+            return;
+        }
+        GenericItem replacement = (GenericItem) newItem;
+        List<ItemKey> oldKeys = subscriptionsByName.keySet().stream()
+                .filter(k -> k.item != replacement && k.item.getName().equals(oldItem.getName()))
+                .collect(Collectors.toList());
+        for (ItemKey oldKey : oldKeys) {
+            Subscription subscription = subscriptionsByName.remove(oldKey);
+            if (subscription != null) {
+                logger.debug("Moving subscription for {} / {} to the updated item", oldKey.item, oldKey.key);
+                oldKey.item.removeStateChangeListener(subscription);
+                replacement.addStateChangeListener(subscription);
+                subscriptionsByName.put(new ItemKey(replacement, oldKey.key), subscription);
+            }
+        }
+    }
+
+    /**
+     * Number of item state changes of subscribed items
+     */
+    public long getStateChanges() {
+        return stateChanges.get();
+    }
+
+    /**
+     * Number of characteristic changes sent to Homekit, after repeated changes were coalesced
+     */
+    public long getSentEvents() {
+        return sentEvents.get();
+    }
+
+    /**
+     * Number of batches the characteristic changes were sent in
+     */
+    public long getSentBatches() {
+        return sentBatches.get();
+    }
+
+    /**
+     * Largest number of characteristic changes sent in one batch
+     */
+    public int getLargestBatch() {
+        return largestBatch;
+    }
+
+    private void characteristicChanged(HomekitCharacteristicChangeCallback callback) {
+        stateChanges.incrementAndGet();
+        pendingCallbacks.add(callback);
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::sendPendingEvents, EVENT_BATCH_WINDOW_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void sendPendingEvents() {
+        // changes arriving from now on are sent with the next batch
+        flushScheduled.set(false);
+        int batchSize = 0;
+        Iterator<HomekitCharacteristicChangeCallback> iterator = pendingCallbacks.iterator();
+        while (iterator.hasNext()) {
+            HomekitCharacteristicChangeCallback callback = iterator.next();
+            iterator.remove();
+            try {
+                callback.changed();
+            } catch (RuntimeException e) {
+                logger.warn("Could not send characteristic change to Homekit: {}", e.getMessage());
+            }
+            batchSize++;
+        }
+        if (batchSize > 0) {
+            sentEvents.addAndGet(batchSize);
+            sentBatches.incrementAndGet();
+            largestBatch = Math.max(largestBatch, batchSize);
+            logger.trace("Sent {} characteristic changes to Homekit", batchSize);
+        }
+    }
+
+    private class Subscription implements StateChangeListener {
+        private final HomekitCharacteristicChangeCallback callback;
+
+        Subscription(HomekitCharacteristicChangeCallback callback) {
+            this.callback = callback;
+        }
 
         @Override
-        void stateChanged(Item item, State oldState, State newState);
+        public void stateChanged(Item item, State oldState, State newState) {
+            characteristicChanged(callback);
+        }
 
         @Override
-        default void stateUpdated(Item item, State state) {
+        public void stateUpdated(Item item, State state) {
             // Do nothing on non-change update
         }
     }
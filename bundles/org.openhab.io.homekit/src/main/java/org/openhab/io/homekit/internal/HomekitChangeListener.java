@@ -15,13 +15,18 @@ package org.openhab.io.homekit.internal;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
@@ -37,6 +42,10 @@ import io.github.hapjava.HomekitRoot;
  * Listens for changes to the item registry. When changes are detected, check
  * for Homekit tags and, if present, add the items to the HomekitAccessoryRegistry.
  *
+ * Only accessories whose items actually changed are rebuilt. For that, a signature of the items an accessory was
+ * created from is kept, and an accessory is left untouched if the signature is still the same. This matters, because
+ * every accessory added to or removed from the bridge makes the Homekit clients reload the complete accessory list.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitChangeListener implements ItemRegistryChangeListener {
@@ -48,6 +57,17 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     private Set<String> pendingUpdates = new HashSet<String>();
 
+    /**
+     * Signatures of the items the root accessories were created from, by root item name
+     */
+    private final Map<String, String> accessorySignatures = new HashMap<>();
+
+    private long lastRebuildMillis;
+    private int lastRebuildChecked;
+    private int lastRebuildRebuilt;
+    private int lastRebuildRemoved;
+    private long rebuilds;
+
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
 
@@ -71,7 +91,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         itemRegistry.getAll().stream().map(item -> new HomekitTaggedItem(item, itemRegistry))
                 .filter(taggedItem -> taggedItem.isAccessory())
                 .filter(taggedItem -> !taggedItem.isMemberOfAccessoryGroup())
-                .forEach(rootTaggedItem -> createRootAccessory(rootTaggedItem));
+                .forEach(rootTaggedItem -> createRootAccessory(rootTaggedItem, getSignature(rootTaggedItem)));
     }
 
     @Override
@@ -79,9 +99,15 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         markDirty(item);
     }
 
+    /**
+     * All items are checked after the debounce period, but only the accessories whose items changed are rebuilt.
+     */
     @Override
-    public void allItemsChanged(Collection<String> oldItemNames) {
-        clearAccessories();
+    public synchronized void allItemsChanged(Collection<String> oldItemNames) {
+        pendingUpdates.addAll(oldItemNames);
+        pendingUpdates.addAll(accessorySignatures.keySet());
+        itemRegistry.getAll().forEach(item -> pendingUpdates.add(item.getName()));
+        applyUpdatesDebouncer.call();
     }
 
     /**
@@ -117,26 +143,73 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     }
 
     private synchronized void applyUpdates() {
-        Iterator<String> iter = pendingUpdates.iterator();
+        long start = System.nanoTime();
+        int rebuilt = 0;
+        int removed = 0;
+
+        for (String name : pendingUpdates) {
+            Optional<HomekitTaggedItem> rootItem = getItemOptional(name).map(i -> new HomekitTaggedItem(i, itemRegistry))
+                    .filter(i -> i.isAccessory() && !i.isMemberOfAccessoryGroup());
+            String signature = rootItem.map(this::getSignature).orElse(null);
+            String oldSignature = accessorySignatures.get(name);
+            if (signature != null && signature.equals(oldSignature)) {
+                // nothing changed, keep the accessory as it is known to the clients
+                continue;
+            }
 
-        while (iter.hasNext()) {
-            String name = iter.next();
+            accessorySignatures.remove(name);
             accessoryRegistry.remove(name);
+            if (rootItem.isPresent()) {
+                createRootAccessory(rootItem.get(), signature);
+                rebuilt++;
+            } else if (oldSignature != null) {
+                removed++;
+            }
+        }
 
-            getItemOptional(name).map(i -> new HomekitTaggedItem(i, itemRegistry))
-                    .filter(i -> i.isAccessory() && !i.isMemberOfAccessoryGroup())
-                    .ifPresent(rootItem -> createRootAccessory(rootItem));
+        lastRebuildChecked = pendingUpdates.size();
+        lastRebuildRebuilt = rebuilt;
+        lastRebuildRemoved = removed;
+        lastRebuildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        rebuilds++;
+        logger.debug("Checked {} items, rebuilt {} accessories in {} ms", lastRebuildChecked, rebuilt,
+                lastRebuildMillis);
+        pendingUpdates.clear();
+    }
+
+    /**
+     * Builds a signature of everything an accessory is created from: name, type, label, category, tags and groups of
+     * the root item and its members. A replaced item instance does not change the signature, its subscriptions are
+     * moved to the new instance, see {@link #updated(Item, Item)}.
+     */
+    private String getSignature(HomekitTaggedItem rootItem) {
+        StringBuilder signature = new StringBuilder();
+        signature.append(settings.hashCode()).append(';');
+        appendSignature(signature, rootItem.getItem());
+        if (rootItem.getItem() instanceof GroupItem) {
+            for (Item member : ((GroupItem) rootItem.getItem()).getMembers()) {
+                appendSignature(signature, member);
+            }
         }
+        return signature.toString();
+    }
+
+    private void appendSignature(StringBuilder signature, Item item) {
+        signature.append(item.getName()).append('|').append(item.getType()).append('|').append(item.getLabel())
+                .append('|').append(item.getCategory()).append('|').append(new TreeSet<>(item.getTags())).append('|')
+                .append(new TreeSet<>(item.getGroupNames())).append(';');
     }
 
     @Override
     public void updated(Item oldElement, Item element) {
+        updater.itemReplaced(oldElement, element);
         markDirty(oldElement);
         markDirty(element);
     }
 
     public synchronized void clearAccessories() {
         accessoryRegistry.clear();
+        accessorySignatures.clear();
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
@@ -147,6 +220,24 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         accessoryRegistry.unsetBridge();
     }
 
+    /**
+     * Returns statistics about the last accessory rebuild and the characteristic changes sent to Homekit
+     */
+    public synchronized Map<String, Number> getStatistics() {
+        Map<String, Number> statistics = new LinkedHashMap<>();
+        statistics.put("accessories", accessorySignatures.size());
+        statistics.put("rebuilds", rebuilds);
+        statistics.put("lastRebuildMillis", lastRebuildMillis);
+        statistics.put("lastRebuildCheckedItems", lastRebuildChecked);
+        statistics.put("lastRebuildRebuiltAccessories", lastRebuildRebuilt);
+        statistics.put("lastRebuildRemovedAccessories", lastRebuildRemoved);
+        statistics.put("stateChanges", updater.getStateChanges());
+        statistics.put("sentEvents", updater.getSentEvents());
+        statistics.put("sentBatches", updater.getSentBatches());
+        statistics.put("largestBatch", updater.getLargestBatch());
+        return statistics;
+    }
+
     public void setUpdater(HomekitAccessoryUpdater updater) {
         this.updater = updater;
     }
@@ -159,7 +250,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         this.itemRegistry.removeRegistryChangeListener(this);
     }
 
-    private void createRootAccessory(HomekitTaggedItem taggedItem) {
+    private void createRootAccessory(HomekitTaggedItem taggedItem, String signature) {
         try {
             if (taggedItem.isMemberOfAccessoryGroup()) {
                 logger.warn("Bug! Cannot add {} as a root accessory if it is a member of a group! ",
@@ -169,6 +260,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
             logger.debug("Adding homekit device {}", taggedItem.getItem().getUID());
             accessoryRegistry.addRootAccessory(taggedItem.getName(),
                     HomekitAccessoryFactory.create(taggedItem, itemRegistry, updater, settings));
+            accessorySignatures.put(taggedItem.getName(), signature);
             logger.debug("Added homekit device {}", taggedItem.getItem().getUID());
         } catch (HomekitException | IncompleteAccessoryException e) {
             logger.warn("Could not add device {}: {}", taggedItem.getItem().getUID(), e.getMessage());
@@ -14,7 +14,10 @@ package org.openhab.io.hueemulation.internal.rest;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -26,8 +29,11 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -38,9 +44,11 @@ import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.StateChangeListener;
 import org.eclipse.smarthome.core.items.events.ItemEventFactory;
 import org.eclipse.smarthome.core.library.CoreItemFactory;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
 import org.openhab.io.hueemulation.internal.ConfigStore;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.NetworkUtils;
@@ -88,6 +96,9 @@ import io.swagger.annotations.ApiResponses;
  * </p>
  *
  * <p>
+ * The JSON bodies of the lights and groups are cached, because some clients poll them several times per second.
+ * The cache of a light is invalidated by a state change of its item, all caches are invalidated by item registry
+ * changes. The cached bodies are served with an ETag, so polling clients can be answered with 304 Not Modified.
  * </p>
  *
  * @author David Graeff - Initial contribution
@@ -97,7 +108,7 @@ import io.swagger.annotations.ApiResponses;
 @NonNullByDefault
 @Path("")
 @Produces(MediaType.APPLICATION_JSON)
-public class LightsAndGroups implements RegistryChangeListener<Item> {
+public class LightsAndGroups implements RegistryChangeListener<Item>, StateChangeListener {
     public static final String EXPOSE_AS_DEVICE_TAG = "huelight";
     private final Logger logger = LoggerFactory.getLogger(LightsAndGroups.class);
     private static final String ITEM_TYPE_GROUP = "Group";
@@ -113,6 +124,26 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
     protected volatile @Nullable EventPublisher eventPublisher;
 
+    /**
+     * A serialized JSON body and its entity tag
+     */
+    static class CachedJson {
+        final String json;
+        final EntityTag etag;
+
+        CachedJson(String json) {
+            this.json = json;
+            this.etag = new EntityTag(Integer.toHexString(json.hashCode()));
+        }
+    }
+
+    /** Serialized lights by item UID */
+    private final Map<String, CachedJson> lightsCache = new ConcurrentHashMap<>();
+    private volatile @Nullable CachedJson allLightsCache;
+    private volatile @Nullable CachedJson allGroupsCache;
+    /** Incremented on every invalidation, so a body serialized concurrently to a change is not cached */
+    private final AtomicLong cacheGeneration = new AtomicLong();
+
     /**
      * Registers to the {@link ItemRegistry} and enumerates currently existing items.
      */
@@ -134,6 +165,34 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Deactivate
     protected void deactivate() {
         itemRegistry.removeRegistryChangeListener(this);
+        for (HueLightEntry light : cs.ds.lights.values()) {
+            light.item.removeStateChangeListener(this);
+        }
+        for (HueGroupEntry group : cs.ds.groups.values()) {
+            if (group.groupItem != null) {
+                group.groupItem.removeStateChangeListener(this);
+            }
+        }
+        invalidateAll();
+    }
+
+    @Override
+    public void stateChanged(Item item, State oldState, State newState) {
+        cacheGeneration.incrementAndGet();
+        lightsCache.remove(item.getUID());
+        allLightsCache = null;
+        allGroupsCache = null;
+    }
+
+    @Override
+    public void stateUpdated(Item item, State state) {
+    }
+
+    private void invalidateAll() {
+        cacheGeneration.incrementAndGet();
+        lightsCache.clear();
+        allLightsCache = null;
+        allGroupsCache = null;
     }
 
     @Override
@@ -142,6 +201,7 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             return;
         }
         GenericItem element = (GenericItem) newElement;
+        invalidateAll();
 
         if (!(element instanceof GroupItem) && !ALLOWED_ITEM_TYPES.contains(element.getType())) {
             return;
@@ -173,10 +233,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
                 group.lights.add(cs.mapItemUIDtoHueID(item));
             }
 
+            g.addStateChangeListener(this);
             cs.ds.groups.put(hueID, group);
         } else {
             HueLightEntry device = new HueLightEntry(element, cs.ds.config.uuid + "-" + hueID.toString(), deviceType);
             device.item = element;
+            element.addStateChangeListener(this);
             cs.ds.lights.put(hueID, device);
             updateGroup0();
         }
@@ -194,8 +256,15 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     public synchronized void removed(Item element) {
         String hueID = cs.mapItemUIDtoHueID(element);
         logger.debug("Remove item {}", hueID);
-        cs.ds.lights.remove(hueID);
-        cs.ds.groups.remove(hueID);
+        HueLightEntry hueDevice = cs.ds.lights.remove(hueID);
+        if (hueDevice != null) {
+            hueDevice.item.removeStateChangeListener(this);
+        }
+        invalidateAll();
+        HueGroupEntry hueGroup = cs.ds.groups.remove(hueID);
+        if (hueGroup != null && hueGroup.groupItem != null) {
+            hueGroup.groupItem.removeStateChangeListener(this);
+        }
         updateGroup0();
     }
 
@@ -209,14 +278,19 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             return;
         }
         GenericItem element = (GenericItem) newElement;
+        invalidateAll();
 
         String hueID = cs.mapItemUIDtoHueID(element);
 
         HueGroupEntry hueGroup = cs.ds.groups.get(hueID);
         if (hueGroup != null) {
             DeviceType t = StateUtils.determineTargetType(cs, element);
+            if (hueGroup.groupItem != null) {
+                hueGroup.groupItem.removeStateChangeListener(this);
+            }
             if (t != null && element instanceof GroupItem) {
                 hueGroup.updateItem((GroupItem) element);
+                element.addStateChangeListener(this);
             } else {
                 cs.ds.groups.remove(hueID);
             }
@@ -236,19 +310,85 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
             return;
         }
 
+        hueDevice.item.removeStateChangeListener(this);
         hueDevice.updateItem(element);
+        element.addStateChangeListener(this);
+    }
+
+    /**
+     * Returns the serialized light of the given item, from the cache if possible
+     */
+    private String getLightJson(HueLightEntry light) {
+        String itemUID = light.item.getUID();
+        CachedJson cached = lightsCache.get(itemUID);
+        if (cached != null) {
+            return cached.json;
+        }
+        long generation = cacheGeneration.get();
+        String json = cs.gson.toJson(light);
+        if (generation == cacheGeneration.get()) {
+            lightsCache.put(itemUID, new CachedJson(json));
+        }
+        return json;
+    }
+
+    /**
+     * Returns the serialized lights collection, assembled from the serialized single lights.
+     */
+    synchronized CachedJson getAllLightsJson() {
+        CachedJson cached = allLightsCache;
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cacheGeneration.get();
+        StringBuilder builder = new StringBuilder("{");
+        for (Map.Entry<String, HueLightEntry> entry : cs.ds.lights.entrySet()) {
+            if (builder.length() > 1) {
+                builder.append(',');
+            }
+            builder.append(cs.gson.toJson(entry.getKey())).append(':').append(getLightJson(entry.getValue()));
+        }
+        cached = new CachedJson(builder.append('}').toString());
+        if (generation == cacheGeneration.get()) {
+            allLightsCache = cached;
+        }
+        return cached;
+    }
+
+    synchronized CachedJson getAllGroupsJson() {
+        CachedJson cached = allGroupsCache;
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cacheGeneration.get();
+        cached = new CachedJson(cs.gson.toJson(cs.ds.groups));
+        if (generation == cacheGeneration.get()) {
+            allGroupsCache = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Answers with 304 Not Modified, if the client already has the cached body, otherwise with the body.
+     */
+    private static Response cachedResponse(Request request, CachedJson cached) {
+        ResponseBuilder notModified = request.evaluatePreconditions(cached.etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(cached.json).tag(cached.etag).build();
     }
 
     @GET
     @Path("{username}/lights")
     @ApiOperation(value = "Return all lights")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @ApiParam(value = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return cachedResponse(request, getAllLightsJson());
     }
 
     @GET
@@ -285,7 +425,11 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        HueLightEntry light = cs.ds.lights.get(id);
+        if (light == null) {
+            return Response.ok(cs.gson.toJson(null)).build();
+        }
+        return Response.ok(getLightJson(light)).build();
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -411,6 +555,8 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
 
         // First synchronize the internal state information with the framework
         hueDevice.action = StateUtils.colorStateFromItemState(groupItem.getState(), hueDevice.deviceType);
+        cacheGeneration.incrementAndGet();
+        allGroupsCache = null;
 
         List<HueResponse> responses = new ArrayList<>();
         Command command = StateUtils.computeCommandByState(responses, "/groups/" + id + "/state/", hueDevice.action,
@@ -436,12 +582,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Path("{username}/groups")
     @ApiOperation(value = "Return all groups")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getAllGroupsApi(@Context UriInfo uri,
+    public Response getAllGroupsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @ApiParam(value = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.groups)).build();
+        return cachedResponse(request, getAllGroupsJson());
     }
 
     @GET
@@ -339,6 +339,88 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsNotModified() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaderString("ETag");
+        assertThat(etag, notNullValue());
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header("If-None-Match", etag).get();
+        assertEquals(304, response.getStatus());
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/groups").request().get();
+        assertEquals(200, response.getStatus());
+        etag = response.getHeaderString("ETag");
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/groups").request()
+                .header("If-None-Match", etag).get();
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    public void cachedLightsFollowItemState() {
+        SwitchItem item = new SwitchItem("switch1");
+        item.setCategory("Light");
+        itemRegistry.add(item);
+        String hueID = cs.mapItemUIDtoHueID(item);
+
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        String etag = response.getHeaderString("ETag");
+        assertThat(response.readEntity(String.class), not(containsString("\"on\":true")));
+
+        item.setState(OnOffType.ON);
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header("If-None-Match", etag).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.readEntity(String.class), containsString("\"on\":true"));
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights/" + hueID).request().get();
+        assertThat(response.readEntity(String.class), containsString("\"on\":true"));
+
+        // A removed item must vanish from the cached collection
+        itemRegistry.remove(item.getUID());
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertThat(response.readEntity(String.class), not(containsString("\"" + hueID + "\":")));
+    }
+
+    @Test
+    public void cachedAllLightsFollowStateChanges() {
+        ColorItem[] items = new ColorItem[20];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new ColorItem("color" + i);
+            items[i].setCategory("ColorLight");
+            items[i].setState(new HSBType("120,50,50"));
+            itemRegistry.add(items[i]);
+        }
+        String cached = subject.getAllLightsJson().json;
+        assertEquals(cs.gson.toJson(cs.ds.lights), cached);
+        // A second request is served from the cache
+        assertSame(cached, subject.getAllLightsJson().json);
+
+        items[5].setState(new HSBType("240,100,100"));
+
+        String changed = subject.getAllLightsJson().json;
+        assertNotEquals(cached, changed);
+        assertEquals(cs.gson.toJson(cs.ds.lights), changed);
+    }
+
+    @Test
+    public void cachedAllGroupsFollowGroupStateChanges() {
+        GroupItem item = new GroupItem("group1", new SwitchItem("switch1"));
+        item.addTag("Switchable");
+        itemRegistry.add(item);
+
+        String cached = subject.getAllGroupsJson().json;
+        // A second request is served from the cache
+        assertSame(cached, subject.getAllGroupsJson().json);
+
+        item.setState(OnOffType.ON);
+
+        assertNotSame(cached, subject.getAllGroupsJson().json);
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
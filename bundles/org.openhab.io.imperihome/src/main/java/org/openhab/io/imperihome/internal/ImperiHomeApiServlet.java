@@ -131,7 +131,8 @@ public class ImperiHomeApiServlet extends HttpServlet {
         roomListHandler = new RoomListHandler(deviceRegistry);
         devicesListHandler = new DevicesListHandler(deviceRegistry);
         deviceActionHandler = new DeviceActionHandler(deviceRegistry);
-        deviceHistoryHandler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry);
+        deviceHistoryHandler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry,
+                imperiHomeConfig);
 
         try {
             Dictionary<String, String> servletParams = new Hashtable<String, String>();
@@ -150,6 +151,9 @@ public class ImperiHomeApiServlet extends HttpServlet {
     @Modified
     protected void modified(Map<String, Object> config) {
         imperiHomeConfig.update(config);
+        if (deviceHistoryHandler != null) {
+            deviceHistoryHandler.clearCache();
+        }
     }
 
     /**
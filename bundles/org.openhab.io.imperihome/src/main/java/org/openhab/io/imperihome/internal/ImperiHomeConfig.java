@@ -25,10 +25,13 @@ import org.slf4j.LoggerFactory;
  */
 public class ImperiHomeConfig {
 
+    private static final int DEFAULT_HISTORY_MAX_POINTS = 500;
+
     private final Logger logger = LoggerFactory.getLogger(ImperiHomeConfig.class);
 
     private String systemId;
     private String rootUrl;
+    private int historyMaxPoints = DEFAULT_HISTORY_MAX_POINTS;
 
     public void update(Map<String, Object> config) {
         Object cSystemId = config.get("system.id");
@@ -46,6 +49,16 @@ public class ImperiHomeConfig {
             }
         }
 
+        historyMaxPoints = DEFAULT_HISTORY_MAX_POINTS;
+        Object maxPointsObj = config.get("history.maxPoints");
+        if (maxPointsObj != null && !maxPointsObj.toString().isEmpty()) {
+            try {
+                historyMaxPoints = Integer.parseInt(maxPointsObj.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid history.maxPoints '{}', using {}", maxPointsObj, DEFAULT_HISTORY_MAX_POINTS);
+            }
+        }
+
         logger.info("Configuration updated");
     }
 
@@ -57,4 +70,8 @@ public class ImperiHomeConfig {
         return rootUrl;
     }
 
+    public int getHistoryMaxPoints() {
+        return historyMaxPoints;
+    }
+
 }
@@ -14,22 +14,27 @@ package org.openhab.io.imperihome.internal.handler;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
+import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceServiceRegistry;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
 import org.eclipse.smarthome.core.types.State;
-import org.openhab.io.imperihome.internal.model.HistoryItem;
+import org.openhab.io.imperihome.internal.ImperiHomeConfig;
 import org.openhab.io.imperihome.internal.model.HistoryList;
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
 import org.openhab.io.imperihome.internal.processor.DeviceRegistry;
@@ -38,21 +43,51 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Device history request handler.
+ * <p>
+ * Persistence is queried page by page and the values are downsampled while they are read (see
+ * {@link HistoryDownsampler}), so the full range is never held in memory. The downsampled results are cached for
+ * {@link #CACHE_TIME} milliseconds. The requested range is aligned to the downsampling buckets, so repeated requests
+ * for "the last 30 days" hit the cache, although the end timestamp is slightly later each time.
  *
  * @author Pepijn de Geus - Initial contribution
  */
 public class DeviceHistoryHandler {
 
     private static final String CHARSET = "UTF-8";
+    private static final int PAGE_SIZE = 1000;
+    private static final long CACHE_TIME = 60000;
+    private static final int CACHE_SIZE = 32;
 
     private final Logger logger = LoggerFactory.getLogger(DeviceHistoryHandler.class);
 
     private final DeviceRegistry deviceRegistry;
     private final PersistenceServiceRegistry persistenceServiceRegistry;
+    private final ImperiHomeConfig config;
 
-    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry) {
+    private final Map<String, CachedHistory> cache = new LinkedHashMap<String, CachedHistory>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedHistory> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private static class CachedHistory {
+        private final HistoryList historyList;
+        private final long expires;
+
+        private CachedHistory(HistoryList historyList, long expires) {
+            this.historyList = historyList;
+            this.expires = expires;
+        }
+    }
+
+    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry,
+            ImperiHomeConfig config) {
         this.deviceRegistry = deviceRegistry;
         this.persistenceServiceRegistry = persistenceServiceRegistry;
+        this.config = config;
     }
 
     public HistoryList handle(HttpServletRequest req, Matcher urlMatcher) {
@@ -85,39 +120,116 @@ public class DeviceHistoryHandler {
             return null;
         }
 
-        return serveHistory(device, (QueryablePersistenceService) persistence, start, end);
+        int maxPoints = config.getHistoryMaxPoints();
+        if (maxPoints <= 0) {
+            return serveHistory(device, (QueryablePersistenceService) persistence, start, end, 0);
+        }
+
+        // Align the range to the buckets, so subsequent requests return the same buckets
+        long bucketWidth = Math.max(1, (end - start) / Math.max(1, maxPoints / 2));
+        long alignedStart = start - start % bucketWidth;
+        long alignedEnd = end - end % bucketWidth + bucketWidth - 1;
+        String cacheKey = persistence.getId() + "|" + device.getItemName() + "|" + alignedStart + "|" + alignedEnd
+                + "|" + maxPoints;
+
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            CachedHistory cached = cache.get(cacheKey);
+            if (cached != null && cached.expires > now) {
+                logger.debug("Serving history of Item {} from cache", device.getItemName());
+                return clip(cached.historyList, start, end);
+            }
+        }
+
+        HistoryList historyList = serveHistory(device, (QueryablePersistenceService) persistence, alignedStart,
+                alignedEnd, maxPoints);
+        synchronized (cache) {
+            cache.put(cacheKey, new CachedHistory(historyList, now + CACHE_TIME));
+        }
+        return clip(historyList, start, end);
+    }
+
+    /**
+     * Returns the values of the requested range, the cached history covers the aligned range
+     */
+    private HistoryList clip(HistoryList historyList, long start, long end) {
+        return new HistoryList(historyList.getValues().stream()
+                .filter(value -> value.getDate() >= start && value.getDate() <= end).collect(Collectors.toList()));
+    }
+
+    /**
+     * Removes all cached history results
+     */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
     }
 
     private HistoryList serveHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
-            long end) {
+            long end, int maxPoints) {
         logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), start, end);
 
-        FilterCriteria criteria = new FilterCriteria().setItemName(device.getItemName()).setBeginDate(new Date(start))
-                .setEndDate(new Date(end));
-
-        List<HistoryItem> resultItems = new LinkedList<>();
-        Iterable<HistoricItem> historicItems = persistence.query(criteria);
+        // Without downsampling all values are kept
+        HistoryDownsampler downsampler = new HistoryDownsampler(maxPoints > 0 ? maxPoints : Integer.MAX_VALUE, start,
+                end);
+        int receivedItems = readHistory(persistence, device.getItemName(), start, end, PAGE_SIZE, downsampler);
 
-        Iterator<HistoricItem> iterator = historicItems.iterator();
-        if (!iterator.hasNext()) {
+        if (receivedItems == 0) {
             logger.info("Persistence returned no results for history query");
-        } else {
+        } else if (downsampler.getAddedItems() == 0) {
+            logger.warn("Persistence returned results for history query, but could not be interpreted as DecimalTypes");
+        }
+
+        HistoryList historyList = new HistoryList(downsampler.getResult());
+        logger.debug("Serving {} of {} history values of Item {}", historyList.getValues().size(), receivedItems,
+                device.getItemName());
+        return historyList;
+    }
+
+    /**
+     * Reads the values of the range page by page and adds them to the downsampler
+     *
+     * @return the number of values received from persistence
+     */
+    static int readHistory(QueryablePersistenceService persistence, String itemName, long start, long end,
+            int pageSize, HistoryDownsampler downsampler) {
+        int receivedItems = 0;
+        // Several values may share a timestamp, so only values returned on the previous page are duplicates
+        Set<String> previousPage = Collections.emptySet();
+        for (int pageNumber = 0;; pageNumber++) {
+            FilterCriteria criteria = new FilterCriteria().setItemName(itemName).setBeginDate(new Date(start))
+                    .setEndDate(new Date(end)).setOrdering(Ordering.ASCENDING).setPageSize(pageSize)
+                    .setPageNumber(pageNumber);
+
+            int pageItems = 0;
+            int newItems = 0;
+            Set<String> page = new HashSet<>();
+            Iterator<HistoricItem> iterator = persistence.query(criteria).iterator();
             while (iterator.hasNext()) {
                 HistoricItem historicItem = iterator.next();
+                pageItems++;
+                long timestamp = historicItem.getTimestamp().getTime();
                 State state = historicItem.getState();
+                String key = timestamp + "|" + state;
+                page.add(key);
+                if (previousPage.contains(key)) {
+                    // persistence services ignoring the page number return the previous page again
+                    continue;
+                }
+                newItems++;
                 if (state instanceof DecimalType) {
-                    Number value = ((DecimalType) state).toBigDecimal();
-                    resultItems.add(new HistoryItem(historicItem.getTimestamp(), value));
+                    downsampler.add(timestamp, ((DecimalType) state).toBigDecimal());
                 }
             }
+            receivedItems += newItems;
+            previousPage = page;
 
-            if (resultItems.isEmpty()) {
-                logger.warn(
-                        "Persistence returned results for history query, but could not be interpreted as DecimalTypes");
+            // The last page is not full, persistence services ignoring the page size return everything at once
+            if (pageItems != pageSize || newItems == 0) {
+                break;
             }
         }
-
-        return new HistoryList(resultItems);
+        return receivedItems;
     }
-
 }
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+
+/**
+ * Reduces a series of history values to a maximum number of points while they are read.
+ * <p>
+ * As long as no more than the maximum number of values were added, all values are kept. Then the requested range is
+ * divided into buckets of equal duration and only the minimum and the maximum value of each bucket are kept, in the
+ * order of their timestamps. This keeps peaks visible in the graph, which averaging would flatten. With a maximum of
+ * a single point, only the maximum value is kept. Memory usage depends on the maximum number of points only, not on
+ * the number of values added.
+ *
+ * @author Pepijn de Geus - Initial contribution
+ */
+class HistoryDownsampler {
+
+    private final int maxPoints;
+    private final long start;
+    private final long end;
+    private Bucket[] buckets;
+    private double bucketWidth;
+
+    private List<HistoryItem> rawItems = new ArrayList<>();
+    private int addedItems;
+
+    private static class Bucket {
+        private long minDate;
+        private Number minValue;
+        private long maxDate;
+        private Number maxValue;
+
+        private Bucket(long date, Number value) {
+            minDate = maxDate = date;
+            minValue = maxValue = value;
+        }
+
+        private void add(long date, Number value) {
+            if (value.doubleValue() < minValue.doubleValue()) {
+                minDate = date;
+                minValue = value;
+            }
+            if (value.doubleValue() > maxValue.doubleValue()) {
+                maxDate = date;
+                maxValue = value;
+            }
+        }
+    }
+
+    /**
+     * @param maxPoints the maximum number of points of the result, at least 1
+     * @param start the start of the requested range in milliseconds
+     * @param end the end of the requested range in milliseconds
+     */
+    HistoryDownsampler(int maxPoints, long start, long end) {
+        this.maxPoints = maxPoints;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Adds a value. Values should be added in the order of their timestamps.
+     */
+    void add(long date, Number value) {
+        addedItems++;
+        if (rawItems != null) {
+            rawItems.add(new HistoryItem(date, value));
+            if (rawItems.size() <= maxPoints) {
+                return;
+            }
+            // too many values, switch to buckets
+            buckets = new Bucket[Math.max(1, maxPoints / 2)];
+            bucketWidth = Math.max(1, end - start) / (double) buckets.length;
+            List<HistoryItem> items = rawItems;
+            rawItems = null;
+            for (HistoryItem item : items) {
+                addToBucket(item.getDate(), item.getValue());
+            }
+            return;
+        }
+        addToBucket(date, value);
+    }
+
+    private void addToBucket(long date, Number value) {
+        int index = (int) ((date - start) / bucketWidth);
+        index = Math.max(0, Math.min(buckets.length - 1, index));
+        Bucket bucket = buckets[index];
+        if (bucket == null) {
+            buckets[index] = new Bucket(date, value);
+        } else {
+            bucket.add(date, value);
+        }
+    }
+
+    /**
+     * Returns the number of values added, before downsampling
+     */
+    int getAddedItems() {
+        return addedItems;
+    }
+
+    /**
+     * Returns the downsampled values in the order of their timestamps
+     */
+    List<HistoryItem> getResult() {
+        if (rawItems != null) {
+            return rawItems;
+        }
+        List<HistoryItem> result = new ArrayList<>(buckets.length * 2);
+        for (Bucket bucket : buckets) {
+            if (bucket == null) {
+                continue;
+            }
+            if (maxPoints < 2 || bucket.minValue == bucket.maxValue) {
+                result.add(new HistoryItem(bucket.maxDate, bucket.maxValue));
+            } else if (bucket.minDate <= bucket.maxDate) {
+                result.add(new HistoryItem(bucket.minDate, bucket.minValue));
+                result.add(new HistoryItem(bucket.maxDate, bucket.maxValue));
+            } else {
+                result.add(new HistoryItem(bucket.maxDate, bucket.maxValue));
+                result.add(new HistoryItem(bucket.minDate, bucket.minValue));
+            }
+        }
+        return result;
+    }
+}
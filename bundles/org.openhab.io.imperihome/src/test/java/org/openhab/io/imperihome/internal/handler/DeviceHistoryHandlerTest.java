@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.Test;
+
+/**
+ * Tests reading the history page by page in {@link DeviceHistoryHandler}.
+ *
+ * @author Pepijn de Geus - Initial contribution
+ */
+public class DeviceHistoryHandlerTest {
+
+    private final List<HistoricItem> values = Arrays.asList(historicItem(100, 1), historicItem(100, 2),
+            historicItem(100, 3), historicItem(200, 4), historicItem(300, 5));
+
+    private final QueryablePersistenceService persistence = mock(QueryablePersistenceService.class);
+
+    private final HistoryDownsampler downsampler = new HistoryDownsampler(Integer.MAX_VALUE, 0, 1000);
+
+    private static HistoricItem historicItem(long timestamp, int value) {
+        return new HistoricItem() {
+            @Override
+            public Date getTimestamp() {
+                return new Date(timestamp);
+            }
+
+            @Override
+            public State getState() {
+                return new DecimalType(value);
+            }
+
+            @Override
+            public String getName() {
+                return "item";
+            }
+        };
+    }
+
+    private void answerPages() {
+        when(persistence.query(any())).thenAnswer(invocation -> {
+            FilterCriteria criteria = invocation.getArgument(0);
+            int from = Math.min(values.size(), criteria.getPageNumber() * criteria.getPageSize());
+            return values.subList(from, Math.min(values.size(), from + criteria.getPageSize()));
+        });
+    }
+
+    private int readHistory(int pageSize) {
+        return DeviceHistoryHandler.readHistory(persistence, "item", 0, 1000, pageSize, downsampler);
+    }
+
+    @Test
+    public void testValuesWithEqualTimestampsAcrossPagesAreKept() {
+        answerPages();
+
+        assertEquals(5, readHistory(2));
+        assertEquals(5, downsampler.getAddedItems());
+    }
+
+    @Test
+    public void testLastPageEndingAtThePageSize() {
+        answerPages();
+
+        assertEquals(5, readHistory(5));
+        assertEquals(5, downsampler.getAddedItems());
+        verify(persistence, times(2)).query(any());
+    }
+
+    @Test
+    public void testRepeatedPageIsSkipped() {
+        // a persistence service ignoring the page number
+        when(persistence.query(any())).thenReturn(values);
+
+        assertEquals(5, readHistory(5));
+        assertEquals(5, downsampler.getAddedItems());
+        verify(persistence, times(2)).query(any());
+    }
+
+    @Test
+    public void testAllValuesOnTheFirstPage() {
+        // a persistence service ignoring the page size
+        when(persistence.query(any())).thenReturn(values);
+
+        assertEquals(5, readHistory(2));
+        assertEquals(5, downsampler.getAddedItems());
+        verify(persistence, times(1)).query(any());
+    }
+}
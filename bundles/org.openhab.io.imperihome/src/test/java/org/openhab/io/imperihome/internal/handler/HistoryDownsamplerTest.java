@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+
+/**
+ * Tests {@link HistoryDownsampler}.
+ *
+ * @author Pepijn de Geus - Initial contribution
+ */
+public class HistoryDownsamplerTest {
+
+    @Test
+    public void testAllValuesAreKeptUpToMaxPoints() {
+        HistoryDownsampler downsampler = new HistoryDownsampler(3, 0, 1000);
+        downsampler.add(100, 1);
+        downsampler.add(200, 2);
+        downsampler.add(300, 3);
+
+        List<HistoryItem> result = downsampler.getResult();
+        assertEquals(3, result.size());
+        assertEquals(3, downsampler.getAddedItems());
+    }
+
+    @Test
+    public void testMinimumAndMaximumOfEachBucketAreKept() {
+        HistoryDownsampler downsampler = new HistoryDownsampler(4, 0, 1000);
+        downsampler.add(100, 5);
+        downsampler.add(200, 9);
+        downsampler.add(300, 1);
+        downsampler.add(600, 4);
+        downsampler.add(700, 2);
+
+        List<HistoryItem> result = downsampler.getResult();
+        assertEquals(4, result.size());
+        assertEquals(200, result.get(0).getDate());
+        assertEquals(9, result.get(0).getValue().intValue());
+        assertEquals(300, result.get(1).getDate());
+        assertEquals(1, result.get(1).getValue().intValue());
+        assertEquals(600, result.get(2).getDate());
+        assertEquals(700, result.get(3).getDate());
+    }
+
+    @Test
+    public void testMaxPointsOfOneKeepsTheMaximum() {
+        HistoryDownsampler downsampler = new HistoryDownsampler(1, 0, 1000);
+        downsampler.add(100, 5);
+        downsampler.add(200, 9);
+        downsampler.add(300, 1);
+
+        List<HistoryItem> result = downsampler.getResult();
+        assertEquals(1, result.size());
+        assertEquals(200, result.get(0).getDate());
+        assertEquals(9, result.get(0).getValue().intValue());
+    }
+
+    @Test
+    public void testValuesWithEqualTimestampsAreKept() {
+        HistoryDownsampler downsampler = new HistoryDownsampler(2, 0, 1000);
+        downsampler.add(100, 5);
+        downsampler.add(100, 9);
+        downsampler.add(100, 1);
+
+        List<HistoryItem> result = downsampler.getResult();
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(0).getValue().intValue());
+        assertEquals(9, result.get(1).getValue().intValue());
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.mqttembeddedbroker.internal;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Console command showing the statistics of the embedded broker
+ *
+ * @author David Graeff - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+@NonNullByDefault
+public class BrokerConsoleCommandExtension extends AbstractConsoleCommandExtension {
+    private static final String SUBCMD_STATUS = "status";
+
+    private final EmbeddedBrokerService brokerService;
+
+    @Activate
+    public BrokerConsoleCommandExtension(@Reference EmbeddedBrokerService brokerService) {
+        super("mqttbroker", "Show the status of the embedded MQTT broker.");
+        this.brokerService = brokerService;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && SUBCMD_STATUS.equals(args[0])) {
+            brokerService.getStatistics().forEach((name, value) -> console.println(name + ": " + value));
+            brokerService.getMessagesPerSecondByTopicPrefix().forEach((prefix, rate) -> console
+                    .println("load/topics/" + prefix + "/persecond: " + String.format(Locale.ROOT, "%.2f", rate)));
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.singletonList(
+                buildCommandUsage(SUBCMD_STATUS, "shows the clients, messages and bytes per second of the broker"));
+    }
+}
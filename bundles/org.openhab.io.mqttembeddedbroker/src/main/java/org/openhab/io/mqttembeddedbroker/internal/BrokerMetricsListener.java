@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.mqttembeddedbroker.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.moquette.interception.InterceptHandler;
+import io.moquette.interception.messages.InterceptAcknowledgedMessage;
+import io.moquette.interception.messages.InterceptConnectMessage;
+import io.moquette.interception.messages.InterceptConnectionLostMessage;
+import io.moquette.interception.messages.InterceptDisconnectMessage;
+import io.moquette.interception.messages.InterceptPublishMessage;
+import io.moquette.interception.messages.InterceptSubscribeMessage;
+import io.moquette.interception.messages.InterceptUnsubscribeMessage;
+
+/**
+ * Counts the connections, subscriptions and published messages of the embedded broker.
+ * <p>
+ * Rates are computed by {@link #sample(long)}, which is called periodically, and refer to the time since the last
+ * sample. Messages are additionally counted per topic prefix (the first topic level), e.g. "zigbee2mqtt" or "tele".
+ * The number of tracked prefixes is limited to {@link #MAX_TOPIC_PREFIXES}, further prefixes are counted as "+".
+ * Messages to "$SYS" topics are not counted.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class BrokerMetricsListener implements InterceptHandler {
+    static final int MAX_TOPIC_PREFIXES = 32;
+    static final String OTHER_TOPIC_PREFIX = "+";
+    static final String SYS_TOPIC_PREFIX = "$SYS";
+
+    private final Logger logger = LoggerFactory.getLogger(BrokerMetricsListener.class);
+
+    private final AtomicLong connects = new AtomicLong();
+    private final AtomicLong disconnects = new AtomicLong();
+    private final AtomicLong subscribes = new AtomicLong();
+    private final AtomicLong unsubscribes = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final Map<String, AtomicLong> messagesByPrefix = new ConcurrentHashMap<>();
+    private final Set<String> retainedTopics = ConcurrentHashMap.newKeySet();
+
+    // guarded by this
+    private long lastSampleTime = System.currentTimeMillis();
+    private long lastMessages;
+    private long lastBytes;
+    private Map<String, Long> lastMessagesByPrefix = new HashMap<>();
+    private double messagesPerSecond;
+    private double bytesPerSecond;
+    private Map<String, Double> messagesPerSecondByPrefix = Collections.emptyMap();
+
+    @Override
+    public String getID() {
+        return "metrics";
+    }
+
+    @Override
+    public Class<?>[] getInterceptedMessageTypes() {
+        return InterceptHandler.ALL_MESSAGE_TYPES;
+    }
+
+    @Override
+    public void onConnect(@NonNullByDefault({}) InterceptConnectMessage msg) {
+        connects.incrementAndGet();
+        logger.debug("MQTT Client connected: {}", msg.getClientID());
+    }
+
+    @Override
+    public void onConnectionLost(@NonNullByDefault({}) InterceptConnectionLostMessage msg) {
+        disconnects.incrementAndGet();
+        logger.debug("MQTT Client connection lost: {}", msg.getClientID());
+    }
+
+    @Override
+    public void onDisconnect(@NonNullByDefault({}) InterceptDisconnectMessage msg) {
+        disconnects.incrementAndGet();
+        logger.debug("MQTT Client disconnected: {}", msg.getClientID());
+    }
+
+    @Override
+    public void onMessageAcknowledged(@NonNullByDefault({}) InterceptAcknowledgedMessage msg) {
+    }
+
+    @Override
+    public void onPublish(@NonNullByDefault({}) InterceptPublishMessage msg) {
+        String topic = msg.getTopicName();
+        if (topic.startsWith(SYS_TOPIC_PREFIX)) {
+            return;
+        }
+        int size = msg.getPayload().readableBytes();
+        published(topic, size, msg.isRetainFlag());
+    }
+
+    /**
+     * Counts a published message
+     *
+     * @param topic the topic of the message
+     * @param size the payload size in bytes
+     * @param retain the retain flag of the message
+     */
+    void published(String topic, int size, boolean retain) {
+        messages.incrementAndGet();
+        bytes.addAndGet(size);
+
+        int separator = topic.indexOf('/');
+        String prefix = separator < 0 ? topic : topic.substring(0, separator);
+        AtomicLong counter = messagesByPrefix.get(prefix);
+        if (counter == null) {
+            counter = messagesByPrefix.size() < MAX_TOPIC_PREFIXES
+                    ? messagesByPrefix.computeIfAbsent(prefix, p -> new AtomicLong())
+                    : messagesByPrefix.computeIfAbsent(OTHER_TOPIC_PREFIX, p -> new AtomicLong());
+        }
+        counter.incrementAndGet();
+
+        if (retain) {
+            // An empty retained message removes the retained message of the topic
+            if (size == 0) {
+                retainedTopics.remove(topic);
+            } else {
+                retainedTopics.add(topic);
+            }
+        }
+    }
+
+    @Override
+    public void onSubscribe(@NonNullByDefault({}) InterceptSubscribeMessage msg) {
+        subscribes.incrementAndGet();
+    }
+
+    @Override
+    public void onUnsubscribe(@NonNullByDefault({}) InterceptUnsubscribeMessage msg) {
+        unsubscribes.incrementAndGet();
+    }
+
+    /**
+     * Computes the rates since the last sample
+     *
+     * @param now the current time in milliseconds
+     */
+    synchronized void sample(long now) {
+        long elapsed = now - lastSampleTime;
+        if (elapsed <= 0) {
+            return;
+        }
+        long currentMessages = messages.get();
+        long currentBytes = bytes.get();
+        messagesPerSecond = (currentMessages - lastMessages) * 1000.0 / elapsed;
+        bytesPerSecond = (currentBytes - lastBytes) * 1000.0 / elapsed;
+
+        Map<String, Long> currentMessagesByPrefix = new HashMap<>();
+        Map<String, Double> ratesByPrefix = new TreeMap<>();
+        messagesByPrefix.forEach((prefix, counter) -> {
+            long count = counter.get();
+            currentMessagesByPrefix.put(prefix, count);
+            ratesByPrefix.put(prefix, (count - lastMessagesByPrefix.getOrDefault(prefix, 0L)) * 1000.0 / elapsed);
+        });
+
+        lastSampleTime = now;
+        lastMessages = currentMessages;
+        lastBytes = currentBytes;
+        lastMessagesByPrefix = currentMessagesByPrefix;
+        messagesPerSecondByPrefix = Collections.unmodifiableMap(ratesByPrefix);
+    }
+
+    public long getConnects() {
+        return connects.get();
+    }
+
+    public long getDisconnects() {
+        return disconnects.get();
+    }
+
+    public long getSubscribes() {
+        return subscribes.get();
+    }
+
+    public long getUnsubscribes() {
+        return unsubscribes.get();
+    }
+
+    public long getMessages() {
+        return messages.get();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * Returns the number of topics with a retained message, which were published since the broker started
+     */
+    public int getRetainedTopics() {
+        return retainedTopics.size();
+    }
+
+    public synchronized double getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    public synchronized double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public synchronized Map<String, Double> getMessagesPerSecondByPrefix() {
+        return messagesPerSecondByPrefix;
+    }
+}
@@ -15,6 +15,7 @@ package org.openhab.io.mqttembeddedbroker.internal;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -23,10 +24,13 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -38,6 +42,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
 import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionObserver;
 import org.eclipse.smarthome.io.transport.mqtt.MqttConnectionState;
@@ -55,14 +60,10 @@ import io.moquette.broker.Server;
 import io.moquette.broker.config.MemoryConfig;
 import io.moquette.broker.security.IAuthenticator;
 import io.moquette.broker.security.IAuthorizatorPolicy;
-import io.moquette.interception.InterceptHandler;
-import io.moquette.interception.messages.InterceptAcknowledgedMessage;
-import io.moquette.interception.messages.InterceptConnectMessage;
-import io.moquette.interception.messages.InterceptConnectionLostMessage;
-import io.moquette.interception.messages.InterceptDisconnectMessage;
-import io.moquette.interception.messages.InterceptPublishMessage;
-import io.moquette.interception.messages.InterceptSubscribeMessage;
-import io.moquette.interception.messages.InterceptUnsubscribeMessage;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.mqtt.MqttMessageBuilders;
+import io.netty.handler.codec.mqtt.MqttPublishMessage;
+import io.netty.handler.codec.mqtt.MqttQoS;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 
@@ -72,6 +73,9 @@ import io.netty.handler.ssl.SslContextBuilder;
  * <p>
  * For now tls connections are offered with an accept-all trust manager
  * and a predefined keystore if "secure" is set to true.
+ * <p>
+ * The broker statistics collected by the {@link BrokerMetricsListener} are published
+ * periodically to "$SYS/broker/..." topics and are available via {@link #getStatistics()}.
  *
  * @author David Graeff - Initial contribution
  */
@@ -85,61 +89,17 @@ public class EmbeddedBrokerService
         implements ConfigurableService, MqttConnectionObserver, MqttServiceObserver, MqttEmbeddedBrokerStartedListener {
     private final MqttService service;
     private String persistenceFilename = "";
+    private int persistenceFlushInterval = 30;
+    private int sysInterval = 10;
+    private static final int DEFAULT_SAMPLE_INTERVAL = 10;
+    private static final String SYS_CLIENTID = "embedded-mqtt-broker-sys";
+    private @Nullable ScheduledFuture<?> metricsJob;
     // private NetworkServerTls networkServerTls; //TODO wait for NetworkServerTls implementation
 
-    @NonNullByDefault({})
-    class BrokerMetricsListenerEx implements InterceptHandler {
-
-        @Override
-        public String getID() {
-            return "logger";
-        }
-
-        @Override
-        public Class<?>[] getInterceptedMessageTypes() {
-            return new Class<?>[] { InterceptConnectMessage.class, InterceptDisconnectMessage.class };
-        }
-
-        @Override
-        public void onConnect(InterceptConnectMessage arg0) {
-            logger.debug("MQTT Client connected: {}", arg0.getClientID());
-        }
-
-        @Override
-        public void onConnectionLost(InterceptConnectionLostMessage arg0) {
-
-        }
-
-        @Override
-        public void onDisconnect(InterceptDisconnectMessage arg0) {
-            logger.debug("MQTT Client disconnected: {}", arg0.getClientID());
-        }
-
-        @Override
-        public void onMessageAcknowledged(InterceptAcknowledgedMessage arg0) {
-
-        }
-
-        @Override
-        public void onPublish(InterceptPublishMessage arg0) {
-
-        }
-
-        @Override
-        public void onSubscribe(InterceptSubscribeMessage arg0) {
-
-        }
-
-        @Override
-        public void onUnsubscribe(InterceptUnsubscribeMessage arg0) {
-
-        }
-    }
-
     protected @Nullable Server server;
     private final Logger logger = LoggerFactory.getLogger(EmbeddedBrokerService.class);
     protected MqttEmbeddedBrokerDetectStart detectStart = new MqttEmbeddedBrokerDetectStart(this);
-    protected BrokerMetricsListenerEx metrics = new BrokerMetricsListenerEx();
+    protected BrokerMetricsListener metrics = new BrokerMetricsListener();
 
     private @Nullable MqttBrokerConnection connection;
 
@@ -173,12 +133,17 @@ public class EmbeddedBrokerService
             connection.setCredentials(config.username, config.password);
         }
 
+        persistenceFlushInterval = Math.max(1, config.persistenceFlushInterval);
+        sysInterval = Math.max(0, config.sysInterval);
+
         if (!config.persistenceFile.isEmpty()) {
             final String persistenceFilename = config.persistenceFile;
             if (!Paths.get(persistenceFilename).isAbsolute()) {
                 Path path = Paths.get(ConfigConstants.getUserDataFolder()).toAbsolutePath();
                 Files.createDirectories(path);
                 this.persistenceFilename = path.resolve(persistenceFilename).toString();
+            } else {
+                this.persistenceFilename = persistenceFilename;
             }
 
             logger.info("Broker persistence file: {}", persistenceFilename);
@@ -197,22 +162,14 @@ public class EmbeddedBrokerService
         }
         MqttBrokerConnection connection = this.connection;
         if (connection == null) {
-            if (server != null) {
-                server.stopServer();
-            }
-            server = null;
+            stopEmbeddedServer();
             return;
         }
 
         // Clean shutdown: Stop connection, wait for process to finish, shutdown server
         connection.removeConnectionObserver(this);
         try {
-            connection.stop().thenRun(() -> {
-                if (server != null) {
-                    server.stopServer();
-                    server = null;
-                }
-            }).get(10, TimeUnit.SECONDS);
+            connection.stop().thenRun(this::stopEmbeddedServer).get(10, TimeUnit.SECONDS);
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
            logger.warn("Could not cleanly shutdown connection or server.", e);
         }
@@ -293,7 +250,8 @@ public class EmbeddedBrokerService
 
         if (!persistenceFilename.isEmpty()) { // Persistence: If not set, an in-memory database is used.
             properties.put(BrokerConstants.PERSISTENT_STORE_PROPERTY_NAME, persistenceFilename);
-            properties.put(BrokerConstants.AUTOSAVE_INTERVAL_PROPERTY_NAME, "30"); // in seconds
+            properties.put(BrokerConstants.AUTOSAVE_INTERVAL_PROPERTY_NAME,
+                    Integer.toString(persistenceFlushInterval)); // in seconds
         }
 
         // We may provide ACL functionality at some point as well
@@ -304,29 +262,125 @@ public class EmbeddedBrokerService
             server.startServer(new MemoryConfig(properties), null, sslContextCreator, authentificator,
                     authorizer);
         } catch (IllegalArgumentException e) {
-            if (e.getMessage().contains("Could not deserialize")) {
-                Path persistenceFilePath = Paths.get((new File(persistenceFilename)).getAbsolutePath());
-                logger.warn("persistence corrupt: {}, deleting {}", e.getMessage(), persistenceFilePath);
-                Files.delete(persistenceFilePath);
+            if (persistenceFilename.isEmpty() || !String.valueOf(e.getMessage()).contains("Could not deserialize")) {
+                throw e;
+            }
+            PersistenceSnapshot snapshot = new PersistenceSnapshot(
+                    Paths.get((new File(persistenceFilename)).getAbsolutePath()));
+            if (snapshot.restore()) {
+                logger.warn("persistence corrupt: {}, moved to {} and restored the snapshot {}", e.getMessage(),
+                        snapshot.getCorruptFile(), snapshot.getSnapshotFile());
+                try {
+                    server.startServer(new MemoryConfig(properties), null, sslContextCreator, authentificator,
+                            authorizer);
+                } catch (IllegalArgumentException snapshotException) {
+                    logger.warn("persistence snapshot corrupt as well: {}, starting with an empty persistence",
+                            snapshotException.getMessage());
+                    snapshot.discard();
+                    Files.deleteIfExists(Paths.get((new File(persistenceFilename)).getAbsolutePath()));
+                    // retry starting broker, if it fails again, don't catch exception
+                    server.startServer(new MemoryConfig(properties), null, sslContextCreator, authentificator,
+                            authorizer);
+                }
+            } else {
+                logger.warn("persistence corrupt: {}, moved to {}, starting with an empty persistence",
+                        e.getMessage(), snapshot.getCorruptFile());
                 // retry starting broker, if it fails again, don't catch exception
                 server.startServer(new MemoryConfig(properties), null, sslContextCreator, authentificator,
                         authorizer);
             }
         }
         this.server = server;
+        // the statistics are counted from the broker start
+        metrics = new BrokerMetricsListener();
         server.addInterceptHandler(metrics);
+        int sampleInterval = sysInterval > 0 ? sysInterval : DEFAULT_SAMPLE_INTERVAL;
+        metricsJob = ThreadPoolManager.getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON)
+                .scheduleWithFixedDelay(this::sampleMetrics, sampleInterval, sampleInterval, TimeUnit.SECONDS);
         ScheduledExecutorService s = new ScheduledThreadPoolExecutor(1);
         detectStart.startBrokerStartedDetection(port, s);
     }
 
     public void stopEmbeddedServer() {
+        ScheduledFuture<?> metricsJob = this.metricsJob;
+        if (metricsJob != null) {
+            metricsJob.cancel(false);
+            this.metricsJob = null;
+        }
         Server server = this.server;
         if (server != null) {
             server.removeInterceptHandler(metrics);
             detectStart.stopBrokerStartDetection();
             server.stopServer();
             this.server = null;
+            takePersistenceSnapshot();
+        }
+    }
+
+    /**
+     * Keeps a copy of the persistence file, which was just closed by the stopped broker, to recover from a
+     * persistence file corrupted later on.
+     */
+    private void takePersistenceSnapshot() {
+        if (persistenceFilename.isEmpty()) {
+            return;
+        }
+        try {
+            new PersistenceSnapshot(Paths.get((new File(persistenceFilename)).getAbsolutePath())).take();
+        } catch (IOException e) {
+            logger.warn("Could not take a snapshot of the persistence file {}: {}", persistenceFilename,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the current rates and publishes the statistics to the $SYS topics, if enabled.
+     */
+    private void sampleMetrics() {
+        metrics.sample(System.currentTimeMillis());
+        Server server = this.server;
+        if (server == null || sysInterval <= 0) {
+            return;
         }
+        getStatistics().forEach((name, value) -> publishSys(server, "broker/" + name, value.toString()));
+        metrics.getMessagesPerSecondByPrefix().forEach((prefix, rate) -> publishSys(server,
+                "broker/load/topics/" + prefix + "/persecond", String.format(Locale.ROOT, "%.2f", rate)));
+    }
+
+    private void publishSys(Server server, String topic, String value) {
+        // $SYS messages are not retained, so they do not cause writes to the persistence file
+        MqttPublishMessage message = MqttMessageBuilders.publish()
+                .topicName(BrokerMetricsListener.SYS_TOPIC_PREFIX + "/" + topic).retained(false)
+                .qos(MqttQoS.AT_MOST_ONCE).payload(Unpooled.copiedBuffer(value, StandardCharsets.UTF_8)).build();
+        server.internalPublish(message, SYS_CLIENTID);
+    }
+
+    /**
+     * Returns the broker statistics by name. The names are the $SYS topics below "$SYS/broker/".
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        Server server = this.server;
+        statistics.put("clients/connected", server == null ? 0 : server.listConnectedClients().size());
+        statistics.put("clients/connects", metrics.getConnects());
+        statistics.put("clients/disconnects", metrics.getDisconnects());
+        statistics.put("subscriptions/subscribes", metrics.getSubscribes());
+        statistics.put("subscriptions/unsubscribes", metrics.getUnsubscribes());
+        statistics.put("retained messages/count", metrics.getRetainedTopics());
+        statistics.put("messages/received", metrics.getMessages());
+        statistics.put("bytes/received", metrics.getBytes());
+        statistics.put("load/messages/received/persecond",
+                String.format(Locale.ROOT, "%.2f", metrics.getMessagesPerSecond()));
+        statistics.put("load/bytes/received/persecond",
+                String.format(Locale.ROOT, "%.2f", metrics.getBytesPerSecond()));
+        return statistics;
+    }
+
+    /**
+     * Returns the number of messages per second of each topic prefix, i.e. the first level of the topic.
+     */
+    public Map<String, Double> getMessagesPerSecondByTopicPrefix() {
+        return metrics.getMessagesPerSecondByPrefix();
     }
 
     /**
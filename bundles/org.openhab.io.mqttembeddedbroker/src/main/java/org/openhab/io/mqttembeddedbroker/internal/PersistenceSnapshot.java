@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.mqttembeddedbroker.internal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Keeps a snapshot of the broker persistence file, which was written by a clean shutdown of the broker.
+ * <p>
+ * If the persistence file cannot be read on startup, it is moved aside (".corrupt") and replaced by the snapshot
+ * (".snapshot"), so retained messages and sessions survive a crash during a write.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+class PersistenceSnapshot {
+    static final String SNAPSHOT_SUFFIX = ".snapshot";
+    static final String CORRUPT_SUFFIX = ".corrupt";
+
+    private final Path persistenceFile;
+    private final Path snapshotFile;
+    private final Path corruptFile;
+
+    PersistenceSnapshot(Path persistenceFile) {
+        this.persistenceFile = persistenceFile;
+        this.snapshotFile = persistenceFile.resolveSibling(persistenceFile.getFileName() + SNAPSHOT_SUFFIX);
+        this.corruptFile = persistenceFile.resolveSibling(persistenceFile.getFileName() + CORRUPT_SUFFIX);
+    }
+
+    /**
+     * Copies the persistence file to the snapshot. Must only be called while the broker is stopped.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    void take() throws IOException {
+        if (Files.exists(persistenceFile)) {
+            Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            Files.copy(persistenceFile, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Moves the corrupt persistence file aside and replaces it by the snapshot
+     *
+     * @return true if the snapshot was restored, false if there is no snapshot and the broker starts empty
+     * @throws IOException if the files cannot be moved or copied
+     */
+    boolean restore() throws IOException {
+        if (Files.exists(persistenceFile)) {
+            Files.move(persistenceFile, corruptFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (!Files.exists(snapshotFile)) {
+            return false;
+        }
+        Files.copy(snapshotFile, persistenceFile, StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    /**
+     * Removes the snapshot, e.g. because it is corrupt as well
+     *
+     * @throws IOException if the snapshot cannot be deleted
+     */
+    void discard() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+    }
+
+    Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    Path getCorruptFile() {
+        return corruptFile;
+    }
+}
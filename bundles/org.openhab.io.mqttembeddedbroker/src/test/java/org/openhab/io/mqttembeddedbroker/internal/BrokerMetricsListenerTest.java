@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.mqttembeddedbroker.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests the counters and rates of the {@link BrokerMetricsListener}.
+ *
+ * @author David Graeff - Initial contribution
+ */
+public class BrokerMetricsListenerTest {
+
+    @Test
+    public void countsMessagesAndRatesByPrefix() {
+        BrokerMetricsListener metrics = new BrokerMetricsListener();
+        metrics.sample(1000);
+
+        metrics.published("zigbee2mqtt/lamp", 10, false);
+        metrics.published("zigbee2mqtt/sensor", 20, false);
+        metrics.published("tele/plug/SENSOR", 30, false);
+        metrics.published("single", 40, false);
+        metrics.sample(3000);
+
+        assertThat(metrics.getMessages(), is(4L));
+        assertThat(metrics.getBytes(), is(100L));
+        assertEquals(2.0, metrics.getMessagesPerSecond(), 0.001);
+        assertEquals(50.0, metrics.getBytesPerSecond(), 0.001);
+
+        Map<String, Double> rates = metrics.getMessagesPerSecondByPrefix();
+        assertEquals(1.0, rates.get("zigbee2mqtt"), 0.001);
+        assertEquals(0.5, rates.get("tele"), 0.001);
+        assertEquals(0.5, rates.get("single"), 0.001);
+
+        // Rates refer to the time since the last sample
+        metrics.sample(4000);
+        assertEquals(0.0, metrics.getMessagesPerSecond(), 0.001);
+        assertEquals(0.0, metrics.getMessagesPerSecondByPrefix().get("zigbee2mqtt"), 0.001);
+    }
+
+    @Test
+    public void limitsTrackedPrefixes() {
+        BrokerMetricsListener metrics = new BrokerMetricsListener();
+        for (int i = 0; i < BrokerMetricsListener.MAX_TOPIC_PREFIXES + 10; i++) {
+            metrics.published("device" + i + "/state", 1, false);
+        }
+        metrics.sample(System.currentTimeMillis() + 1000);
+
+        Map<String, Double> rates = metrics.getMessagesPerSecondByPrefix();
+        assertThat(rates.size(), is(BrokerMetricsListener.MAX_TOPIC_PREFIXES + 1));
+        assertTrue(rates.containsKey(BrokerMetricsListener.OTHER_TOPIC_PREFIX));
+    }
+
+    @Test
+    public void tracksRetainedTopics() {
+        BrokerMetricsListener metrics = new BrokerMetricsListener();
+        metrics.published("a/b", 5, true);
+        metrics.published("a/b", 6, true);
+        metrics.published("a/c", 5, true);
+        metrics.published("a/d", 5, false);
+        assertThat(metrics.getRetainedTopics(), is(2));
+
+        // An empty retained message clears the retained message
+        metrics.published("a/b", 0, true);
+        assertThat(metrics.getRetainedTopics(), is(1));
+    }
+}
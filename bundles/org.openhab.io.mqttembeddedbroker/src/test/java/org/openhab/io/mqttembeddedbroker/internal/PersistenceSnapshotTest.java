@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.mqttembeddedbroker.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the recovery of a corrupt persistence file by the {@link PersistenceSnapshot}.
+ *
+ * @author David Graeff - Initial contribution
+ */
+public class PersistenceSnapshotTest {
+
+    private Path folder;
+    private Path persistenceFile;
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("mqttembedded");
+        persistenceFile = folder.resolve("mqttembedded.bin");
+    }
+
+    @After
+    public void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(folder.toFile());
+    }
+
+    @Test
+    public void restoresSnapshot() throws IOException {
+        Files.write(persistenceFile, "good".getBytes(StandardCharsets.UTF_8));
+        PersistenceSnapshot snapshot = new PersistenceSnapshot(persistenceFile);
+        snapshot.take();
+
+        Files.write(persistenceFile, "corrupt".getBytes(StandardCharsets.UTF_8));
+        assertTrue(snapshot.restore());
+
+        assertThat(new String(Files.readAllBytes(persistenceFile), StandardCharsets.UTF_8), is("good"));
+        assertThat(new String(Files.readAllBytes(snapshot.getCorruptFile()), StandardCharsets.UTF_8),
+                is("corrupt"));
+        assertTrue(Files.exists(snapshot.getSnapshotFile()));
+    }
+
+    @Test
+    public void movesCorruptFileWithoutSnapshot() throws IOException {
+        Files.write(persistenceFile, "corrupt".getBytes(StandardCharsets.UTF_8));
+        PersistenceSnapshot snapshot = new PersistenceSnapshot(persistenceFile);
+
+        assertFalse(snapshot.restore());
+        assertFalse(Files.exists(persistenceFile));
+        assertTrue(Files.exists(snapshot.getCorruptFile()));
+    }
+}
@@ -112,6 +112,9 @@ public class NeeoApi implements AutoCloseable {
     /** Whether the brain is currently connected */
     private final AtomicBoolean connected = new AtomicBoolean(false);
 
+    /** The queue of notifications to the brain */
+    private final NeeoNotificationQueue notificationQueue;
+
     /**
      * Constructs the APi from the given IP address, brain identifier and {@link ServiceContext}
      *
@@ -127,6 +130,7 @@ public class NeeoApi implements AutoCloseable {
 
         this.brainIpAddress = ipAddress;
         this.brainId = brainId;
+        this.notificationQueue = new NeeoNotificationQueue(brainId, this::notify, scheduler);
         this.brainUrl = NeeoConstants.PROTOCOL + (ipAddress.startsWith("/") ? ipAddress.substring(1) : ipAddress) + ":"
                 + NeeoConstants.DEFAULT_BRAIN_PORT;
         deviceKeys = new NeeoDeviceKeys(brainUrl);
@@ -476,6 +480,26 @@ public class NeeoApi implements AutoCloseable {
         }
     }
 
+    /**
+     * Queues a notification to the brain, which is sent asynchronously. A queued notification with the same key is
+     * replaced.
+     *
+     * @param key the non-empty key of the notification (identifying the device key and item)
+     * @param msg the non-empty notification to send
+     */
+    public void queueNotification(String key, String msg) {
+        notificationQueue.queue(key, msg);
+    }
+
+    /**
+     * Gets the queue of notifications to the brain
+     *
+     * @return the non-null {@link NeeoNotificationQueue}
+     */
+    public NeeoNotificationQueue getNotificationQueue() {
+        return notificationQueue;
+    }
+
     /**
      * Deregister our API with the brain.
      *
@@ -545,6 +569,7 @@ public class NeeoApi implements AutoCloseable {
     @Override
     public void close() {
         // kill our threads
+        notificationQueue.close();
         NeeoUtil.cancel(checkStatus.getAndSet(null));
         NeeoUtil.cancel(connect.getAndSet(null));
 
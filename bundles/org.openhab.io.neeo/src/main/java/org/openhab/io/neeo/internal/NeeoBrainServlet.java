@@ -84,7 +84,8 @@ public class NeeoBrainServlet extends AbstractServlet {
      */
     public BrainStatus getBrainStatus() {
         return new BrainStatus(api.getBrainId(), api.getBrainName(), api.getBrainUrl(),
-                NeeoUtil.getServletUrl(api.getBrainId()), api.getSystemInfo().getFirmwareVersion(), api.isConnected());
+                NeeoUtil.getServletUrl(api.getBrainId()), api.getSystemInfo().getFirmwareVersion(), api.isConnected(),
+                api.getNotificationQueue());
     }
 
     /**
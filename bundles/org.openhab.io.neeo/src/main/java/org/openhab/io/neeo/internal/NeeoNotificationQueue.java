@@ -0,0 +1,311 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An asynchronous queue of notifications to a single brain.
+ * <p>
+ * Notifications are queued by a key (the device key and the unique item name) - if a notification for the same key is
+ * still queued, it is replaced by the newer one, so only the latest value is sent. At most {@link #MAX_SENDERS}
+ * notifications are sent at the same time, which bounds the number of connections to the brain. If the brain cannot
+ * keep up, the oldest notifications are dropped when the queue is full or when their latest value has been waiting for
+ * longer than {@link #MAX_AGE}.
+ *
+ * @author Tim Roberts - Initial Contribution
+ */
+@NonNullByDefault
+public class NeeoNotificationQueue {
+
+    /** The maximum number of notifications sent at the same time */
+    static final int MAX_SENDERS = 2;
+
+    /** The maximum number of queued notifications */
+    static final int MAX_QUEUED = 100;
+
+    /** The time in milliseconds after which a queued notification is stale */
+    static final long MAX_AGE = 10000;
+
+    /**
+     * Sends a notification to the brain
+     */
+    @FunctionalInterface
+    public interface Sender {
+        /**
+         * Sends the notification
+         *
+         * @param msg the non-empty notification message
+         * @throws IOException if the notification could not be sent
+         */
+        void send(String msg) throws IOException;
+    }
+
+    /** The logger */
+    private final Logger logger = LoggerFactory.getLogger(NeeoNotificationQueue.class);
+
+    /** The brain identifier */
+    private final String brainId;
+
+    /** The sender of the notifications */
+    private final Sender sender;
+
+    /** The executor running the senders */
+    private final ExecutorService executor;
+
+    /** The clock the age of the notifications is measured with */
+    private final Clock clock;
+
+    /** The queued notifications by key, in the order they were queued (guarded by this) */
+    private final Map<String, QueuedNotification> queue = new LinkedHashMap<>();
+
+    /** The number of running senders (guarded by this) */
+    private int runningSenders;
+
+    /** Whether the queue has been closed (guarded by this) */
+    private boolean closed;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * A queued notification
+     */
+    private static class QueuedNotification {
+        private final String msg;
+        /** The time the key was queued first, the latency is measured from */
+        private final long queued;
+        /** The time of the latest value, the staleness is measured from */
+        private final long updated;
+
+        private QueuedNotification(String msg, long queued, long updated) {
+            this.msg = msg;
+            this.queued = queued;
+            this.updated = updated;
+        }
+    }
+
+    /**
+     * Creates the queue
+     *
+     * @param brainId the non-empty brain identifier
+     * @param sender the non-null sender of the notifications
+     * @param executor the non-null executor running the senders
+     */
+    public NeeoNotificationQueue(String brainId, Sender sender, ExecutorService executor) {
+        this(brainId, sender, executor, Clock.systemUTC());
+    }
+
+    /**
+     * Creates the queue
+     *
+     * @param brainId the non-empty brain identifier
+     * @param sender the non-null sender of the notifications
+     * @param executor the non-null executor running the senders
+     * @param clock the non-null clock the age of the notifications is measured with
+     */
+    NeeoNotificationQueue(String brainId, Sender sender, ExecutorService executor, Clock clock) {
+        NeeoUtil.requireNotEmpty(brainId, "brainId cannot be empty");
+        Objects.requireNonNull(sender, "sender cannot be null");
+        Objects.requireNonNull(executor, "executor cannot be null");
+        Objects.requireNonNull(clock, "clock cannot be null");
+
+        this.brainId = brainId;
+        this.sender = sender;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Queues a notification, replacing a queued notification with the same key
+     *
+     * @param key the non-empty key of the notification
+     * @param msg the non-empty notification message
+     */
+    public void queue(String key, String msg) {
+        NeeoUtil.requireNotEmpty(key, "key cannot be empty");
+        NeeoUtil.requireNotEmpty(msg, "msg cannot be empty");
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            final long now = clock.millis();
+            final QueuedNotification previous = queue.get(key);
+            if (previous != null) {
+                coalesced.incrementAndGet();
+                // keep the position of the first update, so a frequently updated value is not delayed, but measure
+                // the staleness from the latest value
+                queue.put(key, new QueuedNotification(msg, previous.queued, now));
+            } else {
+                if (queue.size() >= MAX_QUEUED) {
+                    final Iterator<String> oldest = queue.keySet().iterator();
+                    logger.debug("Notification queue for brain {} is full - dropping {}", brainId, oldest.next());
+                    oldest.remove();
+                    dropped.incrementAndGet();
+                }
+                queue.put(key, new QueuedNotification(msg, now, now));
+            }
+
+            if (runningSenders >= MAX_SENDERS) {
+                return;
+            }
+            runningSenders++;
+        }
+        try {
+            executor.execute(this::sendQueued);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                runningSenders--;
+            }
+            logger.debug("Could not start sending notifications to brain {}: {}", brainId, e.getMessage());
+        }
+    }
+
+    /**
+     * Sends queued notifications until the queue is empty
+     */
+    private void sendQueued() {
+        while (true) {
+            final QueuedNotification notification = next();
+            if (notification == null) {
+                return;
+            }
+
+            try {
+                sender.send(notification.msg);
+                sent.incrementAndGet();
+            } catch (IOException e) {
+                failed.incrementAndGet();
+                logger.debug("Exception occurred while sending notification to brain {}: {}", brainId, e.getMessage(),
+                        e);
+            }
+
+            final long latency = clock.millis() - notification.queued;
+            totalLatency.addAndGet(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    /**
+     * Takes the next notification, which is not stale, from the queue
+     *
+     * @return the next notification or null if the queue is empty (the calling sender stops then)
+     */
+    private synchronized @Nullable QueuedNotification next() {
+        final long now = clock.millis();
+        final Iterator<QueuedNotification> iterator = queue.values().iterator();
+        while (iterator.hasNext()) {
+            final QueuedNotification notification = iterator.next();
+            iterator.remove();
+            if (closed) {
+                break;
+            }
+            if (now - notification.updated <= MAX_AGE) {
+                return notification;
+            }
+            dropped.incrementAndGet();
+        }
+        runningSenders--;
+        return null;
+    }
+
+    /**
+     * Drops all queued notifications and stops accepting new ones
+     */
+    public synchronized void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    /**
+     * Returns the number of queued notifications
+     *
+     * @return the queue depth
+     */
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of notifications sent successfully
+     *
+     * @return the number of sent notifications
+     */
+    public long getSent() {
+        return sent.get();
+    }
+
+    /**
+     * Returns the number of notifications that failed to send
+     *
+     * @return the number of failed notifications
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Returns the number of notifications replaced by a newer notification for the same key
+     *
+     * @return the number of coalesced notifications
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * Returns the number of notifications dropped because the queue was full or they were stale
+     *
+     * @return the number of dropped notifications
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the average time in milliseconds between queueing and sending a notification
+     *
+     * @return the average latency
+     */
+    public long getAverageLatency() {
+        final long count = sent.get() + failed.get();
+        return count == 0 ? 0 : totalLatency.get() / count;
+    }
+
+    /**
+     * Returns the maximum time in milliseconds between queueing and sending a notification
+     *
+     * @return the maximum latency
+     */
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+}
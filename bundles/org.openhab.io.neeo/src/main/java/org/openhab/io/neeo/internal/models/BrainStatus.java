@@ -13,6 +13,7 @@
 package org.openhab.io.neeo.internal.models;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.neeo.internal.NeeoNotificationQueue;
 import org.openhab.io.neeo.internal.NeeoUtil;
 
 /**
@@ -41,6 +42,18 @@ public class BrainStatus {
     /** Whether the brain is connected (true) or not */
     private final boolean connected;
 
+    /** The number of notifications waiting to be sent to the brain */
+    private final int notificationQueueDepth;
+
+    /** The average time in milliseconds a notification waited to be sent */
+    private final long notificationLatency;
+
+    /** The number of notifications replaced by newer values before they were sent */
+    private final long notificationsCoalesced;
+
+    /** The number of notifications dropped because the brain could not keep up */
+    private final long notificationsDropped;
+
     /**
      * Creates a new brain status
      *
@@ -50,9 +63,10 @@ public class BrainStatus {
      * @param callbackUrl the non-empty callback url
      * @param firmwareVersion the non-empty firmware version of the brain
      * @param connected true if connected, false otherwise
+     * @param notificationQueue the non-null notification queue of the brain
      */
     public BrainStatus(String brainId, String brainName, String brainUrl, String callbackUrl, String firmwareVersion,
-            boolean connected) {
+            boolean connected, NeeoNotificationQueue notificationQueue) {
         NeeoUtil.requireNotEmpty(brainId, "brainId cannot be empty");
         NeeoUtil.requireNotEmpty(brainName, "brainName cannot be empty");
         NeeoUtil.requireNotEmpty(brainUrl, "brainUrl cannot be empty");
@@ -65,6 +79,10 @@ public class BrainStatus {
         this.callbackUrl = callbackUrl;
         this.firmwareVersion = firmwareVersion;
         this.connected = connected;
+        this.notificationQueueDepth = notificationQueue.getQueueDepth();
+        this.notificationLatency = notificationQueue.getAverageLatency();
+        this.notificationsCoalesced = notificationQueue.getCoalesced();
+        this.notificationsDropped = notificationQueue.getDropped();
     }
 
     /**
@@ -121,10 +139,47 @@ public class BrainStatus {
         return connected;
     }
 
+    /**
+     * Gets the number of notifications waiting to be sent to the brain
+     *
+     * @return the notification queue depth
+     */
+    public int getNotificationQueueDepth() {
+        return notificationQueueDepth;
+    }
+
+    /**
+     * Gets the average time in milliseconds a notification waited to be sent
+     *
+     * @return the average notification latency
+     */
+    public long getNotificationLatency() {
+        return notificationLatency;
+    }
+
+    /**
+     * Gets the number of notifications replaced by newer values before they were sent
+     *
+     * @return the number of coalesced notifications
+     */
+    public long getNotificationsCoalesced() {
+        return notificationsCoalesced;
+    }
+
+    /**
+     * Gets the number of notifications dropped because the brain could not keep up
+     *
+     * @return the number of dropped notifications
+     */
+    public long getNotificationsDropped() {
+        return notificationsDropped;
+    }
+
     @Override
     public String toString() {
         return "BrainStatus [brainId=" + brainId + ", brainName=" + brainName + ", brainUrl=" + brainUrl
-                + ", callbackUrl=" + callbackUrl + ", connected=" + connected + "]";
+                + ", callbackUrl=" + callbackUrl + ", connected=" + connected + ", notificationQueueDepth="
+                + notificationQueueDepth + ", notificationLatency=" + notificationLatency + "]";
     }
 
 }
@@ -545,7 +545,7 @@ public class NeeoBrainService extends DefaultServletService {
     }
 
     /**
-     * Helper method to send a notification
+     * Helper method to queue a notification, which is sent asynchronously by the {@link NeeoApi}
      *
      * @param channel a non-null channel
      * @param deviceKey a non-null, non-empty device id
@@ -556,29 +556,21 @@ public class NeeoBrainService extends DefaultServletService {
         NeeoUtil.requireNotEmpty(deviceKey, "deviceKey cannot be empty");
         Objects.requireNonNull(state, "state cannot be null");
 
-        scheduler.execute(() -> {
-            final String uin = channel.getUniqueItemName();
+        final String uin = channel.getUniqueItemName();
 
-            final NeeoItemValue niv = itemConverter.convert(channel, state);
+        final NeeoItemValue niv = itemConverter.convert(channel, state);
 
-            // Use sensor notification if we have a >= 0.50 firmware AND it's not a power sensor
-            if (api.getSystemInfo().isFirmwareGreaterOrEqual(NeeoConstants.NEEO_FIRMWARE_0_51_1)
-                    && channel.getType() != NeeoCapabilityType.SENSOR_POWER) {
-                final NeeoSensorNotification notify = new NeeoSensorNotification(deviceKey, uin, niv.getValue());
-                try {
-                    api.notify(gson.toJson(notify));
-                } catch (IOException e) {
-                    logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
-                }
-            } else {
-                final NeeoNotification notify = new NeeoNotification(deviceKey, uin, niv.getValue());
-                try {
-                    api.notify(gson.toJson(notify));
-                } catch (IOException e) {
-                    logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
-                }
-            }
-        });
+        // Use sensor notification if we have a >= 0.50 firmware AND it's not a power sensor
+        final String msg;
+        if (api.getSystemInfo().isFirmwareGreaterOrEqual(NeeoConstants.NEEO_FIRMWARE_0_51_1)
+                && channel.getType() != NeeoCapabilityType.SENSOR_POWER) {
+            msg = gson.toJson(new NeeoSensorNotification(deviceKey, uin, niv.getValue()));
+        } else {
+            msg = gson.toJson(new NeeoNotification(deviceKey, uin, niv.getValue()));
+        }
+
+        // queued notifications for the same device key and item are replaced by this one
+        api.queueNotification(deviceKey + "|" + uin, msg);
     }
 
     /**
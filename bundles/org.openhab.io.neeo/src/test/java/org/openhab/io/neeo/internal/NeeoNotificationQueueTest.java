@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.neeo.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link NeeoNotificationQueue}.
+ *
+ * @author Tim Roberts - Initial Contribution
+ */
+public class NeeoNotificationQueueTest {
+    private final List<String> sentMessages = new ArrayList<>();
+    private final List<Runnable> senders = new ArrayList<>();
+    private final TestClock clock = new TestClock();
+
+    private ExecutorService executor;
+    private NeeoNotificationQueue queue;
+
+    @Before
+    public void setup() {
+        executor = mock(ExecutorService.class);
+        doAnswer(invocation -> senders.add(invocation.getArgument(0))).when(executor).execute(any());
+        queue = new NeeoNotificationQueue("brain", sentMessages::add, executor, clock);
+    }
+
+    @Test
+    public void testLatestValueOfKeyIsSent() {
+        queue.queue("light", "on");
+        queue.queue("dimmer", "10");
+        queue.queue("light", "off");
+        runSenders();
+
+        assertEquals(Arrays.asList("off", "10"), sentMessages);
+        assertEquals(1, queue.getCoalesced());
+        assertEquals(0, queue.getQueueDepth());
+    }
+
+    @Test
+    public void testStaleNotificationIsDropped() {
+        queue.queue("light", "on");
+        clock.advance(NeeoNotificationQueue.MAX_AGE + 1);
+        queue.queue("dimmer", "10");
+        runSenders();
+
+        assertEquals(Arrays.asList("10"), sentMessages);
+        assertEquals(1, queue.getDropped());
+    }
+
+    @Test
+    public void testContinuouslyUpdatedKeyIsNotDropped() {
+        queue.queue("power", "100");
+        for (int i = 1; i <= 3; i++) {
+            clock.advance(NeeoNotificationQueue.MAX_AGE / 2 + 1);
+            queue.queue("power", Integer.toString(100 + i));
+        }
+        runSenders();
+
+        assertEquals(Arrays.asList("103"), sentMessages);
+        assertEquals(0, queue.getDropped());
+    }
+
+    @Test
+    public void testRejectedSenderIsNotCounted() {
+        doThrow(new RejectedExecutionException()).when(executor).execute(any());
+        for (int i = 0; i < NeeoNotificationQueue.MAX_SENDERS; i++) {
+            queue.queue("light" + i, "on");
+        }
+
+        doAnswer(invocation -> senders.add(invocation.getArgument(0))).when(executor).execute(any());
+        queue.queue("dimmer", "10");
+        runSenders();
+
+        assertEquals(NeeoNotificationQueue.MAX_SENDERS + 1, sentMessages.size());
+    }
+
+    private void runSenders() {
+        assertFalse(senders.isEmpty());
+        new ArrayList<>(senders).forEach(Runnable::run);
+        senders.clear();
+    }
+
+    private static class TestClock extends Clock {
+        private long millis = 1000000;
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
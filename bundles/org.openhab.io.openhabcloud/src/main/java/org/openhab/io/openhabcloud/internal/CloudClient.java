@@ -13,6 +13,7 @@
 package org.openhab.io.openhabcloud.internal;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -20,28 +21,32 @@ import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
-import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.openhab.core.OpenHAB;
@@ -53,6 +58,7 @@ import io.socket.client.Manager;
 import io.socket.client.Socket;
 import io.socket.emitter.Emitter;
 import io.socket.engineio.client.Transport;
+import io.socket.thread.EventThread;
 
 /**
  * This class provides communication between openHAB and the openHAB Cloud service.
@@ -61,6 +67,9 @@ import io.socket.engineio.client.Transport;
  * the openHAB Cloud service and Jetty Http client to send local http requests to
  * openHAB.
  *
+ * Response content is sent in frames of up to {@link ProxyFlowControl#FRAME_SIZE} bytes. Reading of the local response
+ * is suspended while the Socket.IO transport has not written the frames sent before, see {@link ProxyFlowControl}.
+ *
  * @author Victor Belov - Initial contribution
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
  *
@@ -72,6 +81,8 @@ public class CloudClient {
      */
     private Logger logger = LoggerFactory.getLogger(CloudClient.class);
 
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
     /*
      * This variable holds base URL for the openHAB Cloud connections
      */
@@ -98,9 +109,34 @@ public class CloudClient {
     private final HttpClient jettyClient;
 
     /*
-     * This hashmap holds HTTP requests to local openHAB which are currently running
+     * This map holds HTTP requests to local openHAB which are currently running
+     */
+    private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
+
+    /*
+     * This variable holds the flow control of the proxied response content
+     */
+    private final ProxyFlowControl flowControl = new ProxyFlowControl();
+
+    /*
+     * This variable holds the Socket.IO transport currently used, it is only accessed on the Socket.IO event thread
+     */
+    private Transport currentTransport;
+
+    /*
+     * This variable indicates if text responses are gzip compressed, if the requesting client accepts that
      */
-    private HashMap<Integer, Request> runningRequests;
+    private final boolean compressText;
+
+    /*
+     * This variable holds the batcher of item updates, null if item updates are sent one by one
+     */
+    private final ItemUpdateBatcher itemUpdateBatcher;
+
+    /*
+     * This variable holds the number of item update messages sent to the openHAB Cloud
+     */
+    private final AtomicLong sentItemUpdateMessages = new AtomicLong();
 
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
@@ -138,17 +174,26 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param compressText Compress proxied text responses, if the requesting client accepts gzip
+     * @param itemUpdateBatchWindow Time in milliseconds item updates are collected and sent as one message, 0 to send
+     *            each item update immediately
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, boolean compressText, long itemUpdateBatchWindow) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
         this.localBaseUrl = localBaseUrl;
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
-        runningRequests = new HashMap<Integer, Request>();
+        this.compressText = compressText;
         this.jettyClient = httpClient;
+        if (itemUpdateBatchWindow > 0) {
+            itemUpdateBatcher = new ItemUpdateBatcher(itemUpdateBatchWindow,
+                    ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD), this::sendItemUpdates);
+        } else {
+            itemUpdateBatcher = null;
+        }
     }
 
     /**
@@ -170,6 +215,8 @@ public class CloudClient {
             public void call(Object... args) {
                 logger.trace("Manager.EVENT_TRANSPORT");
                 Transport transport = (Transport) args[0];
+                currentTransport = transport;
+                flowControl.transportChanged();
                 transport.on(Transport.EVENT_REQUEST_HEADERS, new Emitter.Listener() {
                     @Override
                     public void call(Object... args) {
@@ -183,6 +230,14 @@ public class CloudClient {
                         headers.put("remoteaccess", Arrays.asList(((Boolean) remoteAccessEnabled).toString()));
                     }
                 });
+                transport.on(Transport.EVENT_DRAIN, new Emitter.Listener() {
+                    @Override
+                    public void call(Object... args) {
+                        if (transport == currentTransport) {
+                            flowControl.drained();
+                        }
+                    }
+                });
             }
         });
         socket.on(Socket.EVENT_CONNECT, new Emitter.Listener() {
@@ -242,9 +297,8 @@ public class CloudClient {
                 this.localBaseUrl);
         isConnected = false;
         // And clean up the list of running requests
-        if (runningRequests != null) {
-            runningRequests.clear();
-        }
+        flowControl.reset(new IOException("Disconnected from the openHAB Cloud"));
+        runningRequests.clear();
     }
 
     /**
@@ -334,8 +388,12 @@ public class CloudClient {
                 logger.warn("Unsupported request method {}", requestMethod);
                 return;
             }
-            ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
+            String acceptEncoding = requestHeadersJson.optString("accept-encoding",
+                    requestHeadersJson.optString("Accept-Encoding", ""));
+            ResponseListener listener = new ResponseListener(requestId,
+                    compressText && acceptEncoding.contains("gzip"));
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                    .send(listener);
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
@@ -469,7 +527,8 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. If batching of item updates is enabled, the update is sent with the other
+     * updates of the current batch window.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
@@ -477,12 +536,17 @@ public class CloudClient {
      */
     public void sendItemUpdate(String itemName, String itemState) {
         if (isConnected()) {
+            if (itemUpdateBatcher != null) {
+                itemUpdateBatcher.add(itemName, itemState);
+                return;
+            }
             logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
             JSONObject itemUpdateMessage = new JSONObject();
             try {
                 itemUpdateMessage.put("itemName", itemName);
                 itemUpdateMessage.put("itemStatus", itemState);
                 socket.emit("itemupdate", itemUpdateMessage);
+                sentItemUpdateMessages.incrementAndGet();
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
@@ -491,6 +555,34 @@ public class CloudClient {
         }
     }
 
+    /**
+     * Send a batch of item updates to openHAB Cloud as one message
+     *
+     * @param itemStates the latest states by item name
+     */
+    private void sendItemUpdates(Map<String, String> itemStates) {
+        if (!isConnected()) {
+            logger.debug("No connection, {} item updates are not sent", itemStates.size());
+            return;
+        }
+        logger.debug("Sending updates for {} items", itemStates.size());
+        JSONArray items = new JSONArray();
+        JSONObject itemUpdatesMessage = new JSONObject();
+        try {
+            for (Map.Entry<String, String> itemState : itemStates.entrySet()) {
+                JSONObject item = new JSONObject();
+                item.put("itemName", itemState.getKey());
+                item.put("itemStatus", itemState.getValue());
+                items.put(item);
+            }
+            itemUpdatesMessage.put("items", items);
+            socket.emit("itemupdates", itemUpdatesMessage);
+            sentItemUpdateMessages.incrementAndGet();
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
     /**
      * Returns true if openHAB Cloud connection is active
      */
@@ -503,6 +595,9 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        if (itemUpdateBatcher != null) {
+            itemUpdateBatcher.cancel();
+        }
         socket.disconnect();
     }
 
@@ -518,18 +613,108 @@ public class CloudClient {
         this.listener = listener;
     }
 
+    /**
+     * Returns the number of proxied requests, which are currently running
+     */
+    public int getRunningRequestCount() {
+        return runningRequests.size();
+    }
+
+    /**
+     * Returns the total number of proxied response bytes sent to the openHAB Cloud
+     */
+    public long getProxiedBytes() {
+        return flowControl.getTotalBytes();
+    }
+
+    /**
+     * Returns the number of proxied response bytes per second sent to the openHAB Cloud recently
+     */
+    public long getProxiedBytesPerSecond() {
+        return flowControl.getBytesPerSecond();
+    }
+
+    /**
+     * Returns the number of item updates sent to the openHAB Cloud, including coalesced updates
+     */
+    public long getItemUpdates() {
+        return itemUpdateBatcher != null ? itemUpdateBatcher.getReceivedUpdates() : sentItemUpdateMessages.get();
+    }
+
+    /**
+     * Returns the number of item update messages sent to the openHAB Cloud, a batch counts as one message
+     */
+    public long getSentItemUpdateMessages() {
+        return sentItemUpdateMessages.get();
+    }
+
+    /**
+     * Returns the number of item updates, which were replaced by a later update of the same item within the batch
+     * window
+     */
+    public long getCoalescedItemUpdates() {
+        return itemUpdateBatcher != null ? itemUpdateBatcher.getCoalescedUpdates() : 0;
+    }
+
     /*
      * An internal class which forwards response headers and data back to the openHAB Cloud
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+        private static final String CONTENT_TYPE_EVENT_STREAM = "text/event-stream";
+        private static final String CONTENT_TYPE_MIXED_REPLACE = "multipart/x-mixed-replace";
         private int mRequestId;
         private boolean mHeadersSent = false;
+        private final boolean mGzipAccepted;
+        private final ResponseContentWriter mContentWriter;
+        private OutputStream mContentStream;
+        // Streamed content, e.g. server-sent events or MJPEG, must reach the client as soon as it is received
+        private boolean mFlushEachChunk = false;
 
-        public ResponseListener(int requestId) {
+        public ResponseListener(int requestId, boolean gzipAccepted) {
             mRequestId = requestId;
+            mGzipAccepted = gzipAccepted;
+            mContentWriter = new ResponseContentWriter(this::sendFrame);
+            mContentStream = mContentWriter;
+        }
+
+        private void sendFrame(byte[] frame) {
+            JSONObject responseJson = new JSONObject();
+            try {
+                responseJson.put("id", mRequestId);
+                responseJson.put("body", frame);
+                flowControl.sent(frame.length);
+                EventThread.exec(() -> {
+                    // the transport is only changed on the event thread, so it can't change until the frame is emitted
+                    Transport transport = currentTransport;
+                    flowControl.emitted(frame.length, transport != null && transport.writable);
+                    socket.emit("responseContentBinary", responseJson);
+                });
+                logger.debug("Sent {} bytes of content to request {}", frame.length, mRequestId);
+            } catch (JSONException e) {
+                logger.debug("{}", e.getMessage());
+            }
+        }
+
+        private boolean isCompressible(Response response) {
+            if (!mGzipAccepted || response.getHeaders().containsKey(HttpHeader.CONTENT_ENCODING.asString())) {
+                return false;
+            }
+            String contentType = response.getHeaders().get(HttpHeader.CONTENT_TYPE);
+            if (contentType == null || contentType.startsWith(CONTENT_TYPE_EVENT_STREAM)) {
+                return false;
+            }
+            return contentType.startsWith("text/") || contentType.contains("json") || contentType.contains("xml")
+                    || contentType.contains("javascript");
+        }
+
+        private long getContentLength(Response response) {
+            try {
+                return response.getHeaders().getLongField(HttpHeader.CONTENT_LENGTH.asString());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
         }
 
         private JSONObject getJSONHeaders(HttpFields httpFields) {
@@ -548,6 +733,12 @@ public class CloudClient {
         public void onComplete(Result result) {
             // Remove this request from list of running requests
             runningRequests.remove(mRequestId);
+            try {
+                // send the remaining content
+                mContentStream.close();
+            } catch (IOException e) {
+                logger.debug("Could not finish content of request {}: {}", mRequestId, e.getMessage());
+            }
             if ((result != null && result.isFailed())
                     && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
                 if (result.getFailure() != null) {
@@ -591,17 +782,26 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
-            logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
-            JSONObject responseJson = new JSONObject();
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
+            logger.debug("Jetty received response content of size {}", content.remaining());
             try {
-                responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
-                socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
+                if (content.hasArray()) {
+                    mContentStream.write(content.array(), content.arrayOffset() + content.position(),
+                            content.remaining());
+                } else {
+                    byte[] bytes = new byte[content.remaining()];
+                    content.get(bytes);
+                    mContentStream.write(bytes);
+                }
+                if (mFlushEachChunk) {
+                    mContentStream.flush();
+                }
+            } catch (IOException e) {
+                callback.failed(e);
+                return;
             }
+            // the content buffer may be reused by Jetty from now on
+            flowControl.resumeWhenWritable(callback);
         }
 
         @Override
@@ -611,14 +811,30 @@ public class CloudClient {
                 JSONObject responseJson = new JSONObject();
                 mHeadersSent = true;
                 try {
+                    JSONObject headers = getJSONHeaders(response.getHeaders());
+                    String contentType = response.getHeaders().get(HttpHeader.CONTENT_TYPE);
+                    long contentLength = getContentLength(response);
+                    mContentWriter.setContentLength(contentLength);
+                    mFlushEachChunk = contentLength < 0 || (contentType != null
+                            && (contentType.startsWith(CONTENT_TYPE_EVENT_STREAM)
+                                    || contentType.startsWith(CONTENT_TYPE_MIXED_REPLACE)));
+                    if (isCompressible(response)) {
+                        for (String name : response.getHeaders().getFieldNamesCollection()) {
+                            if (HttpHeader.CONTENT_LENGTH.is(name)) {
+                                headers.remove(name);
+                            }
+                        }
+                        headers.put(HttpHeader.CONTENT_ENCODING.asString(), "gzip");
+                        mContentStream = new GZIPOutputStream(mContentWriter, ProxyFlowControl.FRAME_SIZE);
+                    }
                     responseJson.put("id", mRequestId);
-                    responseJson.put("headers", getJSONHeaders(response.getHeaders()));
+                    responseJson.put("headers", headers);
                     responseJson.put("responseStatusCode", response.getStatus());
                     responseJson.put("responseStatusText", "OK");
                     socket.emit("responseHeader", responseJson);
                     logger.debug("Sent headers to request {}", mRequestId);
                     logger.debug("{}", responseJson.toString());
-                } catch (JSONException e) {
+                } catch (JSONException | IOException e) {
                     logger.debug("{}", e.getMessage());
                 }
             } else {
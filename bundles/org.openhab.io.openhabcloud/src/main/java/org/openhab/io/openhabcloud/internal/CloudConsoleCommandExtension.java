@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Console commands for the openHAB Cloud connector
+ *
+ * @author Victor Belov - Initial contribution
+ */
+@Component(service = ConsoleCommandExtension.class)
+public class CloudConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_STATUS = "status";
+
+    private CloudService cloudService;
+
+    public CloudConsoleCommandExtension() {
+        super("openhabcloud", "Show the status of the openHAB Cloud connector.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && SUBCMD_STATUS.equals(args[0])) {
+            cloudService.getProxyStatistics().forEach((name, value) -> console.println(name + ": " + value));
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Collections.singletonList(buildCommandUsage(SUBCMD_STATUS,
+                "shows the proxied requests and bytes and the sent item updates"));
+    }
+
+    @Reference
+    protected void setCloudService(CloudService cloudService) {
+        this.cloudService = cloudService;
+    }
+
+    protected void unsetCloudService(CloudService cloudService) {
+        this.cloudService = null;
+    }
+}
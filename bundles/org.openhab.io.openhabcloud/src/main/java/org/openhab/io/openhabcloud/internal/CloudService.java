@@ -19,9 +19,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -71,7 +73,7 @@ import org.slf4j.LoggerFactory;
  * @author Victor Belov - Initial contribution
  * @author Kai Kreuzer - migrated code to new Jetty client and ESH APIs
  */
-@Component(immediate = true, service = { EventSubscriber.class,
+@Component(immediate = true, service = { CloudService.class, EventSubscriber.class,
         ActionService.class }, configurationPid = "org.openhab.openhabcloud", property = {
                 Constants.SERVICE_PID + "=org.openhab.openhabcloud",
                 ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=io:openhabcloud",
@@ -82,6 +84,8 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_COMPRESS_TEXT = "compressText";
+    private static final String CFG_ITEM_UPDATE_BATCH_WINDOW = "itemUpdateBatchWindow";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
@@ -98,6 +102,8 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     protected EventPublisher eventPublisher = null;
 
     private boolean remoteAccessEnabled = true;
+    private boolean compressText = false;
+    private long itemUpdateBatchWindow = 0;
     private Set<String> exposedItems = null;
     private int localPort;
 
@@ -199,6 +205,20 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             cloudBaseUrl = DEFAULT_URL;
         }
 
+        Object compressCfg = config.get(CFG_COMPRESS_TEXT);
+        compressText = compressCfg != null && Boolean.parseBoolean(compressCfg.toString());
+
+        itemUpdateBatchWindow = 0;
+        Object batchWindowCfg = config.get(CFG_ITEM_UPDATE_BATCH_WINDOW);
+        if (batchWindowCfg != null) {
+            try {
+                itemUpdateBatchWindow = Math.max(0, new BigDecimal(batchWindowCfg.toString()).longValue());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid item update batch window '{}', sending item updates immediately",
+                        batchWindowCfg);
+            }
+        }
+
         exposedItems = new HashSet<>();
         Object expCfg = config.get(CFG_EXPOSE);
         if (expCfg instanceof String) {
@@ -237,13 +257,32 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
         String localBaseUrl = "http://localhost:" + localPort;
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
-                remoteAccessEnabled, exposedItems);
+                remoteAccessEnabled, exposedItems, compressText, itemUpdateBatchWindow);
         cloudClient.setOpenHABVersion(OpenHAB.getVersion());
         cloudClient.connect();
         cloudClient.setListener(this);
         NotificationAction.cloudService = this;
     }
 
+    /**
+     * Returns the statistics of the requests proxied through the openHAB Cloud and of the item updates
+     *
+     * @return the statistics by name, empty if the connector is not started
+     */
+    public Map<String, Number> getProxyStatistics() {
+        Map<String, Number> statistics = new LinkedHashMap<>();
+        CloudClient client = cloudClient;
+        if (client != null) {
+            statistics.put("runningRequests", client.getRunningRequestCount());
+            statistics.put("proxiedBytes", client.getProxiedBytes());
+            statistics.put("proxiedBytesPerSecond", client.getProxiedBytesPerSecond());
+            statistics.put("itemUpdates", client.getItemUpdates());
+            statistics.put("coalescedItemUpdates", client.getCoalescedItemUpdates());
+            statistics.put("itemUpdateMessages", client.getSentItemUpdateMessages());
+        }
+        return statistics;
+    }
+
     @Override
     public String getActionClassName() {
         return NotificationAction.class.getCanonicalName();
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Collects item updates for a time window and hands them over as one batch. Several updates of the same item within
+ * the window are coalesced, only the latest state is kept.
+ *
+ * @author Victor Belov - Initial contribution
+ */
+class ItemUpdateBatcher {
+
+    private final long window;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<Map<String, String>> batchConsumer;
+
+    // guarded by this
+    private Map<String, String> pendingUpdates = new LinkedHashMap<>();
+    private ScheduledFuture<?> flushJob;
+
+    private final AtomicLong receivedUpdates = new AtomicLong();
+    private final AtomicLong coalescedUpdates = new AtomicLong();
+
+    /**
+     * @param window the time in milliseconds updates are collected, before they are handed over
+     * @param scheduler the scheduler handing over the batches
+     * @param batchConsumer receives the states by item name, in the order the items were first updated
+     */
+    ItemUpdateBatcher(long window, ScheduledExecutorService scheduler, Consumer<Map<String, String>> batchConsumer) {
+        this.window = window;
+        this.scheduler = scheduler;
+        this.batchConsumer = batchConsumer;
+    }
+
+    /**
+     * Adds an update to the current batch and starts the window, if no batch is pending
+     */
+    synchronized void add(String itemName, String itemState) {
+        receivedUpdates.incrementAndGet();
+        if (pendingUpdates.put(itemName, itemState) != null) {
+            coalescedUpdates.incrementAndGet();
+        }
+        if (flushJob == null) {
+            flushJob = scheduler.schedule(this::flush, window, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Hands over the pending updates immediately
+     */
+    void flush() {
+        Map<String, String> updates;
+        synchronized (this) {
+            flushJob = null;
+            if (pendingUpdates.isEmpty()) {
+                return;
+            }
+            updates = pendingUpdates;
+            pendingUpdates = new LinkedHashMap<>();
+        }
+        batchConsumer.accept(updates);
+    }
+
+    /**
+     * Drops the pending updates
+     */
+    synchronized void cancel() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+        }
+        pendingUpdates.clear();
+    }
+
+    long getReceivedUpdates() {
+        return receivedUpdates.get();
+    }
+
+    long getCoalescedUpdates() {
+        return coalescedUpdates.get();
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jetty.util.Callback;
+
+/**
+ * Limits the amount of proxied response content, which is handed to the Socket.IO transport but not written yet.
+ * <p>
+ * The pending bytes are counted per frame: a frame is completed by the transport write which carries it. The engine.io
+ * transport writes one batch of packets at a time and reports the end of each write ("drain"). A frame emitted while
+ * the transport is writable is part of the running write. A frame emitted while the transport is busy waits in the
+ * engine.io buffer and is carried by the write following the next drain. The content of a response is only read further
+ * from the local openHAB, when the pending bytes are below {@link #MAX_PENDING_BYTES}.
+ *
+ * @author Victor Belov - Initial contribution
+ */
+class ProxyFlowControl {
+
+    /**
+     * Maximum number of bytes handed to the transport, before reading of responses is suspended
+     */
+    static final long MAX_PENDING_BYTES = 512 * 1024;
+
+    /**
+     * Size of the frames the response content is sent in
+     */
+    static final int FRAME_SIZE = 64 * 1024;
+
+    private static final long RATE_WINDOW_MS = 5000;
+
+    // guarded by this
+    private long pendingBytes;
+    private final Deque<Integer> writingFrames = new ArrayDeque<>();
+    private final Deque<Integer> bufferedFrames = new ArrayDeque<>();
+    private final List<Callback> suspendedCallbacks = new ArrayList<>();
+    private long rateWindowStart = System.currentTimeMillis();
+    private long rateWindowBytes;
+    private long bytesPerSecond;
+
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    /**
+     * Records a frame, which is about to be emitted. It is pending until {@link #emitted(int, boolean)} and the
+     * completion of the transport write carrying it.
+     *
+     * @param length the length of the frame
+     */
+    synchronized void sent(int length) {
+        pendingBytes += length;
+        totalBytes.addAndGet(length);
+
+        long now = System.currentTimeMillis();
+        rateWindowBytes += length;
+        if (now - rateWindowStart >= RATE_WINDOW_MS) {
+            bytesPerSecond = rateWindowBytes * 1000 / (now - rateWindowStart);
+            rateWindowStart = now;
+            rateWindowBytes = 0;
+        }
+    }
+
+    /**
+     * Records which transport write carries a frame. Must be called on the Socket.IO event thread right before the
+     * frame is emitted.
+     *
+     * @param length the length of the frame
+     * @param transportWritable whether the transport is writable, so the frame is written right away
+     */
+    synchronized void emitted(int length, boolean transportWritable) {
+        (transportWritable ? writingFrames : bufferedFrames).add(length);
+    }
+
+    /**
+     * Continues reading the response immediately, if the transport can take more content, or as soon as enough
+     * pending frames are written
+     *
+     * @param callback the callback to continue reading the response
+     */
+    void resumeWhenWritable(Callback callback) {
+        synchronized (this) {
+            if (pendingBytes > MAX_PENDING_BYTES) {
+                suspendedCallbacks.add(callback);
+                return;
+            }
+        }
+        callback.succeeded();
+    }
+
+    /**
+     * Called when the transport has completed a write. The frames of that write are completed, the buffered frames
+     * are carried by the next write.
+     */
+    void drained() {
+        List<Callback> callbacks;
+        synchronized (this) {
+            for (Integer length : writingFrames) {
+                pendingBytes -= length;
+            }
+            writingFrames.clear();
+            writingFrames.addAll(bufferedFrames);
+            bufferedFrames.clear();
+            if (pendingBytes > MAX_PENDING_BYTES) {
+                return;
+            }
+            callbacks = new ArrayList<>(suspendedCallbacks);
+            suspendedCallbacks.clear();
+        }
+        callbacks.forEach(Callback::succeeded);
+    }
+
+    /**
+     * Called when a new transport is used, e.g. after an upgrade to WebSocket. The buffered frames are carried by the
+     * first write of the new transport.
+     */
+    synchronized void transportChanged() {
+        writingFrames.addAll(bufferedFrames);
+        bufferedFrames.clear();
+    }
+
+    /**
+     * Aborts all suspended responses, e.g. when the connection to the openHAB Cloud is lost
+     */
+    void reset(Throwable cause) {
+        List<Callback> callbacks;
+        synchronized (this) {
+            pendingBytes = 0;
+            writingFrames.clear();
+            bufferedFrames.clear();
+            callbacks = new ArrayList<>(suspendedCallbacks);
+            suspendedCallbacks.clear();
+        }
+        callbacks.forEach(callback -> callback.failed(cause));
+    }
+
+    long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    synchronized long getBytesPerSecond() {
+        long elapsed = System.currentTimeMillis() - rateWindowStart;
+        if (elapsed >= 2 * RATE_WINDOW_MS) {
+            // nothing was sent for a while
+            return rateWindowBytes * 1000 / elapsed;
+        }
+        return bytesPerSecond;
+    }
+}
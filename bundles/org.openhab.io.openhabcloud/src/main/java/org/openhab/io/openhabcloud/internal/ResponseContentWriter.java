@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Collects the content of a proxied response into frames of up to {@link ProxyFlowControl#FRAME_SIZE} bytes. A frame
+ * is handed to the consumer when it is full or when the writer is flushed. Every frame is a copy of the collected
+ * content, which is owned by the consumer.
+ * <p>
+ * The buffer is allocated on the first write, sized to the content length if it is known.
+ *
+ * @author Victor Belov - Initial contribution
+ */
+class ResponseContentWriter extends OutputStream {
+
+    private final Consumer<byte[]> frameConsumer;
+
+    private int bufferSize = ProxyFlowControl.FRAME_SIZE;
+    private byte[] buffer;
+    private int position;
+
+    ResponseContentWriter(Consumer<byte[]> frameConsumer) {
+        this.frameConsumer = frameConsumer;
+    }
+
+    /**
+     * Sizes the buffer to the length of the response content, so a short response does not allocate a whole frame
+     *
+     * @param contentLength the length of the content in bytes or -1, if it is unknown
+     */
+    void setContentLength(long contentLength) {
+        if (buffer == null && contentLength >= 0) {
+            bufferSize = (int) Math.max(1, Math.min(contentLength, ProxyFlowControl.FRAME_SIZE));
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (buffer == null) {
+            buffer = new byte[bufferSize];
+        }
+        while (len > 0) {
+            int count = Math.min(len, buffer.length - position);
+            System.arraycopy(b, off, buffer, position, count);
+            position += count;
+            off += count;
+            len -= count;
+            if (position == buffer.length) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Hands the collected content to the consumer
+     */
+    @Override
+    public void flush() {
+        if (position > 0) {
+            frameConsumer.accept(Arrays.copyOf(buffer, position));
+            position = 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+}
@@ -15,18 +15,9 @@ package org.openhab.voice.googletts.internal;
 import static java.util.Collections.*;
 
 import java.io.ByteArrayInputStream;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
@@ -36,7 +27,6 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.io.FilenameUtils;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.io.net.http.HttpRequestBuilder;
 import org.openhab.voice.googletts.internal.protocol.AudioConfig;
@@ -63,11 +53,6 @@ import com.google.gson.GsonBuilder;
  * @author Gabor Bicskei - Initial contribution and API
  */
 class GoogleCloudAPI {
-    /**
-     * Default encoding
-     */
-    private static final String UTF_8 = "UTF-8";
-
     /**
      * JSON content type
      */
@@ -103,11 +88,6 @@ class GoogleCloudAPI {
      */
     private final Map<Locale, Set<GoogleTTSVoice>> voices = new HashMap<>();
 
-    /**
-     * Cache folder
-     */
-    private File cacheFolder;
-
     /**
      * Configuration
      */
@@ -122,15 +102,6 @@ class GoogleCloudAPI {
 
     private final Gson gson = new GsonBuilder().create();
 
-    /**
-     * Constructor.
-     *
-     * @param cacheFolder Service cache folder
-     */
-    GoogleCloudAPI(File cacheFolder) {
-        this.cacheFolder = cacheFolder;
-    }
-
     /**
      * Configuration update.
      *
@@ -153,15 +124,6 @@ class GoogleCloudAPI {
             initialized = false;
             voices.clear();
         }
-
-        // maintain cache
-        if (config.getPurgeCache() != null && config.getPurgeCache()) {
-            File[] files = cacheFolder.listFiles();
-            if (files != null && files.length > 0) {
-                Arrays.stream(files).forEach(File::delete);
-            }
-            logger.debug("Cache purged.");
-        }
     }
 
     private Credentials createCredentials(String serviceAccountKey) throws IOException {
@@ -274,65 +236,18 @@ class GoogleCloudAPI {
         }
     }
 
-    byte[] synthesizeSpeech(String text, GoogleTTSVoice voice, String codec) {
-        String[] format = getFormatForCodec(codec);
-        String fileNameInCache = getUniqueFilenameForText(text, voice.getTechnicalName());
-        File audioFileInCache = new File(cacheFolder, fileNameInCache + "." + format[1]);
-        try {
-            // check if in cache
-            if (audioFileInCache.exists()) {
-                logger.debug("Audio file {} was found in cache.", audioFileInCache.getName());
-                return Files.readAllBytes(audioFileInCache.toPath());
-            }
-
-            // if not in cache, get audio data and put to cache
-            byte[] audio = synthesizeSpeechByGoogle(text, voice, format[0]);
-            if (audio != null) {
-                saveAudioAndTextToFile(text, audioFileInCache, audio, voice.getTechnicalName());
-            }
-            return audio;
-        } catch (FileNotFoundException ex) {
-            logger.warn("Could not write {} to cache", audioFileInCache, ex);
-            return null;
-        } catch (IOException ex) {
-            logger.error("Could not write {} to cache", audioFileInCache, ex);
-            return null;
-        }
-    }
-
     /**
-     * Create cache entry.
+     * Synthesizes the required text.
      *
-     * @param text Converted text.
-     * @param cacheFile Cache entry file.
-     * @param audio Byte array of the audio.
-     * @param voiceName Used voice
-     * @throws IOException in case of file handling exceptions
+     * @param text Text to synthesize
+     * @param voice Voice parameter
+     * @param codec Requested codec
+     * @return Audio bytes or {@code null} when the service returned no audio
+     * @throws IOException in case of communication errors
      */
-    private void saveAudioAndTextToFile(String text, File cacheFile, byte[] audio, String voiceName)
-            throws IOException {
-        logger.debug("Caching audio file {}", cacheFile.getName());
-        try (FileOutputStream audioFileOutputStream = new FileOutputStream(cacheFile)) {
-            audioFileOutputStream.write(audio);
-        }
-
-        // write text to file for transparency too
-        // this allows to know which contents is in which audio file
-        String textFileName = FilenameUtils.removeExtension(cacheFile.getName()) + ".txt";
-        logger.debug("Caching text file {}", textFileName);
-        try (FileOutputStream textFileOutputStream = new FileOutputStream(new File(cacheFolder, textFileName))) {
-            // @formatter:off
-            StringBuilder sb = new StringBuilder("Config: ")
-                    .append(config.toConfigString())
-                    .append(",voice=")
-                    .append(voiceName)
-                    .append(System.lineSeparator())
-                    .append("Text: ")
-                    .append(text)
-                    .append(System.lineSeparator());
-            // @formatter:on
-            textFileOutputStream.write(sb.toString().getBytes(UTF_8));
-        }
+    byte[] synthesizeSpeech(String text, GoogleTTSVoice voice, String codec) throws IOException {
+        String[] format = getFormatForCodec(codec);
+        return synthesizeSpeechByGoogle(text, voice, format[0]);
     }
 
     /**
@@ -368,31 +283,6 @@ class GoogleCloudAPI {
         return Base64.getDecoder().decode(encodedBytes);
     }
 
-    /**
-     * Gets a unique filename for a give text, by creating a MD5 hash of it. It
-     * will be preceded by the locale.
-     * <p>
-     * Sample: "en-US_00a2653ac5f77063bc4ea2fee87318d3"
-     */
-    private String getUniqueFilenameForText(String text, String voiceName) {
-        try {
-            byte[] bytesOfMessage = (config.toConfigString() + text).getBytes(UTF_8);
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] md5Hash = md.digest(bytesOfMessage);
-            BigInteger bigInt = new BigInteger(1, md5Hash);
-            StringBuilder hashText = new StringBuilder(bigInt.toString(16));
-            // Now we need to zero pad it if you actually want the full 32 chars.
-            while (hashText.length() < 32) {
-                hashText.insert(0, "0");
-            }
-            return voiceName + "_" + hashText;
-        } catch (UnsupportedEncodingException | NoSuchAlgorithmException ex) {
-            // should not happen
-            logger.error("Could not create MD5 hash for '{}'", text, ex);
-            return null;
-        }
-    }
-
     boolean isInitialized() {
         return initialized;
     }
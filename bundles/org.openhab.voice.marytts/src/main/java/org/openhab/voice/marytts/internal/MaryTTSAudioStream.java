@@ -17,8 +17,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.SequenceInputStream;
 
-import javax.sound.sampled.AudioInputStream;
-
 import org.apache.commons.io.IOUtils;
 import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
@@ -49,15 +47,14 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
     /**
      * Constructs an instance with the passed properties
      *
-     * @param inputStream The InputStream of this instance
+     * @param rawAudio The raw PCM audio of this instance
      * @param audioFormat The AudioFormat of this instance
-     * @throws IOException
      */
-    public MaryTTSAudioStream(AudioInputStream inputStream, AudioFormat audioFormat) throws IOException {
-        rawAudio = IOUtils.toByteArray(inputStream);
+    public MaryTTSAudioStream(byte[] rawAudio, AudioFormat audioFormat) {
+        this.rawAudio = rawAudio;
         this.length = rawAudio.length + 36;
-        this.inputStream = new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
         this.audioFormat = audioFormat;
+        this.inputStream = new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
     }
 
     @Override
@@ -85,7 +82,18 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
         return length;
     }
 
-    private InputStream getWavHeaderInputStream(int length) throws IOException {
+    private InputStream getWavHeaderInputStream(long length) {
+        return new ByteArrayInputStream(getWavHeader(length, audioFormat));
+    }
+
+    /**
+     * Creates the WAVE header for PCM audio
+     *
+     * @param length The length of the audio including the header, without the first 8 bytes
+     * @param audioFormat The AudioFormat of the audio
+     * @return The WAVE header
+     */
+    static byte[] getWavHeader(long length, AudioFormat audioFormat) {
         // WAVE header
         // see http://www-mmsp.ece.mcgill.ca/Documents/AudioFormats/WAVE/WAVE.html
         byte[] header = new byte[44];
@@ -93,7 +101,7 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
         byte format = 0x10; // PCM
         byte bits = 16;
         byte channel = 1;
-        long srate = (this.audioFormat != null) ? this.audioFormat.getFrequency() : 48000l;
+        long srate = (audioFormat != null) ? audioFormat.getFrequency() : 48000l;
         long rawLength = length - 36;
         long bitrate = srate * channel * bits;
 
@@ -122,8 +130,8 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
         header[22] = channel;
         header[23] = 0;
         header[24] = (byte) (srate & 0xff);
-        header[25] = (byte) ((srate >> 8) & 0xff); 
-        header[26] = (byte) ((srate >> 16) & 0xff); 
+        header[25] = (byte) ((srate >> 8) & 0xff);
+        header[26] = (byte) ((srate >> 16) & 0xff);
         header[27] = (byte) ((srate >> 24) & 0xff);
         header[28] = (byte) ((bitrate / 8) & 0xff);
         header[29] = (byte) (((bitrate / 8) >> 8) & 0xff);
@@ -141,7 +149,7 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
         header[41] = (byte) ((rawLength >> 8) & 0xff);
         header[42] = (byte) ((rawLength >> 16) & 0xff);
         header[43] = (byte) ((rawLength >> 24) & 0xff);
-        return new ByteArrayInputStream(header);
+        return header;
     }
 
     @Override
@@ -152,10 +160,6 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
 
     @Override
     public InputStream getClonedStream() throws AudioException {
-        try {
-            return new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
-        } catch (IOException e) {
-            throw new AudioException(e);
-        }
+        return new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
     }
 }
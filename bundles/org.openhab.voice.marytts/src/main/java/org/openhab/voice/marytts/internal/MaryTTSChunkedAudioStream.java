@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.marytts.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.voice.TTSException;
+import org.eclipse.smarthome.core.voice.Voice;
+
+/**
+ * An {@link AudioStream} for long texts, which synthesizes the text sentence by sentence in the background, so
+ * playback can start as soon as the first sentence is synthesized.
+ * <p>
+ * The sentences are synthesized one after another on a single instance of the pool. The instance is not held back by
+ * a slow reader, the synthesized sentences are queued until they are read. As the final length is not known in
+ * advance, the WAVE header announces the maximum length.
+ *
+ * @author Kelly Davis - Initial contribution
+ */
+class MaryTTSChunkedAudioStream extends AudioStream {
+
+    private static final long STREAMING_LENGTH = 0xFFFFFFFFL;
+
+    private static final byte[] END_OF_STREAM = new byte[0];
+
+    private final AudioFormat audioFormat;
+
+    private final BlockingQueue<byte[]> chunks = new LinkedBlockingQueue<>();
+
+    private final Future<?> producer;
+
+    private volatile TTSException failure;
+
+    private byte[] current;
+
+    private int position;
+
+    private boolean finished;
+
+    /**
+     * Starts the synthesis of the sentences
+     *
+     * @param sentences The sentences to synthesize in order
+     * @param voice The voice to use
+     * @param audioFormat The AudioFormat of the voice
+     * @param pool The pool synthesizing the sentences
+     * @param executor The executor running the synthesis
+     * @param completion Receives the raw PCM audio of the whole text, once all sentences have been synthesized
+     */
+    MaryTTSChunkedAudioStream(List<String> sentences, Voice voice, AudioFormat audioFormat, MaryTTSInterfacePool pool,
+            ExecutorService executor, Consumer<byte[]> completion) {
+        this.audioFormat = audioFormat;
+        this.current = MaryTTSAudioStream.getWavHeader(STREAMING_LENGTH, audioFormat);
+        this.producer = executor.submit(() -> {
+            ByteArrayOutputStream audio = new ByteArrayOutputStream();
+            try {
+                pool.generateAudio(sentences, voice, sentenceAudio -> {
+                    audio.write(sentenceAudio, 0, sentenceAudio.length);
+                    chunks.put(sentenceAudio);
+                });
+                completion.accept(audio.toByteArray());
+            } catch (TTSException e) {
+                failure = e;
+            } catch (InterruptedException e) {
+                // the stream was closed
+                return;
+            }
+            chunks.add(END_OF_STREAM);
+        });
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return audioFormat;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int read = read(b, 0, 1);
+        return read == -1 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (position >= current.length) {
+            if (finished) {
+                return -1;
+            }
+            nextChunk();
+        }
+        int read = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, read);
+        position += read;
+        return read;
+    }
+
+    private void nextChunk() throws IOException {
+        try {
+            current = chunks.take();
+            position = 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the synthesis");
+        }
+        if (current == END_OF_STREAM) {
+            finished = true;
+            TTSException e = failure;
+            if (e != null) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        producer.cancel(true);
+        chunks.clear();
+        finished = true;
+        current = END_OF_STREAM;
+        super.close();
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.marytts.internal;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.sound.sampled.AudioInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.smarthome.core.voice.TTSException;
+import org.eclipse.smarthome.core.voice.Voice;
+
+import marytts.LocalMaryInterface;
+import marytts.MaryInterface;
+import marytts.exceptions.MaryConfigurationException;
+import marytts.exceptions.SynthesisException;
+
+/**
+ * A fixed size pool of {@link MaryInterface}s, which bounds the number of concurrent syntheses.
+ * <p>
+ * The voice models are loaded once per JVM and shared by all instances, an instance only holds the locale and voice
+ * of the current synthesis.
+ *
+ * @author Kelly Davis - Initial contribution
+ */
+class MaryTTSInterfacePool {
+
+    private final BlockingQueue<MaryInterface> instances;
+
+    private final long timeout;
+
+    /**
+     * Creates the instances of the pool
+     *
+     * @param size the number of instances, i.e. the maximum number of concurrent syntheses
+     * @param timeout the time in milliseconds a synthesis waits for a free instance
+     * @throws MaryConfigurationException if MaryTTS cannot be initialized
+     */
+    MaryTTSInterfacePool(int size, long timeout) throws MaryConfigurationException {
+        this.instances = new ArrayBlockingQueue<>(size);
+        this.timeout = timeout;
+        for (int i = 0; i < size; i++) {
+            instances.add(new LocalMaryInterface());
+        }
+    }
+
+    /**
+     * Synthesizes a text with a free instance of the pool
+     *
+     * @param text the text to synthesize
+     * @param voice the voice to use
+     * @return the raw PCM audio, without a WAVE header
+     * @throws TTSException if no instance becomes free in time or the synthesis fails
+     */
+    byte[] generateAudio(String text, Voice voice) throws TTSException {
+        MaryInterface marytts = borrow();
+        try {
+            return generateAudio(marytts, text, voice);
+        } finally {
+            instances.add(marytts);
+        }
+    }
+
+    /**
+     * Synthesizes texts one after another with the same free instance of the pool, so a long text occupies a single
+     * instance only
+     *
+     * @param texts the texts to synthesize in order
+     * @param voice the voice to use
+     * @param consumer receives the raw PCM audio of each text, without a WAVE header, as soon as it is synthesized
+     * @throws TTSException if no instance becomes free in time or the synthesis of a text fails
+     * @throws InterruptedException if the consumer is interrupted
+     */
+    void generateAudio(List<String> texts, Voice voice, AudioConsumer consumer)
+            throws TTSException, InterruptedException {
+        MaryInterface marytts = borrow();
+        try {
+            for (String text : texts) {
+                consumer.accept(generateAudio(marytts, text, voice));
+            }
+        } finally {
+            instances.add(marytts);
+        }
+    }
+
+    private MaryInterface borrow() throws TTSException {
+        MaryInterface marytts;
+        try {
+            marytts = instances.poll(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TTSException("Interrupted while waiting for a MaryTTS instance");
+        }
+        if (marytts == null) {
+            throw new TTSException("No MaryTTS instance became available within " + timeout + " ms");
+        }
+        return marytts;
+    }
+
+    private byte[] generateAudio(MaryInterface marytts, String text, Voice voice) throws TTSException {
+        try {
+            // Set voice (Each voice supports only a single AudioFormat)
+            marytts.setLocale(voice.getLocale());
+            marytts.setVoice(voice.getLabel());
+            try (AudioInputStream audio = marytts.generateAudio(text)) {
+                return IOUtils.toByteArray(audio);
+            }
+        } catch (SynthesisException | IOException e) {
+            throw new TTSException("Error generating an AudioStream", e);
+        }
+    }
+
+    /**
+     * Receives the audio of the texts synthesized one after another
+     */
+    @FunctionalInterface
+    interface AudioConsumer {
+        void accept(byte[] audio) throws InterruptedException;
+    }
+}
@@ -14,23 +14,34 @@ package org.openhab.voice.marytts.internal;
 
 import static javax.sound.sampled.AudioSystem.NOT_SPECIFIED;
 
-import java.io.IOException;
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
+import org.eclipse.smarthome.config.core.ConfigurableService;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
+import org.openhab.voice.ttscache.TTSCache;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import marytts.LocalMaryInterface;
 import marytts.MaryInterface;
 import marytts.exceptions.MaryConfigurationException;
-import marytts.exceptions.SynthesisException;
 import marytts.modules.synthesis.Voice;
 
 /**
@@ -39,12 +50,39 @@ import marytts.modules.synthesis.Voice;
  * @author Kelly Davis - Initial contribution and API
  * @author Kai Kreuzer - Refactored to updated APIs and moved to openHAB
  */
-@Component
+@Component(configurationPid = MaryTTSService.SERVICE_PID, property = {
+        Constants.SERVICE_PID + "=" + MaryTTSService.SERVICE_PID,
+        ConfigurableService.SERVICE_PROPERTY_LABEL + "=Mary Text-to-Speech",
+        ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=voice:marytts",
+        ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=voice" })
 public class MaryTTSService implements TTSService {
 
+    static final String SERVICE_PID = "org.openhab.voice.marytts";
+
+    private static final String PARAM_POOL_SIZE = "poolSize";
+    private static final String PARAM_PRE_WARM = "preWarm";
+
+    private static final int DEFAULT_POOL_SIZE = 2;
+
+    /**
+     * Time in milliseconds a synthesis waits for a free MaryTTS instance
+     */
+    private static final long POOL_TIMEOUT = 30000;
+
+    /**
+     * Text used to load the models of the voices at activation
+     */
+    private static final String PRE_WARM_TEXT = "OK";
+
     private final Logger logger = LoggerFactory.getLogger(MaryTTSService.class);
 
-    private MaryInterface marytts;
+    private final ExecutorService executor = ThreadPoolManager.getPool("marytts");
+
+    private volatile MaryTTSInterfacePool pool;
+
+    private int poolSize;
+
+    private TTSCache ttsCache;
 
     /**
      * Set of supported voices
@@ -56,16 +94,60 @@ public class MaryTTSService implements TTSService {
      */
     private Set<AudioFormat> audioFormats;
 
-    protected void activate() {
+    @Activate
+    protected void activate(Map<String, Object> config) {
         try {
-            marytts = new LocalMaryInterface();
-            voices = initVoices();
-            audioFormats = initAudioFormats();
+            MaryInterface marytts = new LocalMaryInterface();
+            voices = initVoices(marytts);
+            audioFormats = initAudioFormats(marytts);
+        } catch (MaryConfigurationException e) {
+            logger.error("Failed to initialize MaryTTS: {}", e.getMessage(), e);
+            return;
+        }
+        modified(config);
+
+        Object preWarm = config == null ? null : config.get(PARAM_PRE_WARM);
+        if (preWarm == null || Boolean.parseBoolean(preWarm.toString())) {
+            executor.execute(this::preWarm);
+        }
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        Object param = config == null ? null : config.get(PARAM_POOL_SIZE);
+        int newPoolSize = param == null ? DEFAULT_POOL_SIZE : Math.max(1, Integer.parseInt(param.toString()));
+        if (newPoolSize == poolSize && pool != null) {
+            return;
+        }
+        try {
+            pool = new MaryTTSInterfacePool(newPoolSize, POOL_TIMEOUT);
+            poolSize = newPoolSize;
+            logger.debug("Using {} MaryTTS instances", newPoolSize);
         } catch (MaryConfigurationException e) {
             logger.error("Failed to initialize MaryTTS: {}", e.getMessage(), e);
         }
     }
 
+    /**
+     * Synthesizes a short text with every voice, so the first announcement does not have to wait for the models to be
+     * loaded
+     */
+    private void preWarm() {
+        MaryTTSInterfacePool pool = this.pool;
+        if (pool == null) {
+            return;
+        }
+        for (org.eclipse.smarthome.core.voice.Voice voice : voices) {
+            try {
+                long start = System.currentTimeMillis();
+                pool.generateAudio(PRE_WARM_TEXT, voice);
+                logger.debug("Pre-warmed voice {} in {} ms", voice.getLabel(), System.currentTimeMillis() - start);
+            } catch (TTSException e) {
+                logger.debug("Failed to pre-warm voice {}: {}", voice.getLabel(), e.getMessage());
+            }
+        }
+    }
+
     @Override
     public Set<org.eclipse.smarthome.core.voice.Voice> getAvailableVoices() {
         return voices;
@@ -80,6 +162,10 @@ public class MaryTTSService implements TTSService {
     public AudioStream synthesize(String text, org.eclipse.smarthome.core.voice.Voice voice,
             AudioFormat requestedFormat) throws TTSException {
         // Validate arguments
+        MaryTTSInterfacePool pool = this.pool;
+        if (pool == null) {
+            throw new TTSException("MaryTTS is not initialized");
+        }
         if (text == null || text.isEmpty()) {
             throw new TTSException("The passed text is null or empty");
         }
@@ -114,26 +200,74 @@ public class MaryTTSService implements TTSService {
         Voice maryTTSVoice = Voice.getVoice(voice.getLabel());
         AudioFormat maryTTSVoiceAudioFormat = getAudioFormat(maryTTSVoice.dbAudioFormat());
 
-        // Synchronize on marytts
-        synchronized (marytts) {
-            // Set voice (Each voice supports only a single AudioFormat)
-            marytts.setLocale(voice.getLocale());
-            marytts.setVoice(voice.getLabel());
+        TTSCache ttsCache = this.ttsCache;
+        List<String> sentences = splitSentences(text, voice.getLocale());
+        if (sentences.size() <= 1) {
+            return ttsCache.get(this, text, voice, maryTTSVoiceAudioFormat,
+                    () -> new MaryTTSAudioStream(pool.generateAudio(text, voice), maryTTSVoiceAudioFormat));
+        }
 
-            try {
-                return new MaryTTSAudioStream(marytts.generateAudio(text), maryTTSVoiceAudioFormat);
-            } catch (SynthesisException | IOException e) {
-                throw new TTSException("Error generating an AudioStream", e);
+        // Long texts are streamed sentence by sentence and cached once their synthesis is complete
+        AudioStream cached = ttsCache.getCached(this, text, voice, maryTTSVoiceAudioFormat, "");
+        if (cached != null) {
+            return cached;
+        }
+        return new MaryTTSChunkedAudioStream(sentences, voice, maryTTSVoiceAudioFormat, pool, executor,
+                rawAudio -> ttsCache.put(this, text, voice, maryTTSVoiceAudioFormat, "",
+                        getWavAudio(rawAudio, maryTTSVoiceAudioFormat)));
+    }
+
+    /**
+     * Prepends the WAVE header to raw PCM audio
+     *
+     * @param rawAudio The raw PCM audio
+     * @param audioFormat The AudioFormat of the audio
+     * @return The audio as it is read from a {@link MaryTTSAudioStream}
+     */
+    private byte[] getWavAudio(byte[] rawAudio, AudioFormat audioFormat) {
+        byte[] header = MaryTTSAudioStream.getWavHeader(rawAudio.length + 36, audioFormat);
+        byte[] audio = Arrays.copyOf(header, header.length + rawAudio.length);
+        System.arraycopy(rawAudio, 0, audio, header.length, rawAudio.length);
+        return audio;
+    }
+
+    /**
+     * Splits a text into its sentences
+     *
+     * @param text The text to split
+     * @param locale The locale of the text
+     * @return The non-blank sentences of the text
+     */
+    static List<String> splitSentences(String text, Locale locale) {
+        List<String> sentences = new ArrayList<>();
+        BreakIterator iterator = BreakIterator.getSentenceInstance(locale);
+        iterator.setText(text);
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            String sentence = text.substring(start, end).trim();
+            if (!sentence.isEmpty()) {
+                sentences.add(sentence);
             }
         }
+        return sentences;
+    }
+
+    @Reference
+    protected void setTTSCache(TTSCache ttsCache) {
+        this.ttsCache = ttsCache;
+    }
+
+    protected void unsetTTSCache(TTSCache ttsCache) {
+        this.ttsCache = null;
     }
 
     /**
      * Initializes voices
      *
+     * @param marytts The MaryTTS instance providing the voices
      * @return The voices of this instance
      */
-    private Set<org.eclipse.smarthome.core.voice.Voice> initVoices() {
+    private Set<org.eclipse.smarthome.core.voice.Voice> initVoices(MaryInterface marytts) {
         Set<org.eclipse.smarthome.core.voice.Voice> voices = new HashSet<>();
         for (Locale locale : marytts.getAvailableLocales()) {
             for (String voiceLabel : marytts.getAvailableVoices(locale)) {
@@ -146,9 +280,10 @@ public class MaryTTSService implements TTSService {
     /**
      * Initializes audioFormats
      *
+     * @param marytts The MaryTTS instance providing the voices
      * @return The audio formats of this instance
      */
-    private Set<AudioFormat> initAudioFormats() {
+    private Set<AudioFormat> initAudioFormats(MaryInterface marytts) {
         Set<AudioFormat> audioFormats = new HashSet<>();
         for (String voiceLabel : marytts.getAvailableVoices()) {
             audioFormats.add(getAudioFormat(Voice.getVoice(voiceLabel).dbAudioFormat()));
@@ -24,7 +24,9 @@ import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
+import org.openhab.voice.ttscache.TTSCache;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 /**
  * @author Florian Schmidt - Initial Contribution
@@ -36,6 +38,8 @@ public class PicoTTSService implements TTSService {
                     new PicoTTSVoice("es-ES"), new PicoTTSVoice("fr-FR"), new PicoTTSVoice("it-IT"))
             .collect(Collectors.toSet());
 
+    private TTSCache ttsCache;
+
     private final Set<AudioFormat> audioFormats = Collections.singleton(
             new AudioFormat(AudioFormat.CONTAINER_WAVE, AudioFormat.CODEC_PCM_SIGNED, false, 16, null, 16000L));
 
@@ -67,11 +71,22 @@ public class PicoTTSService implements TTSService {
             throw new TTSException("The passed AudioFormat is unsupported");
         }
 
-        try {
-            return new PicoTTSAudioStream(text, voice, requestedFormat);
-        } catch (AudioException e) {
-            throw new TTSException(e);
-        }
+        return this.ttsCache.get(this, text, voice, requestedFormat, () -> {
+            try {
+                return new PicoTTSAudioStream(text, voice, requestedFormat);
+            } catch (AudioException e) {
+                throw new TTSException(e);
+            }
+        });
+    }
+
+    @Reference
+    protected void setTTSCache(TTSCache ttsCache) {
+        this.ttsCache = ttsCache;
+    }
+
+    protected void unsetTTSCache(TTSCache ttsCache) {
+        this.ttsCache = null;
     }
 
     @Override
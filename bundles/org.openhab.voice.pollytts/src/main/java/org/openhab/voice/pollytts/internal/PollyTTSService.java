@@ -16,28 +16,28 @@ import static java.util.stream.Collectors.toSet;
 import static org.eclipse.smarthome.core.audio.AudioFormat.*;
 import static org.openhab.voice.pollytts.internal.PollyTTSService.*;
 
-import java.io.File;
-import java.io.IOException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
-import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
-import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
-import org.openhab.voice.pollytts.internal.cloudapi.CachedPollyTTSCloudImpl;
+import org.openhab.voice.pollytts.internal.cloudapi.PollyTTSCloudImpl;
 import org.openhab.voice.pollytts.internal.cloudapi.PollyTTSConfig;
+import org.openhab.voice.ttscache.TTSCache;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,17 +72,14 @@ public class PollyTTSService implements TTSService {
      */
     static final String SERVICE_PID = "org.openhab." + SERVICE_CATEGORY + "." + SERVICE_ID;
 
-    /**
-     * Cache folder under $userdata
-     */
-    private static final String CACHE_FOLDER_NAME = "cache";
-
     private final Logger logger = LoggerFactory.getLogger(PollyTTSService.class);
 
+    private PollyTTSCloudImpl pollyTTSImpl;
+
     /**
-     * We need the cached implementation to allow for FixedLengthAudioStream.
+     * The shared cache, which also allows for FixedLengthAudioStream.
      */
-    private CachedPollyTTSCloudImpl pollyTTSImpl;
+    private TTSCache ttsCache;
 
     /**
      * Set of supported voices
@@ -107,14 +104,7 @@ public class PollyTTSService implements TTSService {
             pollyTTSConfig = new PollyTTSConfig(config);
             logger.debug("Using configuration {}", config);
 
-            // create cache folder
-            File cacheFolder = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID);
-            if (!cacheFolder.exists()) {
-                cacheFolder.mkdirs();
-            }
-            logger.info("Using cache folder {}", cacheFolder.getAbsolutePath());
-
-            pollyTTSImpl = new CachedPollyTTSCloudImpl(pollyTTSConfig, cacheFolder);
+            pollyTTSImpl = new PollyTTSCloudImpl(pollyTTSConfig);
 
             audioFormats.clear();
             audioFormats.addAll(initAudioFormats());
@@ -166,21 +156,13 @@ public class PollyTTSService implements TTSService {
         }
 
         // now create the input stream for given text, locale, format. There is
-        // only a default voice
-        try {
-            File cacheAudioFile = pollyTTSImpl.getTextToSpeechAsFile(text, voice.getLabel(),
-                    getApiAudioFormat(requestedFormat));
-            if (cacheAudioFile == null) {
-                throw new TTSException("Could not read from PollyTTS service");
-            }
-            logger.debug("Audio Stream for '{}' in format {}", text, requestedFormat);
-            AudioStream audioStream = new PollyTTSAudioStream(cacheAudioFile, requestedFormat);
-            return audioStream;
-        } catch (AudioException ex) {
-            throw new TTSException("Could not create AudioStream: " + ex.getMessage(), ex);
-        } catch (IOException ex) {
-            throw new TTSException("Could not read from PollyTTS service: " + ex.getMessage(), ex);
-        }
+        // only a default voice. The API audio format may be overridden by the configuration, so it is part of the
+        // cache key.
+        String apiAudioFormat = getApiAudioFormat(requestedFormat);
+        purgeAgedFiles();
+        PollyTTSCloudImpl localPollyTTSImpl = pollyTTSImpl;
+        return ttsCache.get(this, text, voice, requestedFormat, apiAudioFormat,
+                () -> localPollyTTSImpl.getTextToSpeech(text, voice.getLabel(), apiAudioFormat));
     }
 
     private Set<Voice> initVoices() {
@@ -227,6 +209,28 @@ public class PollyTTSService implements TTSService {
         }
     }
 
+    private void purgeAgedFiles() {
+        // just exit if expiration set to 0/disabled
+        if (pollyTTSConfig.getExpireDate() == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        // only execute ~ once every 2 days if cache called
+        if (now - pollyTTSConfig.getLastDelete() > TimeUnit.DAYS.toMillis(2)) {
+            pollyTTSConfig.setLastDelete(now);
+            ttsCache.purge(getId(), Duration.ofDays(pollyTTSConfig.getExpireDate()));
+        }
+    }
+
+    @Reference
+    protected void setTTSCache(TTSCache ttsCache) {
+        this.ttsCache = ttsCache;
+    }
+
+    protected void unsetTTSCache(TTSCache ttsCache) {
+        this.ttsCache = null;
+    }
+
     @Override
     public String getId() {
         return "pollytts";
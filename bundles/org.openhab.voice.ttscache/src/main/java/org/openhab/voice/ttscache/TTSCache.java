@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.voice.TTSException;
+import org.eclipse.smarthome.core.voice.TTSService;
+import org.eclipse.smarthome.core.voice.Voice;
+
+/**
+ * The {@link TTSCache} keeps the audio synthesized by {@link TTSService}s, so the same text is synthesized only once.
+ * <p>
+ * The audio is kept in a size-bounded folder below the userdata folder, frequently used short phrases are additionally
+ * kept in memory. Concurrent requests for the same text are synthesized only once.
+ *
+ * @author Jochen Hiller - Initial contribution
+ */
+@NonNullByDefault
+public interface TTSCache {
+
+    /**
+     * Synthesizes the audio, if it is not found in the cache.
+     */
+    @FunctionalInterface
+    interface Synthesizer {
+        /**
+         * @return the synthesized audio, which is read completely and closed by the cache
+         */
+        InputStream synthesize() throws IOException, TTSException;
+    }
+
+    /**
+     * Returns the audio for a text from the cache or synthesizes and caches it
+     *
+     * @param service the service synthesizing the audio
+     * @param text the text to synthesize
+     * @param voice the voice used for the text
+     * @param format the requested audio format
+     * @param synthesizer synthesizes the audio if it is not found in the cache
+     * @return a fixed length audio stream in the requested format
+     * @throws TTSException if the audio has to be synthesized and the synthesis fails
+     */
+    default AudioStream get(TTSService service, String text, Voice voice, AudioFormat format, Synthesizer synthesizer)
+            throws TTSException {
+        return get(service, text, voice, format, "", synthesizer);
+    }
+
+    /**
+     * Returns the audio for a text from the cache or synthesizes and caches it
+     *
+     * @param service the service synthesizing the audio
+     * @param text the text to synthesize
+     * @param voice the voice used for the text
+     * @param format the requested audio format
+     * @param variant service specific settings influencing the audio, e.g. pitch or speaking rate
+     * @param synthesizer synthesizes the audio if it is not found in the cache
+     * @return a fixed length audio stream in the requested format
+     * @throws TTSException if the audio has to be synthesized and the synthesis fails
+     */
+    AudioStream get(TTSService service, String text, Voice voice, AudioFormat format, String variant,
+            Synthesizer synthesizer) throws TTSException;
+
+    /**
+     * Returns the audio for a text from the cache without synthesizing it
+     *
+     * @param service the service synthesizing the audio
+     * @param text the text to synthesize
+     * @param voice the voice used for the text
+     * @param format the requested audio format
+     * @param variant service specific settings influencing the audio, e.g. pitch or speaking rate
+     * @return a fixed length audio stream in the requested format or null, if the text is not cached
+     */
+    @Nullable
+    AudioStream getCached(TTSService service, String text, Voice voice, AudioFormat format, String variant);
+
+    /**
+     * Adds audio which has been synthesized without the cache, e.g. audio streamed progressively to the sink, once it
+     * is complete
+     *
+     * @param service the service which synthesized the audio
+     * @param text the synthesized text
+     * @param voice the voice used for the text
+     * @param format the audio format
+     * @param variant service specific settings influencing the audio, e.g. pitch or speaking rate
+     * @param audio the complete audio
+     */
+    void put(TTSService service, String text, Voice voice, AudioFormat format, String variant, byte[] audio);
+
+    /**
+     * Removes all audio of a service from the cache
+     *
+     * @param serviceId the id of the service
+     */
+    void purge(String serviceId);
+
+    /**
+     * Removes the audio of a service from the cache, which has not been used for the given time
+     *
+     * @param serviceId the id of the service
+     * @param unusedFor the time since the last use
+     */
+    void purge(String serviceId, Duration unusedFor);
+}
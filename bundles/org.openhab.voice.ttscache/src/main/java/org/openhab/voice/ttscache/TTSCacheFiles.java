@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+
+/**
+ * The {@link TTSCacheFiles} defines the names and the content of the files in the cache folder. It is used by the
+ * {@link TTSCache} and by tools, which prefill the cache folder.
+ *
+ * @author Jochen Hiller - Initial contribution
+ */
+@NonNullByDefault
+public final class TTSCacheFiles {
+
+    /**
+     * Extension of the file describing the content of an audio file
+     */
+    public static final String TEXT_FILE_EXTENSION = ".txt";
+
+    /**
+     * Extension of the temporary files written before they are moved to their final name
+     */
+    public static final String TEMP_FILE_EXTENSION = ".tmp";
+
+    private TTSCacheFiles() {
+    }
+
+    /**
+     * Gets a unique key for the audio by creating a MD5 hash of all parameters influencing it. It is preceded by the
+     * service id.
+     *
+     * Sample: "voicerss_00a2653ac5f77063bc4ea2fee87318d3"
+     *
+     * @param serviceId the id of the service synthesizing the audio
+     * @param text the synthesized text
+     * @param voiceUID the UID of the voice used for the text
+     * @param format the audio format
+     * @param variant service specific settings influencing the audio
+     * @return the key, which is also the name of the audio file without extension
+     */
+    public static String getKey(String serviceId, String text, String voiceUID, AudioFormat format, String variant) {
+        String parameters = voiceUID + '|' + format.getContainer() + '|' + format.getCodec() + '|'
+                + format.isBigEndian() + '|' + format.getBitDepth() + '|' + format.getBitRate() + '|'
+                + format.getFrequency() + '|' + variant + '|' + text;
+        try {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            byte[] md5Hash = md.digest(parameters.getBytes(StandardCharsets.UTF_8));
+            return serviceId + "_" + String.format("%032x", new BigInteger(1, md5Hash));
+        } catch (NoSuchAlgorithmException e) {
+            // MD5 is supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes an audio file and the text file describing it to the cache folder
+     *
+     * @param folder the cache folder
+     * @param key the key of the audio, see {@link #getKey(String, String, String, AudioFormat, String)}
+     * @param text the synthesized text
+     * @param voiceUID the UID of the voice used for the text
+     * @param format the audio format
+     * @param variant service specific settings influencing the audio
+     * @param audio the audio
+     * @return the written audio file
+     * @throws IOException if a file could not be written
+     */
+    public static File write(File folder, String key, String text, String voiceUID, AudioFormat format,
+            String variant, byte[] audio) throws IOException {
+        File audioFile = new File(folder, key + "." + getFileExtension(format));
+        File textFile = new File(folder, key + TEXT_FILE_EXTENSION);
+        // write to a temporary file first, so a concurrent reader never sees a partially written file
+        File tempFile = File.createTempFile(key, TEMP_FILE_EXTENSION, folder);
+        Files.write(tempFile.toPath(), audio);
+        Files.move(tempFile.toPath(), audioFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        String description = "Voice: " + voiceUID + System.lineSeparator()
+                + (variant.isEmpty() ? "" : "Variant: " + variant + System.lineSeparator()) + "Text: " + text
+                + System.lineSeparator();
+        Files.write(textFile.toPath(), description.getBytes(StandardCharsets.UTF_8));
+        return audioFile;
+    }
+
+    private static String getFileExtension(AudioFormat format) {
+        String codec = format.getCodec();
+        if (AudioFormat.CODEC_MP3.equals(codec)) {
+            return "mp3";
+        } else if (AudioFormat.CODEC_VORBIS.equals(codec)) {
+            return "ogg";
+        } else if (AudioFormat.CODEC_AAC.equals(codec)) {
+            return "aac";
+        } else if (AudioFormat.CONTAINER_WAVE.equals(format.getContainer())) {
+            return "wav";
+        }
+        return "snd";
+    }
+}
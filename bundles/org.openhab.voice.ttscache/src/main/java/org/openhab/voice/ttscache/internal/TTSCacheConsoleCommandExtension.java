@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache.internal;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link TTSCacheConsoleCommandExtension} shows the statistics of the {@link TTSCacheImpl} and allows to clear it.
+ *
+ * @author Jochen Hiller - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class TTSCacheConsoleCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_STATS = "stats";
+    private static final String SUBCMD_CLEAR = "clear";
+
+    private @NonNullByDefault({}) TTSCacheImpl cache;
+
+    public TTSCacheConsoleCommandExtension() {
+        super("ttscache", "Text-to-Speech cache.");
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 1 && SUBCMD_STATS.equals(args[0])) {
+            console.println(String.format("Hit rate:         %.1f %%", cache.getHitRate() * 100));
+            console.println(String.format("Memory hits:      %d", cache.getMemoryHits()));
+            console.println(String.format("Disk hits:        %d", cache.getDiskHits()));
+            console.println(String.format("Shared syntheses: %d", cache.getSharedSyntheses()));
+            console.println(String.format("Misses:           %d", cache.getMisses()));
+            console.println(String.format("Memory entries:   %d (%d bytes)", cache.getMemoryEntryCount(),
+                    cache.getMemorySize()));
+            console.println(
+                    String.format("Disk entries:     %d (%d bytes)", cache.getDiskEntryCount(), cache.getDiskSize()));
+        } else if (args.length == 1 && SUBCMD_CLEAR.equals(args[0])) {
+            cache.clear();
+            console.println("TTS cache cleared.");
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(buildCommandUsage(SUBCMD_STATS, "shows the hit rate and size of the cache"),
+                buildCommandUsage(SUBCMD_CLEAR, "removes all audio from the cache"));
+    }
+
+    @Reference
+    protected void setTTSCache(TTSCacheImpl cache) {
+        this.cache = cache;
+    }
+
+    protected void unsetTTSCache(TTSCacheImpl cache) {
+        this.cache = null;
+    }
+}
@@ -0,0 +1,541 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache.internal;
+
+import static org.openhab.voice.ttscache.TTSCacheFiles.TEMP_FILE_EXTENSION;
+import static org.openhab.voice.ttscache.TTSCacheFiles.TEXT_FILE_EXTENSION;
+import static org.openhab.voice.ttscache.internal.TTSCacheImpl.SERVICE_PID;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.config.core.ConfigurableService;
+import org.eclipse.smarthome.core.audio.AudioException;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.ByteArrayAudioStream;
+import org.eclipse.smarthome.core.audio.FileAudioStream;
+import org.eclipse.smarthome.core.voice.TTSException;
+import org.eclipse.smarthome.core.voice.TTSService;
+import org.eclipse.smarthome.core.voice.Voice;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.ttscache.TTSCacheFiles;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TTSCacheImpl} keeps the synthesized audio in two tiers: a size-bounded folder below the userdata folder
+ * and a small in-memory cache for frequently used phrases. Both tiers evict the least recently used entries first.
+ * The access order of the files is persisted through their modification time, so it survives restarts.
+ * <p>
+ * Each audio file is accompanied by a .txt file with the synthesized text, which allows to know which content is in
+ * which audio file.
+ *
+ * @author Jochen Hiller - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = { TTSCache.class, TTSCacheImpl.class }, configurationPid = SERVICE_PID, property = {
+        Constants.SERVICE_PID + "=" + SERVICE_PID,
+        ConfigurableService.SERVICE_PROPERTY_LABEL + "=Text-to-Speech Cache",
+        ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=voice:ttscache",
+        ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=voice" })
+public class TTSCacheImpl implements TTSCache {
+
+    /**
+     * Service pid
+     */
+    static final String SERVICE_PID = "org.openhab.voice.ttscache";
+
+    /**
+     * Cache folder under $userdata
+     */
+    private static final String CACHE_FOLDER_NAME = "cache";
+
+    private static final String PARAM_DISK_CACHE_SIZE = "diskCacheSize";
+    private static final String PARAM_MEMORY_CACHE_SIZE = "memoryCacheSize";
+
+    private static final long DEFAULT_DISK_CACHE_SIZE = 50 * 1024 * 1024;
+    private static final long DEFAULT_MEMORY_CACHE_SIZE = 1024 * 1024;
+
+    /**
+     * Only audio smaller than this fraction of the memory cache is kept in memory, so a single long text cannot
+     * displace all the short phrases.
+     */
+    private static final int MEMORY_ENTRY_FRACTION = 8;
+
+    private final Logger logger = LoggerFactory.getLogger(TTSCacheImpl.class);
+
+    /**
+     * The audio files in the cache folder by key, in access order. Guarded by itself.
+     */
+    private final LinkedHashMap<String, DiskEntry> diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskSize;
+
+    /**
+     * The audio kept in memory by key, in access order. Guarded by {@link #diskEntries}.
+     */
+    private final LinkedHashMap<String, byte[]> memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long memorySize;
+
+    /**
+     * The currently running syntheses by key, used to synthesize concurrently requested texts only once
+     */
+    private final Map<String, CompletableFuture<byte[]>> pendingSyntheses = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong sharedSyntheses = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private @NonNullByDefault({}) File cacheFolder;
+    private volatile long diskCacheSize = DEFAULT_DISK_CACHE_SIZE;
+    private volatile long memoryCacheSize = DEFAULT_MEMORY_CACHE_SIZE;
+
+    @Activate
+    protected void activate(Map<String, Object> config) {
+        File folder = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID);
+        logger.debug("Using cache folder {}", folder.getAbsolutePath());
+        initialize(folder);
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        setCacheSizes(getSize(config, PARAM_DISK_CACHE_SIZE, DEFAULT_DISK_CACHE_SIZE, 1024 * 1024),
+                getSize(config, PARAM_MEMORY_CACHE_SIZE, DEFAULT_MEMORY_CACHE_SIZE, 1024));
+    }
+
+    private long getSize(Map<String, Object> config, String key, long defaultValue, long unit) {
+        Object value = config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0, (long) (Double.parseDouble(value.toString()) * unit));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for {}, using the default", value, key);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Uses a cache folder and indexes the audio files already contained in it
+     *
+     * @param folder the cache folder
+     */
+    void initialize(File folder) {
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+        cacheFolder = folder;
+
+        File[] files = folder.listFiles((dir, name) -> !name.endsWith(TEXT_FILE_EXTENSION));
+        synchronized (diskEntries) {
+            diskEntries.clear();
+            diskSize = 0;
+            if (files != null) {
+                // least recently used first, so the access order of the map matches the one of the files
+                Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+                for (File file : files) {
+                    String name = file.getName();
+                    if (name.endsWith(TEMP_FILE_EXTENSION)) {
+                        // left over from an interrupted write
+                        file.delete();
+                        continue;
+                    }
+                    int extension = name.lastIndexOf('.');
+                    String key = extension < 0 ? name : name.substring(0, extension);
+                    diskEntries.put(key, new DiskEntry(key, file, file.length(), file.lastModified()));
+                    diskSize += file.length();
+                }
+            }
+            logger.debug("TTS cache contains {} audio files with {} bytes", diskEntries.size(), diskSize);
+        }
+    }
+
+    /**
+     * Sets the sizes of both tiers and evicts entries which do not fit anymore
+     *
+     * @param diskCacheSize the maximum size of the audio files in bytes
+     * @param memoryCacheSize the maximum size of the audio kept in memory in bytes
+     */
+    void setCacheSizes(long diskCacheSize, long memoryCacheSize) {
+        this.diskCacheSize = diskCacheSize;
+        this.memoryCacheSize = memoryCacheSize;
+        synchronized (diskEntries) {
+            evict();
+        }
+    }
+
+    @Override
+    public AudioStream get(TTSService service, String text, Voice voice, AudioFormat format, String variant,
+            Synthesizer synthesizer) throws TTSException {
+        return get(service.getId(), text, voice, format, variant, synthesizer);
+    }
+
+    AudioStream get(String serviceId, String text, Voice voice, AudioFormat format, String variant,
+            Synthesizer synthesizer) throws TTSException {
+        String key = TTSCacheFiles.getKey(serviceId, text, voice.getUID(), format, variant);
+
+        AudioStream cached = getCached(key, format);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<byte[]> synthesis = new CompletableFuture<>();
+        CompletableFuture<byte[]> pendingSynthesis = pendingSyntheses.putIfAbsent(key, synthesis);
+        if (pendingSynthesis != null) {
+            // the same text is synthesized right now, wait for the result instead of synthesizing it again
+            sharedSyntheses.incrementAndGet();
+            return new ByteArrayAudioStream(await(pendingSynthesis), format);
+        }
+
+        misses.incrementAndGet();
+        try {
+            byte[] audio = synthesize(synthesizer);
+            store(key, text, voice, format, variant, audio);
+            synthesis.complete(audio);
+            return new ByteArrayAudioStream(audio, format);
+        } catch (TTSException | RuntimeException e) {
+            synthesis.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingSyntheses.remove(key);
+        }
+    }
+
+    @Override
+    public @Nullable AudioStream getCached(TTSService service, String text, Voice voice, AudioFormat format,
+            String variant) {
+        return getCached(service.getId(), text, voice, format, variant);
+    }
+
+    @Nullable
+    AudioStream getCached(String serviceId, String text, Voice voice, AudioFormat format, String variant) {
+        AudioStream cached = getCached(TTSCacheFiles.getKey(serviceId, text, voice.getUID(), format, variant), format);
+        if (cached == null) {
+            // the caller synthesizes the audio itself
+            misses.incrementAndGet();
+        }
+        return cached;
+    }
+
+    private @Nullable AudioStream getCached(String key, AudioFormat format) {
+        byte[] audio;
+        DiskEntry diskEntry;
+        synchronized (diskEntries) {
+            audio = memoryEntries.get(key);
+            // also touches the file in the access order
+            diskEntry = diskEntries.get(key);
+        }
+        if (audio != null) {
+            if (diskEntry != null) {
+                diskEntry.lastUsed = System.currentTimeMillis();
+            }
+            memoryHits.incrementAndGet();
+            return new ByteArrayAudioStream(audio, format);
+        }
+        if (diskEntry != null) {
+            AudioStream audioStream = getFromDisk(key, diskEntry, format);
+            if (audioStream != null) {
+                diskHits.incrementAndGet();
+                return audioStream;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void put(TTSService service, String text, Voice voice, AudioFormat format, String variant, byte[] audio) {
+        put(service.getId(), text, voice, format, variant, audio);
+    }
+
+    void put(String serviceId, String text, Voice voice, AudioFormat format, String variant, byte[] audio) {
+        store(TTSCacheFiles.getKey(serviceId, text, voice.getUID(), format, variant), text, voice, format, variant,
+                audio);
+    }
+
+    private @Nullable AudioStream getFromDisk(String key, DiskEntry diskEntry, AudioFormat format) {
+        // keep the access order across restarts
+        diskEntry.lastUsed = System.currentTimeMillis();
+        diskEntry.file.setLastModified(diskEntry.lastUsed);
+        try {
+            if (diskEntry.size <= getMaxMemoryEntrySize()) {
+                byte[] audio = Files.readAllBytes(diskEntry.file.toPath());
+                putInMemory(key, audio);
+                return new ByteArrayAudioStream(audio, format);
+            }
+            return new FileAudioStream(diskEntry.file, format);
+        } catch (IOException | AudioException e) {
+            // e.g. the file has been deleted meanwhile, synthesize the audio again
+            logger.debug("Could not read {} from cache: {}", diskEntry.file, e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] synthesize(Synthesizer synthesizer) throws TTSException {
+        try (InputStream inputStream = synthesizer.synthesize();
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            copyStream(inputStream, outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new TTSException("Could not synthesize the audio: " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] await(CompletableFuture<byte[]> synthesis) throws TTSException {
+        try {
+            return synthesis.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TTSException("Interrupted while waiting for the synthesis");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TTSException) {
+                throw (TTSException) cause;
+            }
+            throw new TTSException("Synthesis failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void store(String key, String text, Voice voice, AudioFormat format, String variant, byte[] audio) {
+        putInMemory(key, audio);
+        if (audio.length > diskCacheSize) {
+            return;
+        }
+
+        // the file is written while holding the lock, so an eviction of the same key cannot delete it before it is
+        // registered
+        synchronized (diskEntries) {
+            File audioFile;
+            try {
+                audioFile = TTSCacheFiles.write(cacheFolder, key, text, voice.getUID(), format, variant, audio);
+            } catch (IOException e) {
+                logger.warn("Could not write {} to cache: {}", key, e.getMessage());
+                return;
+            }
+            DiskEntry previous = diskEntries.put(key,
+                    new DiskEntry(key, audioFile, audio.length, System.currentTimeMillis()));
+            if (previous != null) {
+                diskSize -= previous.size;
+            }
+            diskSize += audio.length;
+            evict();
+        }
+    }
+
+    private void putInMemory(String key, byte[] audio) {
+        if (audio.length > getMaxMemoryEntrySize()) {
+            return;
+        }
+        synchronized (diskEntries) {
+            byte[] previous = memoryEntries.put(key, audio);
+            if (previous != null) {
+                memorySize -= previous.length;
+            }
+            memorySize += audio.length;
+            evict();
+        }
+    }
+
+    private long getMaxMemoryEntrySize() {
+        return memoryCacheSize / MEMORY_ENTRY_FRACTION;
+    }
+
+    /**
+     * Removes the least recently used entries and their files until both tiers fit into their size. Must be called
+     * while holding the lock on {@link #diskEntries}.
+     */
+    private void evict() {
+        Iterator<byte[]> memoryIterator = memoryEntries.values().iterator();
+        while (memorySize > memoryCacheSize && memoryIterator.hasNext()) {
+            memorySize -= memoryIterator.next().length;
+            memoryIterator.remove();
+        }
+
+        Iterator<DiskEntry> diskIterator = diskEntries.values().iterator();
+        while (diskSize > diskCacheSize && diskIterator.hasNext()) {
+            DiskEntry diskEntry = diskIterator.next();
+            diskSize -= diskEntry.size;
+            diskIterator.remove();
+            delete(diskEntry);
+        }
+    }
+
+    /**
+     * Deletes the files of an entry. Must be called while holding the lock on {@link #diskEntries}, so a concurrent
+     * put of the same key cannot write a new file which is deleted afterwards.
+     */
+    private void delete(DiskEntry diskEntry) {
+        logger.trace("Removing {} from cache", diskEntry.file.getName());
+        if (!diskEntry.file.delete() && diskEntry.file.exists()) {
+            logger.debug("Could not delete {} from cache", diskEntry.file);
+        }
+        new File(cacheFolder, diskEntry.key + TEXT_FILE_EXTENSION).delete();
+    }
+
+    @Override
+    public void purge(String serviceId) {
+        String prefix = serviceId + "_";
+        synchronized (diskEntries) {
+            memoryEntries.entrySet().removeIf(entry -> {
+                if (entry.getKey().startsWith(prefix)) {
+                    memorySize -= entry.getValue().length;
+                    return true;
+                }
+                return false;
+            });
+        }
+        purgeDisk(prefix, diskEntry -> true);
+        logger.debug("Purged the TTS cache of service {}", serviceId);
+    }
+
+    @Override
+    public void purge(String serviceId, Duration unusedFor) {
+        long lastUsedBefore = System.currentTimeMillis() - unusedFor.toMillis();
+        int purged = purgeDisk(serviceId + "_", diskEntry -> diskEntry.lastUsed < lastUsedBefore);
+        logger.debug("Purged {} audio files unused for {} from the TTS cache of service {}", purged, unusedFor,
+                serviceId);
+    }
+
+    private int purgeDisk(String prefix, Predicate<DiskEntry> filter) {
+        synchronized (diskEntries) {
+            int size = diskEntries.size();
+            diskEntries.entrySet().removeIf(entry -> {
+                if (entry.getKey().startsWith(prefix) && filter.test(entry.getValue())) {
+                    diskSize -= entry.getValue().size;
+                    delete(entry.getValue());
+                    byte[] audio = memoryEntries.remove(entry.getKey());
+                    if (audio != null) {
+                        memorySize -= audio.length;
+                    }
+                    return true;
+                }
+                return false;
+            });
+            return size - diskEntries.size();
+        }
+    }
+
+    /**
+     * Removes all audio from the cache and resets the statistics
+     */
+    void clear() {
+        synchronized (diskEntries) {
+            memoryEntries.clear();
+            memorySize = 0;
+            diskEntries.values().forEach(this::delete);
+            diskEntries.clear();
+            diskSize = 0;
+        }
+        memoryHits.set(0);
+        diskHits.set(0);
+        sharedSyntheses.set(0);
+        misses.set(0);
+    }
+
+    long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    long getDiskHits() {
+        return diskHits.get();
+    }
+
+    /**
+     * @return the number of requests which waited for a concurrent synthesis of the same text
+     */
+    long getSharedSyntheses() {
+        return sharedSyntheses.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the fraction of requests that did not need a synthesis, between 0 and 1
+     */
+    double getHitRate() {
+        long hits = memoryHits.get() + diskHits.get() + sharedSyntheses.get();
+        long requests = hits + misses.get();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    int getMemoryEntryCount() {
+        synchronized (diskEntries) {
+            return memoryEntries.size();
+        }
+    }
+
+    long getMemorySize() {
+        synchronized (diskEntries) {
+            return memorySize;
+        }
+    }
+
+    int getDiskEntryCount() {
+        synchronized (diskEntries) {
+            return diskEntries.size();
+        }
+    }
+
+    long getDiskSize() {
+        synchronized (diskEntries) {
+            return diskSize;
+        }
+    }
+
+    private void copyStream(InputStream inputStream, ByteArrayOutputStream outputStream) throws IOException {
+        byte[] bytes = new byte[4096];
+        int read;
+        while ((read = inputStream.read(bytes)) > 0) {
+            outputStream.write(bytes, 0, read);
+        }
+    }
+
+    private static class DiskEntry {
+        private final String key;
+        private final File file;
+        private final long size;
+        private volatile long lastUsed;
+
+        DiskEntry(String key, File file, long size, long lastUsed) {
+            this.key = key;
+            this.file = file;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.voice.ttscache.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.ByteArrayAudioStream;
+import org.eclipse.smarthome.core.voice.TTSException;
+import org.eclipse.smarthome.core.voice.Voice;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.voice.ttscache.TTSCache.Synthesizer;
+
+/**
+ * Tests {@link TTSCacheImpl}.
+ *
+ * @author Jochen Hiller - Initial contribution
+ */
+public class TTSCacheImplTest {
+
+    private static final String SERVICE_ID = "testtts";
+
+    private static final AudioFormat FORMAT = new AudioFormat(AudioFormat.CONTAINER_NONE, AudioFormat.CODEC_MP3, null,
+            16, 64000, 44100L);
+
+    private static final Voice VOICE = new Voice() {
+        @Override
+        public String getUID() {
+            return "testtts:en";
+        }
+
+        @Override
+        public String getLabel() {
+            return "en";
+        }
+
+        @Override
+        public Locale getLocale() {
+            return Locale.ENGLISH;
+        }
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TTSCacheImpl cache;
+
+    private final AtomicInteger syntheses = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        cache = new TTSCacheImpl();
+        cache.initialize(folder.getRoot());
+        cache.setCacheSizes(1000, 0);
+    }
+
+    private Synthesizer synthesizer(int length) {
+        return () -> {
+            syntheses.incrementAndGet();
+            return new ByteArrayAudioStream(new byte[length], FORMAT);
+        };
+    }
+
+    private byte[] get(String text, int length) throws TTSException, IOException {
+        try (AudioStream audioStream = cache.get(SERVICE_ID, text, VOICE, FORMAT, "", synthesizer(length))) {
+            return IOUtils.toByteArray(audioStream);
+        }
+    }
+
+    @Test
+    public void testTextIsSynthesizedOnce() throws Exception {
+        assertEquals(100, get("door opened", 100).length);
+        assertEquals(100, get("door opened", 100).length);
+
+        assertEquals(1, syntheses.get());
+        assertEquals(1, cache.getDiskHits());
+        assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws Exception {
+        get("one", 400);
+        get("two", 400);
+        // touch "one", so "two" is the least recently used
+        get("one", 400);
+        get("three", 400);
+
+        assertEquals(2, cache.getDiskEntryCount());
+        assertEquals(800, cache.getDiskSize());
+
+        syntheses.set(0);
+        get("one", 400);
+        assertEquals(0, syntheses.get());
+        get("two", 400);
+        assertEquals(1, syntheses.get());
+    }
+
+    @Test
+    public void testEvictedTextIsCachedAgain() throws Exception {
+        get("one", 600);
+        get("two", 600);
+        // "one" was evicted, synthesizing it again evicts "two" and must keep the new file of "one"
+        get("one", 600);
+
+        assertEquals(1, cache.getDiskEntryCount());
+        assertEquals(1, folder.getRoot().listFiles((dir, name) -> !name.endsWith(".txt")).length);
+
+        syntheses.set(0);
+        get("one", 600);
+        assertEquals(0, syntheses.get());
+        assertEquals(1, cache.getDiskHits());
+    }
+
+    @Test
+    public void testIndexSurvivesRestart() throws Exception {
+        get("door opened", 100);
+
+        TTSCacheImpl restarted = new TTSCacheImpl();
+        restarted.initialize(folder.getRoot());
+        restarted.setCacheSizes(1000, 0);
+        assertEquals(1, restarted.getDiskEntryCount());
+
+        syntheses.set(0);
+        restarted.get(SERVICE_ID, "door opened", VOICE, FORMAT, "", synthesizer(100)).close();
+        assertEquals(0, syntheses.get());
+    }
+
+    @Test
+    public void testMemoryTier() throws Exception {
+        cache.setCacheSizes(1000, 800);
+
+        get("door opened", 100);
+        // remove the file, the audio must still be served from memory
+        for (File file : folder.getRoot().listFiles()) {
+            file.delete();
+        }
+        get("door opened", 100);
+
+        assertEquals(1, syntheses.get());
+        assertEquals(1, cache.getMemoryHits());
+    }
+
+    @Test
+    public void testVariantsAreCachedSeparately() throws Exception {
+        cache.get(SERVICE_ID, "door opened", VOICE, FORMAT, "pitch=1", synthesizer(100)).close();
+        cache.get(SERVICE_ID, "door opened", VOICE, FORMAT, "pitch=2", synthesizer(100)).close();
+
+        assertEquals(2, syntheses.get());
+    }
+
+    @Test
+    public void testStreamedAudioIsCachedOncePut() throws Exception {
+        assertNull(cache.getCached(SERVICE_ID, "door opened", VOICE, FORMAT, ""));
+        assertEquals(1, cache.getMisses());
+
+        cache.put(SERVICE_ID, "door opened", VOICE, FORMAT, "", new byte[100]);
+
+        try (AudioStream audioStream = cache.getCached(SERVICE_ID, "door opened", VOICE, FORMAT, "")) {
+            assertEquals(100, IOUtils.toByteArray(audioStream).length);
+        }
+        assertEquals(100, get("door opened", 100).length);
+        assertEquals(0, syntheses.get());
+        assertEquals(2, cache.getDiskHits());
+    }
+
+    @Test
+    public void testPurge() throws Exception {
+        get("door opened", 100);
+        cache.purge(SERVICE_ID);
+
+        assertEquals(0, cache.getDiskEntryCount());
+        assertEquals(0, folder.getRoot().listFiles().length);
+    }
+
+    @Test
+    public void testPurgeUnused() throws Exception {
+        get("door opened", 100);
+        long tenDaysAgo = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(10);
+        for (File file : folder.getRoot().listFiles()) {
+            file.setLastModified(tenDaysAgo);
+        }
+        get("window opened", 100);
+
+        TTSCacheImpl restarted = new TTSCacheImpl();
+        restarted.initialize(folder.getRoot());
+        restarted.setCacheSizes(1000, 0);
+        restarted.purge(SERVICE_ID, Duration.ofDays(5));
+
+        assertEquals(1, restarted.getDiskEntryCount());
+        assertEquals(2, folder.getRoot().listFiles().length);
+        syntheses.set(0);
+        restarted.get(SERVICE_ID, "window opened", VOICE, FORMAT, "", synthesizer(100)).close();
+        assertEquals(0, syntheses.get());
+    }
+
+    @Test
+    public void testConcurrentRequestsAreSynthesizedOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Synthesizer slowSynthesizer = () -> {
+            syntheses.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ByteArrayAudioStream(new byte[100], FORMAT);
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<AudioStream> first = executor
+                    .submit(() -> cache.get(SERVICE_ID, "door opened", VOICE, FORMAT, "", slowSynthesizer));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Thread second = new Thread(() -> {
+                try {
+                    cache.get(SERVICE_ID, "door opened", VOICE, FORMAT, "", slowSynthesizer).close();
+                } catch (TTSException | IOException e) {
+                    fail(e.getMessage());
+                }
+            });
+            second.start();
+            // give the second request time to find the pending synthesis
+            while (cache.getSharedSyntheses() == 0 && second.isAlive()) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS).close();
+            second.join(5000);
+
+            assertEquals(1, syntheses.get());
+            assertEquals(1, cache.getSharedSyntheses());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -12,26 +12,24 @@
  */
 package org.openhab.voice.voicerss.internal;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
-import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
-import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
-import org.openhab.voice.voicerss.internal.cloudapi.CachedVoiceRSSCloudImpl;
+import org.openhab.voice.ttscache.TTSCache;
+import org.openhab.voice.voicerss.internal.cloudapi.VoiceRSSCloudImpl;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,8 +45,7 @@ import org.slf4j.LoggerFactory;
         ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=voice" })
 public class VoiceRSSTTSService implements TTSService {
 
-    /** Cache folder name is below userdata/voicerss/cache. */
-    private static final String CACHE_FOLDER_NAME = "voicerss" + File.separator + "cache";
+    public static final String SERVICE_ID = "voicerss";
 
     // API Key comes from ConfigAdmin
     private static final String CONFIG_API_KEY = "apiKey";
@@ -56,10 +53,12 @@ public class VoiceRSSTTSService implements TTSService {
 
     private final Logger logger = LoggerFactory.getLogger(VoiceRSSTTSService.class);
 
+    private VoiceRSSCloudImpl voiceRssImpl;
+
     /**
-     * We need the cached implementation to allow for FixedLengthAudioStream.
+     * The shared cache, which also allows for FixedLengthAudioStream.
      */
-    private CachedVoiceRSSCloudImpl voiceRssImpl;
+    private TTSCache ttsCache;
 
     /**
      * Set of supported voices
@@ -77,11 +76,9 @@ public class VoiceRSSTTSService implements TTSService {
     protected void activate(Map<String, Object> config) {
         try {
             modified(config);
-            voiceRssImpl = initVoiceImplementation();
+            voiceRssImpl = new VoiceRSSCloudImpl();
             voices = initVoices();
             audioFormats = initAudioFormats();
-
-            logger.debug("Using VoiceRSS cache folder {}", getCacheFolderName());
         } catch (IllegalStateException e) {
             logger.error("Failed to activate VoiceRSS: {}", e.getMessage(), e);
         }
@@ -135,19 +132,12 @@ public class VoiceRSSTTSService implements TTSService {
         }
 
         // now create the input stream for given text, locale, format. There is
-        // only a default voice
-        try {
-            File cacheAudioFile = voiceRssImpl.getTextToSpeechAsFile(apiKey, trimmedText,
-                    voice.getLocale().toLanguageTag(), getApiAudioFormat(requestedFormat));
-            if (cacheAudioFile == null) {
-                throw new TTSException("Could not read from VoiceRSS service");
-            }
-            return new VoiceRSSAudioStream(cacheAudioFile, requestedFormat);
-        } catch (AudioException ex) {
-            throw new TTSException("Could not create AudioStream: " + ex.getMessage(), ex);
-        } catch (IOException ex) {
-            throw new TTSException("Could not read from VoiceRSS service: " + ex.getMessage(), ex);
-        }
+        // only a default voice. The audio is cached with the format delivered by
+        // the service, so a prefilled cache is found, see CreateTTSCache
+        String locale = voice.getLocale().toLanguageTag();
+        String apiAudioFormat = getApiAudioFormat(requestedFormat);
+        return ttsCache.get(this, trimmedText, voice, getAudioFormat(apiAudioFormat),
+                () -> voiceRssImpl.getTextToSpeech(apiKey, trimmedText, locale, apiAudioFormat));
     }
 
     /**
@@ -178,7 +168,13 @@ public class VoiceRSSTTSService implements TTSService {
         return audioFormats;
     }
 
-    private AudioFormat getAudioFormat(String apiFormat) {
+    /**
+     * Gets the audio format of the audio delivered by the service for the given API format.
+     *
+     * @param apiFormat the API format, e.g. "MP3"
+     * @return the audio format
+     */
+    public static AudioFormat getAudioFormat(String apiFormat) {
         Boolean bigEndian = null;
         Integer bitDepth = 16;
         Integer bitRate = null;
@@ -214,18 +210,18 @@ public class VoiceRSSTTSService implements TTSService {
         }
     }
 
-    private CachedVoiceRSSCloudImpl initVoiceImplementation() {
-        return new CachedVoiceRSSCloudImpl(getCacheFolderName());
+    @Reference
+    protected void setTTSCache(TTSCache ttsCache) {
+        this.ttsCache = ttsCache;
     }
 
-    private String getCacheFolderName() {
-        // we assume that this folder does NOT have a trailing separator
-        return ConfigConstants.getUserDataFolder() + File.separator + CACHE_FOLDER_NAME;
+    protected void unsetTTSCache(TTSCache ttsCache) {
+        this.ttsCache = null;
     }
 
     @Override
     public String getId() {
-        return "voicerss";
+        return SERVICE_ID;
     }
 
     @Override
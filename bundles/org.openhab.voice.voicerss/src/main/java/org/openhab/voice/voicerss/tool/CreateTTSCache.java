@@ -13,14 +13,22 @@
 package org.openhab.voice.voicerss.tool;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
 
-import org.openhab.voice.voicerss.internal.cloudapi.CachedVoiceRSSCloudImpl;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.openhab.voice.ttscache.TTSCacheFiles;
+import org.openhab.voice.voicerss.internal.VoiceRSSTTSService;
+import org.openhab.voice.voicerss.internal.VoiceRSSVoice;
+import org.openhab.voice.voicerss.internal.cloudapi.VoiceRSSCloudImpl;
 
 /**
- * This class fills a cache with data from the VoiceRSS TTS service.
+ * This class fills a cache with data from the VoiceRSS TTS service. The files are written in the format of the
+ * shared Text-to-Speech Cache.
  *
  * @author Jochen Hiller - Initial contribution
  */
@@ -69,7 +77,7 @@ public class CreateTTSCache {
         System.out.println("Usage: java org.openhab.voice.voicerss.tool.CreateTTSCache <args>");
         System.out.println("Arguments: --api-key <key> <cache-dir> <locale> { <text> | @inputfile }");
         System.out.println("  key       the VoiceRSS API Key, e.g. \"123456789\"");
-        System.out.println("  cache-dir is directory where the files will be stored, e.g. \"voicerss-cache\"");
+        System.out.println("  cache-dir is directory where the files will be stored, e.g. \"ttscache\"");
         System.out.println("  locale    the language locale, has to be valid, e.g. \"en-us\", \"de-de\"");
         System.out.println("  text      the text to create audio file for, e.g. \"Hello World\"");
         System.out.println(
@@ -102,9 +110,29 @@ public class CreateTTSCache {
             System.err.println("Ignore msg=''");
             return;
         }
-        CachedVoiceRSSCloudImpl impl = new CachedVoiceRSSCloudImpl(cacheDir);
-        File cachedFile = impl.getTextToSpeechAsFile(apiKey, trimmedMsg, locale, "MP3");
+        File cacheFolder = new File(cacheDir);
+        if (!cacheFolder.exists()) {
+            cacheFolder.mkdirs();
+        }
+        String voiceUID = new VoiceRSSVoice(Locale.forLanguageTag(locale), "default").getUID();
+        AudioFormat format = VoiceRSSTTSService.getAudioFormat("MP3");
+        String key = TTSCacheFiles.getKey(VoiceRSSTTSService.SERVICE_ID, trimmedMsg, voiceUID, format, "");
+        byte[] audio;
+        try (InputStream inputStream = new VoiceRSSCloudImpl().getTextToSpeech(apiKey, trimmedMsg, locale, "MP3")) {
+            audio = readAll(inputStream);
+        }
+        File cachedFile = TTSCacheFiles.write(cacheFolder, key, trimmedMsg, voiceUID, format, "", audio);
         System.out.println(
                 "Created cached audio for locale='" + locale + "', msg='" + trimmedMsg + "' to file=" + cachedFile);
     }
+
+    private byte[] readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, length);
+        }
+        return outputStream.toByteArray();
+    }
 }